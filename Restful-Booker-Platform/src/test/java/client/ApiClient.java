@@ -0,0 +1,161 @@
+package client;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import tests.utils.JsonMappers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static constants.ApiConstants.BASE_URI;
+import static constants.ApiConstants.ERROR_JSON_PATH;
+
+
+/**
+ * Non-blocking HTTP transport shared by the typed APIs ({@link AuthApi}, {@link BookingApi},
+ * {@link BrandingApi}, {@link MessageApi}).
+ * Built on {@link java.net.http.HttpClient} (HTTP/2 where the server supports it), so every call returns
+ * a {@link CompletableFuture} and no thread is parked while a request is outstanding.
+ * {@link #withToken(String)} returns a view that sends the auth cookie over the same connections; closing
+ * the client returned by {@link #create(String)} closes them and the views with them.
+ */
+public final class ApiClient implements AutoCloseable {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectReader ERROR_READER = JsonMappers.reader(String.class).at("/" + ERROR_JSON_PATH);
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final String baseUri;
+    private final String token;
+
+    private ApiClient(HttpClient httpClient, ExecutorService executor, String baseUri, String token) {
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.baseUri = baseUri;
+        this.token = token;
+    }
+
+    /**
+     * Creates an anonymous client targeting {@code ApiConstants.BASE_URI}.
+     * @return A new ApiClient, to be closed when done.
+     */
+    public static ApiClient create() {
+        return create(BASE_URI);
+    }
+
+    /**
+     * Creates an anonymous client targeting the given base URI (e.g., a local stand-in).
+     * Completion callbacks run on virtual threads, so hundreds of in-flight requests cost no OS threads.
+     * @param baseUri The base URI, without a trailing slash (e.g., "http://localhost:8080/api").
+     * @return A new ApiClient, to be closed when done.
+     */
+    public static ApiClient create(String baseUri) {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .executor(executor)
+                .build();
+
+        return new ApiClient(httpClient, executor, baseUri, null);
+    }
+
+    /**
+     * Returns a view of this client that authenticates with the given token cookie.
+     * The underlying connection pool is shared, and closed with this client.
+     * @param token The authentication token, or {@code null} for anonymous calls.
+     * @return An ApiClient sending {@code Cookie: token=<token>}.
+     */
+    public ApiClient withToken(String token) {
+        return new ApiClient(httpClient, executor, baseUri, token);
+    }
+
+    public String getBaseUri() { return baseUri; }
+    public String getToken() { return token; }
+
+    /**
+     * Sends a request and reads the JSON response body straight into the reader's type.
+     * Completes exceptionally with {@link ApiException} when the status code is not 2xx.
+     * @param <T> The target type.
+     * @param method The HTTP method (e.g., "GET", "POST").
+     * @param path The request path relative to the base URI, including any query string.
+     * @param body The request body to serialize as JSON, or {@code null} for no body.
+     * @param reader The reader of the body, e.g. {@code JsonMappers.reader(type).at("/field")} for a single
+     *               field, or {@code null} to discard it.
+     * @return A future of the read body; {@code null} when the body is empty.
+     */
+    public <T> CompletableFuture<T> exchange(String method, String path, Object body, ObjectReader reader) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, bodyPublisher(body));
+
+        if (token != null) {
+            request.header("Cookie", String.format("token=%s", token));
+        }
+
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> read(method, path, response, reader));
+    }
+
+    /**
+     * Closes the connections, waiting for outstanding requests, and the executor running their callbacks.
+     */
+    @Override
+    public void close() {
+        httpClient.close();
+        executor.close();
+    }
+
+    private static HttpRequest.BodyPublisher bodyPublisher(Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof String json) {
+            return HttpRequest.BodyPublishers.ofString(json);
+        }
+        return HttpRequest.BodyPublishers.ofByteArray(JsonMappers.writeBytes(body));
+    }
+
+    private static <T> T read(String method, String path, HttpResponse<byte[]> response, ObjectReader reader) {
+        byte[] bytes = response.body();
+
+        if (response.statusCode() / 100 != 2) {
+            throw new ApiException(method, path, response.statusCode(), readError(bytes),
+                    new String(bytes, StandardCharsets.UTF_8));
+        }
+        if (reader == null) {
+            return null;
+        }
+        try {
+            return readValue(reader, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to read the response of %s %s", method, path), e);
+        }
+    }
+
+    private static String readError(byte[] bytes) {
+        try {
+            return readValue(ERROR_READER, bytes);
+        } catch (IOException e) {
+            // non-JSON bodies (e.g., HTML error pages), or bodies without the field, are surfaced through
+            // ApiException's raw body
+            return null;
+        }
+    }
+
+    private static <T> T readValue(ObjectReader reader, byte[] bytes) throws IOException {
+        return bytes == null || bytes.length == 0 ? null : reader.readValue(bytes);
+    }
+}
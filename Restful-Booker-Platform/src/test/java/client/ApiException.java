@@ -0,0 +1,36 @@
+package client;
+
+
+/**
+ * Signals a non-successful HTTP response returned to the asynchronous API client.
+ * Carries the status code, the error message found at {@code ERROR_JSON_PATH} (if any) and the raw body.
+ */
+public class ApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final String error;
+    private final String body;
+
+    /**
+     * Constructs a new ApiException for a failed exchange.
+     * @param method The HTTP method of the failed request.
+     * @param path The request path, relative to the base URI.
+     * @param statusCode The HTTP status code returned by the server.
+     * @param error The error message extracted from the response body, or {@code null}.
+     * @param body The raw response body.
+     */
+    public ApiException(String method, String path, int statusCode, String error, String body) {
+        super(String.format("%s %s failed with status %d: %s", method, path, statusCode,
+                error != null ? error : body));
+        this.statusCode = statusCode;
+        this.error = error;
+        this.body = body;
+    }
+
+    // --- Getters ---
+    public int getStatusCode() { return statusCode; }
+    public String getError() { return error; }
+    public String getBody() { return body; }
+}
@@ -0,0 +1,49 @@
+package client;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import models.request.LoginRequest;
+import tests.utils.JsonMappers;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static constants.ApiConstants.*;
+
+
+/**
+ * Asynchronous client for the authorization endpoints (/auth/login, /auth/validate).
+ */
+public final class AuthApi {
+
+    private static final ObjectReader TOKEN_READER = JsonMappers.reader(String.class).at("/" + TOKEN_JSON_PATH);
+    private static final ObjectReader VALID_READER = JsonMappers.reader(Boolean.class).at("/" + VALID_JSON_PATH);
+
+    private final ApiClient client;
+
+    /**
+     * Constructs a new AuthApi on top of the given transport.
+     * @param client The shared ApiClient.
+     */
+    public AuthApi(ApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Logs in and retrieves an authentication token.
+     * @param loginRequest The credentials to log in with.
+     * @return A future of the token found at {@code TOKEN_JSON_PATH}.
+     */
+    public CompletableFuture<String> login(LoginRequest loginRequest) {
+        return client.exchange("POST", AUTH_LOGIN_ENDPOINT, loginRequest, TOKEN_READER);
+    }
+
+    /**
+     * Validates an authentication token.
+     * @param token The token to validate.
+     * @return A future of the {@code VALID_JSON_PATH} flag; completes exceptionally for rejected tokens.
+     */
+    public CompletableFuture<Boolean> validate(String token) {
+        return client.<Boolean>exchange("POST", AUTH_VALIDATE_ENDPOINT, Map.of(TOKEN_JSON_PATH, token), VALID_READER)
+                .thenApply(Boolean.TRUE::equals);
+    }
+}
@@ -0,0 +1,87 @@
+package client;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import models.request.BookingRequest;
+import models.response.BookingResponse;
+import tests.utils.JsonMappers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static constants.ApiConstants.BOOKING_ENDPOINT;
+import static constants.ApiConstants.SUCCESS_JSON_PATH;
+
+
+/**
+ * Asynchronous client for the /booking endpoints.
+ * Reading and modifying bookings requires a client created with {@link ApiClient#withToken(String)}.
+ */
+public final class BookingApi {
+
+    private static final ObjectReader BOOKINGS_READER =
+            JsonMappers.reader(JsonMappers.listOf(BookingResponse.class)).at("/bookings");
+    private static final ObjectReader BOOKING_READER = JsonMappers.reader(BookingResponse.class);
+    private static final ObjectReader SUCCESS_READER =
+            JsonMappers.reader(Boolean.class).at("/" + SUCCESS_JSON_PATH);
+
+    private final ApiClient client;
+
+    /**
+     * Constructs a new BookingApi on top of the given transport.
+     * @param client The shared ApiClient, usually authenticated.
+     */
+    public BookingApi(ApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Retrieves the bookings of a room.
+     * @param roomId The room ID to query for.
+     * @return A future of the bookings found in the {@code bookings} list.
+     */
+    public CompletableFuture<List<BookingResponse>> getBookings(int roomId) {
+        return client.exchange("GET", String.format("%s?roomid=%d", BOOKING_ENDPOINT, roomId), null,
+                BOOKINGS_READER);
+    }
+
+    /**
+     * Retrieves a single booking.
+     * @param bookingId The booking ID.
+     * @return A future of the booking.
+     */
+    public CompletableFuture<BookingResponse> getBooking(int bookingId) {
+        return client.exchange("GET", String.format("%s/%d", BOOKING_ENDPOINT, bookingId), null, BOOKING_READER);
+    }
+
+    /**
+     * Creates a booking.
+     * @param bookingRequest The booking to create.
+     * @return A future completing when the booking was accepted; exceptionally with {@link ApiException} otherwise.
+     */
+    public CompletableFuture<Void> create(BookingRequest bookingRequest) {
+        return client.exchange("POST", BOOKING_ENDPOINT, bookingRequest, null);
+    }
+
+    /**
+     * Updates a booking.
+     * @param bookingId The ID of the booking to update.
+     * @param booking The new booking data.
+     * @return A future of the {@code SUCCESS_JSON_PATH} flag.
+     */
+    public CompletableFuture<Boolean> update(int bookingId, BookingResponse booking) {
+        return client.<Boolean>exchange("PUT", String.format("%s/%d", BOOKING_ENDPOINT, bookingId), booking,
+                        SUCCESS_READER)
+                .thenApply(Boolean.TRUE::equals);
+    }
+
+    /**
+     * Deletes a booking.
+     * @param bookingId The ID of the booking to delete.
+     * @return A future of the {@code SUCCESS_JSON_PATH} flag.
+     */
+    public CompletableFuture<Boolean> delete(int bookingId) {
+        return client.<Boolean>exchange("DELETE", String.format("%s/%d", BOOKING_ENDPOINT, bookingId), null,
+                        SUCCESS_READER)
+                .thenApply(Boolean.TRUE::equals);
+    }
+}
@@ -0,0 +1,50 @@
+package client;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import models.response.BrandingResponse;
+import tests.utils.JsonMappers;
+
+import java.util.concurrent.CompletableFuture;
+
+import static constants.ApiConstants.BRANDING_ENDPOINT;
+import static constants.ApiConstants.SUCCESS_JSON_PATH;
+
+
+/**
+ * Asynchronous client for the /branding endpoint.
+ * Updating branding requires a client created with {@link ApiClient#withToken(String)}.
+ */
+public final class BrandingApi {
+
+    private static final ObjectReader BRANDING_READER = JsonMappers.reader(BrandingResponse.class);
+    private static final ObjectReader SUCCESS_READER =
+            JsonMappers.reader(Boolean.class).at("/" + SUCCESS_JSON_PATH);
+
+    private final ApiClient client;
+
+    /**
+     * Constructs a new BrandingApi on top of the given transport.
+     * @param client The shared ApiClient.
+     */
+    public BrandingApi(ApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Retrieves the current branding.
+     * @return A future of the branding.
+     */
+    public CompletableFuture<BrandingResponse> get() {
+        return client.exchange("GET", BRANDING_ENDPOINT, null, BRANDING_READER);
+    }
+
+    /**
+     * Replaces the branding.
+     * @param branding The new branding data.
+     * @return A future of the {@code SUCCESS_JSON_PATH} flag.
+     */
+    public CompletableFuture<Boolean> update(BrandingResponse branding) {
+        return client.<Boolean>exchange("PUT", BRANDING_ENDPOINT, branding, SUCCESS_READER)
+                .thenApply(Boolean.TRUE::equals);
+    }
+}
@@ -0,0 +1,72 @@
+package client;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import models.common.FullMessage;
+import models.response.MessageResponse;
+import tests.utils.JsonMappers;
+
+import java.util.concurrent.CompletableFuture;
+
+import static constants.ApiConstants.MESSAGE_ENDPOINT;
+import static constants.ApiConstants.SUCCESS_JSON_PATH;
+
+
+/**
+ * Asynchronous client for the /message endpoints.
+ * Reading a single message and deleting messages requires a client created with
+ * {@link ApiClient#withToken(String)}.
+ */
+public final class MessageApi {
+
+    private static final ObjectReader LIST_READER = JsonMappers.reader(MessageResponse.class);
+    private static final ObjectReader MESSAGE_READER = JsonMappers.reader(FullMessage.class);
+    private static final ObjectReader SUCCESS_READER =
+            JsonMappers.reader(Boolean.class).at("/" + SUCCESS_JSON_PATH);
+
+    private final ApiClient client;
+
+    /**
+     * Constructs a new MessageApi on top of the given transport.
+     * @param client The shared ApiClient.
+     */
+    public MessageApi(ApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Retrieves the list of messages.
+     * @return A future of the message list.
+     */
+    public CompletableFuture<MessageResponse> list() {
+        return client.exchange("GET", MESSAGE_ENDPOINT, null, LIST_READER);
+    }
+
+    /**
+     * Retrieves a single message with all its details.
+     * @param messageId The message ID.
+     * @return A future of the message.
+     */
+    public CompletableFuture<FullMessage> get(int messageId) {
+        return client.exchange("GET", String.format("%s/%d", MESSAGE_ENDPOINT, messageId), null, MESSAGE_READER);
+    }
+
+    /**
+     * Sends a contact message.
+     * @param message The message to send.
+     * @return A future completing when the message was accepted; exceptionally with {@link ApiException} otherwise.
+     */
+    public CompletableFuture<Void> send(FullMessage message) {
+        return client.exchange("POST", MESSAGE_ENDPOINT, message, null);
+    }
+
+    /**
+     * Deletes a message.
+     * @param messageId The ID of the message to delete.
+     * @return A future of the {@code SUCCESS_JSON_PATH} flag.
+     */
+    public CompletableFuture<Boolean> delete(int messageId) {
+        return client.<Boolean>exchange("DELETE", String.format("%s/%d", MESSAGE_ENDPOINT, messageId), null,
+                        SUCCESS_READER)
+                .thenApply(Boolean.TRUE::equals);
+    }
+}
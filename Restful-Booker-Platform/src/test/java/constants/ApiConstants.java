@@ -9,6 +9,9 @@ public final class ApiConstants {
         // hidden constructor
     }
 
+    // --- Base URI ---
+    public static final String BASE_URI = "https://automationintesting.online/api";
+
     // --- API Endpoints ---
     public static final String AUTH_LOGIN_ENDPOINT = "/auth/login";
     public static final String AUTH_VALIDATE_ENDPOINT = "/auth/validate";
@@ -0,0 +1,63 @@
+package models.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import models.common.Address;
+
+
+/**
+ * Immutable variant of the nested 'address' object within a branding response.
+ * @param line1 The first line of the address (e.g., street and number).
+ * @param line2 The second line of the address (optional).
+ * @param postTown The post-town or city.
+ * @param county The county name.
+ * @param postCode The postal code.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AddressRecord(String line1, String line2, String postTown, String county, String postCode) {
+
+    /**
+     * Creates an immutable copy of an {@link Address} bean.
+     * @param bean The bean to copy, may be {@code null}.
+     * @return The record, or {@code null} if the bean is {@code null}.
+     */
+    public static AddressRecord from(Address bean) {
+        return bean == null ? null : new AddressRecord(bean.getLine1(), bean.getLine2(), bean.getPostTown(),
+                bean.getCounty(), bean.getPostCode());
+    }
+
+    /**
+     * @return A new mutable {@link Address} bean with the same values.
+     */
+    public Address toBean() {
+        return new Address(line1, line2, postTown, county, postCode);
+    }
+
+    /**
+     * @return A builder pre-populated with this record's values, for copy-with-change.
+     */
+    public Builder toBuilder() {
+        return new Builder().line1(line1).line2(line2).postTown(postTown).county(county).postCode(postCode);
+    }
+
+    /**
+     * Builder for {@link AddressRecord}.
+     */
+    public static final class Builder {
+
+        private String line1;
+        private String line2;
+        private String postTown;
+        private String county;
+        private String postCode;
+
+        public Builder line1(String line1) { this.line1 = line1; return this; }
+        public Builder line2(String line2) { this.line2 = line2; return this; }
+        public Builder postTown(String postTown) { this.postTown = postTown; return this; }
+        public Builder county(String county) { this.county = county; return this; }
+        public Builder postCode(String postCode) { this.postCode = postCode; return this; }
+
+        public AddressRecord build() {
+            return new AddressRecord(line1, line2, postTown, county, postCode);
+        }
+    }
+}
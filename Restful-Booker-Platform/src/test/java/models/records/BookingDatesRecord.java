@@ -0,0 +1,33 @@
+package models.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import models.common.BookingDates;
+
+
+/**
+ * Immutable variant of the nested 'bookingdates' object within a booking response.
+ * @param checkin The check-in date as a String (expected format: YYYY-MM-DD).
+ * @param checkout The check-out date as a String (expected format: YYYY-MM-DD).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BookingDatesRecord(String checkin, String checkout) {
+
+    /**
+     * Creates an immutable copy of a {@link BookingDates} bean.
+     * @param bean The bean to copy, may be {@code null}.
+     * @return The record, or {@code null} if the bean is {@code null}.
+     */
+    public static BookingDatesRecord from(BookingDates bean) {
+        return bean == null ? null : new BookingDatesRecord(bean.getCheckin(), bean.getCheckout());
+    }
+
+    /**
+     * @return A new mutable {@link BookingDates} bean with the same values.
+     */
+    public BookingDates toBean() {
+        return new BookingDates(checkin, checkout);
+    }
+
+    public BookingDatesRecord withCheckin(String checkin) { return new BookingDatesRecord(checkin, checkout); }
+    public BookingDatesRecord withCheckout(String checkout) { return new BookingDatesRecord(checkin, checkout); }
+}
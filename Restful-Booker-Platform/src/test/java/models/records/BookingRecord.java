@@ -0,0 +1,70 @@
+package models.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import models.response.BookingResponse;
+
+
+/**
+ * Immutable variant of {@link BookingResponse}.
+ * Safe to share as a fixture between threads; modifications go through {@link #toBuilder()}.
+ * @param bookingid The unique identifier for the booking.
+ * @param roomid The ID of the room associated with this booking.
+ * @param firstname The first name of the person who made the booking.
+ * @param lastname The last name of the person who made the booking.
+ * @param depositpaid Indicates whether the deposit for the booking has been paid.
+ * @param bookingdates The nested object containing check-in and check-out dates.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BookingRecord(Integer bookingid, Integer roomid, String firstname, String lastname,
+                            Boolean depositpaid, BookingDatesRecord bookingdates) {
+
+    /**
+     * Creates an immutable copy of a {@link BookingResponse} bean.
+     * @param bean The bean to copy, may be {@code null}.
+     * @return The record, or {@code null} if the bean is {@code null}.
+     */
+    public static BookingRecord from(BookingResponse bean) {
+        return bean == null ? null : new BookingRecord(bean.getBookingid(), bean.getRoomid(), bean.getFirstname(),
+                bean.getLastname(), bean.getDepositpaid(), BookingDatesRecord.from(bean.getBookingdates()));
+    }
+
+    /**
+     * @return A new mutable {@link BookingResponse} bean with the same values.
+     */
+    public BookingResponse toBean() {
+        return new BookingResponse(bookingid, roomid, firstname, lastname, depositpaid,
+                bookingdates == null ? null : bookingdates.toBean());
+    }
+
+    /**
+     * @return A builder pre-populated with this record's values, for copy-with-change.
+     */
+    public Builder toBuilder() {
+        return new Builder().bookingid(bookingid).roomid(roomid).firstname(firstname).lastname(lastname)
+                .depositpaid(depositpaid).bookingdates(bookingdates);
+    }
+
+    /**
+     * Builder for {@link BookingRecord}.
+     */
+    public static final class Builder {
+
+        private Integer bookingid;
+        private Integer roomid;
+        private String firstname;
+        private String lastname;
+        private Boolean depositpaid;
+        private BookingDatesRecord bookingdates;
+
+        public Builder bookingid(Integer bookingid) { this.bookingid = bookingid; return this; }
+        public Builder roomid(Integer roomid) { this.roomid = roomid; return this; }
+        public Builder firstname(String firstname) { this.firstname = firstname; return this; }
+        public Builder lastname(String lastname) { this.lastname = lastname; return this; }
+        public Builder depositpaid(Boolean depositpaid) { this.depositpaid = depositpaid; return this; }
+        public Builder bookingdates(BookingDatesRecord bookingdates) { this.bookingdates = bookingdates; return this; }
+
+        public BookingRecord build() {
+            return new BookingRecord(bookingid, roomid, firstname, lastname, depositpaid, bookingdates);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package models.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import models.response.BrandingResponse;
+
+
+/**
+ * Immutable variant of {@link BrandingResponse}.
+ * Safe to share as a fixture between threads; modifications go through {@link #toBuilder()}.
+ * @param name The branding name.
+ * @param map The map object containing location data.
+ * @param logoUrl The URL to the logo image.
+ * @param description The branding description text.
+ * @param directions Directions to the location.
+ * @param contact Contact information.
+ * @param address Address details.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BrandingRecord(String name, MapRecord map, String logoUrl, String description,
+                             String directions, ContactRecord contact, AddressRecord address) {
+
+    /**
+     * Creates an immutable copy of a {@link BrandingResponse} bean.
+     * @param bean The bean to copy, may be {@code null}.
+     * @return The record, or {@code null} if the bean is {@code null}.
+     */
+    public static BrandingRecord from(BrandingResponse bean) {
+        return bean == null ? null : new BrandingRecord(bean.getName(), MapRecord.from(bean.getMap()),
+                bean.getLogoUrl(), bean.getDescription(), bean.getDirections(),
+                ContactRecord.from(bean.getContact()), AddressRecord.from(bean.getAddress()));
+    }
+
+    /**
+     * @return A new mutable {@link BrandingResponse} bean with the same values.
+     */
+    public BrandingResponse toBean() {
+        return new BrandingResponse(name, map == null ? null : map.toBean(), logoUrl, description, directions,
+                contact == null ? null : contact.toBean(), address == null ? null : address.toBean());
+    }
+
+    /**
+     * @return A builder pre-populated with this record's values, for copy-with-change.
+     */
+    public Builder toBuilder() {
+        return new Builder().name(name).map(map).logoUrl(logoUrl).description(description).directions(directions)
+                .contact(contact).address(address);
+    }
+
+    /**
+     * Builder for {@link BrandingRecord}.
+     */
+    public static final class Builder {
+
+        private String name;
+        private MapRecord map;
+        private String logoUrl;
+        private String description;
+        private String directions;
+        private ContactRecord contact;
+        private AddressRecord address;
+
+        public Builder name(String name) { this.name = name; return this; }
+        public Builder map(MapRecord map) { this.map = map; return this; }
+        public Builder logoUrl(String logoUrl) { this.logoUrl = logoUrl; return this; }
+        public Builder description(String description) { this.description = description; return this; }
+        public Builder directions(String directions) { this.directions = directions; return this; }
+        public Builder contact(ContactRecord contact) { this.contact = contact; return this; }
+        public Builder address(AddressRecord address) { this.address = address; return this; }
+
+        public BrandingRecord build() {
+            return new BrandingRecord(name, map, logoUrl, description, directions, contact, address);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package models.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import models.common.Contact;
+
+
+/**
+ * Immutable variant of the nested 'contact' object within a branding response.
+ * @param name The name of the B&B that provides rooms available for rent.
+ * @param phone The phone number associated with the contact.
+ * @param email The email address associated with the contact.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ContactRecord(String name, String phone, String email) {
+
+    /**
+     * Creates an immutable copy of a {@link Contact} bean.
+     * @param bean The bean to copy, may be {@code null}.
+     * @return The record, or {@code null} if the bean is {@code null}.
+     */
+    public static ContactRecord from(Contact bean) {
+        return bean == null ? null : new ContactRecord(bean.getName(), bean.getPhone(), bean.getEmail());
+    }
+
+    /**
+     * @return A new mutable {@link Contact} bean with the same values.
+     */
+    public Contact toBean() {
+        return new Contact(name, phone, email);
+    }
+
+    /**
+     * @return A builder pre-populated with this record's values, for copy-with-change.
+     */
+    public Builder toBuilder() {
+        return new Builder().name(name).phone(phone).email(email);
+    }
+
+    /**
+     * Builder for {@link ContactRecord}.
+     */
+    public static final class Builder {
+
+        private String name;
+        private String phone;
+        private String email;
+
+        public Builder name(String name) { this.name = name; return this; }
+        public Builder phone(String phone) { this.phone = phone; return this; }
+        public Builder email(String email) { this.email = email; return this; }
+
+        public ContactRecord build() {
+            return new ContactRecord(name, phone, email);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package models.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import models.common.Map;
+
+
+/**
+ * Immutable variant of the nested 'map' object within a branding response.
+ * The generated {@code equals}/{@code hashCode} compare the primitive floats directly, without boxing.
+ * @param latitude The latitude as a float.
+ * @param longitude The longitude as a float.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MapRecord(float latitude, float longitude) {
+
+    /**
+     * Creates an immutable copy of a {@link Map} bean.
+     * @param bean The bean to copy, may be {@code null}.
+     * @return The record, or {@code null} if the bean is {@code null}.
+     */
+    public static MapRecord from(Map bean) {
+        return bean == null ? null : new MapRecord(bean.getLatitude(), bean.getLongitude());
+    }
+
+    /**
+     * @return A new mutable {@link Map} bean with the same values.
+     */
+    public Map toBean() {
+        return new Map(latitude, longitude);
+    }
+
+    public MapRecord withLatitude(float latitude) { return new MapRecord(latitude, longitude); }
+    public MapRecord withLongitude(float longitude) { return new MapRecord(latitude, longitude); }
+}
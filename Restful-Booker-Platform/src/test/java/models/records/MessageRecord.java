@@ -0,0 +1,34 @@
+package models.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import models.common.Message;
+
+
+/**
+ * Immutable variant of a message entry returned by the message list endpoint.
+ * @param id The unique identifier for the message.
+ * @param name The name of the sender of the message.
+ * @param subject The subject line of the message.
+ * @param read Whether the message has been read.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MessageRecord(Integer id, String name, String subject, Boolean read) {
+
+    /**
+     * Creates an immutable copy of a {@link Message} bean.
+     * @param bean The bean to copy, may be {@code null}.
+     * @return The record, or {@code null} if the bean is {@code null}.
+     */
+    public static MessageRecord from(Message bean) {
+        return bean == null ? null : new MessageRecord(bean.getId(), bean.getName(), bean.getSubject(), bean.getRead());
+    }
+
+    /**
+     * @return A new mutable {@link Message} bean with the same values.
+     */
+    public Message toBean() {
+        return new Message(id, name, subject, read);
+    }
+
+    public MessageRecord withRead(Boolean read) { return new MessageRecord(id, name, subject, read); }
+}
@@ -1,12 +1,19 @@
 package tests.base;
 
 import io.restassured.RestAssured;
-import io.restassured.config.ObjectMapperConfig;
 import io.restassured.http.ContentType;
-import io.restassured.mapper.ObjectMapperType;
 import io.restassured.response.ValidatableResponse;
 import io.restassured.specification.RequestSpecification;
 import models.request.LoginRequest;
+import tests.base.RequestTemplates.RequestTemplate;
+import tests.utils.JsonMappers;
+import tests.utils.history.HistoryRecording;
+import tests.utils.jfr.LoginEvent;
+import tests.utils.metrics.MetricsRegistry;
+import tests.utils.policies.ClientLimits;
+import tests.utils.policies.ClientPolicies;
+
+import java.util.concurrent.TimeUnit;
 
 import static constants.ApiConstants.*;
 import static constants.ApiConstants.TOKEN_JSON_PATH;
@@ -14,52 +21,130 @@ import static io.restassured.RestAssured.given;
 import static tests.utils.TestUtils.loadRequest;
 import static tests.utils.assertions.AuthorizationAssertions.assertSuccessfulLoginResponse;
 import static tests.utils.assertions.CommonAssertions.assertNotNullOrBlank;
+import static tests.utils.metrics.SuiteMetrics.TOKEN_CACHE;
+import static tests.utils.filters.ClientLimitFilter.clientLimits;
+import static tests.utils.filters.ClientPolicyFilter.clientPolicies;
+import static tests.utils.filters.FlightRecorderFilter.flightRecorder;
+import static tests.utils.filters.HistoryRecorderFilter.historyRecorder;
+import static tests.utils.filters.MetricsFilter.metrics;
+import static tests.utils.filters.TimingFilter.timing;
 
 
 /**
  * Base class for all API test cases.
  * Configurations defined here are applied once when the class is loaded,
  * making them available for all test methods in subclasses.
+ * The target can be overridden with {@code -DbaseUri=...} (e.g., to run against a local stand-in).
+ * Auth tokens are cached for {@code -DauthToken.ttlSeconds} (default 300, 0 logs in on every call).
  */
 public class BaseTest {
 
+    private static final long TOKEN_TTL_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("authToken.ttlSeconds", 300));
+    private static volatile CachedToken cachedToken;
+
     static {
-        RestAssured.baseURI = "https://automationintesting.online/api";
+        RestAssured.baseURI = System.getProperty("baseUri", BASE_URI);
 
         RestAssured.config = RestAssured.config()
-                .objectMapperConfig(new ObjectMapperConfig(ObjectMapperType.JACKSON_2));
+                .objectMapperConfig(JsonMappers.restAssuredConfig())
+                .httpClient(ClientPolicies.httpClientConfig());
+
+        MetricsRegistry.global().gauge("restbooker_token_age_seconds", "Age of the cached auth token", () -> {
+            CachedToken cached = cachedToken;
+            return cached == null ? 0 : (System.nanoTime() - cached.loggedInAt()) / 1_000_000_000.0;
+        });
     }
 
     /**
      * Provides a base RequestSpecification with content type set to JSON.
      * This avoids repetition of `given().contentType("application/json")`.
+     * GET calls can opt into request coalescing with {@code .filter(SingleFlightFilter.coalesced())}.
+     * Every call is timed for {@link tests.utils.extensions.LatencyBudget} checks, counted in the suite metrics
+     * and recorded as a JFR event while a recording is running. Transient failures are retried, hedged and
+     * circuit-broken per {@link ClientPolicies}, and requests wait for the rate and concurrency limits
+     * of {@link ClientLimits}. Calls to {@code /booking} endpoints are recorded while a {@link HistoryRecording} runs.
      * @return A RequestSpecification pre-configured for JSON content.
      */
     public static RequestSpecification givenRequest() {
-        return given().contentType(ContentType.JSON);
+        return given().filters(timing(), flightRecorder(), metrics(), clientPolicies(), clientLimits(),
+                        historyRecorder())
+                .contentType(ContentType.JSON);
     }
 
     /**
-     * Performs a login operation and retrieves a valid authentication token.
-     * This method loads login data and sends a POST request to the authentication endpoint.
+     * Provides a base RequestSpecification with a prebuilt template (see {@link RequestTemplates}) applied,
+     * so the path template and auth cookie are attached without re-formatting them on every call.
+     * Send it with a bodiless verb call, e.g. {@code .get()}, since the path comes from the template.
+     * @param template The cached template, e.g. {@code authenticated(BOOKING_BY_ID_PATH, token)}.
+     * @return A RequestSpecification pre-configured for JSON content and the template.
+     */
+    public static RequestSpecification givenRequest(RequestTemplate template) {
+        return template.applyTo(givenRequest());
+    }
+
+    /**
+     * Retrieves a valid authentication token, logging in only if the cached token is older than the TTL.
+     * Concurrent callers with an expired cache share a single login.
      * @return A valid authentication token as a String.
      * @throws RuntimeException if login fails or token is not retrieved (e.g., due to API error).
      */
     public static String getAuthToken() {
+        CachedToken cached = cachedToken;
+        if (cached != null && cached.isFresh()) {
+            TOKEN_CACHE.inc("hit");
+            return cached.token();
+        }
+
+        synchronized (BaseTest.class) {
+            cached = cachedToken;
+            if (cached != null && cached.isFresh()) {
+                TOKEN_CACHE.inc("hit");
+                return cached.token();
+            }
+
+            TOKEN_CACHE.inc("miss");
+            String token = login();
+            cachedToken = new CachedToken(token, System.nanoTime());
+            return token;
+        }
+    }
+
+    /**
+     * Performs a login operation and retrieves a new authentication token.
+     * This method loads login data and sends a POST request to the authentication endpoint.
+     * Each login is recorded as a {@link LoginEvent}.
+     * @return A valid authentication token as a String.
+     */
+    private static String login() {
         LoginRequest loginRequest = loadRequest(CORRECT_LOGIN_PATH, LoginRequest.class);
 
-        ValidatableResponse response = givenRequest()
-                .body(loginRequest)
-                .when()
-                .post(AUTH_LOGIN_ENDPOINT)
-                .then();
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        try {
+            ValidatableResponse response = givenRequest()
+                    .body(loginRequest)
+                    .when()
+                    .post(AUTH_LOGIN_ENDPOINT)
+                    .then();
+            event.setStatus(response.extract().statusCode());
+
+            assertSuccessfulLoginResponse(response);
 
-        assertSuccessfulLoginResponse(response);
+            String token = response.extract()
+                    .path(TOKEN_JSON_PATH);
+
+            assertNotNullOrBlank(token, "token");
+            event.succeeded();
+            return token;
+        } finally {
+            event.commit();
+        }
+    }
 
-        String token = response.extract()
-                .path(TOKEN_JSON_PATH);
+    private record CachedToken(String token, long loggedInAt) {
 
-        assertNotNullOrBlank(token, "token");
-        return token;
+        private boolean isFresh() {
+            return System.nanoTime() - loggedInAt < TOKEN_TTL_NANOS;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package tests.base;
+
+import io.restassured.http.Header;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static constants.ApiConstants.BOOKING_ENDPOINT;
+import static constants.ApiConstants.MESSAGE_ENDPOINT;
+
+
+/**
+ * Cache of prebuilt request templates per endpoint path and auth identity
+ * (anonymous, valid token, invalid token).
+ * Each template already carries the path template (as base path) and a prebuilt auth cookie header,
+ * so per-request setup via {@link BaseTest#givenRequest(RequestTemplate)} skips re-formatting both and is
+ * followed by a bodiless verb call, e.g. {@code givenRequest(authenticated(BOOKING_BY_ID_PATH, token)).delete()}.
+ * Templates are immutable and shared between threads.
+ */
+public final class RequestTemplates {
+
+    // --- Path Templates ---
+    public static final String BOOKING_ID_PARAM = "bookingId";
+    public static final String MESSAGE_ID_PARAM = "messageid";
+    public static final String BOOKING_BY_ID_PATH = String.format("%s/{%s}", BOOKING_ENDPOINT, BOOKING_ID_PARAM);
+    public static final String MESSAGE_BY_ID_PATH = String.format("%s/{%s}", MESSAGE_ENDPOINT, MESSAGE_ID_PARAM);
+
+    // --- Auth Identities ---
+    public static final String INVALID_TOKEN = "test123";
+
+    /**
+     * Upper bound on cached templates, so long runs with many distinct tokens cannot grow the cache unboundedly.
+     */
+    private static final int MAX_TEMPLATES = 512;
+    private static final ConcurrentHashMap<String, RequestTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private RequestTemplates() {
+        // hidden constructor
+    }
+
+    /**
+     * Returns the template for anonymous calls to the given path.
+     * @param path The endpoint path or path template (e.g., {@code BOOKING_BY_ID_PATH}).
+     * @return A cached, prebuilt RequestTemplate.
+     */
+    public static RequestTemplate anonymous(String path) {
+        return template(path, null);
+    }
+
+    /**
+     * Returns the template for calls to the given path authenticated with a token cookie.
+     * @param path The endpoint path or path template (e.g., {@code BOOKING_BY_ID_PATH}).
+     * @param token The valid authentication token.
+     * @return A cached, prebuilt RequestTemplate.
+     */
+    public static RequestTemplate authenticated(String path, String token) {
+        return template(path, token);
+    }
+
+    /**
+     * Returns the template for calls to the given path carrying the {@link #INVALID_TOKEN} cookie.
+     * @param path The endpoint path or path template (e.g., {@code BOOKING_BY_ID_PATH}).
+     * @return A cached, prebuilt RequestTemplate.
+     */
+    public static RequestTemplate invalidToken(String path) {
+        return template(path, INVALID_TOKEN);
+    }
+
+    private static RequestTemplate template(String path, String token) {
+        String key = token == null ? path : path + "|" + token;
+        RequestTemplate cached = TEMPLATES.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (TEMPLATES.size() >= MAX_TEMPLATES) {
+            TEMPLATES.clear();
+        }
+        return TEMPLATES.computeIfAbsent(key, k -> new RequestTemplate(path,
+                token == null ? null : new Header("Cookie", String.format("token=%s", token))));
+    }
+
+    /**
+     * Immutable, prebuilt parts of a request: the path template and the auth cookie header.
+     */
+    public static final class RequestTemplate {
+
+        private final String path;
+        private final Header cookie;
+
+        private RequestTemplate(String path, Header cookie) {
+            this.path = path;
+            this.cookie = cookie;
+        }
+
+        public String getPath() { return path; }
+        public Header getCookie() { return cookie; }
+
+        /**
+         * Applies the template to a freshly created request specification.
+         * @param spec The request specification to configure.
+         * @return The same specification with base path and cookie attached.
+         */
+        public RequestSpecification applyTo(RequestSpecification spec) {
+            spec.basePath(path);
+            return cookie == null ? spec : spec.header(cookie);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("RequestTemplate{path='%s', authenticated=%b}", path, cookie != null);
+        }
+    }
+}
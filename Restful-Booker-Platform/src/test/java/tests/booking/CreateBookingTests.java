@@ -8,6 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import tests.utils.data.SyntheticData;
+import tests.utils.extensions.LatencyBudget;
+import tests.utils.random.RunRandom;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,19 +24,21 @@ import static tests.utils.assertions.CommonAssertions.assertInternalServerError;
 import static tests.utils.assertions.CommonAssertions.assertSuccessfulResponse;
 
 
+@LatencyBudget(endpoint = BOOKING_ENDPOINT, p99Millis = 2000)
 public class CreateBookingTests {
 
     // --- Test Cases ---
     /**
-     * Provides a stream of Arguments, each containing a fully built {@link BookingRequest} object.
+     * Provides a stream of Arguments, each containing a {@link BookingRequest} object for rooms 1 to 3, drawn
+     * lazily from {@link SyntheticData}.
      * @return A Stream of Arguments, where each argument is a {@link BookingRequest} object.
      */
     private static Stream<Arguments> bookingDataProvider() {
-        return Stream.of(
-                Arguments.of(buildBookingRequest(CORRECT_BOOKING_CREATION_PATH, "1")),
-                Arguments.of(buildBookingRequest(CORRECT_BOOKING_CREATION_PATH, "2")),
-                Arguments.of(buildBookingRequest(CORRECT_BOOKING_CREATION_PATH, "3"))
-        );
+        return SyntheticData.seeded(RunRandom.current().nextLong())
+                .withRooms("1", "2", "3")
+                .bookings()
+                .limit(3)
+                .map(Arguments::of);
     }
 
     @ParameterizedTest(name = "Booking Room ID: {index}")
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.*;
 import static constants.ApiConstants.*;
 import static tests.base.BaseTest.getAuthToken;
 import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.*;
 import static tests.utils.TestUtils.getFirstBookingId;
 import static tests.utils.assertions.CommonAssertions.*;
 
@@ -34,10 +35,10 @@ public class DeleteBookingTests {
     @Test
     @DisplayName("Should return 401 without authentication")
     public void testDeletionWithoutAuthentication() {
-        ValidatableResponse response = givenRequest()
-                .pathParams("bookingId", retrievedBooking.getBookingid())
+        ValidatableResponse response = givenRequest(anonymous(BOOKING_BY_ID_PATH))
+                .pathParams(BOOKING_ID_PARAM, retrievedBooking.getBookingid())
                 .when()
-                .delete(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .delete()
                 .then();
 
         assertFailedResponse(response, 401, AUTHENTICATION_REQUIRED_ERROR_MESSAGE);
@@ -46,11 +47,10 @@ public class DeleteBookingTests {
     @Test
     @DisplayName("Should return 500 when token is invalid")
     public void testDeletionWithInvalidToken() {
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", "token=test123")
-                .pathParams("bookingId", retrievedBooking.getBookingid())
+        ValidatableResponse response = givenRequest(invalidToken(BOOKING_BY_ID_PATH))
+                .pathParams(BOOKING_ID_PARAM, retrievedBooking.getBookingid())
                 .when()
-                .delete(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .delete()
                 .then();
 
         assertInternalServerError(response, BOOKING_DELETION_GENERIC_FAILURE_ERROR_MESSAGE);
@@ -59,11 +59,10 @@ public class DeleteBookingTests {
     @Test
     @DisplayName("Should delete booking successfully")
     public void testSuccessfulBookingDeletion() {
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", retrievedBooking.getBookingid())
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, retrievedBooking.getBookingid())
                 .when()
-                .delete(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .delete()
                 .then();
 
         assertJsonBooleanValue(response, SUCCESS_JSON_PATH, true);
@@ -72,20 +71,18 @@ public class DeleteBookingTests {
     @Test
     @DisplayName("Should return 500 when delete booking with the same booking id")
     public void testBookingDeletionSameBookingId() {
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", retrievedBooking.getBookingid())
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, retrievedBooking.getBookingid())
                 .when()
-                .delete(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .delete()
                 .then();
 
         assertJsonBooleanValue(response, SUCCESS_JSON_PATH, true);
 
-        ValidatableResponse secondAttempt = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", retrievedBooking.getBookingid())
+        ValidatableResponse secondAttempt = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, retrievedBooking.getBookingid())
                 .when()
-                .delete(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .delete()
                 .then();
 
         assertInternalServerError(secondAttempt, BOOKING_DELETION_GENERIC_FAILURE_ERROR_MESSAGE);
@@ -94,11 +91,10 @@ public class DeleteBookingTests {
     @Test
     @DisplayName("Should return 500 when delete booking with non existent booking id")
     public void testBookingDeletionWithNonExistentBookingId() {
-        ValidatableResponse secondAttempt = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", "AAA")
+        ValidatableResponse secondAttempt = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, "AAA")
                 .when()
-                .delete(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .delete()
                 .then();
 
         assertInternalServerError(secondAttempt, BOOKING_DELETION_GENERIC_FAILURE_ERROR_MESSAGE);
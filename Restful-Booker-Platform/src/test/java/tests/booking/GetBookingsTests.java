@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import tests.utils.extensions.LatencyBudget;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -16,11 +17,14 @@ import java.util.stream.Stream;
 import static constants.ApiConstants.*;
 import static tests.base.BaseTest.getAuthToken;
 import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.*;
 import static tests.utils.DateUtils.validateDateFormatAndValidity;
 import static tests.utils.assertions.BookingAssertions.*;
 import static tests.utils.assertions.CommonAssertions.*;
+import static tests.utils.filters.SingleFlightFilter.coalesced;
 
 
+@LatencyBudget(endpoint = BOOKING_ENDPOINT, p99Millis = 2000)
 public class GetBookingsTests {
 
     // --- Reusable Token for Valid Scenarios ---
@@ -34,11 +38,11 @@ public class GetBookingsTests {
 
         // to do: add booking creation in setup to make tests more independent
 
-        bookingsForRoom1 = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        bookingsForRoom1 = givenRequest(authenticated(BOOKING_ENDPOINT, authToken))
+                .filter(coalesced())
                 .queryParam("roomid", 1)
                 .when()
-                .get(BOOKING_ENDPOINT)
+                .get()
                 .then()
                 .statusCode(200)
                 .extract()
@@ -69,11 +73,10 @@ public class GetBookingsTests {
         if (roomIdToQuery == 1) {
             currentBookings = bookingsForRoom1;
         } else {
-           currentBookings = givenRequest()
-                    .header("Cookie", String.format("token=%s", authToken))
+           currentBookings = givenRequest(authenticated(BOOKING_ENDPOINT, authToken))
                     .queryParam("roomid", roomIdToQuery)
                     .when()
-                    .get(BOOKING_ENDPOINT)
+                    .get()
                     .then()
                     .statusCode(200)
                     .extract()
@@ -107,11 +110,10 @@ public class GetBookingsTests {
     public void testGetBookingsByNonExistentRoomId() {
         int nonExistentRoomId = 99999;
 
-        List<BookingResponse> bookings = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        List<BookingResponse> bookings = givenRequest(authenticated(BOOKING_ENDPOINT, authToken))
                 .queryParam("roomid", nonExistentRoomId)
                 .when()
-                .get(BOOKING_ENDPOINT)
+                .get()
                 .then()
                 .statusCode(200)
                 .extract()
@@ -123,10 +125,9 @@ public class GetBookingsTests {
     @Test
     @DisplayName("Should return 400 when room ID is not provided")
     public void testGetBookingsWithoutRoomId() {
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_ENDPOINT, authToken))
                 .when()
-                .get(BOOKING_ENDPOINT)
+                .get()
                 .then();
 
         assertFailedResponse(response, 400, ROOM_ID_REQUIRED_ERROR_MESSAGE);
@@ -135,11 +136,10 @@ public class GetBookingsTests {
     @Test
     @DisplayName("Should return 500 when roomid is not integer")
     public void testGetBookingsWithNonIntegerRoomId() {
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_ENDPOINT, authToken))
                 .queryParam("roomid", "A")
                 .when()
-                .get(BOOKING_ENDPOINT)
+                .get()
                 .then();
 
         assertInternalServerError(response);
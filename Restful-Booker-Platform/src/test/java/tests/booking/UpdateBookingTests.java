@@ -1,8 +1,9 @@
 package tests.booking;
 
+import io.restassured.response.Response;
 import io.restassured.response.ValidatableResponse;
-import models.common.BookingDates;
-import models.response.BookingResponse;
+import models.records.BookingDatesRecord;
+import models.records.BookingRecord;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -16,6 +17,8 @@ import java.util.stream.Stream;
 import static constants.ApiConstants.*;
 import static tests.base.BaseTest.getAuthToken;
 import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.*;
+import static tests.utils.JsonMappers.readList;
 import static tests.utils.TestUtils.*;
 import static tests.utils.assertions.BookingAssertions.assertSingleBookingDetails;
 import static tests.utils.assertions.CommonAssertions.*;
@@ -26,7 +29,7 @@ public class UpdateBookingTests {
 
     // --- Reusable Token for Valid Scenarios ---
     private static String authToken;
-    private static BookingResponse retrievedBooking;
+    private static BookingRecord retrievedBooking;
     private static final int maxWaitSeconds = 60;
     private static final int pollIntervalSeconds = 5;
 
@@ -38,20 +41,20 @@ public class UpdateBookingTests {
 
     @BeforeEach
     public void setup() {
-        retrievedBooking = getFirstBookingId(authToken, 1);
+        retrievedBooking = BookingRecord.from(getFirstBookingId(authToken, 1));
         assertNotNullOrBlank(retrievedBooking, "Booking Response");
     }
 
     @Test
     @DisplayName("Should return 401 without authentication")
     public void testUpdateWithoutAuthentication() {
-        BookingResponse bookingToUpdate = cloneBooking(retrievedBooking);
+        BookingRecord bookingToUpdate = retrievedBooking;
 
-        ValidatableResponse response = givenRequest()
-                .pathParams("bookingId", bookingToUpdate.getBookingid())
+        ValidatableResponse response = givenRequest(anonymous(BOOKING_BY_ID_PATH))
+                .pathParams(BOOKING_ID_PARAM, bookingToUpdate.bookingid())
                 .body(bookingToUpdate)
                 .when()
-                .put(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .put()
                 .then();
 
         assertFailedResponse(response, 401, AUTHENTICATION_REQUIRED_ERROR_MESSAGE);
@@ -60,14 +63,13 @@ public class UpdateBookingTests {
     @Test
     @DisplayName("Should return 500 when token is invalid")
     public void testUpdateWithInvalidToken() {
-        BookingResponse bookingToUpdate = cloneBooking(retrievedBooking);
+        BookingRecord bookingToUpdate = retrievedBooking;
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", "token=test123")
-                .pathParams("bookingId", bookingToUpdate.getBookingid())
+        ValidatableResponse response = givenRequest(invalidToken(BOOKING_BY_ID_PATH))
+                .pathParams(BOOKING_ID_PARAM, bookingToUpdate.bookingid())
                 .body(bookingToUpdate)
                 .when()
-                .put(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .put()
                 .then();
 
         assertInternalServerError(response, BOOKING_UPDATE_GENERIC_FAILURE_ERROR_MESSAGE);
@@ -76,35 +78,34 @@ public class UpdateBookingTests {
     @Test
     @DisplayName("Should update booking successfully")
     public void testSuccessfulBookingUpdate() {
-        BookingResponse bookingToUpdate = cloneBooking(retrievedBooking);
-        bookingToUpdate.setFirstname("Changed");
-        bookingToUpdate.setDepositpaid(true);
+        BookingRecord bookingToUpdate = retrievedBooking.toBuilder()
+                .firstname("Changed")
+                .depositpaid(true)
+                .build();
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", bookingToUpdate.getBookingid())
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, bookingToUpdate.bookingid())
                 .body(bookingToUpdate)
                 .when()
-                .put(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .put()
                 .then();
 
         assertJsonBooleanValue(response, SUCCESS_JSON_PATH, true);
 
-        BookingResponse updatedBooking = waitForCondition(
+        BookingRecord updatedBooking = waitForCondition(
                 () -> {
-                    List<BookingResponse> currentBookingsList = givenRequest()
-                            .header("Cookie", String.format("token=%s", authToken))
-                            .queryParam("roomid", bookingToUpdate.getRoomid())
+                    Response currentBookings = givenRequest(authenticated(BOOKING_ENDPOINT, authToken))
+                            .queryParam("roomid", bookingToUpdate.roomid())
                             .when()
-                            .get(BOOKING_ENDPOINT)
+                            .get()
                             .then()
                             .statusCode(200)
                             .extract()
-                            .jsonPath()
-                            .getList("bookings", BookingResponse.class);
+                            .response();
+                    List<BookingRecord> currentBookingsList = readList(currentBookings, "bookings", BookingRecord.class);
 
-                    Optional<BookingResponse> foundBooking = currentBookingsList.stream()
-                            .filter(b -> b.getBookingid().equals(bookingToUpdate.getBookingid()))
+                    Optional<BookingRecord> foundBooking = currentBookingsList.stream()
+                            .filter(b -> b.bookingid().equals(bookingToUpdate.bookingid()))
                             .findFirst();
 
                     return foundBooking.orElse(null);
@@ -115,39 +116,37 @@ public class UpdateBookingTests {
         );
 
         assertNotNullOrBlank(updatedBooking, "Booking Response");
-        assertSingleBookingDetails(updatedBooking,1);
+        assertSingleBookingDetails(updatedBooking.toBean(),1);
     }
 
     @Test
     @DisplayName("Should update booking with the same data successfully")
     public void testBookingUpdateSameData() {
-        BookingResponse bookingToUpdate = cloneBooking(retrievedBooking);
+        BookingRecord bookingToUpdate = retrievedBooking;
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", bookingToUpdate.getBookingid())
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, bookingToUpdate.bookingid())
                 .body(bookingToUpdate)
                 .when()
-                .put(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .put()
                 .then();
 
         assertJsonBooleanValue(response, SUCCESS_JSON_PATH, true);
 
-        BookingResponse updatedBooking = waitForCondition(
+        BookingRecord updatedBooking = waitForCondition(
                 () -> {
-                    List<BookingResponse> currentBookingsList = givenRequest()
-                            .header("Cookie", String.format("token=%s", authToken))
-                            .queryParam("roomid", bookingToUpdate.getRoomid())
+                    Response currentBookings = givenRequest(authenticated(BOOKING_ENDPOINT, authToken))
+                            .queryParam("roomid", bookingToUpdate.roomid())
                             .when()
-                            .get(BOOKING_ENDPOINT)
+                            .get()
                             .then()
                             .statusCode(200)
                             .extract()
-                            .jsonPath()
-                            .getList("bookings", BookingResponse.class);
+                            .response();
+                    List<BookingRecord> currentBookingsList = readList(currentBookings, "bookings", BookingRecord.class);
 
-                    Optional<BookingResponse> foundBooking = currentBookingsList.stream()
-                            .filter(b -> b.getBookingid().equals(bookingToUpdate.getBookingid()))
+                    Optional<BookingRecord> foundBooking = currentBookingsList.stream()
+                            .filter(b -> b.bookingid().equals(bookingToUpdate.bookingid()))
                             .findFirst();
 
                     return foundBooking.orElse(null);
@@ -158,7 +157,7 @@ public class UpdateBookingTests {
         );
 
         assertNotNullOrBlank(updatedBooking, "Booking Response");
-        assertSingleBookingDetails(updatedBooking,1);
+        assertSingleBookingDetails(updatedBooking.toBean(),1);
     }
 
     @Test
@@ -174,12 +173,11 @@ public class UpdateBookingTests {
                 "    \"checkout\": \"2025-07-24\"" +
                 "}";
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", retrievedBooking.getBookingid())
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, retrievedBooking.bookingid())
                 .body(malformedJson)
                 .when()
-                .put(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .put()
                 .then();
 
         assertInternalServerError(response, BOOKING_UPDATE_GENERIC_FAILURE_ERROR_MESSAGE);
@@ -188,13 +186,12 @@ public class UpdateBookingTests {
     @Test
     @DisplayName("Should return 500 when request has empty body")
     public void testUpdateWithEmptyRequestBody() {
-        BookingResponse bookingToUpdate = cloneBooking(retrievedBooking);
+        BookingRecord bookingToUpdate = retrievedBooking;
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", bookingToUpdate.getBookingid())
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, bookingToUpdate.bookingid())
                 .when()
-                .put(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .put()
                 .then();
 
         assertInternalServerError(response, BOOKING_UPDATE_GENERIC_FAILURE_ERROR_MESSAGE);
@@ -203,15 +200,14 @@ public class UpdateBookingTests {
     @Test
     @DisplayName("Should handle booking non-existent booking id")
     public void testUpdateNonExistentBooking() {
-        BookingResponse bookingToUpdate = cloneBooking(retrievedBooking);
+        BookingRecord bookingToUpdate = retrievedBooking;
         Integer nonExistentBookingId = Math.toIntExact(generateLongWithDigits(5));
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", nonExistentBookingId)
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, nonExistentBookingId)
                 .body(bookingToUpdate)
                 .when()
-                .put(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .put()
                 .then();
 
         assertInternalServerError(response, BOOKING_UPDATE_GENERIC_FAILURE_ERROR_MESSAGE);
@@ -219,26 +215,29 @@ public class UpdateBookingTests {
 
     /**
      * Provides arguments for testing boundary dates in the BookingRequest.
-     * Each argument includes a Booking Request object, a display name and a status code.
+     * Each argument includes a BookingRecord, a display name and a status code.
      */
     private Stream<Arguments> boundaryDatesProvider() {
-        retrievedBooking = getFirstBookingId(authToken, 1);
+        retrievedBooking = BookingRecord.from(getFirstBookingId(authToken, 1));
         assert retrievedBooking != null;
 
         // Scenario 1: Checkin and Checkout are the same day
         LocalDate today = LocalDate.now();
-        BookingResponse sameDayUpdate = cloneBooking(retrievedBooking);
-        sameDayUpdate.setBookingdates(new BookingDates(today.toString(), today.toString()));
+        BookingRecord sameDayUpdate = retrievedBooking.toBuilder()
+                .bookingdates(new BookingDatesRecord(today.toString(), today.toString()))
+                .build();
 
         // Scenario 2: Checkout date is before Checkin date (should fail)
-        BookingResponse invalidDateRangeUpdate = cloneBooking(retrievedBooking);
-        invalidDateRangeUpdate.setBookingdates(new BookingDates(today.toString(), today.minusDays(10).toString()));
+        BookingRecord invalidDateRangeUpdate = retrievedBooking.toBuilder()
+                .bookingdates(new BookingDatesRecord(today.toString(), today.minusDays(10).toString()))
+                .build();
 
         // Scenario 3: Booking far in the future (assuming valid)
         LocalDate futureCheckin = LocalDate.now().plusYears(generateLongWithDigits(2));
         LocalDate futureCheckout = futureCheckin.plusDays(2);
-        BookingResponse futureUpdate = cloneBooking(retrievedBooking);
-        futureUpdate.setBookingdates(new BookingDates(futureCheckin.toString(), futureCheckout.toString()));
+        BookingRecord futureUpdate = retrievedBooking.toBuilder()
+                .bookingdates(new BookingDatesRecord(futureCheckin.toString(), futureCheckout.toString()))
+                .build();
 
         return Stream.of(
                 Arguments.of(sameDayUpdate, "Same booking dates", 500),
@@ -250,13 +249,12 @@ public class UpdateBookingTests {
     @ParameterizedTest(name = "{1}")
     @MethodSource("boundaryDatesProvider")
     @DisplayName("Should handle boundary dates scenarios")
-    public void testUpdateWithBoundaryDates(BookingResponse boundaryDate, String displayName, Integer expectedStatusCode) {
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", retrievedBooking.getBookingid())
+    public void testUpdateWithBoundaryDates(BookingRecord boundaryDate, String displayName, Integer expectedStatusCode) {
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, retrievedBooking.bookingid())
                 .body(boundaryDate)
                 .when()
-                .put(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .put()
                 .then();
 
         if (expectedStatusCode == 500) {
@@ -277,12 +275,11 @@ public class UpdateBookingTests {
                 "  }," +
                 "}";
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("bookingId", retrievedBooking.getBookingid())
+        ValidatableResponse response = givenRequest(authenticated(BOOKING_BY_ID_PATH, authToken))
+                .pathParams(BOOKING_ID_PARAM, retrievedBooking.bookingid())
                 .body(missingFieldJson)
                 .when()
-                .put(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}"))
+                .put()
                 .then();
 
         assertInternalServerError(response, BOOKING_UPDATE_GENERIC_FAILURE_ERROR_MESSAGE);
@@ -16,6 +16,7 @@ import java.util.stream.Stream;
 import static constants.ApiConstants.BRANDING_ENDPOINT;
 import static tests.base.BaseTest.givenRequest;
 import static tests.utils.assertions.CommonAssertions.*;
+import static tests.utils.filters.SingleFlightFilter.coalesced;
 
 
 public class GetBrandingTests {
@@ -26,6 +27,7 @@ public class GetBrandingTests {
     @BeforeAll
     public static void fetchBrandingData() {
         branding = givenRequest()
+                .filter(coalesced())
                 .when()
                 .get(BRANDING_ENDPOINT)
                 .then()
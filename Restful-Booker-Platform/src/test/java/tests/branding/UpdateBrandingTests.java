@@ -1,7 +1,7 @@
 package tests.branding;
 
 import io.restassured.response.ValidatableResponse;
-import models.response.BrandingResponse;
+import models.records.BrandingRecord;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -14,8 +14,10 @@ import static tests.utils.TestUtils.*;
 import static constants.ApiConstants.*;
 import static tests.base.BaseTest.getAuthToken;
 import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.*;
 import static tests.utils.assertions.CommonAssertions.*;
 import static tests.utils.assertions.BrandingAssertions.*;
+import static tests.utils.filters.SingleFlightFilter.coalesced;
 
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -23,7 +25,7 @@ public class UpdateBrandingTests {
 
     // --- Reusable Token for Valid Scenarios ---
     private static String authToken;
-    private static BrandingResponse originalBranding;
+    private static BrandingRecord originalBranding;
     private boolean brandingModified = false;
     private static final int maxWaitSeconds = 60;
     private static final int pollIntervalSeconds = 5;
@@ -34,12 +36,13 @@ public class UpdateBrandingTests {
         authToken = getAuthToken();
 
         originalBranding = givenRequest()
+                .filter(coalesced())
                 .when()
                 .get(BRANDING_ENDPOINT)
                 .then()
                 .statusCode(200)
                 .extract()
-                .as(BrandingResponse.class);
+                .as(BrandingRecord.class);
 
         assertNotNullOrBlank(originalBranding, "Branding Response");
     }
@@ -47,13 +50,10 @@ public class UpdateBrandingTests {
     @AfterEach
     public void resetBranding() {
         if (brandingModified) {
-            BrandingResponse clean = cloneBranding(originalBranding);
-
-            givenRequest()
-                    .header("Cookie", String.format("token=%s", authToken))
-                    .body(clean)
+            givenRequest(authenticated(BRANDING_ENDPOINT, authToken))
+                    .body(originalBranding)
                     .when()
-                    .put(BRANDING_ENDPOINT)
+                    .put()
                     .then()
                     .statusCode(200);
 
@@ -64,10 +64,8 @@ public class UpdateBrandingTests {
     @Test
     @DisplayName("Should return 401 without authentication")
     public void testUpdateWithoutAuthentication() {
-        BrandingResponse brandingToUpdate = cloneBranding(originalBranding);
-
         ValidatableResponse response = givenRequest()
-                .body(brandingToUpdate)
+                .body(originalBranding)
                 .when()
                 .put(BRANDING_ENDPOINT)
                 .then();
@@ -78,13 +76,10 @@ public class UpdateBrandingTests {
     @Test
     @DisplayName("Should return 500 when token is invalid")
     public void testUpdateWithInvalidToken() {
-        BrandingResponse brandingToUpdate = cloneBranding(originalBranding);
-
-        List<String> errors = givenRequest()
-                .header("Cookie", "token=test123")
-                .body(brandingToUpdate)
+        List<String> errors = givenRequest(invalidToken(BRANDING_ENDPOINT))
+                .body(originalBranding)
                 .when()
-                .put(BRANDING_ENDPOINT)
+                .put()
                 .then()
                 .statusCode(500)
                 .extract().jsonPath().getList(ERRORS_JSON_PATH, String.class);
@@ -95,29 +90,29 @@ public class UpdateBrandingTests {
     @Test
     @DisplayName("Should update one field in branding successfully with polling")
     public void testSuccessfulBrandingUpdateWithPolling() {
-        BrandingResponse brandingToUpdate = cloneBranding(originalBranding);
         String newDescription = "Changed description";
-        brandingToUpdate.setDescription(newDescription);
+        BrandingRecord brandingToUpdate = originalBranding.toBuilder()
+                .description(newDescription)
+                .build();
         brandingModified = true;
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        ValidatableResponse response = givenRequest(authenticated(BRANDING_ENDPOINT, authToken))
                 .body(brandingToUpdate)
                 .when()
-                .put(BRANDING_ENDPOINT)
+                .put()
                 .then();
 
         assertJsonBooleanValue(response, SUCCESS_JSON_PATH, true);
 
-        BrandingResponse updatedBranding = waitForCondition(
+        BrandingRecord updatedBranding = waitForCondition(
                 () -> givenRequest()
                         .when()
                         .get(BRANDING_ENDPOINT)
                         .then()
                         .statusCode(200)
                         .extract()
-                        .as(BrandingResponse.class),
-                branding -> branding != null && newDescription.equals(branding.getDescription()),
+                        .as(BrandingRecord.class),
+                branding -> branding != null && newDescription.equals(branding.description()),
                 maxWaitSeconds,
                 pollIntervalSeconds);
 
@@ -128,26 +123,25 @@ public class UpdateBrandingTests {
     @Test
     @DisplayName("Should update multiple fields in branding successfully")
     public void testSuccessfulMultipleFieldsBrandingUpdate() {
-        BrandingResponse brandingToUpdate = loadRequestFromFile(MULTIPLE_BRANDING_FIELDS_UPDATE_PATH, BrandingResponse.class);
+        BrandingRecord brandingToUpdate = loadRequestFromFile(MULTIPLE_BRANDING_FIELDS_UPDATE_PATH, BrandingRecord.class);
         brandingModified = true;
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        ValidatableResponse response = givenRequest(authenticated(BRANDING_ENDPOINT, authToken))
                 .body(brandingToUpdate)
                 .when()
-                .put(BRANDING_ENDPOINT)
+                .put()
                 .then();
 
         assertJsonBooleanValue(response, SUCCESS_JSON_PATH, true);
 
-        BrandingResponse updatedBranding = waitForCondition(
+        BrandingRecord updatedBranding = waitForCondition(
                 () -> givenRequest()
                         .when()
                         .get(BRANDING_ENDPOINT)
                         .then()
                         .statusCode(200)
                         .extract()
-                        .as(BrandingResponse.class),
+                        .as(BrandingRecord.class),
                 branding -> (branding != null) && branding.equals(brandingToUpdate),
                 maxWaitSeconds,
                 pollIntervalSeconds
@@ -160,23 +154,22 @@ public class UpdateBrandingTests {
     @Test
     @DisplayName("Should update branding with the same data successfully")
     public void testBrandingUpdateSameData() {
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        ValidatableResponse response = givenRequest(authenticated(BRANDING_ENDPOINT, authToken))
                 .body(originalBranding)
                 .when()
-                .put(BRANDING_ENDPOINT)
+                .put()
                 .then();
 
         assertJsonBooleanValue(response, SUCCESS_JSON_PATH, true);
 
-        BrandingResponse updatedBranding = waitForCondition(
+        BrandingRecord updatedBranding = waitForCondition(
                 () -> givenRequest()
                         .when()
                         .get(BRANDING_ENDPOINT)
                         .then()
                         .statusCode(200)
                         .extract()
-                        .as(BrandingResponse.class),
+                        .as(BrandingRecord.class),
                 newBranding -> (newBranding != null) && newBranding.equals(originalBranding),
                 maxWaitSeconds,
                 pollIntervalSeconds
@@ -189,17 +182,20 @@ public class UpdateBrandingTests {
     /**
      * Provides invalid branding update scenarios.
      * This method generates a stream of arguments for parameterized tests,
-     * each representing a distinct invalid state of the BrandingResponse.
+     * each representing a distinct invalid state of the BrandingRecord.
     */
     private Stream<Arguments> invalidDataProvider() {
-        BrandingResponse branding1 = cloneBranding(originalBranding);
-        branding1.setName("");
+        BrandingRecord branding1 = originalBranding.toBuilder()
+                .name("")
+                .build();
 
-        BrandingResponse branding2 = cloneBranding(originalBranding);
-        branding2.setLogoUrl("/img/rbp-logo.png");
+        BrandingRecord branding2 = originalBranding.toBuilder()
+                .logoUrl("/img/rbp-logo.png")
+                .build();
 
-        BrandingResponse branding3 = cloneBranding(originalBranding);
-        branding3.getContact().setPhone(null);
+        BrandingRecord branding3 = originalBranding.toBuilder()
+                .contact(originalBranding.contact().toBuilder().phone(null).build())
+                .build();
 
         return Stream.of(
                 Arguments.of(branding1, "Blank name", NAME_BLANK_ERROR_MESSAGE),
@@ -211,14 +207,13 @@ public class UpdateBrandingTests {
     @ParameterizedTest(name = "{1}")
     @MethodSource("invalidDataProvider")
     @DisplayName("Should return expected error for invalid branding data")
-    public void testUpdateWithInvalidData(BrandingResponse brandingToUpdate, String displayName, String expectedErrorMessage) {
+    public void testUpdateWithInvalidData(BrandingRecord brandingToUpdate, String displayName, String expectedErrorMessage) {
         brandingModified = true;
 
-        List<String> errors = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        List<String> errors = givenRequest(authenticated(BRANDING_ENDPOINT, authToken))
                 .body(brandingToUpdate)
                 .when()
-                .put(BRANDING_ENDPOINT)
+                .put()
                 .then()
                 .statusCode(400)
                 .extract()
@@ -252,11 +247,10 @@ public class UpdateBrandingTests {
                 "  }" +
                 "}";
 
-        List<String> errors = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        List<String> errors = givenRequest(authenticated(BRANDING_ENDPOINT, authToken))
                 .body(malformedJson)
                 .when()
-                .put(BRANDING_ENDPOINT)
+                .put()
                 .then()
                 .statusCode(500)
                 .extract()
@@ -268,10 +262,9 @@ public class UpdateBrandingTests {
     @Test
     @DisplayName("Should return 500 when request has empty body")
     public void testUpdateWithEmptyRequestBody() {
-       List<String> errors = givenRequest()
-               .header("Cookie", String.format("token=%s", authToken))
+       List<String> errors = givenRequest(authenticated(BRANDING_ENDPOINT, authToken))
                .when()
-               .put(BRANDING_ENDPOINT)
+               .put()
                .then()
                .statusCode(500)
                .extract()
@@ -292,11 +285,10 @@ public class UpdateBrandingTests {
                 "  }," +
                 "}";
 
-        List<String> errors = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        List<String> errors = givenRequest(authenticated(BRANDING_ENDPOINT, authToken))
                 .body(missingFieldJson)
                 .when()
-                .put(BRANDING_ENDPOINT)
+                .put()
                 .then()
                 .statusCode(500)
                 .extract()
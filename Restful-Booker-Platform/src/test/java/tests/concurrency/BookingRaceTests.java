@@ -0,0 +1,78 @@
+package tests.concurrency;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.concurrency.BookingRaceHarness;
+import tests.utils.concurrency.BookingRaceReport;
+import tests.utils.concurrency.BookingRaceReport.Outcome;
+import tests.utils.standin.StandInServer;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Checks the {@link BookingRaceHarness} against a {@link StandInServer}, whose overlap check is atomic, and
+ * against a sink that accepts every booking, which the harness must report as overbooked.
+ */
+public class BookingRaceTests {
+
+    private static final int CONTENDERS = 8;
+    private static final int ROUNDS = 5;
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should let exactly one of the concurrent bookings for a room and dates succeed")
+    public void testExactlyOneContenderWins() throws InterruptedException {
+        BookingRaceReport report;
+        try (StandInServer standIn = StandInServer.start()) {
+            report = new BookingRaceHarness(standIn.baseUri(), List.of(1, 2), CONTENDERS, ROUNDS).run();
+        }
+        report.print(System.out);
+
+        assertEquals(2 * ROUNDS, report.rounds().size(), "One race per room and round");
+        assertTrue(report.overbookings().isEmpty(), "No room should be overbooked");
+        report.rounds().forEach(round -> {
+            assertEquals(1, round.successes(), String.format("Winners in %s", round));
+            assertEquals(CONTENDERS - 1, round.conflicts(), String.format("Conflicts in %s", round));
+            assertEquals(1, round.storedBookings(), String.format("Stored bookings in %s", round));
+        });
+        assertEquals(2 * ROUNDS, report.latency(Outcome.SUCCESS).count());
+        assertEquals(2 * ROUNDS * (CONTENDERS - 1), report.latency(Outcome.CONFLICT).count());
+        assertEquals(List.of(1, 2), report.latencyByRoom().keySet().stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Should report a room that accepted more than one booking for the same dates")
+    public void testReportsOverbooking() throws Exception {
+        HttpServer sink = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        sink.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            String body = path.endsWith("/auth/login") ? "{\"token\":\"sink\"}"
+                    : "GET".equals(exchange.getRequestMethod()) ? "{\"bookings\":[]}"
+                    : "[]";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        sink.start();
+
+        BookingRaceReport report;
+        try {
+            String baseUri = String.format("http://localhost:%d/api", sink.getAddress().getPort());
+            report = new BookingRaceHarness(baseUri, List.of(1), 4, 2).run();
+        } finally {
+            sink.stop(0);
+        }
+
+        assertEquals(2, report.overbookings().size(), "Every round should be reported as overbooked");
+        assertEquals(4, report.overbookings().getFirst().successes());
+    }
+}
@@ -0,0 +1,289 @@
+package tests.concurrency;
+
+import io.restassured.specification.RequestSpecification;
+import models.request.LoginRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tests.utils.concurrency.BookingRaceHarness;
+import tests.utils.concurrency.LostUpdateHarness;
+import tests.utils.concurrency.LostUpdateReport;
+import tests.utils.history.BookingOperation;
+import tests.utils.history.BookingOperation.Kind;
+import tests.utils.history.BookingState;
+import tests.utils.history.HistoryRecording;
+import tests.utils.history.LinearizabilityChecker;
+import tests.utils.history.LinearizabilityReport;
+import tests.utils.history.LinearizabilityReport.Verdict;
+import tests.utils.standin.StandInServer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static constants.ApiConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.BOOKING_BY_ID_PATH;
+import static tests.base.RequestTemplates.BOOKING_ID_PARAM;
+import static tests.base.RequestTemplates.authenticated;
+import static tests.utils.TestUtils.loadRequest;
+
+
+/**
+ * Checks the {@link LinearizabilityChecker} on histories recorded from concurrent load on a {@link StandInServer},
+ * on hand-made histories with known anomalies, and on a generated history of 100k operations.
+ */
+public class LinearizabilityTests {
+
+    private static final LinearizabilityChecker CHECKER = new LinearizabilityChecker(Duration.ofSeconds(10));
+    private static final BookingState A = state(1, "Alpha");
+    private static final BookingState B = state(1, "Bravo");
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should find the history recorded under concurrent booking load linearizable")
+    public void testRecordedHistoryIsLinearizable() throws InterruptedException {
+        HistoryRecording recording = HistoryRecording.start();
+        LostUpdateReport updates;
+        List<BookingOperation> history;
+        try (StandInServer standIn = StandInServer.start()) {
+            new BookingRaceHarness(standIn.baseUri(), List.of(1, 2), 6, 3).run();
+            updates = new LostUpdateHarness(standIn.baseUri(), null, 6, 10).run();
+            raceDeletes(standIn.baseUri(), updates.bookingId());
+        } finally {
+            history = recording.stop();
+        }
+        LinearizabilityReport report = CHECKER.check(history);
+        report.print(System.out);
+
+        assertTrue(report.linearizable(), String.format("Violations: %s", report.violations()));
+        for (Kind kind : Kind.values()) {
+            assertTrue(history.stream().anyMatch(operation -> operation.kind() == kind),
+                    String.format("%s calls recorded", kind));
+        }
+        assertTrue(report.partitions().stream().anyMatch(partition -> partition.bookingId() == updates.bookingId()
+                && partition.operations() > 120), "The updated booking is checked with every call on it");
+    }
+
+    @Test
+    @DisplayName("Should accept overlapping operations in any order and uncertain writes either way")
+    public void testAcceptsConcurrentOperations() {
+        // the PUT of B overlaps both reads, so they may see A then B
+        assertEquals(Verdict.LINEARIZABLE, verdict(
+                update(1, A, 0, 10), update(1, B, 20, 60), read(1, A, 25, 30), read(1, B, 40, 50)));
+        // a PUT that got no response may have been applied, or not
+        assertEquals(Verdict.LINEARIZABLE, verdict(update(1, A, 0, 10), uncertainUpdate(1, B, 20, 30),
+                read(1, A, 40, 50)));
+        assertEquals(Verdict.LINEARIZABLE, verdict(update(1, A, 0, 10), uncertainUpdate(1, B, 20, 30),
+                read(1, B, 40, 50)));
+    }
+
+    @Test
+    @DisplayName("Should report lost updates, stale reads, resurrected and missing bookings")
+    public void testDetectsViolations() {
+        assertEquals(Verdict.VIOLATION, verdict(update(1, A, 0, 10), update(1, B, 20, 30), read(1, A, 40, 50)),
+                "A read after the second PUT completed returns the first");
+        assertEquals(Verdict.VIOLATION, verdict(update(1, A, 0, 10), read(1, B, 20, 30), read(1, A, 40, 50),
+                update(1, B, 15, 60)), "Reads go back to a value the PUT in flight had replaced");
+        assertEquals(Verdict.VIOLATION, verdict(update(1, A, 0, 10), delete(1, 20, 30), read(1, A, 40, 50)),
+                "A deleted booking is read back");
+        assertEquals(Verdict.VIOLATION, verdict(create(A, 0, 10), list(1, Map.of(1, A), 20, 30),
+                list(1, Map.of(), 40, 50)), "A booking nobody deleted disappears from its room");
+
+        LinearizabilityReport report = CHECKER.check(List.of(update(1, A, 0, 10), update(2, A, 0, 10),
+                update(2, B, 20, 30), read(2, A, 40, 50)));
+        assertEquals(List.of(2), report.violations().stream().map(LinearizabilityReport.PartitionResult::bookingId)
+                .toList(), "Only the booking with the stale read is reported");
+        assertEquals(Kind.READ, report.violations().getFirst().blocking().kind(), "The stale read blocks the order");
+    }
+
+    @Test
+    @DisplayName("Should check a history of 100k operations in seconds")
+    public void testChecksLargeHistory() {
+        GeneratedHistory generated = generate(100_000, 42);
+
+        LinearizabilityReport report = CHECKER.check(generated.operations());
+        report.print(System.out);
+        assertTrue(report.linearizable(), String.format("Violations: %s", report.violations()));
+        assertTrue(report.elapsedNanos() < Duration.ofSeconds(10).toNanos(),
+                String.format("Checked in %.1f s", report.elapsedNanos() / 1e9));
+
+        List<BookingOperation> corrupted = new ArrayList<>(generated.operations());
+        BookingOperation read = corrupted.get(generated.staleReadIndex());
+        corrupted.set(generated.staleReadIndex(), new BookingOperation(read.process(), read.kind(), read.bookingId(),
+                null, null, 200, generated.staleValue(), null, read.invokeNanos(), read.completeNanos()));
+        LinearizabilityReport corruptedReport = CHECKER.check(corrupted);
+        assertEquals(List.of(read.bookingId()), corruptedReport.violations().stream()
+                .map(LinearizabilityReport.PartitionResult::bookingId).toList(), "The stale read is found");
+    }
+
+    @Test
+    @DisplayName("Should read back a written history file unchanged")
+    public void testHistoryFileRoundTrip(@TempDir Path directory) {
+        List<BookingOperation> history = List.of(create(A, 0, 10), list(1, Map.of(7, A), 20, 30),
+                update(7, B, 40, 50), uncertainUpdate(7, A, 60, 70), delete(7, 80, 90));
+        Path file = directory.resolve("bookings.jsonl");
+
+        HistoryRecording.write(history, file);
+
+        assertEquals(history, HistoryRecording.read(file));
+    }
+
+    // --- Helpers ---
+
+    /**
+     * Deletes a booking while other clients update and read it.
+     */
+    private static void raceDeletes(String baseUri, int bookingId) {
+        String token = givenRequest().baseUri(baseUri)
+                .body(loadRequest(CORRECT_LOGIN_PATH, LoginRequest.class))
+                .post(AUTH_LOGIN_ENDPOINT)
+                .then()
+                .extract()
+                .path(TOKEN_JSON_PATH);
+        String body = givenRequest(authenticated(BOOKING_BY_ID_PATH, token)).baseUri(baseUri)
+                .pathParam(BOOKING_ID_PARAM, bookingId)
+                .get()
+                .asString();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < 6; client++) {
+                int clientNumber = client;
+                executor.submit(() -> {
+                    RequestSpecification request = givenRequest(authenticated(BOOKING_BY_ID_PATH, token))
+                            .baseUri(baseUri)
+                            .pathParam(BOOKING_ID_PARAM, bookingId);
+                    switch (clientNumber % 3) {
+                        case 0 -> request.delete();
+                        case 1 -> request.body(body).put();
+                        default -> request.get();
+                    }
+                    givenRequest(authenticated(BOOKING_BY_ID_PATH, token)).baseUri(baseUri)
+                            .pathParam(BOOKING_ID_PARAM, bookingId)
+                            .get();
+                });
+            }
+        }
+    }
+
+    private static Verdict verdict(BookingOperation... history) {
+        List<LinearizabilityReport.PartitionResult> partitions = CHECKER.check(List.of(history)).partitions();
+        assertEquals(1, partitions.size(), "One booking");
+        return partitions.getFirst().verdict();
+    }
+
+    private static BookingState state(int roomId, String name) {
+        return new BookingState(roomId, name, name, true, "2031-01-01", "2031-01-03");
+    }
+
+    private static BookingOperation create(BookingState value, long invoke, long complete) {
+        return new BookingOperation(1, Kind.CREATE, null, null, value, 200, null, null, invoke, complete);
+    }
+
+    private static BookingOperation read(int id, BookingState value, long invoke, long complete) {
+        return new BookingOperation(1, Kind.READ, id, null, null, 200, value, null, invoke, complete);
+    }
+
+    private static BookingOperation list(int roomId, Map<Integer, BookingState> listed, long invoke, long complete) {
+        return new BookingOperation(1, Kind.LIST, null, roomId, null, 200, null, listed, invoke, complete);
+    }
+
+    private static BookingOperation update(int id, BookingState value, long invoke, long complete) {
+        return new BookingOperation(1, Kind.UPDATE, id, null, value, 200, null, null, invoke, complete);
+    }
+
+    private static BookingOperation uncertainUpdate(int id, BookingState value, long invoke, long complete) {
+        return new BookingOperation(1, Kind.UPDATE, id, null, value, -1, null, null, invoke, complete);
+    }
+
+    private static BookingOperation delete(int id, long invoke, long complete) {
+        return new BookingOperation(1, Kind.DELETE, id, null, null, 200, null, null, invoke, complete);
+    }
+
+    /**
+     * @param staleReadIndex A successful read whose booking had been overwritten well before it.
+     * @param staleValue The value that read would return if the overwrite had been lost.
+     */
+    private record GeneratedHistory(List<BookingOperation> operations, int staleReadIndex, BookingState staleValue) {
+    }
+
+    /**
+     * Runs a random workload against an in-memory store. Operation {@code i} takes effect at {@code 100 * i} ns
+     * and its window extends up to 300 ns either side, so up to six operations overlap.
+     */
+    private static GeneratedHistory generate(int operations, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int rooms = 200;
+        Map<Integer, BookingState> store = new HashMap<>();
+        Map<Integer, Set<Integer>> idsByRoom = new HashMap<>();
+        Map<Integer, Integer> lastWrite = new HashMap<>();
+        Map<Integer, BookingState> previous = new HashMap<>();
+        List<Integer> ids = new ArrayList<>();
+        List<BookingOperation> history = new ArrayList<>();
+        int staleReadIndex = -1;
+        BookingState staleValue = null;
+
+        for (int i = 0; i < operations; i++) {
+            long at = 100L * i + 1_000;
+            long invoke = at - random.nextInt(300);
+            long complete = at + random.nextInt(300);
+            int roll = random.nextInt(100);
+            BookingState value = new BookingState(random.nextInt(1, rooms + 1), "First" + i, "Last" + i,
+                    random.nextBoolean(), "2031-01-01", "2031-01-03");
+
+            if (roll < 10 || ids.isEmpty()) {
+                int id = ids.size() + 1;
+                store.put(id, value);
+                idsByRoom.computeIfAbsent(value.roomId(), room -> new HashSet<>()).add(id);
+                ids.add(id);
+                lastWrite.put(id, i);
+                history.add(new BookingOperation(i % 16, Kind.CREATE, null, null, value, 200, null, null, invoke,
+                        complete));
+            } else if (roll < 45) {
+                int id = ids.get(random.nextInt(ids.size()));
+                BookingState stored = store.get(id);
+                if (stored != null && staleReadIndex < 0 && previous.containsKey(id) && i - lastWrite.get(id) > 10) {
+                    staleReadIndex = history.size();
+                    staleValue = previous.get(id);
+                }
+                history.add(new BookingOperation(i % 16, Kind.READ, id, null, null, stored == null ? 404 : 200,
+                        stored, null, invoke, complete));
+            } else if (roll < 75) {
+                int id = ids.get(random.nextInt(ids.size()));
+                BookingState stored = store.get(id);
+                if (stored != null) {
+                    previous.put(id, stored);
+                    store.put(id, value);
+                    idsByRoom.get(stored.roomId()).remove(id);
+                    idsByRoom.computeIfAbsent(value.roomId(), room -> new HashSet<>()).add(id);
+                    lastWrite.put(id, i);
+                }
+                history.add(new BookingOperation(i % 16, Kind.UPDATE, id, null, value, stored == null ? 400 : 200,
+                        null, null, invoke, complete));
+            } else if (roll < 80) {
+                int id = ids.get(random.nextInt(ids.size()));
+                BookingState removed = store.remove(id);
+                if (removed != null) {
+                    idsByRoom.get(removed.roomId()).remove(id);
+                }
+                history.add(new BookingOperation(i % 16, Kind.DELETE, id, null, null, removed == null ? 404 : 200,
+                        null, null, invoke, complete));
+            } else {
+                int roomId = random.nextInt(1, rooms + 1);
+                Map<Integer, BookingState> listed = new HashMap<>();
+                idsByRoom.getOrDefault(roomId, Set.of()).forEach(id -> listed.put(id, store.get(id)));
+                history.add(new BookingOperation(i % 16, Kind.LIST, null, roomId, null, 200, null, listed, invoke,
+                        complete));
+            }
+        }
+        return new GeneratedHistory(history, staleReadIndex, staleValue);
+    }
+}
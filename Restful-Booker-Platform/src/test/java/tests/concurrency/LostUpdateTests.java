@@ -0,0 +1,159 @@
+package tests.concurrency;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.JsonMappers;
+import tests.utils.concurrency.LostUpdateHarness;
+import tests.utils.concurrency.LostUpdateReport;
+import tests.utils.concurrency.UpdateHistory;
+import tests.utils.concurrency.UpdateHistory.AnomalyType;
+import tests.utils.concurrency.UpdateHistory.Read;
+import tests.utils.concurrency.UpdateHistory.Write;
+import tests.utils.standin.StandInServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Checks the {@link LostUpdateHarness} against a {@link StandInServer}, whose updates are atomic, the
+ * {@link UpdateHistory} checks on hand-made histories, and a sink that acknowledges updates it drops, which the
+ * harness must report as lost.
+ */
+public class LostUpdateTests {
+
+    private static final int CLIENTS = 6;
+    private static final int OPERATIONS = 10;
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should find no anomaly in concurrent updates of one booking")
+    public void testConcurrentUpdatesAreConsistent() throws InterruptedException {
+        LostUpdateReport report;
+        try (StandInServer standIn = StandInServer.start()) {
+            report = new LostUpdateHarness(standIn.baseUri(), null, CLIENTS, OPERATIONS).run();
+        }
+        report.print(System.out);
+
+        assertTrue(report.anomalies().isEmpty(), String.format("Anomalies: %s", report.anomalies()));
+        assertEquals(0, report.failedCalls());
+        assertEquals(CLIENTS * OPERATIONS + 1, report.history().writes().size(), "Initial write plus every PUT");
+        assertEquals(CLIENTS * OPERATIONS + 1, report.history().reads().size(), "Every GET plus the final one");
+        assertEquals(CLIENTS * OPERATIONS, report.updateLatency().count());
+        assertTrue(report.updatesPerSecond() > 0, "Update throughput");
+    }
+
+    @Test
+    @DisplayName("Should accept reads of writes that had not completed yet")
+    public void testReadsOfInFlightWritesAreConsistent() {
+        // writes 1 and 2 overlap, and the reads observe them before either completed
+        List<Write> writes = List.of(write(0, 0, 10), write(1, 20, 60), write(2, 30, 70));
+        List<Read> reads = List.of(read(5, 8, 0), read(25, 40, 1), read(45, 50, 2), read(80, 90, 2));
+
+        assertEquals(List.of(), new UpdateHistory(writes, reads, reads.getLast()).check());
+    }
+
+    @Test
+    @DisplayName("Should report stale, inverted, torn and lost reads")
+    public void testDetectsAnomalies() {
+        List<Write> writes = List.of(write(0, 0, 10), write(1, 20, 30), write(2, 40, 50));
+
+        assertEquals(List.of(AnomalyType.STALE_READ), types(writes, List.of(read(35, 38, 0))));
+        // write 1 is still in flight, so only the earlier read rules out the initial value
+        assertEquals(List.of(AnomalyType.READ_INVERSION), types(List.of(write(0, 0, 10), write(1, 20, 60)),
+                List.of(read(25, 30, 1), read(35, 40, 0))));
+        assertEquals(List.of(AnomalyType.TORN_READ),
+                types(writes, List.of(new Read(0, 60, 70, "WrB", "WrC"))));
+        assertEquals(List.of(AnomalyType.FUTURE_READ), types(writes, List.of(read(12, 15, 2))));
+        assertEquals(List.of(AnomalyType.UNKNOWN_VALUE),
+                types(writes, List.of(new Read(0, 60, 70, "Someone", "Someone"))));
+
+        Read finalRead = read(60, 70, 1);
+        assertEquals(List.of(AnomalyType.LOST_UPDATE), new UpdateHistory(writes, List.of(finalRead), finalRead)
+                .check().stream().map(UpdateHistory.Anomaly::type).toList());
+    }
+
+    @Test
+    @DisplayName("Should not require an unacknowledged write to have taken effect")
+    public void testUnacknowledgedWriteMayBeLost() {
+        List<Write> writes = List.of(write(0, 0, 10), new Write(1, 0, tag(1), 20, 30, false));
+        Read finalRead = read(40, 50, 0);
+
+        assertEquals(List.of(), new UpdateHistory(writes, List.of(finalRead), finalRead).check());
+    }
+
+    @Test
+    @DisplayName("Should report the updates a backend acknowledged but dropped")
+    public void testReportsLostUpdates() throws Exception {
+        // stores the first update only, then acknowledges and drops every other one
+        AtomicReference<String> stored = new AtomicReference<>();
+        HttpServer sink = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        sink.createContext("/", exchange -> {
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            String body = switch (exchange.getRequestMethod()) {
+                case "POST" -> "{\"token\":\"sink\"}";
+                case "PUT" -> {
+                    stored.compareAndSet(null, new String(request, StandardCharsets.UTF_8));
+                    yield "{\"success\":true}";
+                }
+                default -> path.endsWith("/booking/7") ? booking(stored.get()) : "{}";
+            };
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        sink.start();
+
+        LostUpdateReport report;
+        try {
+            String baseUri = String.format("http://localhost:%d/api", sink.getAddress().getPort());
+            report = new LostUpdateHarness(baseUri, 7, 2, 3).run();
+        } finally {
+            sink.stop(0);
+        }
+        report.print(System.out);
+
+        List<AnomalyType> found = report.anomalies().stream().map(UpdateHistory.Anomaly::type).toList();
+        assertTrue(found.contains(AnomalyType.LOST_UPDATE), String.format("Anomalies: %s", found));
+        assertTrue(found.contains(AnomalyType.STALE_READ), String.format("Anomalies: %s", found));
+    }
+
+    // --- Helpers ---
+
+    private static Write write(int id, long invoke, long complete) {
+        return new Write(id, 0, tag(id), invoke, complete, true);
+    }
+
+    private static Read read(long invoke, long complete, int writeId) {
+        return new Read(0, invoke, complete, tag(writeId), tag(writeId));
+    }
+
+    private static String tag(int writeId) {
+        return "Wr" + (char) ('A' + writeId);
+    }
+
+    private static List<AnomalyType> types(List<Write> writes, List<Read> reads) {
+        return new UpdateHistory(writes, reads, null).check().stream().map(UpdateHistory.Anomaly::type).toList();
+    }
+
+    /**
+     * The sink's booking 7, with the names of the stored update, or of the initial one before the first update.
+     */
+    private static String booking(String update) throws IOException {
+        ObjectNode booking = update == null
+                ? JsonMappers.mapper().createObjectNode().put("firstname", "James").put("lastname", "Dean")
+                : (ObjectNode) JsonMappers.mapper().readTree(update);
+        booking.putObject("bookingdates").put("checkin", "2031-01-01").put("checkout", "2031-01-03");
+        return booking.put("bookingid", 7).put("roomid", 1).toString();
+    }
+}
@@ -17,6 +17,7 @@ import java.util.stream.Stream;
 import static constants.ApiConstants.*;
 import static tests.base.BaseTest.getAuthToken;
 import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.*;
 import static tests.utils.TestUtils.generate10DigitNumericString;
 import static tests.utils.assertions.CommonAssertions.*;
 import static tests.utils.assertions.MessageAssertions.*;
@@ -37,10 +38,10 @@ public class GetMessageTests {
     @Test
     @DisplayName("Should return 401 without authentication")
     public void testGetMessageWithNoAuthentication()  {
-        ValidatableResponse response = givenRequest()
-                .pathParams("messageid", 1)
+        ValidatableResponse response = givenRequest(anonymous(MESSAGE_BY_ID_PATH))
+                .pathParams(MESSAGE_ID_PARAM, 1)
                 .when()
-                .get(String.format("%s/%s", MESSAGE_ENDPOINT, "{messageid}"))
+                .get()
                 .then();
 
         assertFailedResponse(response, 401, AUTHENTICATION_REQUIRED_ERROR_MESSAGE);
@@ -51,11 +52,10 @@ public class GetMessageTests {
     public void testGetMessageWithNonNumericId() {
         String nonNumericMessageId = "abc";
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("messageid", nonNumericMessageId)
+        ValidatableResponse response = givenRequest(authenticated(MESSAGE_BY_ID_PATH, authToken))
+                .pathParams(MESSAGE_ID_PARAM, nonNumericMessageId)
                 .when()
-                .get(String.format("%s/%s", MESSAGE_ENDPOINT, "{messageid}"))
+                .get()
                 .then();
 
         assertNotFoundMessageResponse(response, 404, NOT_FOUND_ERROR_MESSAGE, nonNumericMessageId);
@@ -66,11 +66,10 @@ public class GetMessageTests {
     public void testGetMessageWithTooLongId() {
         String longMessageId = generate10DigitNumericString();
 
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("messageid", longMessageId)
+        ValidatableResponse response = givenRequest(authenticated(MESSAGE_BY_ID_PATH, authToken))
+                .pathParams(MESSAGE_ID_PARAM, longMessageId)
                 .when()
-                .get(String.format("%s/%s", MESSAGE_ENDPOINT, "{messageid}"))
+                .get()
                 .then();
 
         assertNotFoundMessageResponse(response, 400, BAD_REQUEST_ERROR_MESSAGE, longMessageId);
@@ -81,11 +80,10 @@ public class GetMessageTests {
      * Each argument contains: (fieldValue, displayLabel).
      */
     static Stream<Arguments> requiredFieldsProvider() {
-        ValidatableResponse response = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
-                .pathParams("messageid", 1)
+        ValidatableResponse response = givenRequest(authenticated(MESSAGE_BY_ID_PATH, authToken))
+                .pathParams(MESSAGE_ID_PARAM, 1)
                 .when()
-                .get(String.format("%s/%s", MESSAGE_ENDPOINT, "{messageid}"))
+                .get()
                 .then()
                 .statusCode(200);
 
@@ -0,0 +1,97 @@
+package tests.perf;
+
+import client.ApiClient;
+import client.ApiException;
+import client.AuthApi;
+import client.BookingApi;
+import client.BrandingApi;
+import client.MessageApi;
+import models.common.FullMessage;
+import models.common.Message;
+import models.request.BookingRequest;
+import models.request.LoginRequest;
+import models.response.BookingResponse;
+import models.response.BrandingResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.concurrency.BookingCalls;
+import tests.utils.data.SyntheticData;
+import tests.utils.standin.StandInServer;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static constants.ApiConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.utils.TestUtils.loadRequest;
+
+
+/**
+ * Runs the asynchronous {@link ApiClient} and its typed APIs against a {@link StandInServer}.
+ */
+public class ApiClientTests {
+
+    private static final int ROOM_ID = 2;
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should read responses straight into the models, with the token of an authenticated view")
+    public void testTypedCalls() {
+        try (StandInServer standIn = StandInServer.start(); ApiClient anonymous = ApiClient.create(standIn.baseUri())) {
+            AuthApi auth = new AuthApi(anonymous);
+            String token = auth.login(loadRequest(CORRECT_LOGIN_PATH, LoginRequest.class)).join();
+            assertNotNull(token);
+            assertTrue(auth.validate(token).join());
+            ApiClient admin = anonymous.withToken(token);
+
+            BookingApi bookings = new BookingApi(admin);
+            BookingRequest request = SyntheticData.seeded(27).withRooms(Integer.toString(ROOM_ID)).booking(0);
+            bookings.create(request).join();
+            BookingResponse created = findBooking(bookings.getBookings(ROOM_ID).join(), request);
+            assertNotNull(created, "The created booking is listed");
+            BookingResponse booking = bookings.getBooking(created.getBookingid()).join();
+            assertEquals(request.getLastname(), booking.getLastname());
+            assertTrue(bookings.delete(booking.getBookingid()).join());
+            assertNull(findBooking(bookings.getBookings(ROOM_ID).join(), request));
+
+            BrandingApi branding = new BrandingApi(admin);
+            BrandingResponse current = branding.get().join();
+            assertNotNull(current.getName());
+            assertTrue(branding.update(current).join());
+
+            MessageApi messages = new MessageApi(admin);
+            messages.send(BookingCalls.contactMessage("Api client")).join();
+            Message sent = messages.list().join().getMessages().stream()
+                    .filter(message -> "Api client".equals(message.getName()))
+                    .findFirst()
+                    .orElseThrow();
+            FullMessage detail = messages.get(sent.getId()).join();
+            assertEquals("Load run message", detail.getSubject());
+            assertTrue(messages.delete(sent.getId()).join());
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete with an ApiException carrying the status and error message on a non-2xx response")
+    public void testErrorResponse() {
+        try (StandInServer standIn = StandInServer.start(); ApiClient anonymous = ApiClient.create(standIn.baseUri())) {
+            CompletionException failure = assertThrows(CompletionException.class,
+                    () -> new BookingApi(anonymous).getBookings(ROOM_ID).join());
+
+            ApiException error = assertInstanceOf(ApiException.class, failure.getCause());
+            assertEquals(401, error.getStatusCode());
+            assertEquals(AUTHENTICATION_REQUIRED_ERROR_MESSAGE, error.getError());
+            assertTrue(error.getBody().contains(AUTHENTICATION_REQUIRED_ERROR_MESSAGE));
+        }
+    }
+
+    // --- Helpers ---
+
+    private static BookingResponse findBooking(List<BookingResponse> bookings, BookingRequest request) {
+        return bookings.stream()
+                .filter(booking -> request.getFirstname().equals(booking.getFirstname())
+                        && request.getLastname().equals(booking.getLastname()))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,162 @@
+package tests.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tests.utils.baseline.Baseline;
+import tests.utils.baseline.BaselineComparator;
+import tests.utils.baseline.BaselineComparison;
+import tests.utils.baseline.BaselineRunner;
+import tests.utils.baseline.MannWhitney;
+import tests.utils.baseline.Verdict;
+import tests.utils.concurrency.LatencyHistogram;
+import tests.utils.faults.FaultProxy;
+import tests.utils.faults.FaultRule;
+import tests.utils.faults.LatencyDistribution;
+import tests.utils.standin.StandInServer;
+import tests.utils.workload.WarmUpPolicy;
+import tests.utils.workload.WorkloadDefinition;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.LongUnaryOperator;
+
+import static constants.ApiConstants.BRANDING_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Checks the {@link LatencyHistogram} buckets, the {@link MannWhitney} test and the verdicts of the
+ * {@link BaselineComparator}, and catches a slowed endpoint between two {@link BaselineRunner} runs against a
+ * {@link StandInServer}.
+ */
+public class BaselineTests {
+
+    private static final String BRANDING = "GET /branding";
+    private static final String MESSAGES = "GET /message";
+    private static final String MIX = """
+            {
+              "name": "Baseline mix",
+              "arrivalRate": 16.0,
+              "durationSeconds": 5,
+              "scenarios": [
+                { "name": "Browse", "weight": 1, "steps": [ { "operation": "GET_BRANDING" } ] },
+                { "name": "Inbox", "weight": 1, "steps": [ { "operation": "LIST_MESSAGES" } ] }
+              ]
+            }
+            """;
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should bucket latencies within 1/64 and add and subtract histograms without loss")
+    public void testHistogramBuckets() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong(1L << random.nextInt(1, 40));
+            int bucket = LatencyHistogram.bucketOf(value);
+            long lower = LatencyHistogram.lowerBound(bucket);
+            long upper = LatencyHistogram.lowerBound(bucket + 1);
+            assertTrue(lower <= value && value < upper, String.format("%d outside [%d, %d)", value, lower, upper));
+            assertTrue(upper - lower <= Math.max(1, lower / 64), String.format("Bucket [%d, %d)", lower, upper));
+        }
+
+        LatencyHistogram first = LatencyHistogram.of(5, 5, 1_000, 2_000_000);
+        LatencyHistogram second = LatencyHistogram.of(7, 30_000_000_000L);
+        LatencyHistogram merged = first.copy();
+        merged.add(second);
+        assertEquals(6, merged.count());
+        assertEquals(second.buckets(), merged.minus(first).buckets());
+        assertEquals(merged.buckets(), LatencyHistogram.of(merged.buckets()).buckets());
+        assertThrows(IllegalArgumentException.class, () -> first.minus(second));
+        assertEquals(5, merged.percentile(0.2));
+        assertEquals(2_000_000, merged.percentile(0.8), 2_000_000 / 64.0);
+    }
+
+    @Test
+    @DisplayName("Should count Mann-Whitney U as the pairs in which the current call was slower")
+    public void testMannWhitney() {
+        // below 128 ns every value has a bucket of its own, so U is exact
+        long[] baseline = {10, 20, 20, 30, 40, 50, 60};
+        long[] current = {20, 35, 45, 55, 65, 70, 80, 90};
+        double pairs = 0;
+        for (long b : baseline) {
+            for (long c : current) {
+                pairs += c > b ? 1 : c == b ? 0.5 : 0;
+            }
+        }
+        MannWhitney.Result result = MannWhitney.test(LatencyHistogram.of(baseline), LatencyHistogram.of(current));
+        assertEquals(pairs, result.u(), 1e-9);
+        assertEquals(pairs / (baseline.length * current.length), result.superiority(), 1e-9);
+        assertTrue(result.z() > 0);
+
+        MannWhitney.Result same = MannWhitney.test(LatencyHistogram.of(baseline), LatencyHistogram.of(baseline));
+        assertEquals(0.5, same.superiority(), 1e-9);
+        assertEquals(1.0, same.pValue(), 1e-6);
+        assertEquals(0.05, MannWhitney.twoSidedP(1.959964), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should pass noise and flag slower, faster, lower-throughput and thin endpoints")
+    public void testVerdicts(@TempDir Path directory) {
+        Baseline baseline = synthetic(1, latency -> latency, 500);
+        baseline.save(directory.resolve("baseline.json"));
+        Baseline loaded = Baseline.load(directory.resolve("baseline.json"));
+        assertEquals(baseline, loaded);
+
+        BaselineComparator comparator = BaselineComparator.DEFAULT;
+        assertEquals(Verdict.PASS, comparator.compare(loaded, synthetic(2, latency -> latency, 500)).verdict(BRANDING));
+        assertEquals(Verdict.PASS,
+                comparator.compare(loaded, synthetic(2, latency -> latency * 102 / 100, 500)).verdict(BRANDING));
+        assertEquals(Verdict.REGRESS,
+                comparator.compare(loaded, synthetic(2, latency -> latency * 13 / 10, 500)).verdict(BRANDING));
+        assertEquals(Verdict.IMPROVE,
+                comparator.compare(loaded, synthetic(2, latency -> latency * 7 / 10, 500)).verdict(BRANDING));
+        assertEquals(Verdict.REGRESS,
+                comparator.compare(loaded, synthetic(2, latency -> latency, 250)).verdict(BRANDING));
+        assertEquals(Verdict.INCONCLUSIVE,
+                comparator.compare(loaded, synthetic(2, latency -> latency, 10)).verdict(BRANDING));
+    }
+
+    @Test
+    @DisplayName("Should flag the endpoint a proxy slows down between two stand-in runs")
+    public void testStandInRuns() {
+        WorkloadDefinition mix = WorkloadDefinition.parse(MIX);
+        WarmUpPolicy warmUp = new WarmUpPolicy(250, 20, 4, 0.10, 10);
+        BaselineComparison comparison;
+        try (StandInServer standIn = StandInServer.start();
+             FaultProxy proxy = FaultProxy.start(standIn.baseUri(), List.of())) {
+            Baseline baseline = BaselineRunner.capture(proxy.baseUri(), mix, warmUp);
+            proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT)
+                    .latency(LatencyDistribution.fixed(Duration.ofMillis(100)))
+                    .build()));
+            comparison = BaselineComparator.DEFAULT.compare(baseline, BaselineRunner.capture(proxy.baseUri(), mix,
+                    warmUp));
+        }
+        comparison.print(System.out);
+
+        assertEquals(Verdict.REGRESS, comparison.verdict(BRANDING));
+        assertNotEquals(Verdict.REGRESS, comparison.verdict(MESSAGES));
+    }
+
+    // --- Helpers ---
+
+    /**
+     * A run of {@code calls} GET /branding calls over 10 seconds, log-normally distributed around 10 ms.
+     */
+    private static Baseline synthetic(long seed, LongUnaryOperator shift, int calls) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < calls; i++) {
+            long latency = (long) (10_000_000 * Math.exp(0.3 * normal(random)));
+            histogram.record(shift.applyAsLong(latency));
+        }
+        return Baseline.of("Synthetic", Map.of(BRANDING, histogram), 10_000_000_000L);
+    }
+
+    private static double normal(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,105 @@
+package tests.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.concurrency.LatencyHistogram;
+import tests.utils.distributed.DistributedReport;
+import tests.utils.distributed.LoadCoordinator;
+import tests.utils.distributed.LoadWorker;
+import tests.utils.distributed.WorkerResult;
+import tests.utils.standin.StandInServer;
+import tests.utils.workload.WarmUpPolicy;
+import tests.utils.workload.WorkloadDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Runs a short mix through a {@link LoadCoordinator} against a {@link StandInServer}, on a {@link LoadWorker} in
+ * this JVM and two in JVMs of their own.
+ */
+public class DistributedLoadTests {
+
+    private static final WarmUpPolicy WARM_UP = new WarmUpPolicy(500, 10, 4, 0.10, 2);
+
+    private static final String MIX = """
+            {
+              "name": "Distributed mix",
+              "arrivalRate": 12.0,
+              "durationSeconds": 3,
+              "scenarios": [
+                { "name": "Browse", "weight": 3, "steps": [ { "operation": "GET_BRANDING" } ] },
+                { "name": "Book", "weight": 1,
+                  "steps": [ { "operation": "LOGIN" }, { "operation": "CREATE_BOOKING" },
+                             { "operation": "DELETE_BOOKING" } ] }
+              ]
+            }
+            """;
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should share the rate by capacity across worker processes and merge their histograms without loss")
+    public void testWorkerProcesses() throws Exception {
+        WorkloadDefinition mix = WorkloadDefinition.parse(MIX);
+        List<Process> processes = new ArrayList<>();
+        DistributedReport report;
+        try (StandInServer standIn = StandInServer.start();
+             LoadCoordinator coordinator = LoadCoordinator.listen(0)) {
+            String address = String.format("localhost:%d", coordinator.port());
+            CompletableFuture<WorkerResult> local = CompletableFuture.supplyAsync(
+                    () -> new LoadWorker("localhost", coordinator.port(), "local", 2).run());
+            processes.add(LoadWorker.spawn(address, "process-1", 1));
+            processes.add(LoadWorker.spawn(address, "process-2", 1));
+            report = coordinator.run(standIn.baseUri(), mix, 3, WARM_UP);
+            local.join();
+            for (Process process : processes) {
+                assertTrue(process.waitFor(30, TimeUnit.SECONDS), "Worker still running");
+                assertEquals(0, process.exitValue());
+            }
+        } finally {
+            processes.forEach(Process::destroyForcibly);
+        }
+        report.print(System.out);
+
+        Map<String, Double> shares = new TreeMap<>();
+        report.workers().forEach(worker -> shares.put(worker.result().worker(), worker.result().share()));
+        assertEquals(Map.of("local", 0.5, "process-1", 0.25, "process-2", 0.25), shares);
+        for (DistributedReport.Worker worker : report.workers()) {
+            // all on one machine, so one clock
+            assertTrue(Math.abs(worker.clockOffsetMicros()) <= worker.roundTripMicros() / 2 + 1_000,
+                    String.format("Offset of %d µs", worker.clockOffsetMicros()));
+        }
+        assertMerged(report);
+        assertEquals(0, report.failedSessions());
+        // 36 sessions expected; Poisson arrivals stay well within half to twice that
+        long started = report.startedSessions();
+        assertTrue(started >= 18 && started <= 72, String.format("%d sessions started", started));
+    }
+
+    // --- Helpers ---
+
+    /**
+     * Checks that each merged endpoint holds exactly the calls of the workers' histograms.
+     */
+    private static void assertMerged(DistributedReport report) {
+        assertTrue(report.endpoints().containsKey("GET /branding"));
+        report.endpoints().forEach((endpoint, merged) -> {
+            LatencyHistogram sum = new LatencyHistogram();
+            report.workers().stream()
+                    .map(worker -> worker.result().measured().endpoints().get(endpoint))
+                    .filter(Objects::nonNull)
+                    .forEach(latency -> sum.add(latency.latency()));
+            assertEquals(sum.buckets(), merged.buckets(), endpoint);
+            assertEquals(sum.count(), merged.count(), endpoint);
+        });
+        assertEquals(report.endpoints().keySet(), report.toBaseline().endpoints().keySet());
+    }
+}
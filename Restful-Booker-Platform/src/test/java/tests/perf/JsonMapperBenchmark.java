@@ -0,0 +1,92 @@
+package tests.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import models.common.BookingDates;
+import models.response.BookingResponse;
+import models.response.BrandingResponse;
+import tests.utils.JsonMappers;
+import tests.utils.workload.WarmUp;
+import tests.utils.workload.WarmUpPolicy;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static constants.ApiConstants.MULTIPLE_BRANDING_FIELDS_UPDATE_PATH;
+import static tests.utils.TestUtils.loadRequestFromFile;
+
+
+/**
+ * Compares per-request JSON cost of a default {@link ObjectMapper} going through Strings (the previous
+ * setup) against the shared {@link JsonMappers} readers and writers working on bytes.
+ * Run once with {@code -Djackson.blackbird=false} to isolate the bytecode-generation module. All four calls are
+ * driven until a {@link WarmUp} has settled before anything is measured.
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.perf.JsonMapperBenchmark
+ * -Dexec.args="200000"}
+ */
+public final class JsonMapperBenchmark {
+
+    private JsonMapperBenchmark() {
+        // hidden constructor
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        BrandingResponse branding = loadRequestFromFile(MULTIPLE_BRANDING_FIELDS_UPDATE_PATH, BrandingResponse.class);
+        List<BookingResponse> bookings = IntStream.range(0, 20)
+                .mapToObj(i -> new BookingResponse(i, 1, "Firstname" + i, "Lastname" + i, i % 2 == 0,
+                        new BookingDates("2025-07-23", "2025-07-24")))
+                .toList();
+        byte[] bookingsJson = String.format("{\"bookings\":%s}", JsonMappers.mapper().writeValueAsString(bookings))
+                .getBytes(StandardCharsets.UTF_8);
+
+        ObjectMapper plain = new ObjectMapper();
+        ObjectReader tunedBookings = JsonMappers.reader(JsonMappers.listOf(BookingResponse.class)).at("/bookings");
+
+        JsonCall plainBranding = () -> plain.readValue(plain.writeValueAsString(branding), BrandingResponse.class);
+        JsonCall tunedBranding = () -> JsonMappers.reader(BrandingResponse.class)
+                .readValue(JsonMappers.writeBytes(branding));
+        JsonCall plainBookings = () -> plain.convertValue(
+                plain.readTree(new String(bookingsJson, StandardCharsets.UTF_8)).get("bookings"),
+                plain.getTypeFactory().constructCollectionType(List.class, BookingResponse.class));
+        JsonCall tunedBookingsRead = () -> tunedBookings.readValue(bookingsJson);
+
+        System.out.printf("blackbird=%s%n", System.getProperty("jackson.blackbird", "true"));
+        WarmUp warmUp = new WarmUp(WarmUpPolicy.DEFAULT);
+        warmUp.drive(() -> plainBranding.run().hashCode() + tunedBranding.run().hashCode()
+                + plainBookings.run().hashCode() + tunedBookingsRead.run().hashCode());
+
+        measure("plain branding round-trip", iterations, plainBranding);
+        measure("tuned branding round-trip", iterations, tunedBranding);
+        measure("plain bookings read", iterations, plainBookings);
+        measure("tuned bookings read", iterations, tunedBookingsRead);
+        warmUp.report().print(System.out);
+    }
+
+    private static void measure(String label, int iterations, JsonCall call) throws Exception {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += call.run().hashCode() & 1;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-38s %8.2f us/op  %8.2f KB/op  (sink=%d)%n", label,
+                elapsed / 1_000.0 / iterations, (allocatedBytes() - allocatedBefore) / 1024.0 / iterations, sink);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    @FunctionalInterface
+    private interface JsonCall {
+        Object run() throws Exception;
+    }
+}
@@ -0,0 +1,197 @@
+package tests.perf;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import tests.utils.extensions.LatencyBudget;
+import tests.utils.extensions.LatencyBudgetExtension;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static tests.base.BaseTest.givenRequest;
+
+
+/**
+ * Runs fixture test classes with {@link LatencyBudget}s through the JUnit launcher against a sink that delays one
+ * path, checking when the {@link LatencyBudgetExtension} fails a test and what it reports.
+ */
+public class LatencyBudgetTests {
+
+    private static final String SLOW_PATH = "/slow";
+    private static final String FAST_PATH = "/fast";
+    private static final long SLOW_MILLIS = 500;
+    private static final long BUDGET_MILLIS = 250;
+
+    private static volatile String sinkUri;
+    private static HttpServer sink;
+
+    // --- Setup ---
+    @BeforeAll
+    public static void startSink() throws IOException {
+        sink = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        sink.createContext("/", exchange -> {
+            if (exchange.getRequestURI().getPath().startsWith(SLOW_PATH)) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(SLOW_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        sink.start();
+        sinkUri = String.format("http://localhost:%d", sink.getAddress().getPort());
+        // warm up the client, so the fixtures' first call is not slowed down by class loading
+        call(FAST_PATH);
+    }
+
+    @AfterAll
+    public static void stopSink() {
+        sinkUri = null;
+        sink.stop(0);
+    }
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should fail a test over its class budget and list only the offending calls")
+    public void testFailsOverBudget() {
+        Map<String, TestExecutionResult> results = run(ClassBudgetFixture.class, true);
+
+        TestExecutionResult result = results.get("overBudget");
+        assertEquals(TestExecutionResult.Status.FAILED, result.getStatus());
+        String message = result.getThrowable().orElseThrow().getMessage();
+        assertTrue(message.startsWith("Latency budget exceeded for 'all endpoints': p99 "), message);
+        assertTrue(message.contains(String.format("> %d ms over 2 call(s)", BUDGET_MILLIS)), message);
+        assertTrue(message.contains(String.format("GET %s -> 200 in ", SLOW_PATH)), message);
+        assertFalse(message.contains(FAST_PATH), message);
+    }
+
+    @Test
+    @DisplayName("Should apply a method-level budget instead of the class-level one")
+    public void testMethodBudgetOverridesClassBudget() {
+        Map<String, TestExecutionResult> results = run(ClassBudgetFixture.class, true);
+
+        assertEquals(TestExecutionResult.Status.SUCCESSFUL, results.get("methodBudget").getStatus());
+        assertEquals(TestExecutionResult.Status.FAILED, results.get("tighterMethodBudget").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should only count the calls to the budget's endpoint and the paths below it")
+    public void testEndpointMatching() {
+        Map<String, TestExecutionResult> results = run(EndpointBudgetFixture.class, true);
+
+        assertEquals(TestExecutionResult.Status.SUCCESSFUL, results.get("otherEndpoint").getStatus());
+        assertEquals(TestExecutionResult.Status.SUCCESSFUL, results.get("namePrefix").getStatus());
+        TestExecutionResult subPath = results.get("subPath");
+        assertEquals(TestExecutionResult.Status.FAILED, subPath.getStatus());
+        assertTrue(subPath.getThrowable().orElseThrow().getMessage()
+                .startsWith(String.format("Latency budget exceeded for '%s'", SLOW_PATH)));
+    }
+
+    @Test
+    @DisplayName("Should not check any budget with latencyBudget.enabled=false")
+    public void testDisabled() {
+        Map<String, TestExecutionResult> results = run(ClassBudgetFixture.class, false);
+
+        assertEquals(3, results.size());
+        results.forEach((method, result) ->
+                assertEquals(TestExecutionResult.Status.SUCCESSFUL, result.getStatus(), method));
+    }
+
+    // --- Fixtures ---
+
+    /**
+     * Only run by the tests above; the name keeps it out of class-path scans.
+     */
+    @LatencyBudget(p99Millis = BUDGET_MILLIS)
+    public static class ClassBudgetFixture {
+
+        @Test
+        public void overBudget() {
+            call(SLOW_PATH);
+            call(FAST_PATH);
+        }
+
+        @Test
+        @LatencyBudget(p99Millis = 2 * SLOW_MILLIS)
+        public void methodBudget() {
+            call(SLOW_PATH);
+        }
+
+        @Test
+        @LatencyBudget(endpoint = SLOW_PATH, p99Millis = BUDGET_MILLIS)
+        public void tighterMethodBudget() {
+            call(SLOW_PATH);
+        }
+    }
+
+    /**
+     * Only run by the tests above; the name keeps it out of class-path scans.
+     */
+    public static class EndpointBudgetFixture {
+
+        @Test
+        @LatencyBudget(endpoint = FAST_PATH, p99Millis = BUDGET_MILLIS)
+        public void otherEndpoint() {
+            call(SLOW_PATH);
+        }
+
+        @Test
+        @LatencyBudget(endpoint = "/slo", p99Millis = BUDGET_MILLIS)
+        public void namePrefix() {
+            call(SLOW_PATH);
+        }
+
+        @Test
+        @LatencyBudget(endpoint = SLOW_PATH, p99Millis = BUDGET_MILLIS)
+        public void subPath() {
+            call(SLOW_PATH + "/1");
+        }
+    }
+
+    // --- Helpers ---
+
+    private static void call(String path) {
+        assumeTrue(sinkUri != null, "Only run from LatencyBudgetTests");
+        givenRequest().baseUri(sinkUri).get(path).then().statusCode(200);
+    }
+
+    /**
+     * Runs a fixture class through the JUnit launcher.
+     * @return The result of each of its test methods, by method name.
+     */
+    private static Map<String, TestExecutionResult> run(Class<?> fixture, boolean budgetsEnabled) {
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(fixture))
+                .configurationParameter("latencyBudget.enabled", String.valueOf(budgetsEnabled))
+                .build();
+        Map<String, TestExecutionResult> results = new ConcurrentHashMap<>();
+        LauncherFactory.create().execute(request, new TestExecutionListener() {
+            @Override
+            public void executionFinished(TestIdentifier test, TestExecutionResult result) {
+                test.getSource()
+                        .filter(MethodSource.class::isInstance)
+                        .map(source -> ((MethodSource) source).getMethodName())
+                        .ifPresent(method -> results.put(method, result));
+            }
+        });
+        return results;
+    }
+}
@@ -0,0 +1,88 @@
+package tests.perf;
+
+import models.common.Message;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.JsonMappers;
+import tests.utils.standin.StandInServer;
+import tests.utils.workload.MessageReadReport;
+import tests.utils.workload.MessageReadReport.Phase;
+import tests.utils.workload.MessageReadWorkload;
+import tests.utils.workload.WarmUpPolicy;
+import tests.utils.workload.ZipfSampler;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static constants.ApiConstants.MESSAGE_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.base.BaseTest.givenRequest;
+
+
+/**
+ * Runs the {@link MessageReadWorkload} against a {@link StandInServer} and checks the skew of the
+ * {@link ZipfSampler} it draws message ids with.
+ */
+public class MessageReadWorkloadTests {
+
+    private static final double DETAILS_PER_LIST = 4;
+    private static final WarmUpPolicy WARM_UP = new WarmUpPolicy(250, 20, 4, 0.10, 5);
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should mix list and detail reads at the ratio for every inbox size and clean up")
+    public void testReadMixAcrossInboxSizes() throws InterruptedException {
+        MessageReadReport report;
+        List<Message> remaining;
+        try (StandInServer standIn = StandInServer.start()) {
+            report = new MessageReadWorkload(standIn.baseUri(), List.of(5, 40), DETAILS_PER_LIST, 1.0, 4, 400,
+                    WARM_UP).run();
+            remaining = JsonMappers.readList(givenRequest().baseUri(standIn.baseUri()).get(MESSAGE_ENDPOINT),
+                    "messages", Message.class);
+        }
+        report.print(System.out);
+
+        assertEquals(0, report.errorCount());
+        assertEquals(2, report.phases().size());
+        assertTrue(report.warmUp().calls() > 0 && report.warmUp().elapsedNanos() > 0);
+        assertTrue(report.warmUp().elapsedNanos() <= WARM_UP.capSeconds() * 1_000_000_000L);
+        assertTrue(report.phases().get(0).inboxSize() >= 5);
+        assertTrue(report.phases().get(1).inboxSize() >= 40);
+        for (Phase phase : report.phases()) {
+            assertEquals(400, phase.list().count() + phase.detail().count());
+            double ratio = (double) phase.detail().count() / phase.list().count();
+            assertTrue(ratio > 2.5 && ratio < 6.5, String.format("Detail reads per list read: %.2f", ratio));
+            assertTrue(phase.listPerSecond() > 0 && phase.detailPerSecond() > 0);
+        }
+        Phase largest = report.phases().getLast();
+        assertTrue(largest.topMessageShare() > 2.0 / largest.inboxSize(),
+                String.format("Top message share %.3f should exceed a uniform draw", largest.topMessageShare()));
+        assertTrue(remaining.stream().noneMatch(message -> message.getName().startsWith("Inbox load ")),
+                "The messages the workload sent should be deleted");
+    }
+
+    @Test
+    @DisplayName("Should draw ranks with Zipfian probabilities")
+    public void testZipfSampler() {
+        ZipfSampler zipf = new ZipfSampler(100, 1.0);
+        double harmonic = 0;
+        for (int k = 1; k <= 100; k++) {
+            harmonic += 1.0 / k;
+        }
+        assertEquals(1 / harmonic, zipf.probability(0), 1e-12);
+        assertEquals(1 / (10 * harmonic), zipf.probability(9), 1e-12);
+
+        SplittableRandom random = new SplittableRandom(42);
+        int[] hits = new int[100];
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            hits[zipf.sample(random)]++;
+        }
+        assertEquals(zipf.probability(0), (double) hits[0] / samples, 0.005);
+        assertEquals(zipf.probability(99), (double) hits[99] / samples, 0.001);
+
+        ZipfSampler uniform = new ZipfSampler(4, 0);
+        assertEquals(0.25, uniform.probability(3), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+    }
+}
@@ -0,0 +1,119 @@
+package tests.perf;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.specification.RequestSpecification;
+import tests.utils.workload.WarmUp;
+import tests.utils.workload.WarmUpPolicy;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static constants.ApiConstants.BOOKING_ENDPOINT;
+import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.*;
+
+
+/**
+ * Compares the cost of building request specifications inline (content type, cookie header and formatted
+ * path on every call) against applying the prebuilt {@link tests.base.RequestTemplates}.
+ * Runs a spec-construction phase and a full request phase against an in-process sink server, so no
+ * external service is touched. Both construction paths are driven until a {@link WarmUp} has settled before
+ * anything is measured.
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.perf.RequestSpecBenchmark
+ * -Dexec.args="100000 10000"} (spec constructions, full requests)
+ */
+public final class RequestSpecBenchmark {
+
+    private static final String TOKEN = "benchmarkToken";
+    private static final byte[] SUCCESS_BODY = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private RequestSpecBenchmark() {
+        // hidden constructor
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        // RestAssured opens a connection per request, so the request phase is kept below ephemeral port limits
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            // both variants must resolve the same path and cookie, otherwise the sink answers 404
+            boolean expected = exchange.getRequestURI().getPath().matches("/api/booking/\\d+")
+                    && String.format("token=%s", TOKEN).equals(exchange.getRequestHeaders().getFirst("Cookie"));
+            exchange.sendResponseHeaders(expected ? 200 : 404, SUCCESS_BODY.length);
+            exchange.getResponseBody().write(SUCCESS_BODY);
+            exchange.close();
+        });
+        server.start();
+        System.setProperty("baseUri", String.format("http://localhost:%d/api", server.getAddress().getPort()));
+
+        try {
+            IntFunction<RequestSpecification> inline = i -> givenRequest()
+                    .header("Cookie", String.format("token=%s", TOKEN))
+                    .pathParams("bookingId", i);
+            IntFunction<RequestSpecification> templated = i -> givenRequest(authenticated(BOOKING_BY_ID_PATH, TOKEN))
+                    .pathParams(BOOKING_ID_PARAM, i);
+
+            // warm up both paths so the JIT has compiled them before measuring
+            WarmUp warmUp = new WarmUp(WarmUpPolicy.DEFAULT);
+            AtomicInteger next = new AtomicInteger();
+            warmUp.drive(() -> {
+                int i = next.getAndIncrement();
+                return inline.apply(i).hashCode() + templated.apply(i).hashCode();
+            });
+
+            measureConstruction("inline spec construction", inline, iterations);
+            measureConstruction("template spec construction", templated, iterations);
+
+            measureRequests("inline requests", i -> inline.apply(i).when()
+                    .delete(String.format("%s/%s", BOOKING_ENDPOINT, "{bookingId}")).statusCode(), requests);
+            measureRequests("template requests", i -> templated.apply(i).when()
+                    .delete().statusCode(), requests);
+            warmUp.report().print(System.out);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void measureConstruction(String label, IntFunction<RequestSpecification> factory, int iterations) {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += factory.apply(i).hashCode() & 1;
+        }
+
+        report(label, iterations, System.nanoTime() - start, allocatedBytes() - allocatedBefore, sink);
+    }
+
+    private static void measureRequests(String label, IntFunction<Integer> call, int iterations) {
+        if (iterations <= 0) {
+            return;
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += call.apply(i);
+        }
+
+        report(label, iterations, System.nanoTime() - start, allocatedBytes() - allocatedBefore, sink);
+    }
+
+    private static void report(String label, int iterations, long elapsedNanos, long allocated, int sink) {
+        System.out.printf("%-28s %,10d ops  %8.2f us/op  %10.1f KB/op  (sink=%d)%n",
+                label, iterations, elapsedNanos / 1_000.0 / iterations, allocated / 1024.0 / iterations, sink);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+}
@@ -0,0 +1,87 @@
+package tests.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.TestUtils;
+import tests.utils.random.RunRandom;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Checks that {@link RunRandom} draws digit strings with the distribution of drawing digit by digit, and that its
+ * keyed, split and per-thread generators replay from the run seed.
+ */
+public class RunRandomTests {
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should draw numbers of the given length with uniform digits, the first not 0")
+    public void testDigits() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int length = 1; length <= 18; length++) {
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(length, Long.toString(RunRandom.digits(random, length)).length());
+            }
+        }
+        assertEquals(10, TestUtils.generate10DigitNumericString().length());
+        assertThrows(IllegalArgumentException.class, () -> RunRandom.digits(random, 0));
+        assertThrows(IllegalArgumentException.class, () -> TestUtils.generateLongWithDigits(19));
+
+        int samples = 90_000;
+        int[] first = new int[10];
+        int[] last = new int[10];
+        for (int i = 0; i < samples; i++) {
+            String digits = Long.toString(RunRandom.digits(random, 10));
+            first[digits.charAt(0) - '0']++;
+            last[digits.charAt(9) - '0']++;
+        }
+        assertEquals(0, first[0]);
+        for (int digit = 0; digit < 10; digit++) {
+            if (digit > 0) {
+                assertEquals(samples / 9.0, first[digit], samples / 9.0 * 0.05, "First digit " + digit);
+            }
+            assertEquals(samples / 10.0, last[digit], samples / 10.0 * 0.05, "Last digit " + digit);
+        }
+    }
+
+    @Test
+    @DisplayName("Should derive the same generators from the run seed for the same key, on any thread")
+    public void testReplayableGenerators() throws Exception {
+        assertArrayEquals(draw(RunRandom.forKey("worker-1")), draw(RunRandom.forKey("worker-1")));
+        assertFalse(Arrays.equals(draw(RunRandom.forKey("worker-1")), draw(RunRandom.forKey("worker-2"))));
+
+        List<long[]> splits = RunRandom.splits("clients", 4).map(RunRandomTests::draw).toList();
+        List<long[]> again = RunRandom.splits("clients", 4).map(RunRandomTests::draw).toList();
+        assertEquals(4, splits.size());
+        IntStream.range(0, 4).forEach(i -> assertArrayEquals(splits.get(i), again.get(i)));
+
+        RunRandom.reseed("test");
+        long[] reseeded = draw(RunRandom.current());
+        assertArrayEquals(draw(RunRandom.forKey("test")), reseeded);
+        long[] otherThread = CompletableFuture.supplyAsync(() -> {
+            RunRandom.reseed("test");
+            return draw(RunRandom.current());
+        }).get();
+        assertArrayEquals(reseeded, otherThread);
+        assertNotSame(RunRandom.current(), CompletableFuture.supplyAsync(RunRandom::current).get());
+
+        String property = System.getProperty(RunRandom.SEED_PROPERTY);
+        if (property != null) {
+            assertEquals(Long.parseLong(property), RunRandom.seed());
+        }
+    }
+
+    // --- Helpers ---
+
+    private static long[] draw(RandomGenerator random) {
+        return random.longs(8).toArray();
+    }
+}
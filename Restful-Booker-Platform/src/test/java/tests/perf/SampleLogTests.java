@@ -0,0 +1,178 @@
+package tests.perf;
+
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tests.utils.faults.FaultProxy;
+import tests.utils.faults.FaultRule;
+import tests.utils.samples.Sample;
+import tests.utils.samples.SampleLog;
+import tests.utils.samples.SampleLogReader;
+import tests.utils.samples.SampleRecording;
+import tests.utils.standin.StandInServer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static constants.ApiConstants.BRANDING_ENDPOINT;
+import static constants.ApiConstants.NOT_FOUND_ERROR_MESSAGE;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.base.BaseTest.givenRequest;
+
+
+/**
+ * Writes a {@link SampleLog} from many threads and reads it back with the {@link SampleLogReader}: every sample
+ * once, the latest segments of a full ring, and the calls recorded through the filters against a
+ * {@link StandInServer}, also behind a {@link FaultProxy} that truncates the body.
+ */
+public class SampleLogTests {
+
+    private static final int SMALL_SEGMENT_BYTES = 64 * 1024;
+    private static final int THREADS = 16;
+    private static final int SAMPLES_PER_THREAD = 20_000;
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should read back every sample appended concurrently, exactly once and intact")
+    public void testConcurrentAppends(@TempDir Path directory) throws Exception {
+        try (SampleLog log = SampleLog.open(directory, SMALL_SEGMENT_BYTES, Integer.MAX_VALUE)) {
+            int[] endpoints = {log.endpointId("GET /branding"), log.endpointId("POST /booking")};
+            appendConcurrently(log, endpoints, log.messageId(NOT_FOUND_ERROR_MESSAGE));
+        }
+
+        SampleLogReader reader = SampleLogReader.open(directory);
+        assertEquals(List.of("GET /branding", "POST /booking"), reader.endpoints());
+        assertEquals(List.of(NOT_FOUND_ERROR_MESSAGE), reader.messages());
+        assertTrue(reader.segments().size() > 1, "The samples should span several segments");
+        BitSet seen = new BitSet(THREADS * SAMPLES_PER_THREAD);
+        long count = reader.read((timestamp, endpoint, status, message, latency, bytes) -> {
+            int sample = (int) latency;
+            assertFalse(seen.get(sample), String.format("Sample %d read twice", sample));
+            seen.set(sample);
+            assertEquals(sample + 1L, timestamp);
+            assertEquals(sample % 2, endpoint);
+            assertEquals(sample % 2 == 0 ? 200 : 404, status);
+            assertEquals(sample % 2 == 0 ? -1 : 0, message);
+            assertEquals(sample * 3L, bytes);
+        });
+        assertEquals(THREADS * SAMPLES_PER_THREAD, count);
+        assertEquals(THREADS * SAMPLES_PER_THREAD, seen.cardinality());
+        assertEquals(count, reader.stream().count());
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest segments once the ring is full")
+    public void testRing(@TempDir Path directory) {
+        int total = 100_000;
+        try (SampleLog log = SampleLog.open(directory, SMALL_SEGMENT_BYTES, 3)) {
+            int endpoint = log.endpointId("GET /message");
+            for (int i = 1; i <= total; i++) {
+                log.append(i, endpoint, 200, -1, i, 0);
+            }
+            assertThrows(IllegalArgumentException.class, () -> SampleLog.open(directory));
+        }
+
+        SampleLogReader reader = SampleLogReader.open(directory);
+        assertEquals(3, reader.segments().size());
+        List<Sample> samples = reader.stream().toList();
+        // one thread fills its chunks in order, so the samples come back in order, ending with the last
+        assertEquals(total, samples.getLast().timestampMicros());
+        assertTrue(samples.size() < total && samples.size() > 2 * SMALL_SEGMENT_BYTES / 32,
+                String.format("%d samples kept", samples.size()));
+        for (int i = 1; i < samples.size(); i++) {
+            assertEquals(samples.get(i - 1).timestampMicros() + 1, samples.get(i).timestampMicros());
+        }
+    }
+
+    @Test
+    @DisplayName("Should record the calls made through the filters with status and body size")
+    public void testRecordsFilteredCalls(@TempDir Path directory) {
+        try (StandInServer standIn = StandInServer.start();
+             SampleLog log = SampleLog.open(directory)) {
+            SampleRecording.start(log);
+            try {
+                for (int i = 0; i < 5; i++) {
+                    givenRequest().baseUri(standIn.baseUri()).get(BRANDING_ENDPOINT).then().statusCode(200);
+                }
+                givenRequest().baseUri(standIn.baseUri()).get(BRANDING_ENDPOINT + "/missing");
+            } finally {
+                SampleRecording.stop(log);
+            }
+        }
+
+        SampleLogReader reader = SampleLogReader.open(directory);
+        List<Sample> branding = reader.stream()
+                .filter(sample -> reader.endpoint(sample.endpointId()).equals("GET " + BRANDING_ENDPOINT))
+                .toList();
+        assertEquals(5, branding.size());
+        long now = SampleLog.nowMicros();
+        for (Sample sample : branding) {
+            assertEquals(200, sample.status());
+            assertTrue(sample.bytes() > 0 && sample.latencyNanos() > 0);
+            assertTrue(sample.timestampMicros() <= now && sample.timestampMicros() > now - 60_000_000L);
+        }
+        assertEquals(6, reader.stream().count());
+        assertTrue(reader.stream().anyMatch(sample -> sample.status() == 404));
+    }
+
+    @Test
+    @DisplayName("Should record a call with a truncated body, leaving the failure to the caller")
+    public void testRecordsTruncatedCall(@TempDir Path directory) {
+        Response response;
+        try (StandInServer standIn = StandInServer.start();
+             FaultProxy proxy = FaultProxy.start(standIn.baseUri(),
+                     List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT).partialReads(1.0).build()));
+             SampleLog log = SampleLog.open(directory)) {
+            SampleRecording.start(log);
+            try {
+                response = givenRequest().baseUri(proxy.baseUri()).get(BRANDING_ENDPOINT);
+                assertEquals(200, response.getStatusCode());
+                assertThrows(Exception.class, response::asString, "The body was cut off");
+            } finally {
+                SampleRecording.stop(log);
+            }
+        }
+
+        SampleLogReader reader = SampleLogReader.open(directory);
+        Sample sample = reader.stream().findFirst().orElseThrow();
+        assertEquals(1, reader.stream().count());
+        assertEquals(200, sample.status());
+        assertEquals(Long.parseLong(response.getHeader("Content-Length")), sample.bytes(),
+                "The declared size, not what arrived");
+    }
+
+    // --- Helpers ---
+
+    /**
+     * Appends {@code SAMPLES_PER_THREAD} samples on each of {@code THREADS} threads, half of them virtual; sample n
+     * has latency n, so each can be recognised, and every other one failed.
+     */
+    private static void appendConcurrently(SampleLog log, int[] endpoints, int message) throws Exception {
+        AtomicLong next = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService platform = Executors.newFixedThreadPool(THREADS / 2);
+             ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < THREADS; t++) {
+                Runnable append = () -> {
+                    for (int i = 0; i < SAMPLES_PER_THREAD; i++) {
+                        long sample = next.getAndIncrement();
+                        boolean failed = sample % 2 == 1;
+                        log.append(sample + 1, endpoints[(int) (sample % 2)], failed ? 404 : 200, failed ? message : -1,
+                                sample, sample * 3);
+                    }
+                };
+                futures.add((t % 2 == 0 ? platform : virtual).submit(append));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+}
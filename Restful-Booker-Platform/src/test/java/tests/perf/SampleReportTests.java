@@ -0,0 +1,131 @@
+package tests.perf;
+
+import models.request.LoginRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tests.utils.samples.HtmlSampleReport;
+import tests.utils.samples.SampleLog;
+import tests.utils.samples.SampleLogReader;
+import tests.utils.samples.SampleRecording;
+import tests.utils.samples.SampleReport;
+import tests.utils.samples.SlowRequest;
+import tests.utils.standin.StandInServer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static constants.ApiConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.utils.TestUtils.loadRequest;
+
+
+/**
+ * Aggregates {@link SampleLog}s into a {@link SampleReport} and renders it with the {@link HtmlSampleReport}: a
+ * synthetic log spanning longer than the timeline holds at one-second intervals, and the calls of a
+ * {@link StandInServer} run.
+ */
+public class SampleReportTests {
+
+    private static final long SECOND_MICROS = 1_000_000;
+    private static final int RUN_SECONDS = 2_000;
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should aggregate a long log in one pass, widening the timeline's intervals")
+    public void testAggregatesLongLog(@TempDir Path directory) throws Exception {
+        long start;
+        try (SampleLog log = SampleLog.open(directory)) {
+            start = SampleLog.nowMicros();
+            int branding = log.endpointId("GET /branding");
+            int booking = log.endpointId("POST /booking");
+            int notFound = log.messageId(NOT_FOUND_ERROR_MESSAGE);
+            int unlisted = log.messageId("Something <odd>");
+            for (int second = 0; second < RUN_SECONDS; second++) {
+                long at = start + second * SECOND_MICROS;
+                // 10 ms, except for a minute of 100 ms in the middle
+                long latency = second >= 1_000 && second < 1_060 ? 100_000_000 : 10_000_000;
+                for (int i = 0; i < 10; i++) {
+                    log.append(at + i, branding, 200, -1, latency, 100);
+                }
+                log.append(at, booking, 201, -1, 2 * latency, 50);
+                if (second % 100 == 0) {
+                    log.append(at, booking, 404, notFound, latency, 20);
+                    log.append(at, booking, 500, unlisted, latency, 20);
+                }
+            }
+        }
+
+        SampleReport report = SampleReport.of(SampleLogReader.open(directory));
+        int errors = 2 * RUN_SECONDS / 100;
+        assertEquals(11L * RUN_SECONDS + errors, report.samples());
+        assertEquals(errors, report.failed());
+        assertEquals(10L * RUN_SECONDS, report.endpoints().get("GET /branding").count());
+        assertTrue(report.timeline().size() <= 600, String.format("%d intervals", report.timeline().size()));
+        assertEquals(4 * SECOND_MICROS, report.intervalMicros());
+        assertEquals(report.samples(), report.timeline().stream().mapToLong(SampleReport.Interval::calls).sum());
+        // the slow minute shows up in the intervals holding it, and only there
+        int slow = (int) ((start + 1_020 * SECOND_MICROS - report.reader().startMicros()) / report.intervalMicros());
+        assertEquals(100, report.timeline().get(slow).latency().percentile(0.5) / 1e6, 2);
+        assertEquals(10, report.timeline().get(slow - 20).latency().percentile(0.5) / 1e6, 0.2);
+        assertEquals(List.of(new SampleReport.ErrorCount("POST /booking", 404, NOT_FOUND_ERROR_MESSAGE, errors / 2),
+                new SampleReport.ErrorCount("POST /booking", 500, "Something <odd>", errors / 2)),
+                report.errors().stream().sorted((a, b) -> Integer.compare(a.status(), b.status())).toList());
+
+        Path html = directory.resolve("report.html");
+        HtmlSampleReport.write(report, html);
+        String page = Files.readString(html);
+        assertTrue(page.contains("NOT_FOUND_ERROR_MESSAGE"));
+        assertTrue(page.contains("Something &lt;odd&gt;"));
+        assertFalse(page.contains("<odd>"));
+        assertEquals(3, page.split("<svg ", -1).length - 1);
+        assertTrue(page.contains("p99.99"));
+    }
+
+    @Test
+    @DisplayName("Should report the errors of a stand-in run by ApiConstants message, and the slowest bodies")
+    public void testStandInRun(@TempDir Path directory) throws Exception {
+        try (StandInServer standIn = StandInServer.start();
+             SampleLog log = SampleLog.open(directory)) {
+            SampleRecording.start(log);
+            try {
+                for (int i = 0; i < 20; i++) {
+                    givenRequest().baseUri(standIn.baseUri()).get(BRANDING_ENDPOINT).then().statusCode(200);
+                }
+                for (int i = 0; i < 3; i++) {
+                    givenRequest().baseUri(standIn.baseUri())
+                            .body(new LoginRequest(StandInServer.USERNAME, "wrong password"))
+                            .post(AUTH_LOGIN_ENDPOINT)
+                            .then().statusCode(401);
+                }
+                givenRequest().baseUri(standIn.baseUri())
+                        .body(loadRequest(CORRECT_LOGIN_PATH, LoginRequest.class))
+                        .post(AUTH_LOGIN_ENDPOINT)
+                        .then().statusCode(200);
+            } finally {
+                SampleRecording.stop(log);
+            }
+        }
+
+        SampleLogReader reader = SampleLogReader.open(directory);
+        SampleReport report = SampleReport.of(reader);
+        assertEquals(24, report.samples());
+        assertEquals(List.of(new SampleReport.ErrorCount("POST " + AUTH_LOGIN_ENDPOINT, 401,
+                INVALID_CREDENTIALS_ERROR_MESSAGE, 3)), report.errors());
+        List<SlowRequest> slowest = reader.slowest();
+        assertEquals(Math.min(report.samples(), SampleLog.SLOWEST_KEPT), slowest.size());
+        for (int i = 1; i < slowest.size(); i++) {
+            assertTrue(slowest.get(i - 1).latencyNanos() >= slowest.get(i).latencyNanos());
+        }
+        assertTrue(slowest.stream().anyMatch(request -> request.responseBody() != null
+                && request.responseBody().contains(INVALID_CREDENTIALS_ERROR_MESSAGE)));
+
+        Path html = directory.resolve("report.html");
+        HtmlSampleReport.main(new String[] {directory.toString(), "--out", html.toString()});
+        String page = Files.readString(html);
+        assertTrue(page.contains("INVALID_CREDENTIALS_ERROR_MESSAGE"));
+        assertTrue(page.contains("wrong password"));
+    }
+}
@@ -0,0 +1,114 @@
+package tests.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.standin.StandInServer;
+import tests.utils.workload.Operation;
+import tests.utils.workload.ScenarioEngine;
+import tests.utils.workload.ScenarioMixReport;
+import tests.utils.workload.ScenarioMixReport.ScenarioResult;
+import tests.utils.workload.ScenarioMixReport.StepResult;
+import tests.utils.workload.WarmUpPolicy;
+import tests.utils.workload.WorkloadDefinition;
+import tests.utils.workload.WorkloadDefinition.Scenario;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Checks the parsing and validation of {@link WorkloadDefinition} and runs a short mix through the
+ * {@link ScenarioEngine} against a {@link StandInServer}.
+ */
+public class ScenarioMixTests {
+
+    private static final WarmUpPolicy WARM_UP = new WarmUpPolicy(500, 10, 4, 0.10, 5);
+
+    private static final String MIX = """
+            {
+              "name": "Short mix",
+              "arrivalRate": 6.0,
+              "durationSeconds": 4,
+              "scenarios": [
+                { "name": "Browse", "weight": 2,
+                  "steps": [ { "operation": "GET_BRANDING" },
+                             { "operation": "GET_BRANDING", "thinkTime": { "minMs": 100, "maxMs": 200 } } ] },
+                { "name": "Manage", "weight": 1,
+                  "steps": [ { "operation": "LOGIN" }, { "operation": "VALIDATE_TOKEN" },
+                             { "operation": "CREATE_BOOKING" }, { "operation": "UPDATE_BOOKING" },
+                             { "operation": "DELETE_BOOKING", "thinkTime": { "minMs": 50 } } ] },
+                { "name": "Inbox", "arrivalRate": 1.0,
+                  "steps": [ { "operation": "LIST_MESSAGES" }, { "operation": "GET_MESSAGE" } ] }
+              ]
+            }
+            """;
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should share the arrival rate by weight and load the shipped mix")
+    public void testArrivalRates() {
+        WorkloadDefinition mix = WorkloadDefinition.parse(MIX);
+
+        assertEquals(4.0, mix.ratePerSecond(mix.scenarios().get(0)), 1e-9);
+        assertEquals(2.0, mix.ratePerSecond(mix.scenarios().get(1)), 1e-9);
+        assertEquals(1.0, mix.ratePerSecond(mix.scenarios().get(2)), 1e-9);
+        assertTrue(mix.scenarios().get(1).needsBookingId());
+        assertFalse(mix.scenarios().get(0).needsBookingId());
+
+        WorkloadDefinition typical = WorkloadDefinition.load(WorkloadDefinition.TYPICAL_TRAFFIC_PATH);
+        assertEquals(4, typical.scenarios().size());
+        double weighted = typical.scenarios().stream()
+                .filter(scenario -> scenario.arrivalRate() == null)
+                .mapToDouble(typical::ratePerSecond)
+                .sum();
+        assertEquals(typical.arrivalRate(), weighted, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields, steps missing their prerequisite and scenarios without a rate")
+    public void testRejectsInvalidDefinitions() {
+        assertThrows(UncheckedIOException.class, () -> WorkloadDefinition.parse(MIX.replace("\"weight\": 2",
+                "\"wieght\": 2")));
+        assertThrows(UncheckedIOException.class, () -> WorkloadDefinition.parse(MIX.replace("GET_BRANDING",
+                "GET_BRANDINGS")));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadDefinition.parse(MIX.replace(
+                "{ \"operation\": \"CREATE_BOOKING\" }, ", "")));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadDefinition.parse(MIX.replace("\"weight\": 1",
+                "\"weight\": 0")));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadDefinition.parse(MIX).withDurationSeconds(0));
+    }
+
+    @Test
+    @DisplayName("Should run every scenario of the mix with per-step metrics")
+    public void testRunsMix() {
+        WorkloadDefinition mix = WorkloadDefinition.parse(MIX);
+        ScenarioMixReport report;
+        try (StandInServer standIn = StandInServer.start()) {
+            report = new ScenarioEngine(standIn.baseUri(), mix, WARM_UP).run();
+        }
+        report.print(System.out);
+
+        assertEquals(0, report.failedSessions());
+        for (Scenario scenario : mix.scenarios()) {
+            ScenarioResult result = report.scenario(scenario.name());
+            double expected = mix.ratePerSecond(scenario) * mix.durationSeconds();
+            // Poisson arrivals: allow about four standard deviations either way
+            assertEquals(expected, result.started(), 4 * Math.sqrt(expected) + 1,
+                    String.format("Sessions of '%s'", scenario.name()));
+            assertEquals(result.started(), result.completed());
+            assertEquals(0, result.skipped());
+            List<StepResult> steps = result.steps();
+            assertEquals(scenario.steps().size(), steps.size());
+            steps.forEach(step -> assertEquals(result.completed(), step.latency().count(),
+                    String.format("Calls of step %d of '%s'", step.index() + 1, scenario.name())));
+        }
+        ScenarioResult browse = report.scenario("Browse");
+        assertTrue(browse.sessionTime().p50Nanos() >= 100_000_000L, "Think time is part of the session time");
+        assertEquals(2 * browse.completed(), report.operations().get(Operation.GET_BRANDING).count());
+        assertTrue(report.warmUp().intervals() >= WARM_UP.windowIntervals() || !report.warmUp().settled());
+        assertTrue(report.warmUp().elapsedNanos() <= WARM_UP.capSeconds() * 1_000_000_000L);
+        assertTrue(report.warmUp().calls() > 0, "The warm-up should have driven the mix");
+    }
+}
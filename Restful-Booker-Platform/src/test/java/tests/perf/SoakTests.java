@@ -0,0 +1,139 @@
+package tests.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.concurrency.LatencyStats;
+import tests.utils.soak.ResourceSample;
+import tests.utils.soak.SoakReport;
+import tests.utils.soak.SoakRunner;
+import tests.utils.soak.SoakWindow;
+import tests.utils.soak.Trend;
+import tests.utils.standin.StandInServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Runs a compressed {@link SoakRunner} against a {@link StandInServer}, checks the trend detection of the
+ * {@link SoakReport} on made-up windows, and that the {@link ResourceSample} sees threads and sockets leak.
+ */
+public class SoakTests {
+
+    private static final long MEBIBYTE = 1024 * 1024;
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should run every flow step in every window without errors")
+    public void testSoakAgainstStandIn() throws InterruptedException {
+        SoakReport report;
+        try (StandInServer standIn = StandInServer.start()) {
+            report = new SoakRunner(standIn.baseUri(), Duration.ofSeconds(4), 8, Duration.ofMillis(500), 1)
+                    .run(System.out);
+        }
+        report.print(System.out);
+
+        assertTrue(report.windows().size() >= 8, String.format("Windows: %d", report.windows().size()));
+        assertEquals(0, report.errorCount(), String.format("Errors: %s",
+                report.windows().stream().map(SoakWindow::errors).toList()));
+        Set<String> steps = new TreeSet<>();
+        report.windows().forEach(window -> steps.addAll(window.latency().keySet()));
+        assertEquals(new TreeSet<>(List.of(SoakRunner.CREATE_BOOKING, SoakRunner.LIST_BOOKINGS,
+                SoakRunner.GET_BOOKING, SoakRunner.UPDATE_BOOKING, SoakRunner.DELETE_BOOKING, SoakRunner.GET_BRANDING,
+                SoakRunner.CREATE_MESSAGE, SoakRunner.LIST_MESSAGES, SoakRunner.GET_MESSAGE,
+                SoakRunner.DELETE_MESSAGE, SoakRunner.COUNT_MESSAGES)), steps);
+        report.windows().forEach(window -> {
+            assertTrue(window.resources().liveThreads() > 0, "Live threads");
+            assertTrue(window.resources().heapAfterGcBytes() > 0, "Heap after GC");
+        });
+        assertEquals(report.windows().size() - 1, report.steadyWindows().size());
+        assertFalse(report.resourceTrends().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should flag a growing heap and drifting latency but not noisy stable series")
+    public void testFlagsGrowthAndDrift() {
+        Random random = new Random(41);
+        List<SoakWindow> windows = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            // the heap leaks 2 MiB per window under 8 MiB of noise; threads and sockets only jitter
+            long heap = 100 * MEBIBYTE + i * 2 * MEBIBYTE + random.nextLong(8 * MEBIBYTE);
+            ResourceSample resources = new ResourceSample(heap, 20 + random.nextInt(3), 40 + random.nextInt(3),
+                    6 + random.nextInt(2));
+            long stable = TimeUnit.MILLISECONDS.toNanos(20) + random.nextLong(TimeUnit.MILLISECONDS.toNanos(4));
+            long drifting = TimeUnit.MILLISECONDS.toNanos(20 + i) + random.nextLong(TimeUnit.MILLISECONDS.toNanos(4));
+            windows.add(new SoakWindow(i, TimeUnit.MINUTES.toNanos(i + 1), latency(stable),
+                    Map.of(SoakRunner.GET_BRANDING, latency(stable), SoakRunner.GET_BOOKING, latency(drifting)),
+                    Map.of(), 0, resources));
+        }
+        SoakReport report = new SoakReport(windows.getFirst().resources(), windows, 2, TimeUnit.MINUTES.toNanos(30));
+        report.print(System.out);
+
+        assertEquals(List.of("heap after GC (MB)"), flagged(report.resourceTrends()));
+        assertEquals(List.of("p95 " + SoakRunner.GET_BOOKING), flagged(report.latencyTrends()));
+        assertTrue(report.flagged());
+
+        SoakReport tooShort = new SoakReport(windows.getFirst().resources(), windows.subList(0, 4), 2, 0);
+        assertFalse(tooShort.flagged(), "Two windows are too few to call a trend");
+    }
+
+    @Test
+    @DisplayName("Should see the threads and sockets the client leaks")
+    public void testSamplesLeakedThreadsAndSockets() throws IOException {
+        ResourceSample before = ResourceSample.take();
+        CountDownLatch release = new CountDownLatch(1);
+        List<ServerSocket> sockets = new ArrayList<>();
+        try {
+            for (int i = 0; i < 5; i++) {
+                Thread.ofPlatform().daemon().start(() -> awaitQuietly(release));
+                sockets.add(new ServerSocket(0));
+            }
+            ResourceSample after = ResourceSample.take();
+
+            assertTrue(after.liveThreads() - before.liveThreads() >= 5,
+                    String.format("Threads: %d -> %d", before.liveThreads(), after.liveThreads()));
+            if (before.openFileDescriptors() >= 0) {
+                assertTrue(after.openFileDescriptors() - before.openFileDescriptors() >= 5,
+                        String.format("FDs: %d -> %d", before.openFileDescriptors(), after.openFileDescriptors()));
+            }
+            if (before.openSockets() >= 0) {
+                assertTrue(after.openSockets() - before.openSockets() >= 5,
+                        String.format("Sockets: %d -> %d", before.openSockets(), after.openSockets()));
+            }
+        } finally {
+            release.countDown();
+            for (ServerSocket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    // --- Helpers ---
+
+    private static LatencyStats latency(long p95Nanos) {
+        return new LatencyStats(100, p95Nanos / 2, p95Nanos, p95Nanos * 2, p95Nanos * 3);
+    }
+
+    private static List<String> flagged(List<Trend> trends) {
+        return trends.stream().filter(Trend::flagged).map(Trend::series).toList();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package tests.perf;
+
+import models.common.BookingDates;
+import models.common.FullMessage;
+import models.request.BookingRequest;
+import models.response.BrandingResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.concurrency.BookingCalls;
+import tests.utils.data.SyntheticData;
+import tests.utils.data.SyntheticData.Person;
+import tests.utils.standin.StandInServer;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static constants.ApiConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.authenticated;
+
+
+/**
+ * Checks that {@link SyntheticData} streams unique, valid and reproducible records without building them up
+ * front, keeps the bookings of a room apart, and that a {@link StandInServer} accepts what it generates.
+ */
+public class SyntheticDataTests {
+
+    private static final SyntheticData DATA = SyntheticData.seeded(20_251_019L)
+            .withFirstCheckin(LocalDate.of(2040, 1, 1));
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should give persons unique, valid names, emails and phones")
+    public void testUniqueValidPersons() {
+        int persons = 200_000;
+        List<Person> sample = DATA.persons().parallel().limit(persons).toList();
+
+        assertEquals(persons, sample.stream().map(Person::email).distinct().count());
+        assertEquals(persons, sample.stream().map(Person::phone).distinct().count());
+        assertEquals(persons, sample.stream().map(Person::fullName).distinct().count());
+        for (Person person : sample) {
+            assertTrue(person.firstname().length() >= 3 && person.firstname().length() <= 18, person.toString());
+            assertTrue(!person.lastname().isBlank() && person.lastname().length() <= 30, person.toString());
+            assertTrue(person.email().matches("[a-z-]+\\.[a-z-]+@example\\.(com|org|net)"), person.toString());
+            assertTrue(person.phone().matches("0[1-9]\\d{9}"), person.toString());
+        }
+        // the far end of the range is as unique as the start
+        long last = SyntheticData.PERSONS - 1;
+        assertNotEquals(DATA.person(last).email(), DATA.person(last - 1).email());
+        assertThrows(IllegalArgumentException.class, () -> DATA.person(SyntheticData.PERSONS));
+    }
+
+    @Test
+    @DisplayName("Should give the same records for the same seed, in any order and on any thread")
+    public void testReproducibleRandomAccess() {
+        SyntheticData same = SyntheticData.seeded(DATA.seed()).withFirstCheckin(DATA.firstCheckin());
+        List<BookingRequest> sequential = DATA.bookings().limit(5_000).toList();
+
+        assertEquals(sequential, same.bookings().parallel().limit(5_000).toList());
+        assertEquals(sequential.get(4_321), same.booking(4_321));
+        assertEquals(DATA.branding(77), same.branding(77));
+        assertEquals(DATA.message(77), same.message(77));
+        assertNotEquals(DATA.person(0), SyntheticData.seeded(DATA.seed() + 1).person(0));
+
+        // a million records stream through without being kept
+        long valid = LongStream.range(0, 1_000_000).parallel()
+                .mapToObj(DATA::message)
+                .filter(SyntheticDataTests::isValid)
+                .count();
+        assertEquals(1_000_000, valid);
+    }
+
+    @Test
+    @DisplayName("Should keep the bookings of each room from overlapping, up to the last slot before year 10000")
+    public void testNonOverlappingBookings() {
+        SyntheticData rooms = DATA.withRooms("1", "2", "3");
+        Map<String, List<BookingDates>> byRoom = rooms.bookings().limit(30_000)
+                .collect(Collectors.groupingBy(BookingRequest::getRoomid,
+                        Collectors.mapping(BookingRequest::getBookingdates, Collectors.toList())));
+
+        assertEquals(3, byRoom.size());
+        for (List<BookingDates> stays : byRoom.values()) {
+            stays.sort(Comparator.comparing(BookingDates::getCheckin));
+            for (int i = 0; i < stays.size(); i++) {
+                LocalDate checkin = LocalDate.parse(stays.get(i).getCheckin());
+                long nights = checkin.until(LocalDate.parse(stays.get(i).getCheckout())).getDays();
+                assertTrue(nights >= 3 && nights <= 7, stays.get(i).toString());
+                if (i > 0) {
+                    BookingDates previous = stays.get(i - 1);
+                    assertTrue(LocalDate.parse(previous.getCheckout()).isBefore(checkin),
+                            () -> String.format("%s overlaps %s", previous, stays));
+                }
+            }
+        }
+
+        long capacity = rooms.bookingCapacity();
+        assertTrue(capacity > 1_000_000, String.format("Capacity %,d", capacity));
+        assertTrue(rooms.booking(capacity - 1).getBookingdates().getCheckout().startsWith("9999-"));
+        assertThrows(IllegalArgumentException.class, () -> rooms.booking(capacity));
+    }
+
+    @Test
+    @DisplayName("Should generate bookings, branding updates and messages a stand-in accepts")
+    public void testStandInAcceptsRecords() {
+        SyntheticData rooms = DATA.withRooms("1", "2");
+        try (StandInServer standIn = StandInServer.start()) {
+            String token = BookingCalls.login(standIn.baseUri());
+            rooms.bookings().limit(40).forEach(booking -> givenRequest().baseUri(standIn.baseUri())
+                    .body(BookingCalls.json(booking))
+                    .post(BOOKING_ENDPOINT)
+                    .then()
+                    .statusCode(200));
+            DATA.messages().limit(10).forEach(message -> givenRequest().baseUri(standIn.baseUri())
+                    .body(BookingCalls.json(message))
+                    .post(MESSAGE_ENDPOINT)
+                    .then()
+                    .statusCode(200));
+            BrandingResponse branding = DATA.branding(3);
+            givenRequest(authenticated(BRANDING_ENDPOINT, token)).baseUri(standIn.baseUri())
+                    .body(BookingCalls.json(branding))
+                    .put()
+                    .then()
+                    .statusCode(200);
+            assertEquals(branding.getName(), givenRequest().baseUri(standIn.baseUri())
+                    .get(BRANDING_ENDPOINT)
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .path("name"));
+        }
+    }
+
+    // --- Helpers ---
+
+    /**
+     * The API's message validation: subject of 5 to 100 characters, description of 20 to 2000.
+     */
+    private static boolean isValid(FullMessage message) {
+        return message.getSubject().length() >= 5 && message.getSubject().length() <= 100
+                && message.getDescription().length() >= 20 && message.getDescription().length() <= 2000
+                && message.getPhone().length() == 11;
+    }
+}
@@ -0,0 +1,103 @@
+package tests.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.workload.WarmUp;
+import tests.utils.workload.WarmUpPolicy;
+import tests.utils.workload.WarmUpReport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Drives a {@link WarmUp} with synthetic latencies: one that settles after a slow start, one that never settles
+ * and runs into the cap, and the single-threaded and disabled variants.
+ */
+public class WarmUpTests {
+
+    private static final WarmUpPolicy POLICY = new WarmUpPolicy(100, 20, 4, 0.10, 3);
+    private static final long SLOW_START_NANOS = TimeUnit.MILLISECONDS.toNanos(600);
+    private static final long STEADY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should settle only once the latency has stopped falling")
+    public void testSettlesAfterSlowStart() {
+        WarmUpReport report = warmUp(POLICY, elapsed -> elapsed < SLOW_START_NANOS
+                ? STEADY_NANOS + 20 * STEADY_NANOS * (SLOW_START_NANOS - elapsed) / SLOW_START_NANOS
+                : STEADY_NANOS);
+        report.print(System.out);
+
+        assertTrue(report.settled());
+        assertTrue(report.elapsedNanos() >= SLOW_START_NANOS,
+                String.format("Settled after %.2f s, during the slow start", report.elapsedNanos() / 1e9));
+        assertTrue(report.intervals() >= POLICY.windowIntervals());
+        assertEquals(STEADY_NANOS, report.p50Nanos());
+        assertTrue(report.p50Variation() <= POLICY.maxVariation());
+        assertTrue(report.calls() > 0 && report.throughputPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Should end at the cap, not settled, while the p50 keeps moving")
+    public void testCapsUnsettledRun() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(POLICY.intervalMillis());
+        WarmUpReport report = warmUp(POLICY, elapsed -> (elapsed / intervalNanos) % 2 == 0
+                ? STEADY_NANOS : 3 * STEADY_NANOS);
+        report.print(System.out);
+
+        assertFalse(report.settled());
+        assertTrue(report.elapsedNanos() >= TimeUnit.SECONDS.toNanos(POLICY.capSeconds()));
+        assertTrue(report.p50Variation() > POLICY.maxVariation());
+    }
+
+    @Test
+    @DisplayName("Should drive a call on the calling thread, and skip the warm-up without a cap")
+    public void testDriveAndNoWarmUp() throws Exception {
+        WarmUp warmUp = new WarmUp(POLICY);
+        assertThrows(IllegalStateException.class, warmUp::report);
+        warmUp.drive(() -> Long.toHexString(System.nanoTime()).hashCode());
+        WarmUpReport driven = warmUp.report();
+        assertTrue(warmUp.isDone());
+        assertTrue(driven.calls() > 0 && driven.intervals() > 0);
+
+        WarmUp none = new WarmUp(WarmUpPolicy.NONE);
+        assertTrue(none.isDone());
+        none.awaitSettled();
+        WarmUpReport skipped = none.report();
+        assertFalse(skipped.settled());
+        assertEquals(0, skipped.intervals());
+        assertEquals(0, skipped.elapsedNanos());
+        // HotSpot reports its compilation time
+        assertTrue(WarmUp.compilationMillis() >= 0);
+        assertTrue(skipped.measurementCompilationMillis() >= 0);
+    }
+
+    // --- Helpers ---
+
+    /**
+     * Records a call roughly every half millisecond on another thread, with the latency the function gives for
+     * the time since the start, until the warm-up is done.
+     */
+    private static WarmUpReport warmUp(WarmUpPolicy policy, LongUnaryOperator latencyAt) {
+        WarmUp warmUp = new WarmUp(policy);
+        long start = System.nanoTime();
+        Thread driver = Thread.ofVirtual().start(() -> {
+            while (!warmUp.isDone()) {
+                LockSupport.parkNanos(500_000);
+                warmUp.record(latencyAt.applyAsLong(System.nanoTime() - start));
+            }
+        });
+        warmUp.awaitSettled();
+        try {
+            driver.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return warmUp.report();
+    }
+}
@@ -0,0 +1,84 @@
+package tests.postman;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.postman.PostmanCollection;
+import tests.utils.postman.PostmanRunner;
+import tests.utils.postman.RunReport;
+import tests.utils.postman.RunReport.Outcome;
+import tests.utils.postman.RunReport.RequestResult;
+import tests.utils.standin.StandInServer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class PostmanSmokeTests {
+
+    private static final Path PLATFORM_COLLECTION =
+            Path.of("..", "Postman-Collections", "Restful Booker Platform.postman_collection.json");
+    /**
+     * The headless run of the whole collection should take well under a second once warm; override with
+     * {@code -Dpostman.budgetMillis} on a slow machine.
+     */
+    private static final Duration WARM_RUN_BUDGET = Duration.ofMillis(Long.getLong("postman.budgetMillis", 1000));
+    private static final int MEASURED_RUNS = 3;
+
+    private static PostmanCollection collection;
+
+    // --- Test Cases ---
+    @BeforeAll
+    public static void loadCollection() {
+        collection = PostmanCollection.load(PLATFORM_COLLECTION);
+    }
+
+    @Test
+    @DisplayName("Should pass every Postman test of the Platform collection against the stand-in")
+    public void testCollectionPasses() {
+        RunReport report = runAgainstStandIn();
+        report.print(System.out);
+
+        assertFalse(report.getRequests().isEmpty(), "The collection should contain requests");
+        for (RequestResult request : report.getRequests()) {
+            assertNull(request.error(), request.displayName());
+            assertEquals(200, request.status(), request.displayName());
+        }
+        assertEquals(0, report.count(Outcome.FAILED), "Failed Postman tests");
+        assertEquals(0, report.count(Outcome.SKIPPED), "Skipped Postman scripts or tests");
+        assertTrue(report.count(Outcome.PASSED) > 0, "Postman tests should have been evaluated");
+    }
+
+    @Test
+    @DisplayName("Should run the Platform collection headless within the budget once warm")
+    public void testCollectionRunsWithinBudget() {
+        // the first run pays for class loading of the HTTP stack and the script engine
+        runAgainstStandIn();
+        // the fastest of a few warm runs, so a single GC pause or scheduling hiccup does not fail the budget
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            RunReport report = runAgainstStandIn();
+            assertFalse(report.failed(), "The measured run should pass");
+            fastestNanos = Math.min(fastestNanos, report.getElapsedNanos());
+        }
+        long fastestMillis = Duration.ofNanos(fastestNanos).toMillis();
+        System.out.printf("Warm collection run: %d ms%n", fastestMillis);
+
+        assertTrue(fastestNanos < WARM_RUN_BUDGET.toNanos(), String.format(
+                "Warm collection run took %d ms, budget is %d ms", fastestMillis, WARM_RUN_BUDGET.toMillis()));
+    }
+
+    // --- Helpers ---
+
+    private static RunReport runAgainstStandIn() {
+        try (StandInServer server = StandInServer.start()) {
+            Map<String, String> variables = new LinkedHashMap<>(server.collectionVariables());
+            variables.put("baseUrl", server.baseUri());
+            return new PostmanRunner(collection, variables).run();
+        }
+    }
+}
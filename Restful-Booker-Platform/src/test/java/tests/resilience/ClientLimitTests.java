@@ -0,0 +1,177 @@
+package tests.resilience;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.faults.FaultProxy;
+import tests.utils.faults.FaultRule;
+import tests.utils.faults.LatencyDistribution;
+import tests.utils.policies.ClientLimits;
+import tests.utils.policies.ClientPolicies;
+import tests.utils.policies.LimitRule;
+import tests.utils.standin.StandInServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static constants.ApiConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.base.BaseTest.givenRequest;
+
+
+/**
+ * Checks the rate and concurrency limits applied by {@code givenRequest()}, against a {@link StandInServer}
+ * behind a {@link FaultProxy}. Each test installs its own {@link ClientLimits}, with the client policies off.
+ */
+public class ClientLimitTests {
+
+    private static final String MESSAGE_COUNT_ENDPOINT = MESSAGE_ENDPOINT + "/count";
+
+    private static StandInServer standIn;
+    private static FaultProxy proxy;
+
+    private ClientLimits previousLimits;
+    private ClientPolicies previousPolicies;
+
+    // --- Setup ---
+    @BeforeAll
+    public static void startProxy() {
+        standIn = StandInServer.start();
+        proxy = FaultProxy.start(standIn.baseUri(), List.of());
+    }
+
+    @AfterAll
+    public static void stopProxy() {
+        proxy.close();
+        standIn.close();
+    }
+
+    @BeforeEach
+    public void resetFaults() {
+        proxy.setRules(List.of());
+        proxy.clearRecords();
+        previousPolicies = ClientPolicies.setGlobal(ClientPolicies.none());
+    }
+
+    @AfterEach
+    public void restoreLimits() {
+        ClientPolicies.setGlobal(previousPolicies);
+        if (previousLimits != null) {
+            ClientLimits.setGlobal(previousLimits);
+        }
+    }
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should parse limit rules from the command-line form")
+    public void testParseLimitRule() {
+        LimitRule rule = LimitRule.parse("/booking rate=20:40 concurrency=4:2:32 latency=1500");
+
+        assertEquals(new LimitRule(BOOKING_ENDPOINT, 20, 40, 4, 2, 32, Duration.ofMillis(1500)), rule);
+        assertTrue(rule.matches("/booking/{bookingId}"), "A rule covers the endpoint's sub-paths");
+        assertFalse(rule.matches("/bookings"), "A rule does not cover other endpoints sharing its prefix");
+        assertTrue(LimitRule.parse("* rate=5").matches(BRANDING_ENDPOINT), "'*' covers every endpoint");
+        assertThrows(IllegalArgumentException.class, () -> LimitRule.parse("/booking rate=fast"));
+    }
+
+    @Test
+    @DisplayName("Should pace requests to the configured rate and report the wait")
+    public void testRateLimitPacesRequests() throws Exception {
+        ClientLimits limits = use(new ClientLimits(List.of(
+                LimitRule.forEndpoint(BRANDING_ENDPOINT).rate(20, 1).build())));
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 11; i++) {
+                calls.add(executor.submit(this::getBranding));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // the first request uses the burst, the other ten are paced at 50 ms
+        assertTrue(elapsed.compareTo(Duration.ofMillis(450)) >= 0, String.format("11 requests took %s", elapsed));
+        ClientLimits.LimiterStats stats = limits.stats().getFirst();
+        assertEquals(11, stats.calls());
+        assertTrue(stats.rateWaitNanos() > 0, String.format("The rate limiter wait is reported: %s", stats));
+        assertEquals(0, stats.concurrencyWaitNanos(), "No concurrency limit, no concurrency wait");
+        limits.print(System.out);
+    }
+
+    @Test
+    @DisplayName("Should only limit the endpoints a rule covers")
+    public void testLimitsArePerEndpoint() {
+        ClientLimits limits = use(new ClientLimits(List.of(LimitRule.parse("/branding rate=1"))));
+        getBranding();
+
+        for (int i = 0; i < 10; i++) {
+            givenRequest().baseUri(proxy.baseUri()).get(MESSAGE_COUNT_ENDPOINT).then().statusCode(200);
+        }
+
+        ClientLimits.LimiterStats stats = limits.stats().getFirst();
+        assertEquals(1, stats.calls(), "Requests to an unlimited endpoint do not take branding permits");
+        assertEquals(0, stats.rateWaitNanos(), "The single branding request used the burst");
+    }
+
+    @Test
+    @DisplayName("Should keep in-flight requests under the concurrency limit")
+    public void testConcurrencyLimitBoundsInFlightRequests() throws Exception {
+        ClientLimits limits = use(new ClientLimits(List.of(LimitRule.parse("* concurrency=2:1:2"))));
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT)
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(200)))
+                .build()));
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                calls.add(executor.submit(this::getBranding));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertTrue(elapsed.compareTo(Duration.ofMillis(600)) >= 0,
+                String.format("6 calls of 200 ms, 2 at a time, took %s", elapsed));
+        ClientLimits.LimiterStats stats = limits.stats().getFirst();
+        assertEquals(0, stats.inFlight(), "Every slot is given back");
+        assertTrue(stats.concurrencyWaitNanos() > 0, "The concurrency limiter wait is reported");
+    }
+
+    @Test
+    @DisplayName("Should cut the concurrency limit when the backend sheds load")
+    public void testConcurrencyLimitBacksOffOnOverload() {
+        ClientLimits limits = use(new ClientLimits(List.of(LimitRule.parse("* concurrency=8:1:16"))));
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT).serverErrors(1.0, 503).build()));
+
+        for (int i = 0; i < 5; i++) {
+            givenRequest().baseUri(proxy.baseUri()).get(BRANDING_ENDPOINT).then().statusCode(503);
+        }
+
+        // 8 * 0.9^5 = 4.7
+        assertEquals(4, limits.stats().getFirst().concurrencyLimit(), "Limit after five 503s");
+    }
+
+    // --- Helpers ---
+
+    private ClientLimits use(ClientLimits limits) {
+        previousLimits = ClientLimits.setGlobal(limits);
+        return limits;
+    }
+
+    private void getBranding() {
+        givenRequest().baseUri(proxy.baseUri()).get(BRANDING_ENDPOINT).then().statusCode(200);
+    }
+}
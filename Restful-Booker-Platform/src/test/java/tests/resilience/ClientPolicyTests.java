@@ -0,0 +1,262 @@
+package tests.resilience;
+
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import models.request.LoginRequest;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.faults.Fault;
+import tests.utils.faults.FaultProxy;
+import tests.utils.faults.FaultRule;
+import tests.utils.faults.LatencyDistribution;
+import tests.utils.policies.CircuitBreaker;
+import tests.utils.policies.CircuitBreakerPolicy;
+import tests.utils.policies.CircuitOpenException;
+import tests.utils.policies.ClientPolicies;
+import tests.utils.policies.HedgingPolicy;
+import tests.utils.policies.RetryBudget;
+import tests.utils.policies.RetryPolicy;
+import tests.utils.standin.StandInServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static constants.ApiConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.utils.TestUtils.loadRequest;
+import static tests.utils.filters.SingleFlightFilter.coalesced;
+import static tests.utils.metrics.SuiteMetrics.CIRCUIT_REJECTIONS;
+import static tests.utils.metrics.SuiteMetrics.CLIENT_HEDGES;
+import static tests.utils.metrics.SuiteMetrics.CLIENT_RETRIES;
+
+
+/**
+ * Checks the retry, hedging and circuit breaker policies applied by {@code givenRequest()}, against a
+ * {@link StandInServer} behind a {@link FaultProxy}. Each test installs its own {@link ClientPolicies}.
+ */
+public class ClientPolicyTests {
+
+    private static final Duration NO_BACKOFF = Duration.ofMillis(1);
+
+    private static StandInServer standIn;
+    private static FaultProxy proxy;
+
+    private ClientPolicies previousPolicies;
+
+    // --- Setup ---
+    @BeforeAll
+    public static void startProxy() {
+        standIn = StandInServer.start();
+        proxy = FaultProxy.start(standIn.baseUri(), List.of(), 0, 42);
+    }
+
+    @AfterAll
+    public static void stopProxy() {
+        proxy.close();
+        standIn.close();
+    }
+
+    @BeforeEach
+    public void resetFaults() {
+        proxy.setRules(List.of());
+        proxy.clearRecords();
+    }
+
+    @AfterEach
+    public void restorePolicies() {
+        if (previousPolicies != null) {
+            ClientPolicies.setGlobal(previousPolicies);
+        }
+    }
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should retry an idempotent GET through injected 503s")
+    public void testRetriesIdempotentRequests() {
+        use(new ClientPolicies(retries(8, new RetryBudget(1, 100)), null, null));
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT).serverErrors(0.5, 503).build()));
+        long retriedBefore = CLIENT_RETRIES.get(BRANDING_ENDPOINT, "retried");
+
+        for (int i = 0; i < 10; i++) {
+            getBranding().then().statusCode(200);
+        }
+
+        long injected = proxy.injectedCounts().get(Fault.SERVER_ERROR);
+        assertTrue(injected > 0, "Some calls should have hit a 503");
+        assertEquals(10 + injected, proxy.exchanges().size(), "Every 503 should have been retried once");
+        assertEquals(injected, CLIENT_RETRIES.get(BRANDING_ENDPOINT, "retried") - retriedBefore, "Retries counted");
+    }
+
+    @Test
+    @DisplayName("Should not retry a POST that failed with 503")
+    public void testDoesNotRetryNonIdempotentRequests() {
+        use(new ClientPolicies(retries(8, new RetryBudget(1, 100)), null, null));
+        proxy.setRules(List.of(FaultRule.forEndpoint(AUTH_LOGIN_ENDPOINT).serverErrors(1.0, 503).build()));
+
+        givenRequest().baseUri(proxy.baseUri())
+                .body(loadRequest(CORRECT_LOGIN_PATH, LoginRequest.class))
+                .when()
+                .post(AUTH_LOGIN_ENDPOINT)
+                .then()
+                .statusCode(503);
+
+        assertEquals(1, proxy.exchanges().size(), "A POST is sent once");
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the retry budget is spent")
+    public void testRetryBudgetCapsAmplification() {
+        use(new ClientPolicies(retries(3, new RetryBudget(0, 2)), null, null));
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT).serverErrors(1.0, 503).build()));
+        long exhaustedBefore = CLIENT_RETRIES.get(BRANDING_ENDPOINT, "budget_exhausted");
+
+        for (int i = 0; i < 5; i++) {
+            getBranding().then().statusCode(503);
+        }
+
+        // the reserve of 2 pays for the first call's retries, the other calls are sent once
+        assertEquals(7, proxy.exchanges().size(), "Requests sent during the outage");
+        assertEquals(4, CLIENT_RETRIES.get(BRANDING_ENDPOINT, "budget_exhausted") - exhaustedBefore,
+                "Retries denied by the budget");
+    }
+
+    @Test
+    @DisplayName("Should open the circuit of a failing endpoint, fail fast, and close it after a good trial call")
+    public void testCircuitBreakerFailsFast() throws InterruptedException {
+        ClientPolicies policies = use(new ClientPolicies(null, null,
+                new CircuitBreakerPolicy(4, 4, 0.5, Duration.ofMillis(300))));
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT).serverErrors(1.0, 503).build()));
+        long rejectedBefore = CIRCUIT_REJECTIONS.get(BRANDING_ENDPOINT);
+
+        for (int i = 0; i < 4; i++) {
+            getBranding().then().statusCode(503);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, policies.circuitStates().get(BRANDING_ENDPOINT));
+
+        CircuitOpenException rejected = assertThrows(CircuitOpenException.class, this::getBranding);
+        assertEquals(BRANDING_ENDPOINT, rejected.getEndpoint());
+        assertEquals(4, proxy.exchanges().size(), "A call on an open circuit is not sent");
+        assertEquals(1, CIRCUIT_REJECTIONS.get(BRANDING_ENDPOINT) - rejectedBefore, "Rejections counted");
+
+        // other endpoints have their own circuit
+        givenRequest().baseUri(proxy.baseUri()).get(MESSAGE_ENDPOINT + "/count").then().statusCode(200);
+
+        proxy.setRules(List.of());
+        Thread.sleep(350);
+        getBranding().then().statusCode(200);
+        assertEquals(CircuitBreaker.State.CLOSED, policies.circuitStates().get(BRANDING_ENDPOINT));
+    }
+
+    @Test
+    @DisplayName("Should answer a slow GET from the hedged request")
+    public void testHedgedRequestWins() {
+        use(new ClientPolicies(null, new HedgingPolicy(0.95, Duration.ofMillis(100), Duration.ofMillis(20),
+                Integer.MAX_VALUE, 10, new RetryBudget(1, 5)), null));
+        getBranding().then().statusCode(200);
+        // the first request is delayed by a second, the rule is gone by the time the hedge is sent
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT)
+                .latency(LatencyDistribution.fixed(Duration.ofSeconds(1)))
+                .build()));
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+                proxy.setRules(List.of());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long wonBefore = CLIENT_HEDGES.get(BRANDING_ENDPOINT, "won");
+
+        getBranding().then().statusCode(200);
+
+        assertEquals(1, CLIENT_HEDGES.get(BRANDING_ENDPOINT, "won") - wonBefore, "The hedge answered first");
+        // the slow first request is still in flight, keep it out of the next test's records
+        awaitDelayedExchange();
+    }
+
+    @Test
+    @DisplayName("Should send the hedge of a coalesced GET instead of joining the slow call it hedges")
+    public void testHedgeBypassesSingleFlight() {
+        use(new ClientPolicies(null, new HedgingPolicy(0.95, Duration.ofMillis(500), Duration.ofMillis(20),
+                Integer.MAX_VALUE, 10, new RetryBudget(1, 5)), null));
+        getBrandingCoalesced().then().statusCode(200);
+        proxy.clearRecords();
+        // the first request is delayed by two seconds, the rule is gone by the time the hedge is sent
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT)
+                .latency(LatencyDistribution.fixed(Duration.ofSeconds(2)))
+                .build()));
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(250);
+                proxy.setRules(List.of());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long wonBefore = CLIENT_HEDGES.get(BRANDING_ENDPOINT, "won");
+
+        getBrandingCoalesced().then().statusCode(200);
+
+        assertEquals(1, CLIENT_HEDGES.get(BRANDING_ENDPOINT, "won") - wonBefore, "The hedge answered first");
+        awaitDelayedExchange();
+        assertEquals(2, proxy.exchanges().size(), "The hedge went over the network");
+    }
+
+    @Test
+    @DisplayName("Should let the next call through when the half-open trial fails on the client side")
+    public void testClientSideTrialFailureReleasesCircuit() throws InterruptedException {
+        ClientPolicies policies = use(new ClientPolicies(null, null,
+                new CircuitBreakerPolicy(1, 1, 0.5, Duration.ofMillis(300))));
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT).serverErrors(1.0, 503).build()));
+        getBranding().then().statusCode(503);
+        assertEquals(CircuitBreaker.State.OPEN, policies.circuitStates().get(BRANDING_ENDPOINT));
+
+        proxy.setRules(List.of());
+        Thread.sleep(350);
+        Filter brokenClient = (requestSpec, responseSpec, ctx) -> {
+            throw new IllegalStateException("client-side failure");
+        };
+        assertThrows(IllegalStateException.class,
+                () -> givenRequest().baseUri(proxy.baseUri()).filter(brokenClient).get(BRANDING_ENDPOINT));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, policies.circuitStates().get(BRANDING_ENDPOINT),
+                "A client-side failure neither closes nor opens the circuit");
+
+        getBranding().then().statusCode(200);
+        assertEquals(CircuitBreaker.State.CLOSED, policies.circuitStates().get(BRANDING_ENDPOINT));
+    }
+
+    // --- Helpers ---
+
+    private ClientPolicies use(ClientPolicies policies) {
+        previousPolicies = ClientPolicies.setGlobal(policies);
+        return policies;
+    }
+
+    private static RetryPolicy retries(int maxAttempts, RetryBudget budget) {
+        return new RetryPolicy(maxAttempts, NO_BACKOFF, NO_BACKOFF, RetryPolicy.TRANSIENT_STATUSES, budget);
+    }
+
+    private Response getBranding() {
+        return givenRequest().baseUri(proxy.baseUri()).get(BRANDING_ENDPOINT);
+    }
+
+    private Response getBrandingCoalesced() {
+        return givenRequest().baseUri(proxy.baseUri()).filter(coalesced()).get(BRANDING_ENDPOINT);
+    }
+
+    /**
+     * Waits until the proxy has answered a request it delayed.
+     */
+    private static void awaitDelayedExchange() {
+        Awaitility.await()
+                .atMost(10, TimeUnit.SECONDS)
+                .until(() -> proxy.exchanges().stream().anyMatch(exchange -> exchange.injectedDelayNanos() > 0));
+    }
+}
@@ -0,0 +1,219 @@
+package tests.resilience;
+
+import io.restassured.response.ValidatableResponse;
+import models.request.LoginRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.faults.Fault;
+import tests.utils.faults.FaultImpactReport;
+import tests.utils.faults.FaultProxy;
+import tests.utils.faults.FaultRule;
+import tests.utils.faults.LatencyDistribution;
+import tests.utils.policies.ClientPolicies;
+import tests.utils.policies.RetryBudget;
+import tests.utils.policies.RetryPolicy;
+import tests.utils.standin.StandInServer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static constants.ApiConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.utils.TestUtils.loadRequest;
+import static tests.utils.TestUtils.waitForCondition;
+import static tests.utils.assertions.AuthorizationAssertions.assertSuccessfulLoginResponse;
+
+
+/**
+ * Runs the client paths against a {@link StandInServer} behind a {@link FaultProxy}, checking that they behave
+ * when the backend degrades. The timing checks only assert what the proxy controls (the delays it injected and how
+ * it classified each call), never a comparison of two wall-clock measurements.
+ * Every test runs with retries but without a circuit breaker, whatever the global {@code client.*} settings are.
+ */
+public class DegradedBackendTests {
+
+    private static final String MESSAGE_COUNT_ENDPOINT = MESSAGE_ENDPOINT + "/count";
+
+    private static StandInServer standIn;
+    private static FaultProxy proxy;
+    private ClientPolicies previousPolicies;
+
+    // --- Setup ---
+    @BeforeAll
+    public static void startProxy() {
+        standIn = StandInServer.start();
+        proxy = FaultProxy.start(standIn.baseUri(), List.of());
+    }
+
+    @AfterAll
+    public static void stopProxy() {
+        proxy.close();
+        standIn.close();
+    }
+
+    @BeforeEach
+    public void resetFaults() {
+        // an open circuit would stall the polling test for its open period, so only retries are enabled
+        previousPolicies = ClientPolicies.setGlobal(new ClientPolicies(new RetryPolicy(3, Duration.ofMillis(100),
+                Duration.ofSeconds(2), RetryPolicy.TRANSIENT_STATUSES, new RetryBudget(0.2, 10)), null, null));
+        proxy.setRules(List.of());
+        proxy.clearRecords();
+    }
+
+    @AfterEach
+    public void restorePolicies() {
+        ClientPolicies.setGlobal(previousPolicies);
+    }
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should keep polling through injected 5xx and resets until the condition is met")
+    public void testPollingRidesOutFaults() {
+        proxy.setRules(List.of(FaultRule.forEndpoint(MESSAGE_COUNT_ENDPOINT)
+                .serverErrors(0.4, 503)
+                .resets(0.4)
+                .build()));
+
+        long start = System.nanoTime();
+        Integer count = waitForCondition(
+                () -> givenRequest().baseUri(proxy.baseUri())
+                        .get(MESSAGE_COUNT_ENDPOINT)
+                        .then()
+                        .statusCode(200)
+                        .extract()
+                        .path("count"),
+                unread -> unread >= 0,
+                15, 1);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertNotNull(count, "Unread count");
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(15)) < 0, String.format("Polling took %s", elapsed));
+        assertEquals(Fault.NONE, proxy.exchanges().getLast().fault(), "The successful attempt is the last one");
+    }
+
+    @Test
+    @DisplayName("Should log in and validate the token when auth calls are slow")
+    public void testAuthFlowUnderLatency() {
+        // warm up the login path, so the budget is not spent on class loading and the first serialization
+        assertSuccessfulLoginResponse(givenRequest().baseUri(proxy.baseUri())
+                .body(loadRequest(CORRECT_LOGIN_PATH, LoginRequest.class))
+                .when()
+                .post(AUTH_LOGIN_ENDPOINT)
+                .then());
+        proxy.clearRecords();
+        proxy.setRules(List.of(FaultRule.forEndpoint("/auth")
+                .latency(LatencyDistribution.uniform(Duration.ofMillis(100), Duration.ofMillis(250)))
+                .build()));
+
+        long start = System.nanoTime();
+        ValidatableResponse login = givenRequest().baseUri(proxy.baseUri())
+                .body(loadRequest(CORRECT_LOGIN_PATH, LoginRequest.class))
+                .when()
+                .post(AUTH_LOGIN_ENDPOINT)
+                .then();
+        assertSuccessfulLoginResponse(login);
+
+        String token = login.extract().path(TOKEN_JSON_PATH);
+        givenRequest().baseUri(proxy.baseUri())
+                .body(String.format("{ \"%s\": \"%s\" }", TOKEN_JSON_PATH, token))
+                .when()
+                .post(AUTH_VALIDATE_ENDPOINT)
+                .then()
+                .statusCode(200);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertTrue(elapsed.compareTo(Duration.ofMillis(200)) >= 0, "Both calls should have been delayed");
+        List<FaultProxy.Exchange> exchanges = proxy.exchanges();
+        assertEquals(2, exchanges.size(), "Login and validate, each sent once");
+        for (FaultProxy.Exchange exchange : exchanges) {
+            assertEquals(200, exchange.status(), exchange.path());
+            assertTrue(exchange.injectedDelayNanos() >= Duration.ofMillis(100).toNanos()
+                            && exchange.injectedDelayNanos() <= Duration.ofMillis(250).toNanos(),
+                    String.format("Delay injected into %s: %d ns", exchange.path(), exchange.injectedDelayNanos()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail the login assertion promptly when the auth service returns 503")
+    public void testLoginServerErrorFailsFast() {
+        proxy.setRules(List.of(FaultRule.forEndpoint(AUTH_LOGIN_ENDPOINT).serverErrors(1.0, 503).build()));
+
+        ValidatableResponse login = givenRequest().baseUri(proxy.baseUri())
+                .body(loadRequest(CORRECT_LOGIN_PATH, LoginRequest.class))
+                .when()
+                .post(AUTH_LOGIN_ENDPOINT)
+                .then();
+
+        assertThrows(AssertionError.class, () -> assertSuccessfulLoginResponse(login));
+        // a POST is not retried, so the client got the 503 from its only, undelayed attempt
+        FaultProxy.Exchange exchange = proxy.exchanges().getFirst();
+        assertEquals(1, proxy.exchanges().size(), "Login attempts");
+        assertEquals(Fault.SERVER_ERROR, exchange.fault());
+        assertEquals(503, exchange.status());
+        assertEquals(0, exchange.injectedDelayNanos(), "A 5xx should not stall the client");
+    }
+
+    @Test
+    @DisplayName("Should surface resets and truncated bodies as client errors")
+    public void testResetAndPartialReadSurfaceAsErrors() {
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT).resets(1.0).build()));
+        assertThrows(Exception.class, () -> givenRequest().baseUri(proxy.baseUri()).get(BRANDING_ENDPOINT));
+        // the retry policy re-sends an idempotent request that got no response, the HTTP client itself does not
+        assertEquals(ClientPolicies.global().retry().maxAttempts(), proxy.injectedCounts().get(Fault.RESET),
+                "Reset attempts including policy retries");
+
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT).partialReads(1.0).build()));
+        assertThrows(Exception.class, () -> givenRequest().baseUri(proxy.baseUri()).get(BRANDING_ENDPOINT).asString());
+
+        assertEquals(1, proxy.injectedCounts().get(Fault.PARTIAL_READ), "A truncated body is not retried");
+    }
+
+    @Test
+    @DisplayName("Should measure the client-side tail latency each fault adds")
+    public void testImpactReport() {
+        // warm up the client and the stand-in, so the baseline is not dominated by class loading
+        for (int i = 0; i < 20; i++) {
+            givenRequest().baseUri(proxy.baseUri()).get(BRANDING_ENDPOINT).then().statusCode(200);
+        }
+        measureBranding(20);
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT)
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(50)))
+                .build()));
+        measureBranding(10);
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT).slowBodies(1.0, 1024).build()));
+        measureBranding(5);
+
+        FaultImpactReport report = proxy.impactReport();
+        report.print(System.out);
+
+        // every call is matched to the exchange the proxy recorded for it and grouped by what was injected
+        assertTrue(report.row("UNMATCHED").isEmpty(), "Calls the proxy did not record");
+        assertEquals(20, report.row("NONE").orElseThrow().calls());
+        assertEquals(10, report.row("NONE+latency").orElseThrow().calls());
+        assertEquals(5, report.row("SLOW_BODY").orElseThrow().calls());
+        assertTrue(proxy.exchanges().stream()
+                        .filter(exchange -> exchange.injectedDelayNanos() > 0)
+                        .allMatch(exchange -> exchange.injectedDelayNanos() == Duration.ofMillis(50).toNanos()),
+                "Every delayed exchange should have been delayed by exactly 50 ms");
+        // the proxy sleeps while trickling the ~500-byte body at 1 KiB/s, a lower bound on every such call
+        assertTrue(report.row("SLOW_BODY").orElseThrow().p50Nanos() > Duration.ofMillis(200).toNanos(),
+                "A body trickled at 1 KiB/s should show up in the client latency");
+    }
+
+    // --- Helpers ---
+
+    private static void measureBranding(int calls) {
+        for (int i = 0; i < calls; i++) {
+            givenRequest().baseUri(proxy.baseUri())
+                    .filter(proxy.impactFilter())
+                    .get(BRANDING_ENDPOINT)
+                    .then()
+                    .statusCode(200);
+        }
+    }
+}
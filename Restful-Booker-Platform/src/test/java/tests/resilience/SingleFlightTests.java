@@ -0,0 +1,134 @@
+package tests.resilience;
+
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tests.utils.faults.FaultProxy;
+import tests.utils.faults.FaultRule;
+import tests.utils.faults.LatencyDistribution;
+import tests.utils.filters.SingleFlightFilter;
+import tests.utils.policies.ClientPolicies;
+import tests.utils.standin.StandInServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static constants.ApiConstants.BRANDING_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.utils.filters.SingleFlightFilter.coalesced;
+import static tests.utils.metrics.SuiteMetrics.SINGLE_FLIGHT_GETS;
+
+
+/**
+ * Checks that the {@link SingleFlightFilter} sends concurrent identical GETs once and hands the response, or the
+ * failure, to every caller, against a {@link StandInServer} behind a {@link FaultProxy} that holds the leader's
+ * call long enough for the others to join it.
+ */
+public class SingleFlightTests {
+
+    private static final int CALLERS = 8;
+    private static final Duration LEADER_DELAY = Duration.ofSeconds(2);
+
+    private static StandInServer standIn;
+    private static FaultProxy proxy;
+
+    private ClientPolicies previousPolicies;
+
+    // --- Setup ---
+    @BeforeAll
+    public static void startProxy() {
+        standIn = StandInServer.start();
+        proxy = FaultProxy.start(standIn.baseUri(), List.of());
+    }
+
+    @AfterAll
+    public static void stopProxy() {
+        proxy.close();
+        standIn.close();
+    }
+
+    @BeforeEach
+    public void warmUp() {
+        previousPolicies = ClientPolicies.setGlobal(ClientPolicies.none());
+        givenRequest().baseUri(proxy.baseUri()).get(BRANDING_ENDPOINT).then().statusCode(200);
+        proxy.clearRecords();
+    }
+
+    @AfterEach
+    public void restore() {
+        proxy.setRules(List.of());
+        ClientPolicies.setGlobal(previousPolicies);
+    }
+
+    // --- Test Cases ---
+    @Test
+    @DisplayName("Should send concurrent identical GETs once and give every caller the response")
+    public void testCoalescesConcurrentGets() throws Exception {
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT)
+                .latency(LatencyDistribution.fixed(LEADER_DELAY))
+                .build()));
+        long networkBefore = SINGLE_FLIGHT_GETS.get(BRANDING_ENDPOINT, "network");
+        long coalescedBefore = SINGLE_FLIGHT_GETS.get(BRANDING_ENDPOINT, "coalesced");
+
+        List<Response> responses = new ArrayList<>();
+        for (Future<Response> call : getConcurrently()) {
+            responses.add(call.get(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, proxy.exchanges().size(), "One call went over the network");
+        assertEquals(1, SINGLE_FLIGHT_GETS.get(BRANDING_ENDPOINT, "network") - networkBefore);
+        assertEquals(CALLERS - 1, SINGLE_FLIGHT_GETS.get(BRANDING_ENDPOINT, "coalesced") - coalescedBefore);
+        String body = responses.getFirst().asString();
+        for (Response response : responses) {
+            assertEquals(200, response.statusCode());
+            assertEquals(body, response.asString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand the leader's transport failure to every caller instead of leaving them waiting")
+    public void testPropagatesLeaderFailure() throws Exception {
+        proxy.setRules(List.of(FaultRule.forEndpoint(BRANDING_ENDPOINT)
+                .latency(LatencyDistribution.fixed(LEADER_DELAY))
+                .resets(1.0)
+                .build()));
+
+        for (Future<Response> call : getConcurrently()) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> call.get(30, TimeUnit.SECONDS));
+            assertNotNull(failure.getCause());
+        }
+        assertEquals(1, proxy.exchanges().size(), "One call went over the network");
+    }
+
+    // --- Helpers ---
+
+    /**
+     * Starts {@link #CALLERS} identical coalesced GETs at once.
+     */
+    private static List<Future<Response>> getConcurrently() throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Response>> calls = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                calls.add(callers.submit(() -> {
+                    start.await();
+                    return givenRequest().baseUri(proxy.baseUri()).filter(coalesced()).get(BRANDING_ENDPOINT);
+                }));
+            }
+            start.countDown();
+        }
+        return calls;
+    }
+}
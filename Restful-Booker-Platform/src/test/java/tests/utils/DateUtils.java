@@ -1,10 +1,12 @@
 package tests.utils;
 
 import models.common.BookingDates;
+import tests.utils.random.RunRandom;
+
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.regex.Pattern;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -19,7 +21,6 @@ public final class DateUtils {
 
     // Regex pattern for YYYY-MM-DD date format
     private static final Pattern DATE_REGEX_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$");
-    private static final Random RANDOM = new Random();
 
     private DateUtils() {
         // hidden constructor
@@ -51,7 +52,7 @@ public final class DateUtils {
      * Generates a {@link BookingDates} object with random check-in and check-out dates.
      * The check-in date is a random day between today and up to 5 years from now.
      * The duration between check-in and check-out is a random number of nights
-     * between 3 and 7 days (inclusive).
+     * between 3 and 7 days (inclusive). Both are drawn from the current thread's {@link RunRandom} generator.
      * @return A new {@link BookingDates} object with generated dates in "YYYY-MM-DD" format.
      */
     public static BookingDates generateRandomBookingDates() {
@@ -60,10 +61,11 @@ public final class DateUtils {
 
         long daysInRange = ChronoUnit.DAYS.between(today, farFuture);
 
-        long randomDaysToAdd = RANDOM.nextLong(daysInRange + 1);
+        SplittableRandom random = RunRandom.current();
+        long randomDaysToAdd = random.nextLong(daysInRange + 1);
         LocalDate checkin = today.plusDays(randomDaysToAdd);
 
-        int nights = RANDOM.nextInt(5) + 3;
+        int nights = random.nextInt(5) + 3;
         LocalDate checkout = checkin.plusDays(nights);
 
         return new BookingDates(checkin.toString(), checkout.toString());
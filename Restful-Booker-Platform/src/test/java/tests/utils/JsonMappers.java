@@ -0,0 +1,184 @@
+package tests.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.mapper.ObjectMapperType;
+import io.restassured.response.Response;
+import models.common.*;
+import models.records.*;
+import models.request.BookingRequest;
+import models.request.LoginRequest;
+import models.response.BookingResponse;
+import models.response.BrandingResponse;
+import models.response.MessageResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Single, tuned Jackson setup shared by RestAssured (see {@link #restAssuredConfig()}), {@link TestUtils}
+ * and the asynchronous client.
+ * Readers and writers are cached per type and pre-warmed for all models, so (de)serializers are resolved
+ * once per JVM instead of on the first request of every thread.
+ * The Blackbird bytecode-generation module is registered unless {@code -Djackson.blackbird=false} is set.
+ */
+public final class JsonMappers {
+
+    /**
+     * Model types whose readers and writers are resolved eagerly when the class is loaded.
+     */
+    private static final List<Class<?>> MODEL_TYPES = List.of(
+            Address.class, BookingDates.class, Contact.class, FullMessage.class, Map.class, Message.class,
+            BookingRequest.class, LoginRequest.class,
+            BookingResponse.class, BrandingResponse.class, MessageResponse.class,
+            AddressRecord.class, BookingDatesRecord.class, ContactRecord.class, MapRecord.class, MessageRecord.class,
+            BookingRecord.class, BrandingRecord.class);
+
+    private static final ObjectMapper MAPPER = createMapper();
+    private static final ConcurrentHashMap<JavaType, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<JavaType, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    static {
+        for (Class<?> type : MODEL_TYPES) {
+            reader(type);
+            writer(type);
+            reader(listOf(type));
+        }
+    }
+
+    private JsonMappers() {
+        // hidden constructor
+    }
+
+    /**
+     * @return The shared, tuned ObjectMapper. Must not be reconfigured after startup.
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Provides RestAssured's object mapper configuration backed by the shared mapper.
+     * @return An ObjectMapperConfig for {@code RestAssured.config().objectMapperConfig(...)}.
+     */
+    public static ObjectMapperConfig restAssuredConfig() {
+        return new ObjectMapperConfig(ObjectMapperType.JACKSON_2)
+                .jackson2ObjectMapperFactory((type, charset) -> MAPPER);
+    }
+
+    /**
+     * Returns the cached reader for a type.
+     * @param type The target class.
+     * @return A pre-warmed ObjectReader.
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return reader(MAPPER.constructType(type));
+    }
+
+    /**
+     * Returns the cached reader for a (generic) type.
+     * @param type The target Jackson type, e.g. {@link #listOf(Class)}.
+     * @return A pre-warmed ObjectReader.
+     */
+    public static ObjectReader reader(JavaType type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    /**
+     * Returns the cached writer for a type.
+     * @param type The source class.
+     * @return A pre-warmed ObjectWriter.
+     */
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.computeIfAbsent(MAPPER.constructType(type), MAPPER::writerFor);
+    }
+
+    /**
+     * Builds the Jackson type of a list of the given element type.
+     * @param elementType The list element class.
+     * @return The list JavaType.
+     */
+    public static JavaType listOf(Class<?> elementType) {
+        return MAPPER.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+
+    /**
+     * Serializes a value to UTF-8 JSON bytes with the cached writer of its class.
+     * @param value The value to serialize.
+     * @return The JSON bytes.
+     */
+    public static byte[] writeBytes(Object value) {
+        try {
+            return writer(value.getClass()).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to serialize %s",
+                    value.getClass().getSimpleName()), e);
+        }
+    }
+
+    /**
+     * Deserializes a response body straight from its bytes, avoiding the String copy made by
+     * {@code extract().asString()} and the intermediate tree built by {@code jsonPath()}.
+     * @param <T> The target type.
+     * @param response The RestAssured response.
+     * @param type The target class.
+     * @return The deserialized body.
+     */
+    public static <T> T readBody(Response response, Class<T> type) {
+        try {
+            return reader(type).readValue(response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to deserialize response body as %s",
+                    type.getSimpleName()), e);
+        }
+    }
+
+    /**
+     * Deserializes a list nested under a top-level field (e.g., {@code bookings}) straight from the response
+     * bytes, skipping the rest of the document.
+     * @param <T> The element type.
+     * @param response The RestAssured response.
+     * @param field The top-level field holding the list.
+     * @param elementType The list element class.
+     * @return The deserialized list, or {@code null} when the field is missing.
+     */
+    public static <T> List<T> readList(Response response, String field, Class<T> elementType) {
+        ObjectReader listReader = reader(listOf(elementType));
+        try (JsonParser parser = new FilteringParserDelegate(listReader.createParser(response.asByteArray()),
+                new JsonPointerBasedFilter("/" + field), TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false)) {
+            // the filtering parser yields no tokens when the field is absent
+            return parser.nextToken() == null ? null : listReader.readValue(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to deserialize '%s' as a list of %s",
+                    field, elementType.getSimpleName()), e);
+        }
+    }
+
+    private static ObjectMapper createMapper() {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                // models describe the fields under test; extra server fields must not fail the lookup
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        if (Boolean.parseBoolean(System.getProperty("jackson.blackbird", "true"))) {
+            builder.addModule(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+}
@@ -1,29 +1,29 @@
 package tests.utils;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import models.common.Address;
-import models.common.Contact;
-import models.common.Map;
+import io.restassured.response.Response;
 import models.request.BookingRequest;
 import models.response.BookingResponse;
-import models.response.BrandingResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
-import java.util.Random;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static constants.ApiConstants.BOOKING_ENDPOINT;
 import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.*;
 import static tests.utils.DateUtils.generateRandomBookingDates;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.awaitility.Awaitility;
 import org.awaitility.core.ConditionTimeoutException;
+import tests.utils.jfr.PollingAttemptEvent;
+import tests.utils.metrics.SuiteMetrics;
+import tests.utils.random.RunRandom;
 
 
 /**
@@ -36,11 +36,6 @@ public class TestUtils {
         // hidden constructor
     }
 
-    /**
-     * Reusable ObjectMapper instance for efficient JSON processing.
-     */
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
     /**
      * Loads and deserializes a JSON object of a specified type from a file located in the classpath.
      * @param <T> The type of the object to be loaded and returned.
@@ -53,7 +48,7 @@ public class TestUtils {
             if (inputStream == null) {
                 throw new IOException(String.format("Resource file not found on classpath: %s", filePath));
             }
-            return OBJECT_MAPPER.readValue(inputStream, type);
+            return JsonMappers.reader(type).readValue(inputStream);
         } catch (Exception e) {
             throw new RuntimeException(String.format("Failed to load or parse JSON for type %s from: %s",
                     type.getSimpleName(), filePath), e);
@@ -92,26 +87,14 @@ public class TestUtils {
     }
 
     /**
-     * Generates a random positive long number with a specified number of digits.
+     * Generates a random positive long number with a specified number of digits, drawn from the current thread's
+     * {@link RunRandom} generator.
      * @param length The desired number of digits for the long. Must be between 1 and 18 (inclusive, for a long).
      * @return A positive long number with the specified number of digits.
      * @throws IllegalArgumentException if length is not within the valid range for a long (1 to 18).
      */
     public static long generateLongWithDigits(int length) {
-        if (length <= 0 || length > 18) { // Max 18 digits to comfortably fit in a long
-            throw new IllegalArgumentException("Length must be between 1 and 18 for a long number.");
-        }
-
-        Random random = new Random();
-        StringBuilder sb = new StringBuilder(length);
-
-        sb.append(random.nextInt(9) + 1);
-
-        for (int i = 1; i < length; i++) {
-            sb.append(random.nextInt(10));
-        }
-
-        return Long.parseLong(sb.toString());
+        return RunRandom.digits(RunRandom.current(), length);
     }
 
     /**
@@ -130,14 +113,15 @@ public class TestUtils {
      * if no bookings match the criteria or the response is empty/malformed.
      */
     public static BookingResponse getFirstBookingId(String authToken, Integer roomId) {
-        List<BookingResponse> bookings = givenRequest()
-                .header("Cookie", String.format("token=%s", authToken))
+        Response response = givenRequest(authenticated(BOOKING_ENDPOINT, authToken))
                 .queryParam("roomid", roomId)
                 .when()
-                .get(BOOKING_ENDPOINT)
+                .get()
                 .then()
                 .statusCode(200)
-                .extract().jsonPath().getList("bookings", BookingResponse.class);
+                .extract().response();
+
+        List<BookingResponse> bookings = JsonMappers.readList(response, "bookings", BookingResponse.class);
 
         if (bookings != null && !bookings.isEmpty()) {
             return bookings.getFirst();
@@ -148,63 +132,6 @@ public class TestUtils {
         return null;
     }
 
-    /**
-     * Creates a shallow copy of the given BookingResponse object.
-     * @param original the original BookingResponse to clone
-     * @return a new BookingResponse object with the same field values
-     */
-    public static BookingResponse cloneBooking(BookingResponse original) {
-        BookingResponse copy = new BookingResponse();
-        copy.setBookingid(original.getBookingid());
-        copy.setRoomid(original.getRoomid());
-        copy.setFirstname(original.getFirstname());
-        copy.setLastname(original.getLastname());
-        copy.setDepositpaid(original.getDepositpaid());
-        copy.setBookingdates(original.getBookingdates());
-
-        return copy;
-    }
-
-    /**
-     * Creates a shallow copy of the given BrandingResponse object.
-     * @param original the original BrandingResponse to clone
-     * @return a new BrandingResponse object with the same field values
-     */
-    public static BrandingResponse cloneBranding(BrandingResponse original) {
-        BrandingResponse copy = new BrandingResponse();
-        copy.setName(original.getName());
-        copy.setLogoUrl(original.getLogoUrl());
-        copy.setDescription(original.getDescription());
-        copy.setDirections(original.getDirections());
-
-        if (original.getMap() != null) {
-            Map map = new Map();
-            map.setLatitude(original.getMap().getLatitude());
-            map.setLongitude(original.getMap().getLongitude());
-            copy.setMap(map);
-        }
-
-        if (original.getContact() != null) {
-            Contact contact = new Contact();
-            contact.setPhone(original.getContact().getPhone());
-            contact.setEmail(original.getContact().getEmail());
-            contact.setName(original.getContact().getName());
-            copy.setContact(contact);
-        }
-
-        if (original.getAddress() != null) {
-            Address address = new Address();
-            address.setLine1(original.getAddress().getLine1());
-            address.setLine2(original.getAddress().getLine2());
-            address.setPostTown(original.getAddress().getPostTown());
-            address.setCounty(original.getAddress().getCounty());
-            address.setPostCode(original.getAddress().getPostCode());
-            copy.setAddress(address);
-        }
-
-        return copy;
-    }
-
     /**
      * Converts the first character of the given string to lowercase.
      * @param s the input string to transform
@@ -217,6 +144,9 @@ public class TestUtils {
 
     /**
      * Polls a generic API endpoint until a specified condition is met or a timeout occurs.
+     * Every attempt is recorded as a {@link PollingAttemptEvent}; attempts and the total wait are counted in
+     * {@link SuiteMetrics}. An attempt that throws, including a failed status assertion on a transient 5xx,
+     * counts as not met and polling continues.
      * @param <T> The type of the expected response body.
      * @param apiCall The Supplier that encapsulates the API request and extracts the response into type T.
      * @param isConditionMet A Predicate that defines the condition for the response to be considered "updated" or "expected".
@@ -230,30 +160,47 @@ public class TestUtils {
                                          int maxWaitSeconds,
                                          int pollIntervalSeconds) {
         AtomicReference<T> lastResponse = new AtomicReference<>();
+        AtomicReference<String> lastError = new AtomicReference<>();
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.nanoTime();
 
         try {
             Awaitility.await()
                     .atMost(maxWaitSeconds, TimeUnit.SECONDS)
                     .pollInterval(pollIntervalSeconds, TimeUnit.SECONDS)
                     .until(() -> {
+                        PollingAttemptEvent event = new PollingAttemptEvent();
+                        event.begin();
                         try {
                             T currentResponse = apiCall.get();
 
                             lastResponse.set(currentResponse);
 
-                            return currentResponse != null && isConditionMet.test(currentResponse);
-                        } catch (Exception e) {
+                            boolean met = currentResponse != null && isConditionMet.test(currentResponse);
+                            String outcome = met ? PollingAttemptEvent.MET : PollingAttemptEvent.NOT_MET;
+                            event.set(attempts.incrementAndGet(), outcome, null);
+                            SuiteMetrics.POLLING_ATTEMPTS.inc(outcome);
+                            return met;
+                        } catch (Exception | AssertionError e) {
+                            lastError.set(e.getMessage());
+                            event.set(attempts.incrementAndGet(), PollingAttemptEvent.ERROR, e.getMessage());
+                            SuiteMetrics.POLLING_ATTEMPTS.inc(PollingAttemptEvent.ERROR);
                             System.out.printf("Error during polling attempt: %s%n", e.getMessage());
                             return false;
+                        } finally {
+                            event.commit();
                         }
                     });
         } catch (ConditionTimeoutException e) {
+            SuiteMetrics.POLLING_WAIT.observe((System.nanoTime() - start) / 1_000_000_000.0, "TIMEOUT");
             throw new RuntimeException(
-                    String.format("Condition was not met within %d seconds. Last observed response: %s",
-                            maxWaitSeconds, lastResponse.get() != null ? lastResponse.get().toString() : "null"),
+                    String.format("Condition was not met within %d seconds. Last observed response: %s. Last error: %s",
+                            maxWaitSeconds, lastResponse.get() != null ? lastResponse.get().toString() : "null",
+                            lastError.get()),
                     e
             );
         }
+        SuiteMetrics.POLLING_WAIT.observe((System.nanoTime() - start) / 1_000_000_000.0, PollingAttemptEvent.MET);
         return lastResponse.get();
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package tests.utils.assertions;
 
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.ValidatableResponse;
+import tests.utils.jfr.AssertionBatch;
 
 import static constants.ApiConstants.TOKEN_JSON_PATH;
 import static tests.utils.assertions.CommonAssertions.assertNotNullOrBlank;
@@ -22,6 +23,10 @@ public final class AuthorizationAssertions {
      * @param response The ValidatableResponse object to assert against.
      */
     public static void assertSuccessfulLoginResponse(ValidatableResponse response) {
+        AssertionBatch.run("assertSuccessfulLoginResponse", () -> checkSuccessfulLoginResponse(response));
+    }
+
+    private static void checkSuccessfulLoginResponse(ValidatableResponse response) {
         JsonPath jsonPath = response.statusCode(200)
                         .extract().jsonPath();
 
@@ -1,6 +1,7 @@
 package tests.utils.assertions;
 
 import models.response.BookingResponse;
+import tests.utils.jfr.AssertionBatch;
 
 import java.util.AbstractMap;
 import java.util.Arrays;
@@ -28,6 +29,10 @@ public final class BookingAssertions {
      *                       if this check is not applicable.
      */
     public static void assertSingleBookingDetails(BookingResponse booking, Integer expectedRoomId) {
+        AssertionBatch.run("assertSingleBookingDetails", () -> checkSingleBookingDetails(booking, expectedRoomId));
+    }
+
+    private static void checkSingleBookingDetails(BookingResponse booking, Integer expectedRoomId) {
         List<Map.Entry<Object, String>> bookingElements = Arrays.asList(
                 new AbstractMap.SimpleEntry<>(booking.getBookingid(), "Bookingid"),
                 new AbstractMap.SimpleEntry<>(booking.getRoomid(), "Roomid"),
@@ -54,6 +59,12 @@ public final class BookingAssertions {
      * @param minimumExpectedSize The minimum number of bookings expected in the list.
      */
     public static void assertBookingsListNotEmptyAndMinimumSize(List<BookingResponse> bookings, int minimumExpectedSize) {
+        AssertionBatch.run("assertBookingsListNotEmptyAndMinimumSize",
+                () -> checkBookingsListNotEmptyAndMinimumSize(bookings, minimumExpectedSize));
+    }
+
+    private static void checkBookingsListNotEmptyAndMinimumSize(List<BookingResponse> bookings,
+                                                                int minimumExpectedSize) {
         assertIsNotEmpty(bookings, "Bookings list");
 
         assertThat(java.text.MessageFormat.format("Bookings list size should be at least {0}",
@@ -1,6 +1,8 @@
 package tests.utils.assertions;
 
+import models.records.BrandingRecord;
 import models.response.BrandingResponse;
+import tests.utils.jfr.AssertionBatch;
 import static tests.utils.assertions.CommonAssertions.*;
 
 
@@ -12,9 +14,21 @@ public class BrandingAssertions {
         // hidden constructor
     }
 
+    /**
+     * Asserts that every field of the actual branding, including its map, contact and address, matches the expected.
+     * @param expectedBranding The expected {@link BrandingResponse}.
+     * @param actualBranding The {@link BrandingResponse} to check.
+     */
     public static void assertBrandingMatchesExpected(
             BrandingResponse expectedBranding,
             BrandingResponse actualBranding) {
+        AssertionBatch.run("assertBrandingMatchesExpected",
+                () -> checkBrandingMatchesExpected(expectedBranding, actualBranding));
+    }
+
+    private static void checkBrandingMatchesExpected(
+            BrandingResponse expectedBranding,
+            BrandingResponse actualBranding) {
 
         assertObjectsAreEqual(actualBranding.getName(), expectedBranding.getName(), "name");
         assertObjectsAreEqual(actualBranding.getLogoUrl(), expectedBranding.getLogoUrl(), "logoUrl");
@@ -41,4 +55,16 @@ public class BrandingAssertions {
         assertObjectsAreEqual(actualBranding.getAddress().getCounty(), expectedBranding.getAddress().getCounty(), "address county");
         assertObjectsAreEqual(actualBranding.getAddress().getPostCode(), expectedBranding.getAddress().getPostCode(), "postCode");
     }
+
+    /**
+     * Asserts that the actual branding matches the expected, as {@link BrandingRecord}s.
+     * @param expectedBranding The expected {@link BrandingRecord}.
+     * @param actualBranding The {@link BrandingRecord} to check.
+     */
+    public static void assertBrandingMatchesExpected(
+            BrandingRecord expectedBranding,
+            BrandingRecord actualBranding) {
+
+        assertBrandingMatchesExpected(expectedBranding.toBean(), actualBranding.toBean());
+    }
 }
@@ -1,6 +1,7 @@
 package tests.utils.assertions;
 
 import io.restassured.response.ValidatableResponse;
+import tests.utils.jfr.AssertionBatch;
 
 import static constants.ApiConstants.MESSAGE_ENDPOINT;
 import static tests.utils.assertions.CommonAssertions.*;
@@ -17,6 +18,12 @@ public class MessageAssertions {
 
     public static void assertNotFoundMessageResponse(ValidatableResponse response, Integer statusCode,
                                                     String pathValue, String expectedMessageId) {
+        AssertionBatch.run("assertNotFoundMessageResponse",
+                () -> checkNotFoundMessageResponse(response, statusCode, pathValue, expectedMessageId));
+    }
+
+    private static void checkNotFoundMessageResponse(ValidatableResponse response, Integer statusCode,
+                                                    String pathValue, String expectedMessageId) {
         response.statusCode(statusCode);
 
         assertJsonFieldType(response, "status", Integer.class);
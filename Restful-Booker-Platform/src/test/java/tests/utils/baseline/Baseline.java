@@ -0,0 +1,82 @@
+package tests.utils.baseline;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import tests.utils.JsonMappers;
+import tests.utils.concurrency.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+
+/**
+ * Per-endpoint latency histograms and throughput of one run, stored as JSON so that later runs can be compared
+ * with it by the {@link BaselineComparator}. The histograms are kept bucket by bucket (see
+ * {@link LatencyHistogram#buckets()}), so nothing is lost in the file.
+ * @param name What was run, e.g. the workload's name.
+ * @param elapsedNanos Length of the measured run, which the throughput is computed over.
+ * @param endpoints The endpoints, by method and path template, e.g. {@code GET /booking/{bookingId}}.
+ */
+public record Baseline(String name, long elapsedNanos, SortedMap<String, Endpoint> endpoints) {
+
+    private static final ObjectReader READER = JsonMappers.reader(Baseline.class);
+
+    /**
+     * @param name What was run.
+     * @param histograms Latency histograms by endpoint.
+     * @param elapsedNanos Length of the measured run.
+     * @return The baseline.
+     */
+    public static Baseline of(String name, Map<String, LatencyHistogram> histograms, long elapsedNanos) {
+        SortedMap<String, Endpoint> endpoints = new TreeMap<>();
+        histograms.forEach((endpoint, histogram) -> endpoints.put(endpoint,
+                new Endpoint(histogram.count(), histogram.count() / (elapsedNanos / 1e9), histogram.buckets())));
+        return new Baseline(name, elapsedNanos, endpoints);
+    }
+
+    /**
+     * @param file A file written by {@link #save}.
+     * @return The baseline.
+     */
+    public static Baseline load(Path file) {
+        try {
+            return READER.readValue(file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to read baseline %s", file), e);
+        }
+    }
+
+    /**
+     * @param file The destination, replaced if it exists; missing directories are created.
+     */
+    public void save(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(file, JsonMappers.writeBytes(this));
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to write baseline to %s", file), e);
+        }
+    }
+
+    /**
+     * @param calls Calls in the run.
+     * @param throughputPerSecond Calls per second of the run.
+     * @param buckets The latency histogram, by bucket index.
+     */
+    public record Endpoint(long calls, double throughputPerSecond, SortedMap<Integer, Long> buckets) {
+
+        /**
+         * @return The latency histogram.
+         */
+        public LatencyHistogram latency() {
+            return LatencyHistogram.of(buckets);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package tests.utils.baseline;
+
+import tests.utils.baseline.Baseline.Endpoint;
+import tests.utils.baseline.BaselineComparison.EndpointComparison;
+import tests.utils.concurrency.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+
+/**
+ * Compares a run with a {@link Baseline}, endpoint by endpoint. Latency is compared with a {@link MannWhitney} test
+ * on the histograms; it only counts as changed if the test is significant at {@code alpha} and the effect is
+ * meaningful: the probability that a current call is slower than a baseline call must be at least
+ * {@code 0.5 + minimumEffect} (or at most {@code 0.5 - minimumEffect}). Throughput is compared as two Poisson
+ * rates, and only counts as changed if significant and at least {@code minimumThroughputChange} apart. An endpoint
+ * regresses if either regresses.
+ * @param alpha Significance level, e.g. 0.01.
+ * @param minimumEffect Smallest shift of the Vargha-Delaney A from 0.5 that matters, e.g. 0.07 (between a small and
+ *                      a medium effect).
+ * @param minimumThroughputChange Smallest relative throughput change that matters, e.g. 0.1.
+ * @param minimumCalls Calls each side needs for a verdict.
+ */
+public record BaselineComparator(double alpha, double minimumEffect, double minimumThroughputChange,
+                                 int minimumCalls) {
+
+    /**
+     * 1% significance, an A beyond 0.43-0.57, 10% throughput, 20 calls.
+     */
+    public static final BaselineComparator DEFAULT = new BaselineComparator(0.01, 0.07, 0.10, 20);
+
+    public BaselineComparator {
+        if (alpha <= 0 || alpha >= 1 || minimumEffect < 0 || minimumEffect >= 0.5 || minimumThroughputChange < 0
+                || minimumCalls < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid comparator: alpha %s, effect %s, throughput change %s, %d calls", alpha, minimumEffect,
+                    minimumThroughputChange, minimumCalls));
+        }
+    }
+
+    /**
+     * @param value The new significance level.
+     * @return This comparator at that level.
+     */
+    public BaselineComparator withAlpha(double value) {
+        return new BaselineComparator(value, minimumEffect, minimumThroughputChange, minimumCalls);
+    }
+
+    /**
+     * @param baseline The reference run.
+     * @param current The run to judge.
+     * @return A verdict for every endpoint of either run.
+     */
+    public BaselineComparison compare(Baseline baseline, Baseline current) {
+        TreeSet<String> endpoints = new TreeSet<>(baseline.endpoints().keySet());
+        endpoints.addAll(current.endpoints().keySet());
+        List<EndpointComparison> comparisons = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            comparisons.add(compare(endpoint, baseline.endpoints().get(endpoint), current.endpoints().get(endpoint)));
+        }
+        return new BaselineComparison(baseline.name(), current.name(), List.copyOf(comparisons));
+    }
+
+    private EndpointComparison compare(String endpoint, Endpoint baseline, Endpoint current) {
+        LatencyHistogram before = baseline == null ? new LatencyHistogram() : baseline.latency();
+        LatencyHistogram after = current == null ? new LatencyHistogram() : current.latency();
+        double throughputBefore = baseline == null ? 0 : baseline.throughputPerSecond();
+        double throughputAfter = current == null ? 0 : current.throughputPerSecond();
+        MannWhitney.Result latency = MannWhitney.test(before, after);
+        double throughputZ = throughputZ(baseline, current);
+
+        Verdict verdict;
+        if (before.count() < minimumCalls || after.count() < minimumCalls) {
+            verdict = Verdict.INCONCLUSIVE;
+        } else {
+            Verdict latencyVerdict = latency.pValue() >= alpha ? Verdict.PASS
+                    : latency.superiority() >= 0.5 + minimumEffect ? Verdict.REGRESS
+                    : latency.superiority() <= 0.5 - minimumEffect ? Verdict.IMPROVE
+                    : Verdict.PASS;
+            double change = throughputAfter / throughputBefore - 1;
+            Verdict throughputVerdict = MannWhitney.twoSidedP(throughputZ) >= alpha ? Verdict.PASS
+                    : change <= -minimumThroughputChange ? Verdict.REGRESS
+                    : change >= minimumThroughputChange ? Verdict.IMPROVE
+                    : Verdict.PASS;
+            verdict = latencyVerdict == Verdict.REGRESS || throughputVerdict == Verdict.REGRESS ? Verdict.REGRESS
+                    : latencyVerdict == Verdict.IMPROVE || throughputVerdict == Verdict.IMPROVE ? Verdict.IMPROVE
+                    : Verdict.PASS;
+        }
+        return new EndpointComparison(endpoint, verdict, before.stats(), after.stats(), throughputBefore,
+                throughputAfter, latency, throughputZ);
+    }
+
+    /**
+     * Difference of the two call rates over its standard error, treating the call counts as Poisson.
+     */
+    private static double throughputZ(Endpoint baseline, Endpoint current) {
+        if (baseline == null || current == null || baseline.calls() == 0 || current.calls() == 0) {
+            return 0;
+        }
+        double secondsBefore = baseline.calls() / baseline.throughputPerSecond();
+        double secondsAfter = current.calls() / current.throughputPerSecond();
+        double variance = baseline.calls() / (secondsBefore * secondsBefore)
+                + current.calls() / (secondsAfter * secondsAfter);
+        return (current.throughputPerSecond() - baseline.throughputPerSecond()) / Math.sqrt(variance);
+    }
+}
@@ -0,0 +1,71 @@
+package tests.utils.baseline;
+
+import tests.utils.concurrency.LatencyStats;
+
+import java.io.PrintStream;
+import java.util.List;
+
+
+/**
+ * Result of {@link BaselineComparator#compare}: a verdict per endpoint.
+ * @param baseline The baseline's name.
+ * @param current The current run's name.
+ * @param endpoints The endpoints of either run, by name.
+ */
+public record BaselineComparison(String baseline, String current, List<EndpointComparison> endpoints) {
+
+    private static final int LABEL_WIDTH = 30;
+
+    /**
+     * @param endpoint An endpoint, e.g. {@code GET /branding}.
+     * @return Its verdict.
+     */
+    public Verdict verdict(String endpoint) {
+        return endpoints.stream()
+                .filter(comparison -> comparison.endpoint().equals(endpoint))
+                .map(EndpointComparison::verdict)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("No endpoint '%s'", endpoint)));
+    }
+
+    /**
+     * @return The endpoints that regressed.
+     */
+    public List<EndpointComparison> regressions() {
+        return endpoints.stream().filter(comparison -> comparison.verdict() == Verdict.REGRESS).toList();
+    }
+
+    /**
+     * Prints one line per endpoint.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n=== '%s' against baseline '%s' ===%n", current, baseline);
+        out.printf("%-" + LABEL_WIDTH + "s %-12s %21s %21s %21s %7s %9s%n", "Endpoint", "Verdict",
+                "p50 ms (base > now)", "p95 ms (base > now)", "Calls/s (base > now)", "A", "p-value");
+        for (EndpointComparison comparison : endpoints) {
+            out.printf("%-" + LABEL_WIDTH + "s %-12s %9.2f > %9.2f %9.2f > %9.2f %9.1f > %9.1f %7.3f %9.2g%n",
+                    comparison.endpoint(), comparison.verdict(), comparison.baseline().p50Nanos() / 1e6,
+                    comparison.current().p50Nanos() / 1e6, comparison.baseline().p95Nanos() / 1e6,
+                    comparison.current().p95Nanos() / 1e6, comparison.baselineThroughput(),
+                    comparison.currentThroughput(), comparison.latencyTest().superiority(),
+                    comparison.latencyTest().pValue());
+        }
+        out.printf("%d endpoints, %d regressed%n", endpoints.size(), regressions().size());
+    }
+
+    /**
+     * @param endpoint Method and path template.
+     * @param verdict The verdict.
+     * @param baseline Baseline latency, at histogram precision.
+     * @param current Current latency, at histogram precision.
+     * @param baselineThroughput Baseline calls per second.
+     * @param currentThroughput Current calls per second.
+     * @param latencyTest The Mann-Whitney test of current against baseline latency.
+     * @param throughputZ Standard normal statistic of the throughput change, positive when it went up.
+     */
+    public record EndpointComparison(String endpoint, Verdict verdict, LatencyStats baseline, LatencyStats current,
+                                     double baselineThroughput, double currentThroughput,
+                                     MannWhitney.Result latencyTest, double throughputZ) {
+    }
+}
@@ -0,0 +1,24 @@
+package tests.utils.baseline;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+
+/**
+ * JUnit 5 extension, registered for every test class through extension auto-detection, that starts the run-wide
+ * {@link EndpointRecording} when {@code -Dbaseline.file} is set and writes it as a {@link Baseline} when the run
+ * ends.
+ */
+public class BaselineExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(BaselineExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (EndpointRecording.startIfRequested()) {
+            // the root store is closed once the whole run has finished
+            context.getRoot().getStore(NAMESPACE).put("recording",
+                    (ExtensionContext.Store.CloseableResource) EndpointRecording::stopAndWrite);
+        }
+    }
+}
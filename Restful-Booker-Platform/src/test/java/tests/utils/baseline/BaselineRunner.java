@@ -0,0 +1,109 @@
+package tests.utils.baseline;
+
+import tests.utils.standin.StandInServer;
+import tests.utils.workload.ScenarioEngine;
+import tests.utils.workload.ScenarioMixReport;
+import tests.utils.workload.WarmUpPolicy;
+import tests.utils.workload.WorkloadDefinition;
+
+import java.nio.file.Path;
+
+import static constants.ApiConstants.BASE_URI;
+
+
+/**
+ * Records performance baselines and checks runs against them. A run is a {@link ScenarioEngine} workload, measured
+ * after its warm-up, whose per-endpoint histograms and throughput become a {@link Baseline}; against the
+ * {@link StandInServer} it needs no network and no shared environment, so two runs on the same machine can be
+ * compared. A baseline recorded by the suite ({@code -Dbaseline.file}) can be judged instead of running a workload.
+ * <p>
+ * Usage: {@code mvn verify -Pbaseline -Dbaseline.args="--stand-in --save target/baselines/typical.json"} records a
+ * baseline, and later {@code mvn verify -Pbaseline -Dbaseline.compare=target/baselines/typical.json} runs the
+ * workload against the stand-in and compares it (the profile's default options are
+ * {@code --stand-in --compare ${baseline.compare}}; {@code baseline.args} replaces them all). The profile skips
+ * the test suite and forks the runner once the test classes are compiled.
+ * <p>
+ * Options: {@code --workload w} file or classpath resource (default: {@link WorkloadDefinition#TYPICAL_TRAFFIC_PATH}),
+ * {@code --duration-seconds n} (default 60), {@code --warm-up-cap n} (default: {@link WarmUpPolicy#DEFAULT}),
+ * {@code --save file} writes the run as a baseline, {@code --compare file} judges the run against a baseline,
+ * {@code --current file} judges a recorded baseline instead of running, {@code --alpha a} significance level
+ * (default 0.01), {@code --base-url url} (default: {@code -DbaseUri} or the live API), {@code --stand-in} targets a
+ * local {@link StandInServer}. The exit code is 1 if any endpoint regressed.
+ */
+public final class BaselineRunner {
+
+    private static final long DEFAULT_DURATION_SECONDS = 60;
+
+    private BaselineRunner() {
+        // hidden constructor
+    }
+
+    public static void main(String[] args) {
+        String baseUri = System.getProperty("baseUri", BASE_URI);
+        String workload = WorkloadDefinition.TYPICAL_TRAFFIC_PATH;
+        long durationSeconds = DEFAULT_DURATION_SECONDS;
+        WarmUpPolicy warmUp = WarmUpPolicy.DEFAULT;
+        BaselineComparator comparator = BaselineComparator.DEFAULT;
+        Path save = null;
+        Path compare = null;
+        Path recorded = null;
+        boolean standIn = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUri = args[++i];
+                case "--workload" -> workload = args[++i];
+                case "--duration-seconds" -> durationSeconds = Long.parseLong(args[++i]);
+                case "--warm-up-cap" -> warmUp = warmUp.withCapSeconds(Long.parseLong(args[++i]));
+                case "--save" -> save = Path.of(args[++i]);
+                case "--compare" -> compare = Path.of(args[++i]);
+                case "--current" -> recorded = Path.of(args[++i]);
+                case "--alpha" -> comparator = comparator.withAlpha(Double.parseDouble(args[++i]));
+                case "--stand-in" -> standIn = true;
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+        if (save == null && compare == null) {
+            System.err.println("Usage: BaselineRunner [--save file] [--compare file] [--current file]"
+                    + " [--workload w] [--duration-seconds n] [--warm-up-cap n] [--alpha a] [--base-url url]"
+                    + " [--stand-in]");
+            System.exit(2);
+        }
+
+        Baseline current;
+        if (recorded != null) {
+            current = Baseline.load(recorded);
+        } else {
+            WorkloadDefinition definition = WorkloadDefinition.load(workload).withDurationSeconds(durationSeconds);
+            if (standIn) {
+                try (StandInServer server = StandInServer.start()) {
+                    current = capture(server.baseUri(), definition, warmUp);
+                }
+            } else {
+                current = capture(baseUri, definition, warmUp);
+            }
+        }
+        if (save != null) {
+            current.save(save);
+            System.out.printf("Baseline of %d endpoints written to %s%n", current.endpoints().size(),
+                    save.toAbsolutePath());
+        }
+        if (compare != null) {
+            BaselineComparison comparison = comparator.compare(Baseline.load(compare), current);
+            comparison.print(System.out);
+            System.exit(comparison.regressions().isEmpty() ? 0 : 1);
+        }
+    }
+
+    /**
+     * Runs a workload and takes its measured phase as a baseline.
+     * @param baseUri The API base URI.
+     * @param definition The workload.
+     * @param warmUp When the workload counts as warmed up.
+     * @return The baseline, named after the workload.
+     */
+    public static Baseline capture(String baseUri, WorkloadDefinition definition, WarmUpPolicy warmUp) {
+        ScenarioMixReport report = new ScenarioEngine(baseUri, definition, warmUp).run();
+        report.print(System.out);
+        return Baseline.of(definition.name(), report.endpoints(), report.elapsedNanos());
+    }
+}
@@ -0,0 +1,116 @@
+package tests.utils.baseline;
+
+import tests.utils.concurrency.LatencyHistogram;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * Recording of per-endpoint latency histograms for every call made through {@code BaseTest.givenRequest()}, fed by
+ * the {@code MetricsFilter}; while no recording is running that costs nothing. Load runs record their measurement
+ * phase (see {@code ScenarioEngine}), and the suite records the whole run when
+ * {@code -Dbaseline.file=target/baselines/suite.json} is set, writing it there as a {@link Baseline} when the run
+ * ends; compare it with {@link BaselineRunner}.
+ */
+public final class EndpointRecording {
+
+    public static final String FILE_PROPERTY = "baseline.file";
+
+    private static final CopyOnWriteArrayList<EndpointRecording> ACTIVE = new CopyOnWriteArrayList<>();
+    private static EndpointRecording runWide;
+
+    private final Map<String, LatencyHistogram> endpoints = new ConcurrentHashMap<>();
+    private final long start = System.nanoTime();
+    private long elapsedNanos = -1;
+
+    private EndpointRecording() {
+        // instances are created by start()
+    }
+
+    /**
+     * @return Whether any recording is running; checked by the filter before it builds the endpoint key.
+     */
+    public static boolean isRecording() {
+        return !ACTIVE.isEmpty();
+    }
+
+    /**
+     * Starts a new recording. Recordings are independent: each receives every call completed while it runs.
+     * @return The new recording.
+     */
+    public static EndpointRecording start() {
+        EndpointRecording recording = new EndpointRecording();
+        ACTIVE.add(recording);
+        return recording;
+    }
+
+    /**
+     * Adds a completed call to every running recording; called by the filter from any thread.
+     * @param endpoint The method and path template, e.g. {@code GET /booking/{bookingId}}.
+     * @param latencyNanos The call's latency.
+     */
+    public static void record(String endpoint, long latencyNanos) {
+        for (EndpointRecording recording : ACTIVE) {
+            LatencyHistogram histogram = recording.endpoints.computeIfAbsent(endpoint, k -> new LatencyHistogram());
+            synchronized (histogram) {
+                histogram.record(latencyNanos);
+            }
+        }
+    }
+
+    /**
+     * Stops this recording.
+     * @return The latency histograms, by endpoint.
+     */
+    public SortedMap<String, LatencyHistogram> stop() {
+        ACTIVE.remove(this);
+        elapsedNanos = System.nanoTime() - start;
+        SortedMap<String, LatencyHistogram> histograms = new TreeMap<>();
+        endpoints.forEach((endpoint, histogram) -> {
+            synchronized (histogram) {
+                histograms.put(endpoint, histogram.copy());
+            }
+        });
+        return histograms;
+    }
+
+    /**
+     * @return Time from start to stop, or -1 while running.
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Starts the run-wide recording if {@code -Dbaseline.file} is set and it is not running yet.
+     * @return {@code true} if this call started the recording.
+     */
+    static synchronized boolean startIfRequested() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isBlank() || runWide != null) {
+            return false;
+        }
+        runWide = start();
+        System.out.printf("Endpoint baseline recording started, writing to %s%n", Path.of(file).toAbsolutePath());
+        return true;
+    }
+
+    /**
+     * Stops the run-wide recording and writes it to {@code -Dbaseline.file}.
+     */
+    static synchronized void stopAndWrite() {
+        if (runWide == null) {
+            return;
+        }
+        Path destination = Path.of(System.getProperty(FILE_PROPERTY)).toAbsolutePath();
+        Map<String, LatencyHistogram> histograms = runWide.stop();
+        Baseline.of("Test suite", histograms, runWide.elapsedNanos()).save(destination);
+        runWide = null;
+        System.out.printf("Endpoint baseline of %d endpoints written to %s%n", histograms.size(), destination);
+    }
+}
@@ -0,0 +1,76 @@
+package tests.utils.baseline;
+
+import tests.utils.concurrency.LatencyHistogram;
+
+
+/**
+ * Mann-Whitney U test on two latency histograms, with the normal approximation. Values in the same bucket count as
+ * ties, and the variance is corrected for them, so the test runs on the lossless histograms without the raw samples;
+ * at 1.6% bucket width that only blurs differences no one would call a regression.
+ */
+public final class MannWhitney {
+
+    private MannWhitney() {
+        // hidden constructor
+    }
+
+    /**
+     * @param baseline The reference latencies.
+     * @param current The latencies to compare with them.
+     * @return The test result; with an empty side, {@code z} is 0 and the p-value 1.
+     */
+    public static Result test(LatencyHistogram baseline, LatencyHistogram current) {
+        double n1 = baseline.count();
+        double n2 = current.count();
+        if (n1 == 0 || n2 == 0) {
+            return new Result(0, 0, 1, 0.5);
+        }
+        // U counts the pairs in which the current call was slower, ties as half a pair
+        double u = 0;
+        double baselineBelow = 0;
+        double ties = 0;
+        int limit = Math.max(baseline.bucketLimit(), current.bucketLimit());
+        for (int i = 0; i < limit; i++) {
+            double a = baseline.countAt(i);
+            double c = current.countAt(i);
+            u += c * (baselineBelow + a / 2);
+            baselineBelow += a;
+            double t = a + c;
+            ties += t * t * t - t;
+        }
+        double n = n1 + n2;
+        double mean = n1 * n2 / 2;
+        double variance = n1 * n2 / 12 * ((n + 1) - ties / (n * (n - 1)));
+        double z = variance <= 0 ? 0 : (u - mean - Math.signum(u - mean) * 0.5) / Math.sqrt(variance);
+        return new Result(u, z, twoSidedP(z), u / (n1 * n2));
+    }
+
+    /**
+     * @param z A standard normal statistic.
+     * @return The probability of a statistic at least as far from 0, either way.
+     */
+    public static double twoSidedP(double z) {
+        return erfc(Math.abs(z) / Math.sqrt(2));
+    }
+
+    /**
+     * Complementary error function, with a fractional error below 1.2e-7 (Chebyshev fit from Numerical Recipes).
+     */
+    private static double erfc(double x) {
+        double t = 1 / (1 + 0.5 * Math.abs(x));
+        double y = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? y : 2 - y;
+    }
+
+    /**
+     * @param u Pairs in which the current call was slower, ties counting half.
+     * @param z Standard normal statistic, continuity and tie corrected; positive when the current calls are slower.
+     * @param pValue Two-sided p-value.
+     * @param superiority Probability that a current call is slower than a baseline call (Vargha-Delaney A),
+     *                    0.5 for no difference.
+     */
+    public record Result(double u, double z, double pValue, double superiority) {
+    }
+}
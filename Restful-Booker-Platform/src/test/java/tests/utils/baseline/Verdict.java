@@ -0,0 +1,17 @@
+package tests.utils.baseline;
+
+
+/**
+ * Outcome of comparing an endpoint with its baseline.
+ */
+public enum Verdict {
+
+    /** No significant change of a meaningful size. */
+    PASS,
+    /** Significantly and meaningfully slower, or lower throughput. */
+    REGRESS,
+    /** Significantly and meaningfully faster, or higher throughput, and nothing regressed. */
+    IMPROVE,
+    /** Too few calls on either side to tell. */
+    INCONCLUSIVE
+}
@@ -0,0 +1,77 @@
+package tests.utils.concurrency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import models.common.BookingDates;
+import models.common.FullMessage;
+import models.request.LoginRequest;
+import tests.utils.JsonMappers;
+import tests.utils.random.RunRandom;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+import static constants.ApiConstants.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.utils.TestUtils.generate10DigitNumericString;
+import static tests.utils.TestUtils.loadRequest;
+
+
+/**
+ * Calls and payloads shared by the concurrency, soak and workload harnesses.
+ */
+public final class BookingCalls {
+
+    /**
+     * Stays made by the harnesses start this far ahead, where the shared instance has no bookings.
+     */
+    private static final int MIN_YEARS_AHEAD = 5;
+
+    private BookingCalls() {
+        // hidden constructor
+    }
+
+    /**
+     * Logs in with the default credentials; also warms up the client before anything is measured.
+     */
+    public static String login(String baseUri) {
+        return givenRequest().baseUri(baseUri)
+                .body(loadRequest(CORRECT_LOGIN_PATH, LoginRequest.class))
+                .post(AUTH_LOGIN_ENDPOINT)
+                .then()
+                .statusCode(200)
+                .extract()
+                .path(TOKEN_JSON_PATH);
+    }
+
+    public static String authCookie(String token) {
+        return String.format("token=%s", token);
+    }
+
+    /**
+     * A random stay of the given length at least {@link #MIN_YEARS_AHEAD} years ahead.
+     */
+    public static BookingDates farFutureStay(int nights) {
+        LocalDate checkin = LocalDate.now().plusYears(MIN_YEARS_AHEAD)
+                .plusDays(RunRandom.current().nextInt(3650));
+        return new BookingDates(checkin.toString(), checkin.plusDays(nights).toString());
+    }
+
+    /**
+     * A contact message passing the API's validation, from the given sender.
+     */
+    public static FullMessage contactMessage(String name) {
+        return new FullMessage(null, name, "load@example.com", "0" + generate10DigitNumericString(),
+                "Load run message", "Sent by a load harness, which deletes it when done.");
+    }
+
+    /**
+     * Serializes a request body up front, so only the send is timed.
+     */
+    public static String json(Object body) {
+        try {
+            return JsonMappers.mapper().writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package tests.utils.concurrency;
+
+import io.restassured.response.Response;
+import models.common.BookingDates;
+import models.request.BookingRequest;
+import models.response.BookingResponse;
+import tests.utils.JsonMappers;
+import tests.utils.concurrency.BookingRaceReport.Attempt;
+import tests.utils.concurrency.BookingRaceReport.Outcome;
+import tests.utils.concurrency.BookingRaceReport.Round;
+import tests.utils.standin.StandInServer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static constants.ApiConstants.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.utils.TestUtils.buildBookingRequest;
+
+
+/**
+ * Races concurrent POST {@code /booking} requests for the same room and dates. In every round, each room gets
+ * {@code contenders} requests for one date range, and all requests of the round (every room at once) are
+ * released together by a barrier, with their bodies serialized beforehand. Exactly one contender per room should
+ * win; the stored bookings are then read back to catch an overbooking the responses did not reveal.
+ * Conflict-path and success-path latency are reported separately, and per room, so rooms whose bookings queue
+ * on a server-side lock stand out.
+ * Client concurrency limits ({@code -Dclient.limits}) serialize the race, so run it without them.
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.concurrency.BookingRaceHarness
+ * -Dexec.args="--rooms 1,2,3 --contenders 8 --rounds 10"}
+ * Options: {@code --base-url url} (default: {@code -DbaseUri} or the live API), {@code --stand-in} races a local
+ * {@link StandInServer}. The exit code is 1 if any room was overbooked.
+ */
+public final class BookingRaceHarness {
+
+    private static final int NIGHTS = 3;
+
+    private final String baseUri;
+    private final List<Integer> roomIds;
+    private final int contenders;
+    private final int rounds;
+
+    /**
+     * @param baseUri The API base URI, e.g. {@code ApiConstants.BASE_URI}.
+     * @param roomIds The rooms to race, all at once.
+     * @param contenders Concurrent bookings per room and round.
+     * @param rounds Number of rounds, each on fresh dates.
+     */
+    public BookingRaceHarness(String baseUri, List<Integer> roomIds, int contenders, int rounds) {
+        if (roomIds.isEmpty() || contenders < 2 || rounds < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Need at least one room, two contenders and one round: %s, %d, %d", roomIds, contenders, rounds));
+        }
+        this.baseUri = baseUri;
+        this.roomIds = List.copyOf(roomIds);
+        this.contenders = contenders;
+        this.rounds = rounds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUri = System.getProperty("baseUri", BASE_URI);
+        List<Integer> roomIds = List.of(1);
+        int contenders = 8;
+        int rounds = 10;
+        boolean standIn = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUri = args[++i];
+                case "--rooms" -> roomIds = Arrays.stream(args[++i].split(",")).map(Integer::valueOf).toList();
+                case "--contenders" -> contenders = Integer.parseInt(args[++i]);
+                case "--rounds" -> rounds = Integer.parseInt(args[++i]);
+                case "--stand-in" -> standIn = true;
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+
+        BookingRaceReport report;
+        if (standIn) {
+            try (StandInServer server = StandInServer.start()) {
+                report = new BookingRaceHarness(server.baseUri(), roomIds, contenders, rounds).run();
+            }
+        } else {
+            report = new BookingRaceHarness(baseUri, roomIds, contenders, rounds).run();
+        }
+        report.print(System.out);
+        System.exit(report.overbookings().isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Runs every round, then reads back the bookings stored for each raced date range.
+     * @return The report.
+     * @throws InterruptedException if interrupted while waiting for a round to finish.
+     */
+    public BookingRaceReport run() throws InterruptedException {
+        String token = BookingCalls.login(baseUri);
+        List<BookingDates> firstDates = roomIds.stream().map(roomId -> BookingCalls.farFutureStay(NIGHTS)).toList();
+        List<Attempt> attempts = new ArrayList<>();
+        List<RaceDates> raced = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int round = 1; round <= rounds; round++) {
+                CyclicBarrier barrier = new CyclicBarrier(roomIds.size() * contenders);
+                List<Future<Attempt>> futures = new ArrayList<>();
+                for (int r = 0; r < roomIds.size(); r++) {
+                    BookingDates dates = stay(firstDates.get(r), round);
+                    raced.add(new RaceDates(round, roomIds.get(r), dates));
+                    for (int contender = 0; contender < contenders; contender++) {
+                        String body = bookingBody(roomIds.get(r), dates, contender);
+                        int roundNumber = round;
+                        int roomId = roomIds.get(r);
+                        int contenderNumber = contender;
+                        futures.add(executor.submit(
+                                () -> contend(barrier, body, roundNumber, roomId, contenderNumber)));
+                    }
+                }
+                for (Future<Attempt> future : futures) {
+                    attempts.add(await(future));
+                }
+            }
+        }
+
+        List<Round> results = raced.stream().map(race -> result(race, attempts, token)).toList();
+        return new BookingRaceReport(contenders, List.copyOf(attempts), results);
+    }
+
+    // --- Race ---
+
+    private Attempt contend(CyclicBarrier barrier, String body, int round, int roomId, int contender)
+            throws InterruptedException, BrokenBarrierException {
+        barrier.await();
+        long start = System.nanoTime();
+        int status = -1;
+        String responseBody = null;
+        try {
+            Response response = givenRequest().baseUri(baseUri).body(body).post(BOOKING_ENDPOINT);
+            status = response.getStatusCode();
+            responseBody = response.asString();
+        } catch (Exception e) {
+            // a failed call is an ERROR outcome
+        }
+        long latency = System.nanoTime() - start;
+        return new Attempt(round, roomId, contender, outcome(status, responseBody), status, latency);
+    }
+
+    private static Outcome outcome(int status, String body) {
+        if (status >= 200 && status < 300) {
+            return Outcome.SUCCESS;
+        }
+        // the stand-in answers an overlap with 409, the live API with 500 and an empty array
+        if (status == 409 || status == 500 && "[]".equals(body)) {
+            return Outcome.CONFLICT;
+        }
+        return Outcome.ERROR;
+    }
+
+    private static Attempt await(Future<Attempt> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Race contender failed", e.getCause());
+        }
+    }
+
+    // --- Bookings ---
+
+    /**
+     * Each round moves the room's first stay forward, so rounds never overlap each other.
+     */
+    private static BookingDates stay(BookingDates first, int round) {
+        LocalDate checkin = LocalDate.parse(first.getCheckin()).plusDays((long) (round - 1) * (NIGHTS + 1));
+        return new BookingDates(checkin.toString(), checkin.plusDays(NIGHTS).toString());
+    }
+
+    private static String bookingBody(int roomId, BookingDates dates, int contender) {
+        BookingRequest request = buildBookingRequest(CORRECT_BOOKING_CREATION_PATH, String.valueOf(roomId));
+        request.setBookingdates(dates);
+        request.setLastname(String.format("Racer%c", (char) ('A' + contender % 26)));
+        return BookingCalls.json(request);
+    }
+
+    private Round result(RaceDates race, List<Attempt> attempts, String token) {
+        List<Attempt> raceAttempts = attempts.stream()
+                .filter(attempt -> attempt.round() == race.round() && attempt.roomId() == race.roomId())
+                .toList();
+        return new Round(race.round(), race.roomId(), race.dates(), count(raceAttempts, Outcome.SUCCESS),
+                count(raceAttempts, Outcome.CONFLICT), count(raceAttempts, Outcome.ERROR),
+                storedBookings(race, token));
+    }
+
+    private static int count(List<Attempt> attempts, Outcome outcome) {
+        return (int) attempts.stream().filter(attempt -> attempt.outcome() == outcome).count();
+    }
+
+    private int storedBookings(RaceDates race, String token) {
+        Response response = givenRequest().baseUri(baseUri)
+                .header("Cookie", BookingCalls.authCookie(token))
+                .queryParam("roomid", race.roomId())
+                .get(BOOKING_ENDPOINT);
+        if (response.getStatusCode() != 200) {
+            return -1;
+        }
+        List<BookingResponse> bookings = JsonMappers.readList(response, "bookings", BookingResponse.class);
+        LocalDate checkin = LocalDate.parse(race.dates().getCheckin());
+        LocalDate checkout = LocalDate.parse(race.dates().getCheckout());
+        return bookings == null ? -1 : (int) bookings.stream()
+                .map(BookingResponse::getBookingdates)
+                .filter(dates -> checkin.isBefore(LocalDate.parse(dates.getCheckout()))
+                        && LocalDate.parse(dates.getCheckin()).isBefore(checkout))
+                .count();
+    }
+
+    private record RaceDates(int round, int roomId, BookingDates dates) {
+    }
+}
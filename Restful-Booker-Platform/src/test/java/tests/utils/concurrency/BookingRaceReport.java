@@ -0,0 +1,123 @@
+package tests.utils.concurrency;
+
+import models.common.BookingDates;
+
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+
+/**
+ * Results of a {@link BookingRaceHarness} run: every contender's attempt and, per round and room, how many
+ * contenders won. A round with more than one winner, or with more than one booking stored for the raced dates,
+ * is an overbooking.
+ */
+public record BookingRaceReport(int contenders, List<Attempt> attempts, List<Round> rounds) {
+
+    /**
+     * How the server answered a contender.
+     */
+    public enum Outcome {
+        /** The booking was created. */
+        SUCCESS,
+        /** The booking was rejected as overlapping (409, or the live API's 500 with an empty body). */
+        CONFLICT,
+        /** Any other status, or no response at all. */
+        ERROR
+    }
+
+    /**
+     * One contender's POST.
+     * @param status The response status, or -1 if the call failed.
+     * @param latencyNanos Time from the barrier's release to the complete response.
+     */
+    public record Attempt(int round, int roomId, int contender, Outcome outcome, int status, long latencyNanos) {
+    }
+
+    /**
+     * One room's race in one round.
+     * @param storedBookings Bookings the server holds for the raced dates afterward, or -1 if not verified.
+     */
+    public record Round(int round, int roomId, BookingDates dates, int successes, int conflicts, int errors,
+                        int storedBookings) {
+
+        /**
+         * @return Whether the room was booked more than once for the same dates.
+         */
+        public boolean overbooked() {
+            return successes > 1 || storedBookings > 1;
+        }
+    }
+
+    /**
+     * @return The rounds in which a room was overbooked.
+     */
+    public List<Round> overbookings() {
+        return rounds.stream().filter(Round::overbooked).toList();
+    }
+
+    /**
+     * @return The rounds no contender won, e.g. because the dates were already booked.
+     */
+    public List<Round> unwon() {
+        return rounds.stream().filter(round -> round.successes() == 0).toList();
+    }
+
+    /**
+     * @param outcome The outcome to select.
+     * @return The latency of the attempts with that outcome.
+     */
+    public LatencyStats latency(Outcome outcome) {
+        return latencyOf(attempts.stream().filter(attempt -> attempt.outcome() == outcome).toList());
+    }
+
+    /**
+     * Latency of every attempt per room, slowest p95 first: rooms whose bookings queue on a server-side lock
+     * stand out at the top.
+     * @return Room IDs mapped to their latency, in descending p95 order.
+     */
+    public Map<Integer, LatencyStats> latencyByRoom() {
+        Map<Integer, LatencyStats> byRoom = new LinkedHashMap<>();
+        attempts.stream()
+                .collect(Collectors.groupingBy(Attempt::roomId))
+                .entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), latencyOf(entry.getValue())))
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<Integer, LatencyStats> entry) -> entry.getValue().p95Nanos()).reversed())
+                .forEach(entry -> byRoom.put(entry.getKey(), entry.getValue()));
+        return byRoom;
+    }
+
+    /**
+     * Prints the outcome totals, the success versus conflict latency, the per-room latency and any overbooking.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n=== Same-room booking race: %d rounds, %d contenders per room ===%n",
+                rounds.stream().mapToInt(Round::round).max().orElse(0), contenders);
+        LatencyStats.printHeader(out, "Outcome");
+        for (Outcome outcome : Outcome.values()) {
+            latency(outcome).print(out, outcome.name());
+        }
+
+        out.println();
+        LatencyStats.printHeader(out, "Room");
+        latencyByRoom().forEach((roomId, stats) -> stats.print(out, String.valueOf(roomId)));
+
+        List<Round> overbookings = overbookings();
+        out.printf("%nOverbooked rounds: %d of %d, rounds without a winner: %d%n", overbookings.size(),
+                rounds.size(), unwon().size());
+        for (Round round : overbookings) {
+            out.printf("  OVERBOOKED round %d, room %d, %s to %s: %d successes, %s stored%n", round.round(),
+                    round.roomId(), round.dates().getCheckin(), round.dates().getCheckout(), round.successes(),
+                    round.storedBookings() < 0 ? "not verified" : round.storedBookings());
+        }
+    }
+
+    private static LatencyStats latencyOf(List<Attempt> attempts) {
+        return LatencyStats.of(attempts.stream().mapToLong(Attempt::latencyNanos).toArray());
+    }
+}
@@ -0,0 +1,204 @@
+package tests.utils.concurrency;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+
+/**
+ * Log-linear latency histogram in nanoseconds: values below 128 ns get a bucket each, and every power of two above
+ * is split into 64 buckets, so a bucket is at most 1/64 (about 1.6%) of its values wide up to hours of latency.
+ * The buckets are the same in every JVM, so histograms from different runs or processes add up without losing
+ * anything, and can be compared bucket by bucket. Not thread-safe; record per thread and {@link #add} them, or
+ * synchronize on the histogram.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+    private long[] counts = new long[LINEAR_LIMIT];
+    private long total;
+
+    /**
+     * @param buckets Counts by bucket index, as returned by {@link #buckets()}.
+     * @return The histogram.
+     */
+    public static LatencyHistogram of(Map<Integer, Long> buckets) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        buckets.forEach((index, count) -> {
+            if (index < 0 || count < 0) {
+                throw new IllegalArgumentException(String.format("Invalid bucket %d with count %d", index, count));
+            }
+            histogram.addToBucket(index, count);
+        });
+        return histogram;
+    }
+
+    /**
+     * @param latencies Latencies in nanoseconds.
+     * @return The histogram of the latencies.
+     */
+    public static LatencyHistogram of(long... latencies) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long latency : latencies) {
+            histogram.record(latency);
+        }
+        return histogram;
+    }
+
+    /**
+     * @param latencyNanos A latency; negative values count as 0.
+     */
+    public void record(long latencyNanos) {
+        addToBucket(bucketOf(latencyNanos), 1);
+    }
+
+    /**
+     * Adds another histogram's counts to this one.
+     * @param other The histogram to add.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                addToBucket(i, other.counts[i]);
+            }
+        }
+    }
+
+    /**
+     * @param earlier A histogram this one has grown from, e.g. a copy taken before a phase.
+     * @return What was recorded since, bucket by bucket.
+     * @throws IllegalArgumentException if {@code earlier} has counts this histogram does not.
+     */
+    public LatencyHistogram minus(LatencyHistogram earlier) {
+        LatencyHistogram difference = copy();
+        for (int i = 0; i < earlier.counts.length; i++) {
+            if (earlier.counts[i] > (i < counts.length ? counts[i] : 0)) {
+                throw new IllegalArgumentException("The earlier histogram is not contained in this one");
+            }
+            if (earlier.counts[i] != 0) {
+                difference.addToBucket(i, -earlier.counts[i]);
+            }
+        }
+        return difference;
+    }
+
+    /**
+     * @return An independent copy.
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.counts = counts.clone();
+        copy.total = total;
+        return copy;
+    }
+
+    /**
+     * @return Values recorded.
+     */
+    public long count() {
+        return total;
+    }
+
+    /**
+     * @return One past the highest bucket index that may hold values.
+     */
+    public int bucketLimit() {
+        return counts.length;
+    }
+
+    /**
+     * @param index A bucket index.
+     * @return Values in the bucket.
+     */
+    public long countAt(int index) {
+        return index < counts.length ? counts[index] : 0;
+    }
+
+    /**
+     * @return The non-empty buckets, by index; the lossless form to store a histogram in.
+     */
+    public SortedMap<Integer, Long> buckets() {
+        SortedMap<Integer, Long> buckets = new TreeMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                buckets.put(i, counts[i]);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.99.
+     * @return The midpoint of the bucket holding the nearest-rank percentile, 0 when empty.
+     */
+    public long percentile(double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(quantile * total), 1);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return midpoint(i);
+            }
+        }
+        throw new IllegalStateException("Bucket counts do not add up to the total");
+    }
+
+    /**
+     * @return The summary statistics, at the histogram's precision.
+     */
+    public LatencyStats stats() {
+        return new LatencyStats((int) Math.min(total, Integer.MAX_VALUE), percentile(0.50), percentile(0.95),
+                percentile(0.99), percentile(1.0));
+    }
+
+    // --- Buckets ---
+
+    /**
+     * @param latencyNanos A latency; negative values count as 0.
+     * @return The index of the bucket holding it.
+     */
+    public static int bucketOf(long latencyNanos) {
+        long value = Math.max(latencyNanos, 0);
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * @param index A bucket index.
+     * @return The smallest latency in the bucket.
+     */
+    public static long lowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long top = (index & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+        return top << shift;
+    }
+
+    /**
+     * @param index A bucket index.
+     * @return The middle of the bucket, the value the bucket stands for.
+     */
+    public static long midpoint(int index) {
+        return (lowerBound(index) + lowerBound(index + 1) - 1) / 2;
+    }
+
+    private void addToBucket(int index, long count) {
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index] += count;
+        total += count;
+    }
+}
@@ -0,0 +1,70 @@
+package tests.utils.concurrency;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+
+/**
+ * Latency of a group of calls; percentiles are nearest-rank, in nanoseconds.
+ */
+public record LatencyStats(int count, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+
+    /**
+     * @param latencies The calls' latencies in nanoseconds, in any order.
+     * @return The statistics, all zero without calls.
+     */
+    public static LatencyStats of(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        if (sorted.length == 0) {
+            return new LatencyStats(0, 0, 0, 0, 0);
+        }
+        return new LatencyStats(sorted.length, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                percentile(sorted, 0.99), sorted[sorted.length - 1]);
+    }
+
+    /**
+     * Prints the header matching {@link #print}.
+     * @param out The stream to print to.
+     * @param label The heading of the label column.
+     */
+    public static void printHeader(PrintStream out, String label) {
+        printHeader(out, label, 10);
+    }
+
+    /**
+     * Prints the header matching {@link #print(PrintStream, String, int)}.
+     * @param out The stream to print to.
+     * @param label The heading of the label column.
+     * @param labelWidth Width of the label column.
+     */
+    public static void printHeader(PrintStream out, String label, int labelWidth) {
+        out.printf("%-" + labelWidth + "s %8s %10s %10s %10s %10s%n", label, "Count", "p50 (ms)", "p95 (ms)",
+                "p99 (ms)", "Max (ms)");
+    }
+
+    /**
+     * Prints the statistics as one line.
+     * @param out The stream to print to.
+     * @param label The row label.
+     */
+    public void print(PrintStream out, String label) {
+        print(out, label, 10);
+    }
+
+    /**
+     * Prints the statistics as one line.
+     * @param out The stream to print to.
+     * @param label The row label.
+     * @param labelWidth Width of the label column.
+     */
+    public void print(PrintStream out, String label, int labelWidth) {
+        out.printf("%-" + labelWidth + "s %8d %10.1f %10.1f %10.1f %10.1f%n", label, count, p50Nanos / 1e6,
+                p95Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,268 @@
+package tests.utils.concurrency;
+
+import io.restassured.response.Response;
+import models.common.BookingDates;
+import models.request.BookingRequest;
+import models.response.BookingResponse;
+import tests.utils.JsonMappers;
+import tests.utils.concurrency.UpdateHistory.Read;
+import tests.utils.concurrency.UpdateHistory.Write;
+import tests.utils.standin.StandInServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static constants.ApiConstants.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.BOOKING_BY_ID_PATH;
+import static tests.base.RequestTemplates.BOOKING_ID_PARAM;
+import static tests.base.RequestTemplates.authenticated;
+import static tests.utils.TestUtils.buildBookingRequest;
+
+
+/**
+ * Hammers one booking with concurrent PUT {@code /booking/{id}} requests, each followed by a GET of the same
+ * booking, and checks the recorded history for lost updates and stale or inverted reads. Every PUT writes a
+ * unique tag to both the first and last name, so each read identifies the write it observed (and a read mixing
+ * two writes is torn). All clients are released together by a barrier, with their bodies serialized beforehand.
+ * A final GET after every write completed must return one of the writes no acknowledged write replaced.
+ * Without {@code --booking-id}, a booking is created on far-ahead dates of room 1 first.
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.concurrency.LostUpdateHarness
+ * -Dexec.args="--clients 8 --operations 25"}
+ * Options: {@code --booking-id id}, {@code --base-url url} (default: {@code -DbaseUri} or the live API),
+ * {@code --stand-in} targets a local {@link StandInServer}. The exit code is 1 if any anomaly was found.
+ */
+public final class LostUpdateHarness {
+
+    private static final int NIGHTS = 2;
+    private static final int ROOM_ID = 1;
+    private static final String TAG_PREFIX = "Wr";
+
+    private final String baseUri;
+    private final Integer bookingId;
+    private final int clients;
+    private final int operations;
+
+    /**
+     * @param baseUri The API base URI, e.g. {@code ApiConstants.BASE_URI}.
+     * @param bookingId The booking to update, or {@code null} to create one.
+     * @param clients Concurrent clients.
+     * @param operations PUT-then-GET pairs per client.
+     */
+    public LostUpdateHarness(String baseUri, Integer bookingId, int clients, int operations) {
+        if (clients < 2 || operations < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Need at least two clients and one operation: %d, %d", clients, operations));
+        }
+        this.baseUri = baseUri;
+        this.bookingId = bookingId;
+        this.clients = clients;
+        this.operations = operations;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUri = System.getProperty("baseUri", BASE_URI);
+        Integer bookingId = null;
+        int clients = 8;
+        int operations = 25;
+        boolean standIn = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUri = args[++i];
+                case "--booking-id" -> bookingId = Integer.valueOf(args[++i]);
+                case "--clients" -> clients = Integer.parseInt(args[++i]);
+                case "--operations" -> operations = Integer.parseInt(args[++i]);
+                case "--stand-in" -> standIn = true;
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+
+        LostUpdateReport report;
+        if (standIn) {
+            try (StandInServer server = StandInServer.start()) {
+                report = new LostUpdateHarness(server.baseUri(), bookingId, clients, operations).run();
+            }
+        } else {
+            report = new LostUpdateHarness(baseUri, bookingId, clients, operations).run();
+        }
+        report.print(System.out);
+        System.exit(report.anomalies().isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Creates or looks up the booking, writes its initial tag, runs the clients, reads the final state and checks
+     * the history.
+     * @return The report.
+     * @throws InterruptedException if interrupted while waiting for the clients to finish.
+     */
+    public LostUpdateReport run() throws InterruptedException {
+        String token = BookingCalls.login(baseUri);
+        BookingResponse booking = bookingId == null ? createBooking(token) : fetch(bookingId, token);
+        if (booking == null) {
+            throw new IllegalStateException(String.format("Booking %s not found", bookingId));
+        }
+        int id = booking.getBookingid();
+        BookingDates dates = booking.getBookingdates();
+        int roomId = booking.getRoomid() == null ? ROOM_ID : booking.getRoomid();
+
+        List<Write> writes = new ArrayList<>();
+        List<Read> reads = new ArrayList<>();
+        Write initial = update(id, token, 0, -1, updateBody(roomId, dates, 0));
+        if (!initial.acknowledged()) {
+            throw new IllegalStateException(String.format("Initial update of booking %d failed", id));
+        }
+        writes.add(initial);
+
+        int nextWrite = 1;
+        CyclicBarrier barrier = new CyclicBarrier(clients);
+        List<Future<ClientHistory>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                List<String> bodies = new ArrayList<>();
+                List<Integer> writeIds = new ArrayList<>();
+                for (int operation = 0; operation < operations; operation++) {
+                    int writeId = nextWrite++;
+                    writeIds.add(writeId);
+                    bodies.add(updateBody(roomId, dates, writeId));
+                }
+                int clientNumber = client;
+                futures.add(executor.submit(() -> runClient(barrier, id, token, clientNumber, writeIds, bodies)));
+            }
+            for (Future<ClientHistory> future : futures) {
+                ClientHistory history = await(future);
+                writes.addAll(history.writes());
+                reads.addAll(history.reads());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Read finalRead = read(id, token, -1);
+        if (finalRead != null) {
+            reads.add(finalRead);
+        }
+        int failedCalls = (int) writes.stream().filter(write -> !write.acknowledged()).count()
+                + clients * operations - (reads.size() - (finalRead == null ? 0 : 1));
+        UpdateHistory history = new UpdateHistory(List.copyOf(writes), List.copyOf(reads), finalRead);
+        return new LostUpdateReport(id, clients, history, history.check(), failedCalls, elapsed);
+    }
+
+    // --- Clients ---
+
+    private ClientHistory runClient(CyclicBarrier barrier, int id, String token, int client, List<Integer> writeIds,
+                                    List<String> bodies) throws InterruptedException, BrokenBarrierException {
+        List<Write> writes = new ArrayList<>();
+        List<Read> reads = new ArrayList<>();
+        barrier.await();
+        for (int i = 0; i < bodies.size(); i++) {
+            writes.add(update(id, token, writeIds.get(i), client, bodies.get(i)));
+            Read read = read(id, token, client);
+            if (read != null) {
+                reads.add(read);
+            }
+        }
+        return new ClientHistory(writes, reads);
+    }
+
+    private Write update(int id, String token, int writeId, int client, String body) {
+        long start = System.nanoTime();
+        boolean acknowledged = false;
+        try {
+            acknowledged = givenRequest(authenticated(BOOKING_BY_ID_PATH, token)).baseUri(baseUri)
+                    .pathParam(BOOKING_ID_PARAM, id)
+                    .body(body)
+                    .put()
+                    .getStatusCode() == 200;
+        } catch (Exception e) {
+            // an unacknowledged write may still have been applied; the history allows for both
+        }
+        return new Write(writeId, client, tag(writeId), start, System.nanoTime(), acknowledged);
+    }
+
+    /**
+     * @return The read, or {@code null} if the booking could not be read.
+     */
+    private Read read(int id, String token, int client) {
+        long start = System.nanoTime();
+        try {
+            Response response = givenRequest(authenticated(BOOKING_BY_ID_PATH, token)).baseUri(baseUri)
+                    .pathParam(BOOKING_ID_PARAM, id)
+                    .get();
+            if (response.getStatusCode() != 200) {
+                return null;
+            }
+            BookingResponse booking = JsonMappers.readBody(response, BookingResponse.class);
+            return new Read(client, start, System.nanoTime(), booking.getFirstname(), booking.getLastname());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static ClientHistory await(Future<ClientHistory> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Update client failed", e.getCause());
+        }
+    }
+
+    // --- Bookings ---
+
+    /**
+     * Creates a booking on far-ahead dates and finds it by those dates, as POST does not return its id.
+     */
+    private BookingResponse createBooking(String token) {
+        BookingDates dates = BookingCalls.farFutureStay(NIGHTS);
+        givenRequest().baseUri(baseUri)
+                .body(updateBody(ROOM_ID, dates, 0))
+                .post(BOOKING_ENDPOINT)
+                .then()
+                .statusCode(200);
+
+        Response response = givenRequest(authenticated(BOOKING_ENDPOINT, token)).baseUri(baseUri)
+                .queryParam("roomid", ROOM_ID)
+                .get();
+        List<BookingResponse> bookings = JsonMappers.readList(response, "bookings", BookingResponse.class);
+        return bookings == null ? null : bookings.stream()
+                .filter(booking -> dates.equals(booking.getBookingdates()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private BookingResponse fetch(int id, String token) {
+        Response response = givenRequest(authenticated(BOOKING_BY_ID_PATH, token)).baseUri(baseUri)
+                .pathParam(BOOKING_ID_PARAM, id)
+                .get();
+        return response.getStatusCode() == 200 ? JsonMappers.readBody(response, BookingResponse.class) : null;
+    }
+
+    private static String updateBody(int roomId, BookingDates dates, int writeId) {
+        BookingRequest request = buildBookingRequest(CORRECT_BOOKING_CREATION_PATH, String.valueOf(roomId));
+        request.setBookingdates(dates);
+        request.setFirstname(tag(writeId));
+        request.setLastname(tag(writeId));
+        return BookingCalls.json(request);
+    }
+
+    /**
+     * Encodes a write number in letters, so the tag reads like a name: 0 is "WrA", 26 is "WrBA".
+     */
+    static String tag(int writeId) {
+        StringBuilder letters = new StringBuilder();
+        int remaining = writeId;
+        do {
+            letters.append((char) ('A' + remaining % 26));
+            remaining /= 26;
+        } while (remaining > 0);
+        return TAG_PREFIX + letters.reverse();
+    }
+
+    private record ClientHistory(List<Write> writes, List<Read> reads) {
+    }
+}
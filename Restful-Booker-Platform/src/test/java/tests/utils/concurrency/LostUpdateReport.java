@@ -0,0 +1,66 @@
+package tests.utils.concurrency;
+
+import tests.utils.concurrency.UpdateHistory.Anomaly;
+import tests.utils.concurrency.UpdateHistory.Read;
+import tests.utils.concurrency.UpdateHistory.Write;
+
+import java.io.PrintStream;
+import java.util.List;
+
+
+/**
+ * Results of a {@link LostUpdateHarness} run: the recorded history, the anomalies found in it and the
+ * throughput and latency of the update path under contention.
+ * @param failedCalls PUTs that were not acknowledged plus GETs that returned no booking.
+ * @param elapsedNanos Wall-clock time of the concurrent phase.
+ */
+public record LostUpdateReport(int bookingId, int clients, UpdateHistory history, List<Anomaly> anomalies,
+                               int failedCalls, long elapsedNanos) {
+
+    /**
+     * @return Acknowledged PUTs per second during the concurrent phase.
+     */
+    public double updatesPerSecond() {
+        long acknowledged = history.writes().stream().filter(Write::acknowledged).count() - 1;
+        return elapsedNanos == 0 ? 0 : acknowledged / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * @return Latency of every PUT but the initial one.
+     */
+    public LatencyStats updateLatency() {
+        return LatencyStats.of(history.writes().stream()
+                .filter(write -> write.id() > 0)
+                .mapToLong(write -> write.completeNanos() - write.invokeNanos())
+                .toArray());
+    }
+
+    /**
+     * @return Latency of every GET but the final one.
+     */
+    public LatencyStats readLatency() {
+        return LatencyStats.of(history.reads().stream()
+                .filter(read -> read != history.finalRead())
+                .mapToLong(read -> read.completeNanos() - read.invokeNanos())
+                .toArray());
+    }
+
+    /**
+     * Prints the throughput, latency, final state and every anomaly.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n=== Concurrent PUT /booking/%d: %d clients, %d writes, %d reads ===%n", bookingId, clients,
+                history.writes().size() - 1, history.reads().size());
+        out.printf("Update throughput: %.1f/s over %.1f s, failed calls: %d%n", updatesPerSecond(),
+                elapsedNanos / 1e9, failedCalls);
+        LatencyStats.printHeader(out, "Call");
+        updateLatency().print(out, "PUT");
+        readLatency().print(out, "GET");
+
+        Read finalRead = history.finalRead();
+        out.printf("Final state: %s%n", finalRead == null ? "not read" : finalRead.firstname());
+        out.printf("Anomalies: %d%n", anomalies.size());
+        anomalies.forEach(anomaly -> out.printf("  %s %s%n", anomaly.type(), anomaly.description()));
+    }
+}
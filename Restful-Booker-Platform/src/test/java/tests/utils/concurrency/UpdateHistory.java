@@ -0,0 +1,164 @@
+package tests.utils.concurrency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * History of concurrent full-replacement writes (PUT) and reads (GET) of one booking, with the checks that it is
+ * consistent with some serial order of the writes. Every write stores a unique value in several fields, so a
+ * read identifies the write it observed. A write that was not acknowledged may or may not have taken effect:
+ * reads may observe it, but it is never required to have overwritten anything.
+ * @param writes The writes, the initial value included.
+ * @param reads The reads, the final read included.
+ * @param finalRead The read made after every write completed, or {@code null}.
+ */
+public record UpdateHistory(List<Write> writes, List<Read> reads, Read finalRead) {
+
+    /**
+     * A PUT of {@code value}, between its invocation and completion (nanoTime).
+     * @param acknowledged Whether the server confirmed it.
+     */
+    public record Write(int id, int client, String value, long invokeNanos, long completeNanos,
+                        boolean acknowledged) {
+    }
+
+    /**
+     * A GET and the tagged fields it observed.
+     */
+    public record Read(int client, long invokeNanos, long completeNanos, String firstname, String lastname) {
+    }
+
+    public enum AnomalyType {
+        /** The fields of a read come from different writes. */
+        TORN_READ,
+        /** A read returned a value no write stored. */
+        UNKNOWN_VALUE,
+        /** A read returned a value whose write started after the read completed. */
+        FUTURE_READ,
+        /** A read returned a value that an acknowledged write had replaced before the read started. */
+        STALE_READ,
+        /** A later read returned a value older than one an earlier read had already returned. */
+        READ_INVERSION,
+        /** The final state is a value an acknowledged later write had replaced: that write was lost. */
+        LOST_UPDATE
+    }
+
+    /**
+     * @param type The kind of inconsistency.
+     * @param description The operations involved.
+     */
+    public record Anomaly(AnomalyType type, String description) {
+    }
+
+    /**
+     * Checks every read against the writes and the reads that completed before it. Each check is a sweep over
+     * operations sorted by completion, so long histories check in O(n log n).
+     * @return The anomalies found, none if the history is consistent with a serial order of the writes.
+     */
+    public List<Anomaly> check() {
+        Map<String, Write> byValue = new HashMap<>();
+        writes.forEach(write -> byValue.put(write.value(), write));
+
+        List<Anomaly> anomalies = new ArrayList<>();
+        List<Observation> observations = new ArrayList<>();
+        for (Read read : reads) {
+            if (!read.firstname().equals(read.lastname())) {
+                anomalies.add(new Anomaly(AnomalyType.TORN_READ, String.format("%s mixes two writes", read)));
+                continue;
+            }
+            Write write = byValue.get(read.firstname());
+            if (write == null) {
+                anomalies.add(new Anomaly(AnomalyType.UNKNOWN_VALUE, String.format("%s saw no known write", read)));
+            } else if (write.invokeNanos() > read.completeNanos()) {
+                anomalies.add(new Anomaly(AnomalyType.FUTURE_READ,
+                        String.format("%s saw %s, which started after it", read, write)));
+            } else {
+                observations.add(new Observation(read, write));
+            }
+        }
+
+        checkStaleReads(observations, anomalies);
+        checkReadInversions(observations, anomalies);
+        return anomalies;
+    }
+
+    /**
+     * A read returning write {@code w} is stale if an acknowledged write started after {@code w} completed and
+     * completed before the read started. Writes sorted by completion with a running maximum of their invocation
+     * times answer that for each read with one binary search.
+     */
+    private void checkStaleReads(List<Observation> observations, List<Anomaly> anomalies) {
+        List<Write> acknowledged = writes.stream()
+                .filter(Write::acknowledged)
+                .sorted(Comparator.comparingLong(Write::completeNanos))
+                .toList();
+        long[] completes = acknowledged.stream().mapToLong(Write::completeNanos).toArray();
+        Write[] latestStarted = new Write[acknowledged.size()];
+        for (int i = 0; i < acknowledged.size(); i++) {
+            Write write = acknowledged.get(i);
+            latestStarted[i] = i > 0 && latestStarted[i - 1].invokeNanos() >= write.invokeNanos()
+                    ? latestStarted[i - 1]
+                    : write;
+        }
+
+        for (Observation observation : observations) {
+            int before = countBelow(completes, observation.read().invokeNanos());
+            Write newer = before == 0 ? null : latestStarted[before - 1];
+            if (newer != null && newer.invokeNanos() > observation.write().completeNanos()) {
+                boolean isFinal = observation.read() == finalRead;
+                anomalies.add(new Anomaly(isFinal ? AnomalyType.LOST_UPDATE : AnomalyType.STALE_READ,
+                        String.format("%s saw %s, which %s had replaced", observation.read(), observation.write(),
+                                newer)));
+            }
+        }
+    }
+
+    /**
+     * Once a read returned write {@code a}, a read starting after it completed must not return a write that
+     * completed before {@code a} started. Reads sorted by completion with a running maximum of the invocation
+     * time of the write they saw answer that for each read with one binary search.
+     */
+    private void checkReadInversions(List<Observation> observations, List<Anomaly> anomalies) {
+        List<Observation> byCompletion = observations.stream()
+                .sorted(Comparator.comparingLong(observation -> observation.read().completeNanos()))
+                .toList();
+        long[] completes = byCompletion.stream().mapToLong(observation -> observation.read().completeNanos())
+                .toArray();
+        Observation[] newestSeen = new Observation[byCompletion.size()];
+        for (int i = 0; i < byCompletion.size(); i++) {
+            Observation observation = byCompletion.get(i);
+            newestSeen[i] = i > 0 && newestSeen[i - 1].write().invokeNanos() >= observation.write().invokeNanos()
+                    ? newestSeen[i - 1]
+                    : observation;
+        }
+
+        for (Observation observation : observations) {
+            int before = countBelow(completes, observation.read().invokeNanos());
+            Observation earlier = before == 0 ? null : newestSeen[before - 1];
+            if (earlier != null && earlier.write().invokeNanos() > observation.write().completeNanos()) {
+                anomalies.add(new Anomaly(AnomalyType.READ_INVERSION, String.format(
+                        "%s saw %s after %s had already seen the newer %s", observation.read(), observation.write(),
+                        earlier.read(), earlier.write())));
+            }
+        }
+    }
+
+    private static int countBelow(long[] sorted, long bound) {
+        int index = Arrays.binarySearch(sorted, bound);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && sorted[index - 1] == bound) {
+            index--;
+        }
+        return index;
+    }
+
+    private record Observation(Read read, Write write) {
+    }
+}
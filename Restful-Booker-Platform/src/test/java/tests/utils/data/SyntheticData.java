@@ -0,0 +1,319 @@
+package tests.utils.data;
+
+import models.common.Address;
+import models.common.BookingDates;
+import models.common.Contact;
+import models.common.FullMessage;
+import models.common.Map;
+import models.request.BookingRequest;
+import models.response.BrandingResponse;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static tests.utils.random.RunRandom.mix;
+
+
+/**
+ * A lazy, seeded source of realistic test data: booking requests, branding updates and contact messages. Every
+ * record is a pure function of the seed and its index, so it can be built on any thread, in any order and without
+ * building the records before it; a stream of millions of records holds one at a time, and the same seed gives
+ * the same records on every run.
+ * <p>
+ * Within one seed the first {@link #PERSONS} persons have unique names and emails, and their phone numbers, "0"
+ * and ten digits as {@code TestUtils.generate10DigitNumericString()} makes them, are unique too. Booking
+ * {@code i} goes to room {@code i % rooms}, into the {@code (i / rooms)}-th slot of {@value #SLOT_DAYS} days from
+ * {@code firstCheckin}, and stays 3 to 7 nights as {@code DateUtils.generateRandomBookingDates()} does, so the
+ * bookings of a room never overlap.
+ * <p>
+ * Typical use, as a parameter source:
+ * <pre>{@code
+ * static Stream<Arguments> bookings() {
+ *     return SyntheticData.seeded(42).withRooms("1", "2", "3").bookings().limit(3).map(Arguments::of);
+ * }
+ * }</pre>
+ * @param seed The seed every record derives from.
+ * @param roomIds Rooms the bookings are spread over, in turn.
+ * @param firstCheckin Check-in of the first slot of every room.
+ */
+public record SyntheticData(long seed, List<String> roomIds, LocalDate firstCheckin) {
+
+    /**
+     * Persons with unique names and emails per seed: 64 first names times 1024 surnames, the first 64Ki persons
+     * with one surname and the rest double-barrelled.
+     */
+    public static final long PERSONS = 64L * 1024 * 1025;
+
+    /**
+     * Days between the check-ins of two consecutive bookings of a room; longer than the longest stay.
+     */
+    public static final int SLOT_DAYS = 8;
+
+    private static final int MIN_NIGHTS = 3;
+    private static final int MAX_NIGHTS = 7;
+    // LocalDate prints years past 9999 with a sign, which the API does not parse
+    private static final LocalDate LAST_CHECKOUT = LocalDate.of(9999, 12, 31);
+    private static final int DEFAULT_SPREAD_DAYS = 3 * 365;
+
+    // both strides are coprime to their modulus, so i -> (i * stride + offset) % modulus is a permutation
+    private static final long SINGLE_SURNAMES = 64L * 1024;
+    private static final long PERSON_STRIDE = 40_503L;
+    private static final long PHONES = 9_000_000_000L;
+    private static final long PHONE_FLOOR = 1_000_000_000L;
+    private static final long PHONE_STRIDE = 1_000_000_007L;
+
+    private static final long PERSON_SALT = 0x5045_5253_4f4eL;
+    private static final long PHONE_SALT = 0x5048_4f4e_45L;
+    private static final long BOOKING_SALT = 0x424f_4f4bL;
+    private static final long BRANDING_SALT = 0x4252_414eL;
+    private static final long MESSAGE_SALT = 0x4d45_5353L;
+
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Agnieszka", "Alice", "Amelia", "Aria", "Arthur", "Ava", "Ben", "Charlie", "Chloe", "Daniel",
+            "Edith", "Eliza", "Ella", "Emil", "Erin", "Ethan", "Evelyn", "Felix", "Florence", "Freya", "George",
+            "Grace", "Hamza", "Hannah", "Harry", "Henry", "Isla", "Ivy", "Jack", "Jacob", "Jade", "James", "Joseph",
+            "Kai", "Kamil", "Leo", "Lily", "Lucas", "Marta", "Maya", "Mia", "Mohammed", "Nadia", "Noah", "Oliver",
+            "Olivia", "Oscar", "Piotr", "Poppy", "Priya", "Rory", "Rosa", "Ruby", "Sam", "Sofia", "Theo", "Thomas",
+            "Una", "Victor", "Willow", "Xavier", "Yusuf", "Zara"
+    };
+    // every start + end pair spells a different surname
+    private static final String[] SURNAME_STARTS = {
+            "Ash", "Brad", "Black", "Chad", "Clay", "Dun", "Elm", "Fair", "Fern", "Gold", "Green", "Hart", "Hazel",
+            "Holm", "Kings", "Lang", "Lock", "Marsh", "Mill", "Moor", "North", "Oak", "Pem", "Red", "Rad", "Stan",
+            "Thorn", "Wake", "West", "White", "Win", "York"
+    };
+    private static final String[] SURNAME_ENDS = {
+            "bury", "by", "croft", "dale", "den", "field", "ford", "gate", "ham", "hill", "hurst", "ington", "land",
+            "ley", "low", "mere", "more", "ridge", "shaw", "stead", "stock", "stone", "thorpe", "ton", "wall", "ward",
+            "well", "wick", "win", "wood", "worth", "wright"
+    };
+    private static final String[] EMAIL_DOMAINS = {"example.com", "example.org", "example.net"};
+
+    private static final String[] KINDS = {"B&B", "Guest House", "Inn", "Lodge", "Cottages", "Farmhouse"};
+    private static final String[] STREETS = {
+            "High Street", "Church Lane", "Mill Road", "Station Road", "Meadow Way", "Orchard Close", "Quay Street",
+            "Abbey Road"
+    };
+    private static final Town[] TOWNS = {
+            new Town("Norwich", "Norfolk", "NR", 52.6309f, 1.2974f),
+            new Town("York", "North Yorkshire", "YO", 53.9600f, -1.0873f),
+            new Town("Whitby", "North Yorkshire", "YO", 54.4858f, -0.6206f),
+            new Town("Harrogate", "North Yorkshire", "HG", 53.9921f, -1.5418f),
+            new Town("Bath", "Somerset", "BA", 51.3811f, -2.3590f),
+            new Town("Keswick", "Cumbria", "CA", 54.6013f, -3.1347f),
+            new Town("Ambleside", "Cumbria", "LA", 54.4287f, -2.9613f),
+            new Town("Penzance", "Cornwall", "TR", 50.1188f, -5.5376f),
+            new Town("Oxford", "Oxfordshire", "OX", 51.7520f, -1.2577f),
+            new Town("Brighton", "East Sussex", "BN", 50.8225f, -0.1372f),
+            new Town("Ludlow", "Shropshire", "SY", 52.3676f, -2.7180f),
+            new Town("Canterbury", "Kent", "CT", 51.2802f, 1.0789f)
+    };
+    private static final String POSTCODE_LETTERS = "ABDEFGHJLNPQRSTUWXYZ";
+
+    private static final String[] SUBJECTS = {
+            "Room availability", "Booking enquiry", "Late check-in", "Dietary requirements", "Parking question",
+            "Group booking", "Accessible room", "Changing my dates"
+    };
+    private static final String[] TOPICS = {
+            "a double room", "your rates", "arriving after ten in the evening", "a gluten-free breakfast",
+            "parking for two cars", "booking the whole house", "a ground floor room", "moving our stay by a week"
+    };
+
+    public SyntheticData {
+        if (roomIds == null || roomIds.isEmpty() || firstCheckin == null || !firstCheckin.isBefore(LAST_CHECKOUT)) {
+            throw new IllegalArgumentException(String.format("Invalid synthetic data: rooms %s, first check-in %s",
+                    roomIds, firstCheckin));
+        }
+        roomIds = List.copyOf(roomIds);
+    }
+
+    /**
+     * Data for the given seed, booking room 1 from a day within the next three years that the seed picks, so
+     * runs with different seeds rarely book the same dates.
+     * @param seed The seed.
+     * @return The data.
+     */
+    public static SyntheticData seeded(long seed) {
+        LocalDate firstCheckin = LocalDate.now().plusDays(1 + Math.floorMod(mix(seed), DEFAULT_SPREAD_DAYS));
+        return new SyntheticData(seed, List.of("1"), firstCheckin);
+    }
+
+    /**
+     * @param roomIds The rooms to spread the bookings over.
+     * @return This data booking the given rooms.
+     */
+    public SyntheticData withRooms(String... roomIds) {
+        return new SyntheticData(seed, List.of(roomIds), firstCheckin);
+    }
+
+    /**
+     * @param date The check-in of the first slot, e.g. a fixed date for reproducible bookings.
+     * @return This data with bookings from the given date.
+     */
+    public SyntheticData withFirstCheckin(LocalDate date) {
+        return new SyntheticData(seed, roomIds, date);
+    }
+
+    // --- Records ---
+
+    /**
+     * @param index The person's index, from 0 and below {@link #PERSONS}.
+     * @return The person; a different index gives a different name, email and phone.
+     */
+    public Person person(long index) {
+        checkIndex(index, PERSONS);
+        // shuffled within each block of single-surname persons, so neighbours do not share a name
+        long n = (index % SINGLE_SURNAMES * PERSON_STRIDE + Math.floorMod(mix(seed ^ PERSON_SALT), SINGLE_SURNAMES))
+                % SINGLE_SURNAMES;
+        String firstname = FIRST_NAMES[(int) (n % FIRST_NAMES.length)];
+        String lastname = surname((int) (n / FIRST_NAMES.length));
+        long barrel = index / SINGLE_SURNAMES;
+        if (barrel > 0) {
+            lastname = surname((int) (barrel - 1)) + "-" + lastname;
+        }
+        String domain = EMAIL_DOMAINS[random(index, PERSON_SALT).nextInt(EMAIL_DOMAINS.length)];
+        String email = String.format("%s.%s@%s", firstname, lastname, domain).toLowerCase(Locale.ROOT);
+        long phone = PHONE_FLOOR + (index * PHONE_STRIDE + Math.floorMod(mix(seed ^ PHONE_SALT), PHONES)) % PHONES;
+        return new Person(firstname, lastname, email, "0" + phone);
+    }
+
+    /**
+     * @param index The booking's index, from 0 and below {@link #bookingCapacity()}.
+     * @return A booking by {@link #person(long) person} {@code index}, which no other booking of its room overlaps.
+     */
+    public BookingRequest booking(long index) {
+        checkIndex(index, bookingCapacity());
+        SplittableRandom random = random(index, BOOKING_SALT);
+        Person person = person(index);
+        LocalDate checkin = firstCheckin.plusDays(index / roomIds.size() * SLOT_DAYS);
+        LocalDate checkout = checkin.plusDays(random.nextInt(MIN_NIGHTS, MAX_NIGHTS + 1));
+        return new BookingRequest(roomIds.get((int) (index % roomIds.size())), person.firstname(), person.lastname(),
+                random.nextBoolean(), person.email(), person.phone(),
+                new BookingDates(checkin.toString(), checkout.toString()));
+    }
+
+    /**
+     * @param index The payload's index, from 0 and below {@link #PERSONS}.
+     * @return A branding update for a place run by {@link #person(long) person} {@code index}.
+     */
+    public BrandingResponse branding(long index) {
+        SplittableRandom random = random(index, BRANDING_SALT);
+        Person person = person(index);
+        Town town = TOWNS[random.nextInt(TOWNS.length)];
+        String kind = KINDS[random.nextInt(KINDS.length)];
+        String name = String.format("%s %s", person.lastname(), kind);
+        String street = STREETS[random.nextInt(STREETS.length)];
+        String postCode = String.format("%s%d %d%c%c", town.postcodeArea(), random.nextInt(1, 30), random.nextInt(10),
+                POSTCODE_LETTERS.charAt(random.nextInt(POSTCODE_LETTERS.length())),
+                POSTCODE_LETTERS.charAt(random.nextInt(POSTCODE_LETTERS.length())));
+        Map map = new Map(town.latitude() + (float) random.nextDouble(-0.05, 0.05),
+                town.longitude() + (float) random.nextDouble(-0.05, 0.05));
+        String logoUrl = String.format("https://example.com/logos/%s.png",
+                name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-"));
+        String description = String.format("%s is a %s in %s, %s, run by %s %s.", name,
+                kind.toLowerCase(Locale.ROOT), town.name(), town.county(), person.firstname(), person.lastname());
+        String directions = String.format("From %s station, follow signs for the centre and turn onto %s; we are at "
+                + "number %d, with parking behind the house.", town.name(), street, random.nextInt(1, 200));
+        return new BrandingResponse(name, map, logoUrl, description, directions,
+                new Contact(name, person.phone(), person.email()),
+                new Address(String.format("%d %s", random.nextInt(1, 200), street), null, town.name(), town.county(),
+                        postCode));
+    }
+
+    /**
+     * @param index The message's index, from 0 and below {@link #PERSONS}.
+     * @return A contact message from {@link #person(long) person} {@code index} that passes the API's validation.
+     */
+    public FullMessage message(long index) {
+        SplittableRandom random = random(index, MESSAGE_SALT);
+        Person person = person(index);
+        int topic = random.nextInt(SUBJECTS.length);
+        String month = Month.of(random.nextInt(1, 13)).getDisplayName(TextStyle.FULL, Locale.UK);
+        String subject = String.format("%s in %s", SUBJECTS[topic], month);
+        String description = String.format("Hello, I would like to ask about %s for %d guests arriving in %s. "
+                        + "Could you reply to %s or call me on %s? Thanks, %s", TOPICS[topic], random.nextInt(1, 7),
+                month, person.email(), person.phone(), person.firstname());
+        return new FullMessage(null, person.fullName(), person.email(), person.phone(), subject, description);
+    }
+
+    // --- Streams ---
+
+    /**
+     * @return All persons, in index order; lazy.
+     */
+    public Stream<Person> persons() {
+        return LongStream.range(0, PERSONS).mapToObj(this::person);
+    }
+
+    /**
+     * @return All {@link #bookingCapacity()} bookings, in index order; lazy, and split evenly when parallel.
+     */
+    public Stream<BookingRequest> bookings() {
+        return LongStream.range(0, bookingCapacity()).mapToObj(this::booking);
+    }
+
+    /**
+     * @return Branding updates for all persons, in index order; lazy.
+     */
+    public Stream<BrandingResponse> brandings() {
+        return LongStream.range(0, PERSONS).mapToObj(this::branding);
+    }
+
+    /**
+     * @return Contact messages from all persons, in index order; lazy.
+     */
+    public Stream<FullMessage> messages() {
+        return LongStream.range(0, PERSONS).mapToObj(this::message);
+    }
+
+    /**
+     * @return How many non-overlapping bookings fit the rooms before year 10000, capped at {@link #PERSONS}.
+     */
+    public long bookingCapacity() {
+        long slots = ChronoUnit.DAYS.between(firstCheckin, LAST_CHECKOUT.minusDays(MAX_NIGHTS)) / SLOT_DAYS + 1;
+        return Math.min(Math.max(slots, 0) * roomIds.size(), PERSONS);
+    }
+
+    // --- Helpers ---
+
+    private static String surname(int index) {
+        return SURNAME_STARTS[index / SURNAME_ENDS.length] + SURNAME_ENDS[index % SURNAME_ENDS.length];
+    }
+
+    private SplittableRandom random(long index, long salt) {
+        return new SplittableRandom(mix(mix(seed ^ salt) + index));
+    }
+
+    private static void checkIndex(long index, long limit) {
+        if (index < 0 || index >= limit) {
+            throw new IllegalArgumentException(String.format("Index %d outside [0, %d)", index, limit));
+        }
+    }
+
+    /**
+     * A person the records are made for.
+     * @param firstname 3 to 9 letters, within the API's 3 to 18.
+     * @param lastname A surname, double-barrelled past the first 64Ki persons; at most 25 characters.
+     * @param email {@code first.last@example.*}, lower case.
+     * @param phone "0" and ten digits, the first not 0.
+     */
+    public record Person(String firstname, String lastname, String email, String phone) {
+
+        /**
+         * @return First name and last name.
+         */
+        public String fullName() {
+            return firstname + " " + lastname;
+        }
+    }
+
+    private record Town(String name, String county, String postcodeArea, float latitude, float longitude) {
+    }
+}
@@ -0,0 +1,19 @@
+package tests.utils.distributed;
+
+import tests.utils.workload.WarmUpPolicy;
+import tests.utils.workload.WorkloadDefinition;
+
+
+/**
+ * What the {@link LoadCoordinator} asks one {@link LoadWorker} to run. The times are on the worker's own clock, the
+ * coordinator having measured its offset, so that all workers start together however far their clocks are apart.
+ * @param baseUri The API base URI.
+ * @param workload The worker's part of the workload: every arrival rate multiplied by its share.
+ * @param share The worker's fraction of the traffic.
+ * @param startAtMicros When to start the warm-up, on the worker's clock in microseconds since the epoch.
+ * @param measureAtMicros When to start the measurement, likewise; the warm-up traffic goes on until then.
+ * @param warmUp When the worker's JVM counts as warmed up.
+ */
+public record Assignment(String baseUri, WorkloadDefinition workload, double share, long startAtMicros,
+                         long measureAtMicros, WarmUpPolicy warmUp) {
+}
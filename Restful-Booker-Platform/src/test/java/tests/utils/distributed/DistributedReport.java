@@ -0,0 +1,75 @@
+package tests.utils.distributed;
+
+import tests.utils.baseline.Baseline;
+import tests.utils.concurrency.LatencyHistogram;
+import tests.utils.concurrency.LatencyStats;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.SortedMap;
+
+
+/**
+ * Results of a {@link LoadCoordinator} run: each worker's part, and the latency by endpoint across all of them,
+ * merged bucket by bucket from the workers' histograms.
+ * @param workload The workload's name.
+ * @param workers The workers, in the order they joined.
+ * @param endpoints Latency by endpoint across the workers.
+ * @param elapsedNanos Length of the measurement: that of the worker that ran longest.
+ */
+public record DistributedReport(String workload, List<Worker> workers, SortedMap<String, LatencyHistogram> endpoints,
+                                long elapsedNanos) {
+
+    private static final int LABEL_WIDTH = 30;
+
+    /**
+     * @return Sessions started across the workers.
+     */
+    public long startedSessions() {
+        return workers.stream().mapToLong(worker -> worker.result().started()).sum();
+    }
+
+    /**
+     * @return Sessions failed across the workers.
+     */
+    public long failedSessions() {
+        return workers.stream().mapToLong(worker -> worker.result().failed()).sum();
+    }
+
+    /**
+     * @return The merged run as a baseline, to save or to compare with a single-JVM one.
+     */
+    public Baseline toBaseline() {
+        return Baseline.of(workload, endpoints, elapsedNanos);
+    }
+
+    /**
+     * Prints one line per worker, then the merged endpoints.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%n=== Workload '%s' on %d workers over %.1f s ===%n", workload, workers.size(), seconds);
+        out.printf("%-" + LABEL_WIDTH + "s %7s %12s %10s %9s %7s %8s %12s%n", "Worker", "Share", "Offset (ms)",
+                "RTT (ms)", "Started", "Failed", "Skipped", "Warm-up");
+        for (Worker worker : workers) {
+            WorkerResult result = worker.result();
+            out.printf("%-" + LABEL_WIDTH + "s %6.1f%% %12.1f %10.2f %9d %7d %8d %12s%n", result.worker(),
+                    result.share() * 100, worker.clockOffsetMicros() / 1e3, worker.roundTripMicros() / 1e3,
+                    result.started(), result.failed(), result.skipped(),
+                    result.warmUp().settled() ? "settled" : result.warmUp().elapsedNanos() == 0 ? "none" : "capped");
+        }
+        out.printf("%nEndpoints across workers (%d sessions, %.2f/s):%n", startedSessions(),
+                startedSessions() / seconds);
+        LatencyStats.printHeader(out, "Endpoint", LABEL_WIDTH);
+        endpoints.forEach((endpoint, histogram) -> histogram.stats().print(out, endpoint, LABEL_WIDTH));
+    }
+
+    /**
+     * @param result What the worker measured.
+     * @param clockOffsetMicros The worker's clock minus the coordinator's.
+     * @param roundTripMicros Round trip of the ping the offset was measured with; the offset is exact to half of it.
+     */
+    public record Worker(WorkerResult result, long clockOffsetMicros, long roundTripMicros) {
+    }
+}
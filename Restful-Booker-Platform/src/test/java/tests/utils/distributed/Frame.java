@@ -0,0 +1,73 @@
+package tests.utils.distributed;
+
+import java.time.Instant;
+
+
+/**
+ * One message between the {@link LoadCoordinator} and a {@link LoadWorker}, sent as a line of JSON. Only the fields
+ * of its type are set:
+ * <ol>
+ *     <li>{@code HELLO} (worker): its name and capacity, right after connecting;</li>
+ *     <li>{@code PING} (coordinator) and {@code PONG} (worker): the worker's clock, for the clock offset;</li>
+ *     <li>{@code ASSIGN} (coordinator): the worker's share of the workload and when to start;</li>
+ *     <li>{@code RESULT} or {@code FAILED} (worker): its measurement, or why it has none.</li>
+ * </ol>
+ * @param type What the message is.
+ * @param worker The worker's name.
+ * @param capacity The worker's capacity, relative to the others.
+ * @param clockMicros The worker's wall clock, in microseconds since the epoch.
+ * @param assignment The worker's assignment.
+ * @param result The worker's result.
+ * @param error Why the worker failed.
+ */
+record Frame(Type type, String worker, Double capacity, Long clockMicros, Assignment assignment, WorkerResult result,
+             String error) {
+
+    static Frame hello(String worker, double capacity) {
+        return new Frame(Type.HELLO, worker, capacity, null, null, null, null);
+    }
+
+    static Frame ping() {
+        return new Frame(Type.PING, null, null, null, null, null, null);
+    }
+
+    static Frame pong() {
+        return new Frame(Type.PONG, null, null, nowMicros(), null, null, null);
+    }
+
+    static Frame assign(Assignment assignment) {
+        return new Frame(Type.ASSIGN, null, null, null, assignment, null, null);
+    }
+
+    static Frame result(WorkerResult result) {
+        return new Frame(Type.RESULT, result.worker(), null, null, null, result, null);
+    }
+
+    static Frame failed(String worker, String error) {
+        return new Frame(Type.FAILED, worker, null, null, null, null, error);
+    }
+
+    /**
+     * @return This machine's wall clock, in microseconds since the epoch.
+     */
+    static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+
+    enum Type {
+
+        /** A worker has connected. */
+        HELLO,
+        /** The coordinator asks for the worker's clock. */
+        PING,
+        /** The worker's clock. */
+        PONG,
+        /** The coordinator hands out the work. */
+        ASSIGN,
+        /** A worker's measurement. */
+        RESULT,
+        /** A worker could not run its assignment. */
+        FAILED
+    }
+}
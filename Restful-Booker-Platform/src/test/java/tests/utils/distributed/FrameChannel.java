@@ -0,0 +1,106 @@
+package tests.utils.distributed;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import tests.utils.JsonMappers;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Sends and receives {@link Frame}s over a plain TCP socket, one line of JSON each. Not thread-safe: each side talks
+ * to a connection from one thread.
+ */
+final class FrameChannel implements AutoCloseable {
+
+    private static final ObjectReader READER = JsonMappers.reader(Frame.class);
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final OutputStream out;
+
+    FrameChannel(Socket socket) {
+        this.socket = socket;
+        try {
+            socket.setTcpNoDelay(true);
+            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to open connection to %s", peer()), e);
+        }
+    }
+
+    void send(Frame frame) {
+        try {
+            out.write(JsonMappers.writeBytes(frame));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to send %s to %s", frame.type(), peer()), e);
+        }
+    }
+
+    /**
+     * @param timeoutMillis Longest wait, 0 for no limit.
+     * @return The next frame.
+     * @throws IllegalStateException if the other side closed the connection or nothing came in time.
+     */
+    Frame receive(long timeoutMillis) {
+        String line;
+        try {
+            socket.setSoTimeout((int) Math.min(timeoutMillis, Integer.MAX_VALUE));
+            line = in.readLine();
+        } catch (SocketTimeoutException e) {
+            throw new IllegalStateException(String.format("Nothing received from %s within %d ms", peer(),
+                    timeoutMillis), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to receive from %s", peer()), e);
+        }
+        if (line == null) {
+            throw new IllegalStateException(String.format("Connection closed by %s", peer()));
+        }
+        try {
+            return READER.readValue(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Malformed frame from %s: %s", peer(), line), e);
+        }
+    }
+
+    /**
+     * @param timeoutMillis Longest wait, 0 for no limit.
+     * @param expected The type the protocol calls for.
+     * @return The next frame, of the expected type.
+     * @throws IllegalStateException if the frame is of another type; a {@code FAILED} frame's error is passed on.
+     */
+    Frame receive(long timeoutMillis, Frame.Type expected) {
+        Frame frame = receive(timeoutMillis);
+        if (frame.type() == Frame.Type.FAILED) {
+            throw new IllegalStateException(String.format("Worker %s failed: %s", frame.worker(), frame.error()));
+        }
+        if (frame.type() != expected) {
+            throw new IllegalStateException(String.format("Expected %s from %s but got %s", expected, peer(),
+                    frame.type()));
+        }
+        return frame;
+    }
+
+    String peer() {
+        return String.valueOf(socket.getRemoteSocketAddress());
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to close connection to %s", peer()), e);
+        }
+    }
+}
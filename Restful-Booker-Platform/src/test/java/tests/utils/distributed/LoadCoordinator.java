@@ -0,0 +1,266 @@
+package tests.utils.distributed;
+
+import tests.utils.baseline.Baseline;
+import tests.utils.concurrency.LatencyHistogram;
+import tests.utils.standin.StandInServer;
+import tests.utils.workload.WarmUpPolicy;
+import tests.utils.workload.WorkloadDefinition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static constants.ApiConstants.BASE_URI;
+
+
+/**
+ * Spreads a workload over several JVMs, for rates one JVM cannot generate. {@link LoadWorker}s, on this or other
+ * machines, connect over plain TCP; once all have joined, the coordinator:
+ * <ol>
+ *     <li>measures each worker's clock offset, from the ping with the shortest round trip;</li>
+ *     <li>gives each worker a share of the arrival rates in proportion to its capacity;</li>
+ *     <li>tells every worker the same start and measurement start, translated to its own clock, so that all warm up
+ *     together and measure the same window; the measurement starts after the whole warm-up cap, as each JVM
+ *     settles at its own time;</li>
+ *     <li>collects the workers' per-endpoint histograms and adds them up bucket by bucket, so the merged
+ *     percentiles are those of all calls, not an average of the workers' percentiles.</li>
+ * </ol>
+ * <p>
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.distributed.LoadCoordinator
+ * -Dexec.args="--workers 3 --spawn --stand-in"}, or without {@code --spawn} and with a {@link LoadWorker} started
+ * on each load machine.
+ * <p>
+ * Options: {@code --workers n} workers to wait for (required), {@code --port p} (default 7700), {@code --spawn}
+ * starts the workers as local JVMs, {@code --workload w} file or classpath resource (default:
+ * {@link WorkloadDefinition#TYPICAL_TRAFFIC_PATH}), {@code --duration-seconds n} overrides the definition's
+ * duration, {@code --warm-up-cap n} (default: {@link WarmUpPolicy#DEFAULT}), {@code --save file} writes the merged
+ * run as a {@link Baseline}, {@code --base-url url} (default: {@code -DbaseUri} or the live API), {@code --stand-in}
+ * targets a local {@link StandInServer}. The exit code is 1 if any session failed.
+ */
+public final class LoadCoordinator implements AutoCloseable {
+
+    private static final int DEFAULT_PORT = 7700;
+    private static final Duration JOIN_TIMEOUT = Duration.ofMinutes(2);
+    private static final long HELLO_TIMEOUT_MILLIS = 10_000;
+    private static final int CLOCK_SAMPLES = 8;
+    private static final long START_LEAD_MICROS = TimeUnit.SECONDS.toMicros(2);
+    private static final long RESULT_GRACE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final ServerSocket server;
+
+    private LoadCoordinator(ServerSocket server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts listening for workers on all interfaces.
+     * @param port The port, 0 for any free one.
+     * @return The coordinator.
+     */
+    public static LoadCoordinator listen(int port) {
+        try {
+            return new LoadCoordinator(new ServerSocket(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to listen on port %d", port), e);
+        }
+    }
+
+    public static void main(String[] args) {
+        String baseUri = System.getProperty("baseUri", BASE_URI);
+        String workload = WorkloadDefinition.TYPICAL_TRAFFIC_PATH;
+        Long durationSeconds = null;
+        WarmUpPolicy warmUp = WarmUpPolicy.DEFAULT;
+        int workers = 0;
+        int port = DEFAULT_PORT;
+        Path save = null;
+        boolean spawn = false;
+        boolean standIn = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUri = args[++i];
+                case "--workers" -> workers = Integer.parseInt(args[++i]);
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--spawn" -> spawn = true;
+                case "--workload" -> workload = args[++i];
+                case "--duration-seconds" -> durationSeconds = Long.parseLong(args[++i]);
+                case "--warm-up-cap" -> warmUp = warmUp.withCapSeconds(Long.parseLong(args[++i]));
+                case "--save" -> save = Path.of(args[++i]);
+                case "--stand-in" -> standIn = true;
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+        if (workers < 1) {
+            System.err.println("Usage: LoadCoordinator --workers n [--port p] [--spawn] [--workload w]"
+                    + " [--duration-seconds n] [--warm-up-cap n] [--save file] [--base-url url] [--stand-in]");
+            System.exit(2);
+        }
+        WorkloadDefinition definition = WorkloadDefinition.load(workload);
+        if (durationSeconds != null) {
+            definition = definition.withDurationSeconds(durationSeconds);
+        }
+
+        DistributedReport report;
+        if (standIn) {
+            try (StandInServer server = StandInServer.start()) {
+                report = run(port, server.baseUri(), definition, workers, warmUp, spawn);
+            }
+        } else {
+            report = run(port, baseUri, definition, workers, warmUp, spawn);
+        }
+        report.print(System.out);
+        if (save != null) {
+            report.toBaseline().save(save);
+            System.out.printf("Baseline of %d endpoints written to %s%n", report.endpoints().size(),
+                    save.toAbsolutePath());
+        }
+        System.exit(report.failedSessions() == 0 ? 0 : 1);
+    }
+
+    /**
+     * @return The port workers connect to.
+     */
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Waits for the workers, runs the workload on them and merges their results.
+     * @param baseUri The API base URI, as the workers reach it.
+     * @param definition The whole workload; the workers split its arrival rates.
+     * @param workers Workers to wait for.
+     * @param warmUp When each worker counts as warmed up; its cap is the warm-up all workers run.
+     * @return The merged report.
+     * @throws IllegalStateException if not enough workers join, or one fails or goes silent.
+     */
+    public DistributedReport run(String baseUri, WorkloadDefinition definition, int workers, WarmUpPolicy warmUp) {
+        List<FrameChannel> channels = new ArrayList<>();
+        try {
+            List<Frame> hellos = join(channels, workers);
+            double capacity = hellos.stream().mapToDouble(Frame::capacity).sum();
+            long[] offsets = new long[workers];
+            long[] roundTrips = new long[workers];
+            for (int i = 0; i < workers; i++) {
+                long[] clock = clockOffset(channels.get(i));
+                offsets[i] = clock[0];
+                roundTrips[i] = clock[1];
+            }
+
+            long startAt = Frame.nowMicros() + START_LEAD_MICROS;
+            long measureAt = startAt + TimeUnit.SECONDS.toMicros(warmUp.capSeconds());
+            for (int i = 0; i < workers; i++) {
+                double share = hellos.get(i).capacity() / capacity;
+                channels.get(i).send(Frame.assign(new Assignment(baseUri, definition.scaled(share), share,
+                        startAt + offsets[i], measureAt + offsets[i], warmUp)));
+            }
+
+            long deadline = System.currentTimeMillis() + TimeUnit.MICROSECONDS.toMillis(measureAt - Frame.nowMicros())
+                    + TimeUnit.SECONDS.toMillis(definition.durationSeconds()) + RESULT_GRACE_MILLIS;
+            List<DistributedReport.Worker> results = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                long wait = Math.max(1, deadline - System.currentTimeMillis());
+                WorkerResult result = channels.get(i).receive(wait, Frame.Type.RESULT).result();
+                results.add(new DistributedReport.Worker(result, offsets[i], roundTrips[i]));
+            }
+            return merge(definition.name(), results);
+        } finally {
+            channels.forEach(FrameChannel::close);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stop the coordinator", e);
+        }
+    }
+
+    // --- Protocol ---
+
+    private List<Frame> join(List<FrameChannel> channels, int workers) {
+        List<Frame> hellos = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + JOIN_TIMEOUT.toMillis();
+        while (hellos.size() < workers) {
+            Socket socket;
+            try {
+                server.setSoTimeout((int) Math.max(1, deadline - System.currentTimeMillis()));
+                socket = server.accept();
+            } catch (SocketTimeoutException e) {
+                throw new IllegalStateException(String.format("Only %d of %d workers joined within %s",
+                        hellos.size(), workers, JOIN_TIMEOUT), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to accept a worker", e);
+            }
+            FrameChannel channel = new FrameChannel(socket);
+            channels.add(channel);
+            Frame hello = channel.receive(HELLO_TIMEOUT_MILLIS, Frame.Type.HELLO);
+            hellos.add(hello);
+            System.out.printf("Worker %s joined from %s (%d of %d)%n", hello.worker(), channel.peer(),
+                    hellos.size(), workers);
+        }
+        return hellos;
+    }
+
+    /**
+     * Pings the worker a few times and takes the sample with the shortest round trip, whose reply is the least
+     * likely to have been held up: the worker read its clock about halfway through it.
+     * @return The worker's clock minus this one's, and the round trip, in microseconds.
+     */
+    private static long[] clockOffset(FrameChannel channel) {
+        long bestOffset = 0;
+        long bestRoundTrip = Long.MAX_VALUE;
+        for (int i = 0; i < CLOCK_SAMPLES; i++) {
+            long sent = Frame.nowMicros();
+            channel.send(Frame.ping());
+            long workerClock = channel.receive(HELLO_TIMEOUT_MILLIS, Frame.Type.PONG).clockMicros();
+            long received = Frame.nowMicros();
+            if (received - sent < bestRoundTrip) {
+                bestRoundTrip = received - sent;
+                bestOffset = workerClock - (sent + received) / 2;
+            }
+        }
+        return new long[] {bestOffset, bestRoundTrip};
+    }
+
+    private static DistributedReport merge(String workload, List<DistributedReport.Worker> workers) {
+        SortedMap<String, LatencyHistogram> endpoints = new TreeMap<>();
+        long elapsedNanos = 0;
+        for (DistributedReport.Worker worker : workers) {
+            Baseline measured = worker.result().measured();
+            measured.endpoints().forEach((endpoint, latency) ->
+                    endpoints.computeIfAbsent(endpoint, e -> new LatencyHistogram()).add(latency.latency()));
+            elapsedNanos = Math.max(elapsedNanos, measured.elapsedNanos());
+        }
+        return new DistributedReport(workload, workers, endpoints, elapsedNanos);
+    }
+
+    /**
+     * Runs on workers that connect to the given port, or that this JVM starts.
+     */
+    private static DistributedReport run(int port, String baseUri, WorkloadDefinition definition, int workers,
+                                         WarmUpPolicy warmUp, boolean spawn) {
+        List<Process> processes = new ArrayList<>();
+        try (LoadCoordinator coordinator = listen(port)) {
+            System.out.printf("Coordinator listening on port %d for %d workers%n", coordinator.port(), workers);
+            if (spawn) {
+                for (int i = 0; i < workers; i++) {
+                    processes.add(LoadWorker.spawn(String.format("localhost:%d", coordinator.port()),
+                            String.format("worker-%d", i + 1), 1));
+                }
+            }
+            return coordinator.run(baseUri, definition, workers, warmUp);
+        } finally {
+            processes.forEach(Process::destroy);
+        }
+    }
+}
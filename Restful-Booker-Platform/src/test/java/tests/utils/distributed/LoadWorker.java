@@ -0,0 +1,225 @@
+package tests.utils.distributed;
+
+import tests.utils.random.RunRandom;
+import tests.utils.workload.ScenarioEngine;
+import tests.utils.workload.ScenarioMixReport;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * One load generator of a distributed run: connects to a {@link LoadCoordinator}, answers its clock pings, and runs
+ * the share of the workload it is assigned with the {@link ScenarioEngine}, i.e. with the same request builders and
+ * login as a single-JVM run. It waits for the assigned start, warms up until the assigned measurement start, and
+ * sends back its per-endpoint histograms. The histograms are recorded JVM-wide (see
+ * {@link tests.utils.baseline.EndpointRecording}), so each worker needs a JVM of its own.
+ * <p>
+ * Usage, once per worker JVM: {@code mvn exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=tests.utils.distributed.LoadWorker -Dexec.args="--coordinator host:7700"}
+ * <p>
+ * Options: {@code --coordinator host:port} (required), {@code --name n} (default: host and process id),
+ * {@code --capacity c} the worker's share relative to the others, e.g. 2 for a machine twice as fast (default 1).
+ * The exit code is 1 if the worker failed or any of its sessions failed.
+ */
+public final class LoadWorker {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    private final String host;
+    private final int port;
+    private final String name;
+    private final double capacity;
+
+    /**
+     * @param host The coordinator's host.
+     * @param port The coordinator's port.
+     * @param name The worker's name in the report.
+     * @param capacity The worker's share relative to the others.
+     */
+    public LoadWorker(String host, int port, String name, double capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid capacity %s of worker '%s'", capacity, name));
+        }
+        this.host = host;
+        this.port = port;
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    public static void main(String[] args) {
+        String coordinator = null;
+        String name = defaultName();
+        double capacity = 1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--coordinator" -> coordinator = args[++i];
+                case "--name" -> name = args[++i];
+                case "--capacity" -> capacity = Double.parseDouble(args[++i]);
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+        if (coordinator == null || coordinator.lastIndexOf(':') < 0) {
+            System.err.println("Usage: LoadWorker --coordinator host:port [--name n] [--capacity c]");
+            System.exit(2);
+        }
+
+        int colon = coordinator.lastIndexOf(':');
+        WorkerResult result = new LoadWorker(coordinator.substring(0, colon),
+                Integer.parseInt(coordinator.substring(colon + 1)), name, capacity).run();
+        System.exit(result.failed() == 0 ? 0 : 1);
+    }
+
+    /**
+     * Starts a worker in a new JVM with this JVM's class path, e.g. to run several on one machine. Its run seed is
+     * derived from this JVM's and its name, so the whole run replays with this JVM's {@code -Drun.seed}.
+     * @param coordinator The coordinator's {@code host:port}.
+     * @param name The worker's name.
+     * @param capacity The worker's share relative to the others.
+     * @return The worker's process, which exits once it has sent its result; its output is copied to
+     *         {@link System#out}, prefixed with its name.
+     */
+    public static Process spawn(String coordinator, String name, double capacity) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        // the test sources are compiled with preview features, and -D options carry e.g. the JSON settings
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> argument.equals("--enable-preview") || argument.startsWith("-D"))
+                .filter(argument -> !argument.startsWith(String.format("-D%s=", RunRandom.SEED_PROPERTY)))
+                .forEach(command::add);
+        command.add(String.format("-D%s=%d", RunRandom.SEED_PROPERTY, seed(name)));
+        command.addAll(List.of("-cp", classPath(), LoadWorker.class.getName(), "--coordinator", coordinator,
+                "--name", name, "--capacity", String.valueOf(capacity)));
+        Process process;
+        try {
+            process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to start worker %s", name), e);
+        }
+        // not inherited: a forked test JVM's native stdout is the channel its launcher reads the results from
+        Thread.ofVirtual().name(String.format("load-worker-output-%s", name)).start(() -> copyOutput(process, name));
+        return process;
+    }
+
+    /**
+     * Connects, runs the assignment and reports back.
+     * @return What this worker measured.
+     * @throws IllegalStateException if the coordinator breaks the protocol or goes away; if the run itself fails,
+     *                               the coordinator is told before the exception is passed on.
+     */
+    public WorkerResult run() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+            FrameChannel channel = new FrameChannel(socket);
+            channel.send(Frame.hello(name, capacity));
+            while (true) {
+                Frame frame = channel.receive(0);
+                switch (frame.type()) {
+                    case PING -> channel.send(Frame.pong());
+                    case ASSIGN -> {
+                        WorkerResult result;
+                        try {
+                            result = execute(frame.assignment());
+                        } catch (RuntimeException e) {
+                            channel.send(Frame.failed(name, String.valueOf(e)));
+                            throw e;
+                        }
+                        channel.send(Frame.result(result));
+                        return result;
+                    }
+                    default -> throw new IllegalStateException(String.format("Unexpected %s from coordinator %s",
+                            frame.type(), channel.peer()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to connect to coordinator %s:%d", host, port), e);
+        }
+    }
+
+    private WorkerResult execute(Assignment assignment) {
+        long measureAt = localNanos(assignment.measureAtMicros());
+        long wait = localNanos(assignment.startAtMicros()) - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(String.format("Worker %s interrupted before the start", name), e);
+            }
+        }
+        ScenarioMixReport report = new ScenarioEngine(assignment.baseUri(), assignment.workload(),
+                assignment.warmUp()).run(measureAt);
+        System.out.printf("%nWorker %s, %.0f%% of the traffic:%n", name, assignment.share() * 100);
+        report.print(System.out);
+        return WorkerResult.of(name, assignment.share(), report);
+    }
+
+    /**
+     * @return The wall-clock time as {@link System#nanoTime()}, which does not jump while the worker waits.
+     */
+    private static long localNanos(long clockMicros) {
+        return System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(clockMicros - Frame.nowMicros());
+    }
+
+    /**
+     * @return The worker's run seed; not this JVM's own, as workers drawing the same values would e.g. book the
+     *         same dates.
+     */
+    private static long seed(String name) {
+        return RunRandom.forKey(String.format("worker %s", name)).nextLong();
+    }
+
+    private static void copyOutput(Process process, String name) {
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                System.out.printf("[%s] %s%n", name, line);
+            }
+        } catch (IOException e) {
+            // the process was destroyed; whatever it printed last is lost
+        }
+    }
+
+    private static String defaultName() {
+        return String.format("%s-%d", ManagementFactory.getRuntimeMXBean().getName().replaceFirst("^\\d+@", ""),
+                ProcessHandle.current().pid());
+    }
+
+    /**
+     * The class path of this JVM's class loaders: under {@code mvn exec:java} or a test launcher the classes come from
+     * a loader of their own, not from {@code java.class.path}.
+     */
+    private static String classPath() {
+        Set<String> entries = new LinkedHashSet<>();
+        for (ClassLoader loader = LoadWorker.class.getClassLoader(); loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader urls) {
+                for (URL url : urls.getURLs()) {
+                    try {
+                        entries.add(Path.of(url.toURI()).toString());
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        // not a local file, which a new JVM could not load from anyway
+                    }
+                }
+            }
+        }
+        entries.addAll(List.of(System.getProperty("java.class.path").split(File.pathSeparator)));
+        return String.join(File.pathSeparator, entries);
+    }
+}
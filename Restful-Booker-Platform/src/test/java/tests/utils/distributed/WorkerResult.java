@@ -0,0 +1,38 @@
+package tests.utils.distributed;
+
+import tests.utils.baseline.Baseline;
+import tests.utils.workload.ScenarioMixReport;
+import tests.utils.workload.ScenarioMixReport.ScenarioResult;
+import tests.utils.workload.WarmUpReport;
+
+
+/**
+ * What one {@link LoadWorker} measured. The latencies travel as histogram buckets (see {@link Baseline}), so the
+ * coordinator can merge the workers' histograms without losing anything.
+ * @param worker The worker's name.
+ * @param share The worker's fraction of the traffic.
+ * @param started Sessions started across the scenarios.
+ * @param completed Sessions completed.
+ * @param failed Sessions failed.
+ * @param skipped Arrivals dropped because too many sessions were in flight.
+ * @param warmUp The worker's warm-up.
+ * @param measured Latency by endpoint during the measurement, and its length.
+ */
+public record WorkerResult(String worker, double share, long started, long completed, long failed, long skipped,
+                           WarmUpReport warmUp, Baseline measured) {
+
+    /**
+     * @param worker The worker's name.
+     * @param share The worker's fraction of the traffic.
+     * @param report The worker's run.
+     * @return Its result.
+     */
+    static WorkerResult of(String worker, double share, ScenarioMixReport report) {
+        return new WorkerResult(worker, share,
+                report.scenarios().stream().mapToLong(ScenarioResult::started).sum(),
+                report.scenarios().stream().mapToLong(ScenarioResult::completed).sum(),
+                report.scenarios().stream().mapToLong(ScenarioResult::failed).sum(),
+                report.scenarios().stream().mapToLong(ScenarioResult::skipped).sum(),
+                report.warmUp(), Baseline.of(report.workload(), report.endpoints(), report.elapsedNanos()));
+    }
+}
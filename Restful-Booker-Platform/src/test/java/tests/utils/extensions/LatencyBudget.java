@@ -0,0 +1,36 @@
+package tests.utils.extensions;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Latency budget for the HTTP calls a test makes through {@code BaseTest.givenRequest()}.
+ * Placed on a test class it applies to every test method, a method-level annotation overrides it.
+ * The test fails when the p99 (nearest-rank) duration of the matching calls exceeds the budget,
+ * listing the offending calls. Setup and teardown calls ({@code @BeforeEach}, {@code @AfterEach}) are not measured.
+ * Budgets can be switched off for a run with {@code -DlatencyBudget.enabled=false}.
+ * Example: {@code @LatencyBudget(endpoint = BOOKING_ENDPOINT, p99Millis = 300)}
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@ExtendWith(LatencyBudgetExtension.class)
+public @interface LatencyBudget {
+
+    /**
+     * @return The endpoint the budget applies to (e.g., {@code BOOKING_ENDPOINT}, which also covers
+     * {@code /booking/{id}}). Empty means every call.
+     */
+    String endpoint() default "";
+
+    /**
+     * @return The maximum allowed p99 duration in milliseconds.
+     */
+    long p99Millis();
+}
@@ -0,0 +1,94 @@
+package tests.utils.extensions;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+import tests.utils.filters.TimingFilter;
+import tests.utils.filters.TimingFilter.CallTiming;
+import tests.utils.filters.TimingFilter.Capture;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+
+/**
+ * JUnit 5 extension behind {@link LatencyBudget}.
+ * Opens a {@link TimingFilter} capture right before the test method runs and checks the recorded calls
+ * against the budget right after it.
+ */
+public class LatencyBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LatencyBudgetExtension.class);
+    private static final String ENABLED_PARAMETER = "latencyBudget.enabled";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (isEnabled(context) && findBudget(context).isPresent()) {
+            context.getStore(NAMESPACE).put(context.getUniqueId(), TimingFilter.startCapture());
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Capture capture = context.getStore(NAMESPACE).remove(context.getUniqueId(), Capture.class);
+        if (capture == null) {
+            return;
+        }
+        capture.close();
+
+        LatencyBudget budget = findBudget(context).orElseThrow();
+        List<CallTiming> calls = capture.calls().stream()
+                .filter(call -> matches(call.endpoint(), budget.endpoint()))
+                .toList();
+        if (calls.isEmpty()) {
+            return;
+        }
+
+        long budgetNanos = budget.p99Millis() * 1_000_000L;
+        long p99Nanos = percentile(calls, 0.99);
+        if (p99Nanos > budgetNanos) {
+            String offending = calls.stream()
+                    .filter(call -> call.durationNanos() > budgetNanos)
+                    .sorted(Comparator.comparingLong(CallTiming::durationNanos).reversed())
+                    .map(call -> String.format("  %s", call))
+                    .collect(Collectors.joining(System.lineSeparator()));
+
+            throw new AssertionFailedError(String.format(
+                    "Latency budget exceeded for '%s': p99 %.1f ms > %d ms over %d call(s). Offending calls:%n%s",
+                    budget.endpoint().isEmpty() ? "all endpoints" : budget.endpoint(),
+                    p99Nanos / 1_000_000.0, budget.p99Millis(), calls.size(), offending));
+        }
+    }
+
+    /**
+     * JUnit configuration parameters fall back to system properties, so {@code -DlatencyBudget.enabled} applies too.
+     */
+    private static boolean isEnabled(ExtensionContext context) {
+        return context.getConfigurationParameter(ENABLED_PARAMETER).map(Boolean::parseBoolean).orElse(true);
+    }
+
+    private static Optional<LatencyBudget> findBudget(ExtensionContext context) {
+        Optional<LatencyBudget> methodBudget = context.getTestMethod()
+                .flatMap(method -> AnnotationSupport.findAnnotation(method, LatencyBudget.class));
+        return methodBudget.isPresent()
+                ? methodBudget
+                : context.getTestClass().flatMap(type -> AnnotationSupport.findAnnotation(type, LatencyBudget.class));
+    }
+
+    private static boolean matches(String path, String endpoint) {
+        return endpoint.isEmpty() || path.equals(endpoint) || path.startsWith(endpoint + "/");
+    }
+
+    /**
+     * Nearest-rank percentile of the call durations.
+     */
+    private static long percentile(List<CallTiming> calls, double quantile) {
+        long[] durations = calls.stream().mapToLong(CallTiming::durationNanos).sorted().toArray();
+        int rank = (int) Math.ceil(quantile * durations.length);
+        return durations[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,20 @@
+package tests.utils.faults;
+
+
+/**
+ * What {@link FaultProxy} did to one exchange. Injected latency is recorded separately, as it combines with any of
+ * these.
+ */
+public enum Fault {
+
+    /** Forwarded untouched (apart from any injected latency). */
+    NONE,
+    /** The connection was reset (TCP RST) before the request was forwarded. */
+    RESET,
+    /** A 5xx was returned without forwarding the request. */
+    SERVER_ERROR,
+    /** The upstream response was trickled to the client at a fixed byte rate. */
+    SLOW_BODY,
+    /** The upstream response was cut off half-way through its body by a reset. */
+    PARTIAL_READ
+}
@@ -0,0 +1,48 @@
+package tests.utils.faults;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+
+/**
+ * RestAssured filter created by {@link FaultProxy#impactFilter()}: tags each request with an id the proxy records
+ * alongside the fault it injected, and records the client-side duration of the call, failed calls included.
+ * It runs right after {@code TimingFilter} and buffers the response body before returning (RestAssured would
+ * otherwise read it lazily, after the filter chain), so slow and truncated bodies count against the call.
+ */
+public final class FaultImpactFilter implements OrderedFilter {
+
+    private final FaultProxy proxy;
+
+    FaultImpactFilter(FaultProxy proxy) {
+        this.proxy = proxy;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long requestId = proxy.nextRequestId();
+        requestSpec.header(FaultProxy.REQUEST_ID_HEADER, requestId);
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            response.asByteArray();
+            failed = false;
+            return response;
+        } finally {
+            proxy.recordClientTiming(new FaultImpactReport.ClientTiming(requestId, System.nanoTime() - start,
+                    failed));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,92 @@
+package tests.utils.faults;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+
+/**
+ * Client-side latency of the calls made through a {@link FaultProxy}, grouped by what the proxy did to them:
+ * the {@link Fault} name, suffixed with "+latency" when a delay was injected as well. The "NONE" group (no fault,
+ * no delay) is the baseline the other groups' added p99 is measured against.
+ */
+public record FaultImpactReport(List<Row> rows) {
+
+    /**
+     * The client-side view of one call.
+     * @param failed Whether the call threw instead of returning a response.
+     */
+    record ClientTiming(long requestId, long durationNanos, boolean failed) {
+    }
+
+    /**
+     * Latency of one group of calls; percentiles are nearest-rank.
+     * @param failures Calls that threw (e.g., on a reset or a truncated body).
+     */
+    public record Row(String label, int calls, int failures, long p50Nanos, long p95Nanos, long p99Nanos,
+                      long maxNanos) {
+    }
+
+    static FaultImpactReport of(List<ClientTiming> timings, List<FaultProxy.Exchange> exchanges) {
+        Map<Long, FaultProxy.Exchange> byRequestId = new HashMap<>();
+        exchanges.forEach(exchange -> byRequestId.put(exchange.requestId(), exchange));
+
+        Map<String, List<ClientTiming>> groups = new TreeMap<>();
+        for (ClientTiming timing : timings) {
+            FaultProxy.Exchange exchange = byRequestId.get(timing.requestId());
+            String label = exchange == null
+                    ? "UNMATCHED"
+                    : exchange.fault() + (exchange.injectedDelayNanos() > 0 ? "+latency" : "");
+            groups.computeIfAbsent(label, l -> new ArrayList<>()).add(timing);
+        }
+
+        List<Row> rows = new ArrayList<>();
+        groups.forEach((label, group) -> {
+            long[] durations = group.stream().mapToLong(ClientTiming::durationNanos).sorted().toArray();
+            rows.add(new Row(label, durations.length, (int) group.stream().filter(ClientTiming::failed).count(),
+                    percentile(durations, 0.50), percentile(durations, 0.95), percentile(durations, 0.99),
+                    durations[durations.length - 1]));
+        });
+        return new FaultImpactReport(List.copyOf(rows));
+    }
+
+    /**
+     * @param label A group label, e.g. "SLOW_BODY" or "NONE+latency".
+     * @return The group, if any call fell into it.
+     */
+    public Optional<Row> row(String label) {
+        return rows.stream().filter(row -> row.label().equals(label)).findFirst();
+    }
+
+    /**
+     * @param label A group label.
+     * @return How much the group's p99 exceeds the baseline's, in nanoseconds; empty without both groups.
+     */
+    public Optional<Long> addedP99Nanos(String label) {
+        return row(label).flatMap(row -> row(Fault.NONE.name()).map(baseline -> row.p99Nanos() - baseline.p99Nanos()));
+    }
+
+    /**
+     * Prints one line per group.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n=== Client-side impact of injected faults ===%n");
+        out.printf("%-20s %6s %8s %10s %10s %10s %10s %14s%n",
+                "Fault", "Calls", "Failed", "p50 (ms)", "p95 (ms)", "p99 (ms)", "Max (ms)", "+p99 (ms)");
+        for (Row row : rows) {
+            out.printf("%-20s %6d %8d %10.1f %10.1f %10.1f %10.1f %14s%n", row.label(), row.calls(), row.failures(),
+                    row.p50Nanos() / 1e6, row.p95Nanos() / 1e6, row.p99Nanos() / 1e6, row.maxNanos() / 1e6,
+                    addedP99Nanos(row.label()).map(added -> String.format("%.1f", added / 1e6)).orElse("-"));
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,521 @@
+package tests.utils.faults;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Local fault-injecting HTTP/1.1 reverse proxy for resilience and tail-latency tests. It listens on a localhost port,
+ * forwards to the target (the live API, a staging copy or a {@code StandInServer}) and, per {@link FaultRule},
+ * adds latency, resets connections, returns 5xx, trickles response bodies or cuts them off half-way.
+ * Point a test at {@link #baseUri()} with {@code givenRequest().baseUri(...)}, or a whole suite with
+ * {@code -DbaseUri=...} while the proxy runs standalone:
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.faults.FaultProxy
+ * -Dexec.args="https://automationintesting.online/api --port 8089 --rule 'GET /booking latency=exp:200'"}
+ * <p>
+ * Faults are drawn from a seeded generator, so a run is repeatable for a given request order. Every exchange is
+ * recorded with its fault and injected delay; attach {@link #impactFilter()} to the client to measure how much
+ * client-side latency each fault adds ({@link #impactReport()}).
+ */
+public final class FaultProxy implements AutoCloseable {
+
+    /**
+     * Response header naming the injected {@link Fault} (absent on resets).
+     */
+    public static final String FAULT_HEADER = "X-Injected-Fault";
+
+    static final String REQUEST_ID_HEADER = "X-Fault-Request-Id";
+
+    private static final Duration UPSTREAM_TIMEOUT = Duration.ofSeconds(30);
+    private static final int MAX_HEAD_LINE = 16 * 1024;
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "proxy-connection",
+            "transfer-encoding", "te", "trailer", "upgrade", "host", "content-length", "expect",
+            REQUEST_ID_HEADER.toLowerCase(Locale.ROOT));
+    private static final Map<Integer, String> REASONS = Map.of(200, "OK", 201, "Created", 204, "No Content",
+            400, "Bad Request", 401, "Unauthorized", 403, "Forbidden", 404, "Not Found", 409, "Conflict",
+            502, "Bad Gateway", 503, "Service Unavailable");
+
+    private final URI target;
+    private final String basePath;
+    private final ServerSocket serverSocket;
+    private final HttpClient upstream;
+    private final ExecutorService upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final SplittableRandom random;
+    private final AtomicLong requestIds = new AtomicLong();
+    private final ConcurrentLinkedQueue<Exchange> exchanges = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<FaultImpactReport.ClientTiming> clientTimings = new ConcurrentLinkedQueue<>();
+    private volatile List<FaultRule> rules;
+    private volatile boolean closed;
+
+    private FaultProxy(URI target, List<FaultRule> rules, int port, long seed) throws IOException {
+        this.target = target;
+        this.basePath = target.getRawPath() == null ? "" : target.getRawPath().replaceAll("/+$", "");
+        this.rules = List.copyOf(rules);
+        this.random = new SplittableRandom(seed);
+        this.upstream = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(UPSTREAM_TIMEOUT)
+                .executor(upstreamExecutor)
+                .build();
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress("localhost", port), 128);
+        Thread.ofVirtual().name("fault-proxy-acceptor").start(this::accept);
+    }
+
+    /**
+     * Starts a proxy on an ephemeral localhost port with a fixed seed.
+     * @param targetBaseUri The base URI to forward to, e.g. {@code ApiConstants.BASE_URI}.
+     * @param rules The fault rules; the first matching rule applies to a request.
+     * @return The running proxy.
+     */
+    public static FaultProxy start(String targetBaseUri, List<FaultRule> rules) {
+        return start(targetBaseUri, rules, 0, 42);
+    }
+
+    /**
+     * Starts a proxy.
+     * @param targetBaseUri The base URI to forward to.
+     * @param rules The fault rules; the first matching rule applies to a request.
+     * @param port The localhost port, or 0 for an ephemeral one.
+     * @param seed The seed of the fault and latency draws.
+     * @return The running proxy.
+     */
+    public static FaultProxy start(String targetBaseUri, List<FaultRule> rules, int port, long seed) {
+        try {
+            return new FaultProxy(URI.create(targetBaseUri), rules, port, seed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to start the fault proxy on port %d", port), e);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: FaultProxy <targetBaseUri> [--port n] [--seed n] [--rule spec]...");
+            System.exit(2);
+        }
+        int port = 8089;
+        long seed = 42;
+        List<FaultRule> rules = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--rule" -> rules.add(FaultRule.parse(args[++i]));
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+        FaultProxy proxy = start(args[0], rules, port, seed);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            proxy.close();
+            System.out.printf("%nInjected: %s%n", proxy.injectedCounts());
+        }));
+        System.out.printf("Fault proxy for %s listening on %s with %d rule(s)%n", args[0], proxy.baseUri(),
+                rules.size());
+        Thread.currentThread().join();
+    }
+
+    /**
+     * @return The base URI to use in place of the target's, e.g. "http://localhost:41234/api".
+     */
+    public String baseUri() {
+        return String.format("http://localhost:%d%s", serverSocket.getLocalPort(), basePath);
+    }
+
+    /**
+     * Replaces the fault rules for subsequent requests.
+     * @param rules The new rules; the first matching rule applies to a request.
+     */
+    public void setRules(List<FaultRule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    /**
+     * Forgets the recorded exchanges and client timings, e.g. between test cases.
+     */
+    public void clearRecords() {
+        exchanges.clear();
+        clientTimings.clear();
+    }
+
+    /**
+     * @return A snapshot of the exchanges handled so far, in completion order.
+     */
+    public List<Exchange> exchanges() {
+        return List.copyOf(exchanges);
+    }
+
+    /**
+     * @return How many exchanges got each fault.
+     */
+    public Map<Fault, Long> injectedCounts() {
+        Map<Fault, Long> counts = new EnumMap<>(Fault.class);
+        exchanges.forEach(exchange -> counts.merge(exchange.fault(), 1L, Long::sum));
+        return counts;
+    }
+
+    /**
+     * Returns a RestAssured filter that tags each request so its client-side duration (as the test observes it,
+     * including failures) can be matched with the fault the proxy injected.
+     * @return The filter; add it to the request specification.
+     */
+    public FaultImpactFilter impactFilter() {
+        return new FaultImpactFilter(this);
+    }
+
+    /**
+     * @return Client-side latency percentiles per injected fault, for calls made with {@link #impactFilter()}.
+     */
+    public FaultImpactReport impactReport() {
+        return FaultImpactReport.of(List.copyOf(clientTimings), exchanges());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+        openSockets.forEach(FaultProxy::closeQuietly);
+        connections.close();
+        upstream.close();
+        upstreamExecutor.close();
+    }
+
+    long nextRequestId() {
+        return requestIds.incrementAndGet();
+    }
+
+    void recordClientTiming(FaultImpactReport.ClientTiming timing) {
+        clientTimings.add(timing);
+    }
+
+    /**
+     * One proxied exchange.
+     * @param requestId The id {@link #impactFilter()} tagged the request with, or 0.
+     * @param path The request path relative to the base URI.
+     * @param injectedDelayNanos The latency added before forwarding.
+     * @param status The status sent to the client, or -1 if the connection was reset before a response.
+     */
+    public record Exchange(long requestId, String method, String path, Fault fault, long injectedDelayNanos,
+                           int status) {
+    }
+
+    // --- Connections ---
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                openSockets.add(socket);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    System.out.printf("Fault proxy failed to accept a connection: %s%n", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            boolean open = true;
+            while (open && !closed) {
+                Request request = readRequest(in, out);
+                open = request != null && exchange(request, socket, out);
+            }
+        } catch (IOException e) {
+            // the client went away or sent something that is not HTTP/1.1; nothing to answer
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    /**
+     * Handles one request.
+     * @return Whether the connection stays open for the next request.
+     */
+    private boolean exchange(Request request, Socket socket, OutputStream out) throws IOException {
+        String rawPath = request.target().split("\\?", 2)[0];
+        String path = rawPath.startsWith(basePath) ? rawPath.substring(basePath.length()) : rawPath;
+        FaultRule rule = rules.stream().filter(r -> r.matches(request.method(), path)).findFirst().orElse(null);
+        Fault fault = Fault.NONE;
+        long delay = 0;
+        if (rule != null) {
+            synchronized (random) {
+                fault = rule.draw(random);
+                delay = rule.latency().sampleNanos(random);
+            }
+        }
+        long id = requestId(request.header(REQUEST_ID_HEADER));
+
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        if (fault == Fault.RESET) {
+            exchanges.add(new Exchange(id, request.method(), path, fault, delay, -1));
+            reset(socket);
+            return false;
+        }
+        if (fault == Fault.SERVER_ERROR) {
+            byte[] body = "{\"error\":\"Injected fault\"}".getBytes(StandardCharsets.UTF_8);
+            writeHead(out, rule.serverErrorStatus(), Map.of("Content-Type", List.of("application/json")), body.length,
+                    fault, request.keepAlive());
+            out.write(body);
+            out.flush();
+            exchanges.add(new Exchange(id, request.method(), path, fault, delay, rule.serverErrorStatus()));
+            return request.keepAlive();
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            response = forward(request);
+        } catch (IOException e) {
+            byte[] body = String.format("{\"error\":\"Upstream failed: %s\"}", e.getClass().getSimpleName())
+                    .getBytes(StandardCharsets.UTF_8);
+            writeHead(out, 502, Map.of("Content-Type", List.of("application/json")), body.length, fault, false);
+            out.write(body);
+            out.flush();
+            exchanges.add(new Exchange(id, request.method(), path, fault, delay, 502));
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        byte[] body = "HEAD".equals(request.method()) ? new byte[0] : response.body();
+        writeHead(out, response.statusCode(), response.headers().map(), response.body().length, fault,
+                request.keepAlive());
+        exchanges.add(new Exchange(id, request.method(), path, fault, delay, response.statusCode()));
+        switch (fault) {
+            case SLOW_BODY -> trickle(out, body, rule.slowBodyBytesPerSecond());
+            case PARTIAL_READ -> {
+                out.write(body, 0, body.length / 2);
+                out.flush();
+                reset(socket);
+                return false;
+            }
+            default -> out.write(body);
+        }
+        out.flush();
+        return request.keepAlive();
+    }
+
+    private HttpResponse<byte[]> forward(Request request) throws IOException, InterruptedException {
+        URI uri = URI.create(String.format("%s://%s%s", target.getScheme(), target.getRawAuthority(),
+                request.target()));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(UPSTREAM_TIMEOUT)
+                .method(request.method(), request.body().length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        for (String[] header : request.headers()) {
+            if (!HOP_BY_HOP.contains(header[0].toLowerCase(Locale.ROOT))) {
+                builder.header(header[0], header[1]);
+            }
+        }
+        return upstream.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private void trickle(OutputStream out, byte[] body, int bytesPerSecond) throws IOException {
+        // 20 writes a second, so the client sees a steady stream rather than one late burst
+        int chunk = Math.max(1, bytesPerSecond / 20);
+        for (int offset = 0; offset < body.length; offset += chunk) {
+            out.write(body, offset, Math.min(chunk, body.length - offset));
+            out.flush();
+            try {
+                TimeUnit.MILLISECONDS.sleep(1000L * Math.min(chunk, body.length - offset) / bytesPerSecond);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while trickling the body", e);
+            }
+        }
+    }
+
+    private static void writeHead(OutputStream out, int status, Map<String, List<String>> headers, int contentLength,
+                                  Fault fault, boolean keepAlive) throws IOException {
+        StringBuilder head = new StringBuilder(256)
+                .append("HTTP/1.1 ").append(status).append(' ').append(REASONS.getOrDefault(status, "Status"))
+                .append("\r\n");
+        headers.forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT)) && !name.startsWith(":")) {
+                values.forEach(value -> head.append(name).append(": ").append(value).append("\r\n"));
+            }
+        });
+        head.append("Content-Length: ").append(contentLength).append("\r\n")
+                .append(FAULT_HEADER).append(": ").append(fault).append("\r\n")
+                .append("Connection: ").append(keepAlive ? "keep-alive" : "close").append("\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Closes the socket with a TCP RST rather than an orderly FIN, so the client sees "connection reset".
+     */
+    private static void reset(Socket socket) {
+        try {
+            socket.setSoLinger(true, 0);
+        } catch (SocketException e) {
+            // already closed
+        }
+        closeQuietly(socket);
+    }
+
+    /**
+     * The client's request id; 0 (no client timing) when the header is missing or not a number.
+     */
+    private static long requestId(String header) {
+        if (header == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // nothing left to release
+        }
+    }
+
+    // --- Request parsing ---
+
+    /**
+     * A request as read from the client.
+     * @param target The request target, path and query, e.g. {@code /api/booking?roomid=1}.
+     * @param headers The headers as name/value pairs, in order.
+     */
+    private record Request(String method, String target, List<String[]> headers, byte[] body) {
+
+        private String header(String name) {
+            for (String[] header : headers) {
+                if (header[0].equalsIgnoreCase(name)) {
+                    return header[1];
+                }
+            }
+            return null;
+        }
+
+        private boolean keepAlive() {
+            return !"close".equalsIgnoreCase(header("Connection"));
+        }
+    }
+
+    /**
+     * @return The next request, or {@code null} at the end of the stream.
+     */
+    private static Request readRequest(InputStream in, OutputStream out) throws IOException {
+        String requestLine = readLine(in);
+        if (requestLine == null) {
+            return null;
+        }
+        String[] parts = requestLine.split(" ");
+        if (parts.length != 3 || !parts[2].startsWith("HTTP/1.")) {
+            throw new IOException(String.format("Not an HTTP/1.x request line: %s", requestLine));
+        }
+
+        List<String[]> headers = new ArrayList<>();
+        for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.add(new String[]{line.substring(0, colon).trim(), line.substring(colon + 1).trim()});
+            }
+        }
+        Request head = new Request(parts[0], parts[1], headers, new byte[0]);
+
+        if ("100-continue".equalsIgnoreCase(head.header("Expect"))) {
+            out.write("HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+        }
+        byte[] body;
+        if ("chunked".equalsIgnoreCase(head.header("Transfer-Encoding"))) {
+            body = readChunked(in);
+        } else if (head.header("Content-Length") != null) {
+            body = in.readNBytes(Integer.parseInt(head.header("Content-Length")));
+        } else {
+            body = new byte[0];
+        }
+        return new Request(head.method(), head.target(), headers, body);
+    }
+
+    private static byte[] readChunked(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(in);
+            if (sizeLine == null) {
+                throw new IOException("Unexpected end of a chunked body");
+            }
+            int size = Integer.parseInt(sizeLine.split(";", 2)[0].trim(), 16);
+            if (size == 0) {
+                // skip trailers up to the empty line
+                for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+                    // ignored
+                }
+                return body.toByteArray();
+            }
+            body.write(in.readNBytes(size));
+            readLine(in);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int end = line.length();
+                return end > 0 && line.charAt(end - 1) == '\r' ? line.substring(0, end - 1) : line.toString();
+            }
+            if (line.length() >= MAX_HEAD_LINE) {
+                throw new IOException("Header line too long");
+            }
+            line.append((char) b);
+        }
+        return line.isEmpty() ? null : line.toString();
+    }
+}
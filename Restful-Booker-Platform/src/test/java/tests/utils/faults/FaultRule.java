@@ -0,0 +1,165 @@
+package tests.utils.faults;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+
+/**
+ * The faults {@link FaultProxy} injects for one endpoint. An endpoint also covers its sub-paths, as in
+ * {@code LatencyBudget} ({@code /booking} covers {@code /booking/5}); the empty endpoint covers every request.
+ * The rates are probabilities per request; at most one of reset, server error, slow body and partial read is
+ * injected, and the latency is added on top of it.
+ * Example: {@code FaultRule.forEndpoint(BOOKING_ENDPOINT).method("GET").serverErrors(0.1, 503).build()}
+ * @param method The HTTP method the rule applies to, or {@code null} for any.
+ */
+public record FaultRule(String method, String endpoint, LatencyDistribution latency, double resetRate,
+                        double serverErrorRate, int serverErrorStatus, double slowBodyRate,
+                        int slowBodyBytesPerSecond, double partialReadRate) {
+
+    public FaultRule {
+        if (resetRate + serverErrorRate + slowBodyRate + partialReadRate > 1) {
+            throw new IllegalArgumentException(String.format("Fault rates for '%s' add up to more than 1", endpoint));
+        }
+        if (serverErrorStatus < 500 || serverErrorStatus > 599) {
+            throw new IllegalArgumentException(String.format("Not a 5xx status: %d", serverErrorStatus));
+        }
+        if (slowBodyBytesPerSecond <= 0) {
+            throw new IllegalArgumentException("Slow body rate must be positive");
+        }
+    }
+
+    /**
+     * @param endpoint The endpoint relative to the base URI, e.g. {@code BOOKING_ENDPOINT}, or "" for every request.
+     * @return A builder for a rule that injects nothing until configured.
+     */
+    public static Builder forEndpoint(String endpoint) {
+        return new Builder(endpoint);
+    }
+
+    /**
+     * Parses the command-line form used by {@link FaultProxy#main}: an optional method, the endpoint and
+     * {@code key=value} faults, e.g. {@code "GET /booking latency=exp:50 reset=0.05 5xx=0.1:503 slow=0.1:2048
+     * partial=0.05"}. Latency is {@code fixed:ms}, {@code uniform:min:max}, {@code exp:meanMs} or
+     * {@code lognormal:medianMs:sigma}; {@code *} stands for every endpoint.
+     * @param spec The rule specification.
+     * @return The rule.
+     */
+    public static FaultRule parse(String spec) {
+        String[] tokens = spec.trim().split("\\s+");
+        int next = 0;
+        String method = null;
+        if (!tokens[0].startsWith("/") && !tokens[0].equals("*")) {
+            method = tokens[next++].toUpperCase(Locale.ROOT);
+        }
+        if (next >= tokens.length) {
+            throw new IllegalArgumentException(String.format("Missing endpoint in fault rule '%s'", spec));
+        }
+        Builder builder = forEndpoint(tokens[next].equals("*") ? "" : tokens[next]).method(method);
+        for (int i = next + 1; i < tokens.length; i++) {
+            String[] option = tokens[i].split("=", 2);
+            String[] values = option.length > 1 ? option[1].split(":") : new String[0];
+            try {
+                switch (option[0]) {
+                    case "latency" -> builder.latency(parseLatency(values));
+                    case "reset" -> builder.resets(Double.parseDouble(values[0]));
+                    case "5xx" -> builder.serverErrors(Double.parseDouble(values[0]),
+                            values.length > 1 ? Integer.parseInt(values[1]) : 503);
+                    case "slow" -> builder.slowBodies(Double.parseDouble(values[0]),
+                            values.length > 1 ? Integer.parseInt(values[1]) : 1024);
+                    case "partial" -> builder.partialReads(Double.parseDouble(values[0]));
+                    default -> throw new IllegalArgumentException(String.format("Unknown fault '%s'", option[0]));
+                }
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Invalid fault '%s' in rule '%s'", tokens[i], spec),
+                        e);
+            }
+        }
+        return builder.build();
+    }
+
+    private static LatencyDistribution parseLatency(String[] values) {
+        return switch (values[0]) {
+            case "fixed" -> LatencyDistribution.fixed(Duration.ofMillis(Long.parseLong(values[1])));
+            case "uniform" -> LatencyDistribution.uniform(Duration.ofMillis(Long.parseLong(values[1])),
+                    Duration.ofMillis(Long.parseLong(values[2])));
+            case "exp" -> LatencyDistribution.exponential(Duration.ofMillis(Long.parseLong(values[1])));
+            case "lognormal" -> LatencyDistribution.logNormal(Duration.ofMillis(Long.parseLong(values[1])),
+                    Double.parseDouble(values[2]));
+            default -> throw new IllegalArgumentException(String.format("Unknown latency '%s'", values[0]));
+        };
+    }
+
+    /**
+     * @param method The request method.
+     * @param path The request path relative to the base URI, e.g. {@code /booking/5}.
+     * @return Whether the rule applies to the request.
+     */
+    public boolean matches(String method, String path) {
+        return (this.method == null || this.method.equalsIgnoreCase(method))
+                && (endpoint.isEmpty() || path.equals(endpoint) || path.startsWith(endpoint + "/"));
+    }
+
+    /**
+     * Picks the fault for one request.
+     * @param random The proxy's seeded generator.
+     * @return The fault, {@link Fault#NONE} if none fires.
+     */
+    Fault draw(RandomGenerator random) {
+        double roll = random.nextDouble();
+        if ((roll -= resetRate) < 0) {
+            return Fault.RESET;
+        }
+        if ((roll -= serverErrorRate) < 0) {
+            return Fault.SERVER_ERROR;
+        }
+        if ((roll -= slowBodyRate) < 0) {
+            return Fault.SLOW_BODY;
+        }
+        if (roll - partialReadRate < 0) {
+            return Fault.PARTIAL_READ;
+        }
+        return Fault.NONE;
+    }
+
+    /**
+     * Builder for {@link FaultRule}.
+     */
+    public static final class Builder {
+        private final String endpoint;
+        private String method;
+        private LatencyDistribution latency = LatencyDistribution.NONE;
+        private double resetRate;
+        private double serverErrorRate;
+        private int serverErrorStatus = 503;
+        private double slowBodyRate;
+        private int slowBodyBytesPerSecond = 1024;
+        private double partialReadRate;
+
+        private Builder(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public Builder method(String method) { this.method = method; return this; }
+        public Builder latency(LatencyDistribution latency) { this.latency = latency; return this; }
+        public Builder resets(double rate) { this.resetRate = rate; return this; }
+        public Builder partialReads(double rate) { this.partialReadRate = rate; return this; }
+
+        public Builder serverErrors(double rate, int status) {
+            this.serverErrorRate = rate;
+            this.serverErrorStatus = status;
+            return this;
+        }
+
+        public Builder slowBodies(double rate, int bytesPerSecond) {
+            this.slowBodyRate = rate;
+            this.slowBodyBytesPerSecond = bytesPerSecond;
+            return this;
+        }
+
+        public FaultRule build() {
+            return new FaultRule(method, endpoint, latency, resetRate, serverErrorRate, serverErrorStatus,
+                    slowBodyRate, slowBodyBytesPerSecond, partialReadRate);
+        }
+    }
+}
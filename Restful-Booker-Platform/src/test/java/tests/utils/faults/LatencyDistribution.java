@@ -0,0 +1,83 @@
+package tests.utils.faults;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+
+/**
+ * Distribution of the latency {@link FaultProxy} adds before forwarding a request.
+ * Exponential and log-normal delays give the long right tail that real degraded backends show,
+ * which a fixed delay cannot.
+ */
+public sealed interface LatencyDistribution {
+
+    LatencyDistribution NONE = new Fixed(0);
+
+    /**
+     * Draws one delay.
+     * @param random The proxy's seeded generator.
+     * @return The delay in nanoseconds, never negative.
+     */
+    long sampleNanos(RandomGenerator random);
+
+    static LatencyDistribution fixed(Duration delay) {
+        return new Fixed(delay.toNanos());
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        return new Uniform(min.toNanos(), max.toNanos());
+    }
+
+    /**
+     * @param mean The mean delay; about 1% of the delays exceed 4.6 times the mean.
+     */
+    static LatencyDistribution exponential(Duration mean) {
+        return new Exponential(mean.toNanos());
+    }
+
+    /**
+     * @param median The median delay.
+     * @param sigma The standard deviation of the underlying normal; 1.0 puts the p99 at about 10 times the median.
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        return new LogNormal(median.toNanos(), sigma);
+    }
+
+    record Fixed(long nanos) implements LatencyDistribution {
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return nanos;
+        }
+    }
+
+    record Uniform(long minNanos, long maxNanos) implements LatencyDistribution {
+
+        public Uniform {
+            if (maxNanos < minNanos) {
+                throw new IllegalArgumentException("max must not be below min");
+            }
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return minNanos == maxNanos ? minNanos : random.nextLong(minNanos, maxNanos + 1);
+        }
+    }
+
+    record Exponential(long meanNanos) implements LatencyDistribution {
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return Math.round(random.nextExponential() * meanNanos);
+        }
+    }
+
+    record LogNormal(long medianNanos, double sigma) implements LatencyDistribution {
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return Math.round(medianNanos * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+}
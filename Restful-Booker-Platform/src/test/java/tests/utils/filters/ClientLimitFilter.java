@@ -0,0 +1,60 @@
+package tests.utils.filters;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.utils.policies.ClientLimits;
+import tests.utils.policies.RetryPolicy;
+
+
+/**
+ * RestAssured filter that makes every request wait for the {@link ClientLimits#global() client limits} of
+ * its endpoint: the rate limiter first, then a slot of the adaptive concurrency limiter, which the response
+ * (or its failure) gives back. It runs after {@link ClientPolicyFilter}, so retries and hedges are limited too.
+ * The wait is part of the duration the timing and metrics filters observe; it is reported separately by
+ * {@link ClientLimits}. It is attached by {@code BaseTest.givenRequest()}.
+ */
+public final class ClientLimitFilter implements OrderedFilter {
+
+    private static final ClientLimitFilter INSTANCE = new ClientLimitFilter();
+
+    private ClientLimitFilter() {
+        // hidden constructor
+    }
+
+    /**
+     * Returns the shared client limit filter to be attached to a request specification.
+     * @return The process-wide {@link ClientLimitFilter} instance.
+     */
+    public static ClientLimitFilter clientLimits() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ClientLimits.Permit permit = ClientLimits.global().acquire(Endpoints.template(requestSpec));
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            int status = response == null ? -1 : response.getStatusCode();
+            permit.release(System.nanoTime() - start,
+                    response == null || status == 429 || RetryPolicy.TRANSIENT_STATUSES.contains(status));
+        }
+    }
+
+    /**
+     * Runs right after {@link ClientPolicyFilter}, so each attempt it sends waits for a permit.
+     * @return The filter order.
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 4;
+    }
+}
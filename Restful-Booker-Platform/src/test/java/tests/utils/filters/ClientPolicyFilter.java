@@ -0,0 +1,262 @@
+package tests.utils.filters;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import tests.utils.policies.CircuitBreaker;
+import tests.utils.policies.CircuitOpenException;
+import tests.utils.policies.ClientPolicies;
+import tests.utils.policies.HedgingPolicy;
+import tests.utils.policies.LatencyWindow;
+import tests.utils.policies.RetryPolicy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static tests.utils.metrics.SuiteMetrics.CIRCUIT_REJECTIONS;
+import static tests.utils.metrics.SuiteMetrics.CLIENT_HEDGES;
+import static tests.utils.metrics.SuiteMetrics.CLIENT_RETRIES;
+
+
+/**
+ * RestAssured filter that applies the {@link ClientPolicies#global() client policies} to every call:
+ * the endpoint's circuit breaker, budgeted retries of idempotent calls and hedged GETs.
+ * Retries and hedges re-send the request through the filters ordered after this one only, so the timing,
+ * JFR and metrics filters still observe one call, however many attempts it took.
+ * It is attached by {@code BaseTest.givenRequest()}.
+ */
+public final class ClientPolicyFilter implements OrderedFilter {
+
+    private static final ClientPolicyFilter INSTANCE = new ClientPolicyFilter();
+    private static final ExecutorService HEDGE_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private ClientPolicyFilter() {
+        // hidden constructor
+    }
+
+    /**
+     * Returns the shared client policy filter to be attached to a request specification.
+     * @return The process-wide {@link ClientPolicyFilter} instance.
+     */
+    public static ClientPolicyFilter clientPolicies() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ClientPolicies policies = ClientPolicies.global();
+        String method = requestSpec.getMethod();
+        String endpoint = Endpoints.template(requestSpec);
+
+        CircuitBreaker breaker = policies.circuitBreaker(endpoint);
+        if (breaker != null && !breaker.tryAcquire()) {
+            CIRCUIT_REJECTIONS.inc(endpoint);
+            throw new CircuitOpenException(method, endpoint, breaker.remainingOpenNanos());
+        }
+
+        // multipart bodies are streamed once, so they cannot be re-sent
+        boolean replayable = requestSpec.getMultiPartParams().isEmpty();
+        RetryPolicy retry = policies.retry();
+        if (retry != null) {
+            retry.budget().deposit();
+        }
+        boolean retriesAllowed = retry != null && replayable && retry.appliesTo(method);
+        HedgingPolicy hedging = policies.hedging();
+        boolean hedged = hedging != null && replayable && hedging.appliesTo(method);
+
+        for (int attempt = 1; ; attempt++) {
+            Response response = null;
+            Throwable failure = null;
+            boolean transientFailure = false;
+            try {
+                if (attempt > 1) {
+                    response = ctx.send(replay(requestSpec));
+                } else if (hedged) {
+                    response = hedge(requestSpec, responseSpec, ctx, hedging, policies.latencies(endpoint), endpoint);
+                } else {
+                    response = ctx.next(requestSpec, responseSpec);
+                }
+                transientFailure = RetryPolicy.TRANSIENT_STATUSES.contains(response.getStatusCode());
+            } catch (Throwable e) {
+                // transport failures are thrown undeclared (e.g., a SocketException on a reset)
+                failure = e;
+                transientFailure = RetryPolicy.isTransportFailure(e);
+            } finally {
+                if (breaker != null) {
+                    // a client-side failure says nothing about the endpoint, but must not keep a HALF_OPEN trial
+                    if (transientFailure) {
+                        breaker.onFailure();
+                    } else if (failure == null) {
+                        breaker.onSuccess();
+                    } else {
+                        breaker.release();
+                    }
+                }
+            }
+
+            boolean retryable = failure != null
+                    ? transientFailure
+                    : retry != null && retry.isRetryable(response.getStatusCode());
+            if (!retriesAllowed || !retryable || !mayRetry(retry, breaker, attempt, endpoint)) {
+                if (failure != null) {
+                    throw rethrow(failure);
+                }
+                return response;
+            }
+        }
+    }
+
+    /**
+     * Runs right after {@link MetricsFilter}, so the observability filters see the call as the test made it.
+     * @return The filter order.
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 3;
+    }
+
+    // --- Retries ---
+
+    private static boolean mayRetry(RetryPolicy retry, CircuitBreaker breaker, int attempt, String endpoint) {
+        if (attempt >= retry.maxAttempts()) {
+            CLIENT_RETRIES.inc(endpoint, "gave_up");
+            return false;
+        }
+        if (!retry.budget().tryWithdraw()) {
+            CLIENT_RETRIES.inc(endpoint, "budget_exhausted");
+            return false;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(retry.backoffNanos(attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (breaker != null && !breaker.tryAcquire()) {
+            CLIENT_RETRIES.inc(endpoint, "circuit_open");
+            return false;
+        }
+        CLIENT_RETRIES.inc(endpoint, "retried");
+        return true;
+    }
+
+    /**
+     * Copies the request for {@link FilterContext#send}, which re-sends it to the same method and resolved
+     * path, through the filters ordered after this one. The {@link SingleFlightFilter} is left out: a hedge
+     * or retry would otherwise join the very call it is meant to replace instead of being sent.
+     */
+    private RequestSpecification replay(FilterableRequestSpecification requestSpec) {
+        RequestSpecification replay = RestAssured.given()
+                .config(requestSpec.getConfig())
+                .headers(requestSpec.getHeaders())
+                .cookies(requestSpec.getCookies())
+                .params(requestSpec.getRequestParams())
+                .queryParams(requestSpec.getQueryParams())
+                .formParams(requestSpec.getFormParams());
+
+        List<Filter> downstream = requestSpec.getDefinedFilters().stream()
+                .filter(filter -> order(filter) > getOrder() && !(filter instanceof SingleFlightFilter))
+                .toList();
+        if (!downstream.isEmpty()) {
+            replay.filters(downstream);
+        }
+
+        Object body = requestSpec.getBody();
+        if (body != null) {
+            replay.body(body);
+        }
+        return replay;
+    }
+
+    private static int order(Filter filter) {
+        return filter instanceof OrderedFilter ordered ? ordered.getOrder() : OrderedFilter.DEFAULT_PRECEDENCE;
+    }
+
+    // --- Hedging ---
+
+    /**
+     * Sends the request and, if it has not answered (body included) within the hedging delay, a copy of it;
+     * the first successful response wins. The original request's latency feeds the endpoint's window.
+     */
+    private Response hedge(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx, HedgingPolicy hedging, LatencyWindow window, String endpoint) {
+        long delay = hedging.delayNanos(window);
+        long start = System.nanoTime();
+        CompletableFuture<Response> primary = CompletableFuture.supplyAsync(
+                () -> buffered(ctx.next(requestSpec, responseSpec)), HEDGE_EXECUTOR);
+        primary.thenRun(() -> window.record(System.nanoTime() - start));
+
+        try {
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // too slow, hedge below
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return join(primary);
+        }
+
+        if (!hedging.budget().tryWithdraw()) {
+            CLIENT_HEDGES.inc(endpoint, "budget_exhausted");
+            return join(primary);
+        }
+        CLIENT_HEDGES.inc(endpoint, "sent");
+        CompletableFuture<Response> hedge = CompletableFuture.supplyAsync(
+                () -> buffered(ctx.send(replay(requestSpec))), HEDGE_EXECUTOR);
+
+        CompletableFuture<Response> first = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        for (CompletableFuture<Response> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    first.complete(response);
+                } else if (pending.decrementAndGet() == 0) {
+                    first.completeExceptionally(failure);
+                }
+            });
+        }
+
+        Response response = join(first);
+        if (response == hedge.getNow(null)) {
+            CLIENT_HEDGES.inc(endpoint, "won");
+        }
+        return response;
+    }
+
+    private static Response buffered(Response response) {
+        // RestAssured reads the body after the filter chain; read it here, so a slow body counts as slow
+        response.asByteArray();
+        return response;
+    }
+
+    private static Response join(CompletableFuture<Response> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Rethrows a failure as-is, including the undeclared checked exceptions RestAssured throws.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException rethrow(Throwable failure) throws E {
+        throw (E) (failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+    }
+}
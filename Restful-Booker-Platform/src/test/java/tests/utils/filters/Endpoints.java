@@ -0,0 +1,37 @@
+package tests.utils.filters;
+
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.net.URI;
+
+
+/**
+ * Endpoint naming shared by the observability filters.
+ */
+final class Endpoints {
+
+    private Endpoints() {
+        // hidden constructor
+    }
+
+    /**
+     * Unresolved path relative to the base URI, e.g. {@code /booking/{bookingId}}, so calls to the same
+     * endpoint group together regardless of IDs.
+     */
+    static String template(FilterableRequestSpecification requestSpec) {
+        String template = requestSpec.getBasePath() + requestSpec.getUserDefinedPath();
+        return template.isEmpty() ? "/" : template;
+    }
+
+    /**
+     * Resolved request path relative to the base URI, e.g. {@code /booking/5} for
+     * {@code https://automationintesting.online/api/booking/5}.
+     */
+    static String relativePath(FilterableRequestSpecification requestSpec) {
+        String path = URI.create(requestSpec.getURI()).getPath();
+        String basePath = URI.create(requestSpec.getBaseUri()).getPath();
+        return basePath != null && !basePath.isEmpty() && path.startsWith(basePath)
+                ? path.substring(basePath.length())
+                : path;
+    }
+}
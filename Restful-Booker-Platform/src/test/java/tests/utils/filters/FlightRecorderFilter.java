@@ -0,0 +1,81 @@
+package tests.utils.filters;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.utils.jfr.HttpExchangeEvent;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * RestAssured filter that emits a {@link HttpExchangeEvent} for every call while JFR is recording.
+ * It is attached by {@code BaseTest.givenRequest()}; when no recording is running it only checks
+ * {@code isEnabled()} on an event that the JIT can scalar-replace.
+ */
+public final class FlightRecorderFilter implements OrderedFilter {
+
+    private static final FlightRecorderFilter INSTANCE = new FlightRecorderFilter();
+
+    private FlightRecorderFilter() {
+        // hidden constructor
+    }
+
+    /**
+     * Returns the shared JFR filter to be attached to a request specification.
+     * @return The process-wide {@link FlightRecorderFilter} instance.
+     */
+    public static FlightRecorderFilter flightRecorder() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        HttpExchangeEvent event = new HttpExchangeEvent();
+        if (!event.isEnabled()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        event.begin();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(requestSpec.getMethod(), Endpoints.template(requestSpec),
+                        URI.create(requestSpec.getURI()).getPath(),
+                        response == null ? -1 : response.getStatusCode(),
+                        bodySize(requestSpec.getBody()),
+                        response == null ? -1 : response.asByteArray().length);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs right after {@link TimingFilter}, so both observe the same call.
+     * @return The filter order.
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 1;
+    }
+
+    private static long bodySize(Object body) {
+        if (body == null) {
+            return 0;
+        } else if (body instanceof byte[] bytes) {
+            return bytes.length;
+        } else if (body instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,152 @@
+package tests.utils.filters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.utils.JsonMappers;
+import tests.utils.history.BookingOperation;
+import tests.utils.history.BookingOperation.Kind;
+import tests.utils.history.BookingState;
+import tests.utils.history.HistoryRecording;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * RestAssured filter that records every call to a {@code /booking} endpoint as a {@link BookingOperation}
+ * while a {@link HistoryRecording} is running, for the linearizability checker. It runs after the client
+ * policy and limit filters, so each attempt sent is one operation and limiter waits are not part of it.
+ * Coalesced GETs ({@code SingleFlightFilter}) are not recorded: a caller that joins an in-flight call may
+ * receive a state read before it was invoked. It is attached by {@code BaseTest.givenRequest()}; when nothing
+ * is recording it only checks a flag.
+ */
+public final class HistoryRecorderFilter implements OrderedFilter {
+
+    private static final HistoryRecorderFilter INSTANCE = new HistoryRecorderFilter();
+    private static final Pattern BOOKING_PATH = Pattern.compile("^/booking(?:/(\\d+))?/?$");
+
+    private HistoryRecorderFilter() {
+        // hidden constructor
+    }
+
+    /**
+     * Returns the shared history recorder filter to be attached to a request specification.
+     * @return The process-wide {@link HistoryRecorderFilter} instance.
+     */
+    public static HistoryRecorderFilter historyRecorder() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!HistoryRecording.isRecording()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        Matcher matcher = BOOKING_PATH.matcher(Endpoints.relativePath(requestSpec));
+        Kind kind = matcher.matches() ? kind(requestSpec.getMethod(), matcher.group(1) != null) : null;
+        if (kind == null || requestSpec.getDefinedFilters().contains(SingleFlightFilter.coalesced())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        long invoke = System.nanoTime();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            // read the body inside the call, so the operation completes once its result is known
+            response.asByteArray();
+            return response;
+        } finally {
+            long complete = System.nanoTime();
+            Integer bookingId = matcher.group(1) == null ? null : Integer.valueOf(matcher.group(1));
+            HistoryRecording.record(operation(kind, bookingId, requestSpec, response, invoke, complete));
+        }
+    }
+
+    /**
+     * Runs right after {@link ClientLimitFilter}.
+     * @return The filter order.
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 5;
+    }
+
+    private static Kind kind(String method, boolean byId) {
+        return switch (method) {
+            case "POST" -> byId ? null : Kind.CREATE;
+            case "GET" -> byId ? Kind.READ : Kind.LIST;
+            case "PUT" -> byId ? Kind.UPDATE : null;
+            case "DELETE" -> byId ? Kind.DELETE : null;
+            default -> null;
+        };
+    }
+
+    private static BookingOperation operation(Kind kind, Integer bookingId, FilterableRequestSpecification requestSpec,
+                                              Response response, long invoke, long complete) {
+        int status = response == null ? -1 : response.getStatusCode();
+        boolean ok = status >= 200 && status < 300;
+        Integer roomId = kind == Kind.LIST ? roomId(requestSpec) : null;
+        BookingState input = kind == Kind.CREATE || kind == Kind.UPDATE ? BookingState.of(body(requestSpec)) : null;
+        BookingState output = kind == Kind.READ && ok ? BookingState.of(tree(response)) : null;
+        Map<Integer, BookingState> listed = kind == Kind.LIST && ok ? listed(tree(response)) : null;
+        return new BookingOperation(Thread.currentThread().threadId(), kind, bookingId, roomId, input, status,
+                output, listed, invoke, complete);
+    }
+
+    private static Integer roomId(FilterableRequestSpecification requestSpec) {
+        Object roomId = requestSpec.getQueryParams().get("roomid");
+        if (roomId == null) {
+            roomId = requestSpec.getRequestParams().get("roomid");
+        }
+        try {
+            return roomId == null ? null : Integer.valueOf(roomId.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static JsonNode body(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        try {
+            if (body instanceof byte[] bytes) {
+                return JsonMappers.mapper().readTree(bytes);
+            } else if (body instanceof String text) {
+                return JsonMappers.mapper().readTree(text.getBytes(StandardCharsets.UTF_8));
+            }
+            return body == null ? null : JsonMappers.mapper().valueToTree(body);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static JsonNode tree(Response response) {
+        try {
+            return JsonMappers.mapper().readTree(response.asByteArray());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return The listed bookings by id, or {@code null} if the body has no {@code bookings} array.
+     */
+    private static Map<Integer, BookingState> listed(JsonNode body) {
+        JsonNode bookings = body == null ? null : body.get("bookings");
+        if (bookings == null || !bookings.isArray()) {
+            return null;
+        }
+        Map<Integer, BookingState> listed = new LinkedHashMap<>();
+        bookings.forEach(booking -> listed.put(booking.path("bookingid").asInt(), BookingState.of(booking)));
+        return listed;
+    }
+}
@@ -0,0 +1,135 @@
+package tests.utils.filters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.utils.JsonMappers;
+import tests.utils.baseline.EndpointRecording;
+import tests.utils.metrics.SuiteMetrics;
+import tests.utils.samples.SampleRecording;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static constants.ApiConstants.ERROR_JSON_PATH;
+
+
+/**
+ * RestAssured filter that records request counts, latency histograms and error counts
+ * (by the {@code error} message of the body) in {@link SuiteMetrics}, and feeds any running
+ * {@link EndpointRecording} and {@link SampleRecording}.
+ * It is attached by {@code BaseTest.givenRequest()}.
+ */
+public final class MetricsFilter implements OrderedFilter {
+
+    private static final MetricsFilter INSTANCE = new MetricsFilter();
+
+    private MetricsFilter() {
+        // hidden constructor
+    }
+
+    /**
+     * Returns the shared metrics filter to be attached to a request specification.
+     * @return The process-wide {@link MetricsFilter} instance.
+     */
+    public static MetricsFilter metrics() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            double seconds = nanos / 1_000_000_000.0;
+            String method = requestSpec.getMethod();
+            String endpoint = Endpoints.template(requestSpec);
+            int status = response == null ? -1 : response.getStatusCode();
+            boolean failed = status < 0 || status >= 400;
+            String message = !failed ? null : response == null ? "no response" : errorMessage(response);
+
+            SuiteMetrics.HTTP_REQUESTS.inc(method, endpoint, Integer.toString(status));
+            SuiteMetrics.HTTP_DURATION.observe(seconds, method, endpoint);
+            if (EndpointRecording.isRecording()) {
+                EndpointRecording.record(String.format("%s %s", method, endpoint), nanos);
+            }
+            if (SampleRecording.isRecording()) {
+                recordSample(requestSpec, response, String.format("%s %s", method, endpoint), status, message, nanos);
+            }
+            if (failed) {
+                SuiteMetrics.recordError(endpoint, status, message);
+            }
+        }
+    }
+
+    /**
+     * Runs right after {@link TimingFilter} and {@link FlightRecorderFilter}, so all observe the same call.
+     * @return The filter order.
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 2;
+    }
+
+    /**
+     * Feeds the sample recording without buffering the response: the size comes from {@code Content-Length} and the
+     * body is only read if the call is among the slowest. Called from {@code finally}, so it never throws; a body
+     * that cannot be read (e.g., truncated) is recorded as {@code null} and the call keeps its own outcome.
+     */
+    private static void recordSample(FilterableRequestSpecification requestSpec, Response response, String endpoint,
+                                     int status, String message, long nanos) {
+        try {
+            SampleRecording.record(endpoint, status, message, nanos, response == null ? 0 : contentLength(response),
+                    () -> bodyText(requestSpec.getBody()), () -> response == null ? null : bodyOrNull(response));
+        } catch (RuntimeException e) {
+            System.out.printf("Failed to record a sample of %s: %s%n", endpoint, e);
+        }
+    }
+
+    /**
+     * @return The declared body size, or 0 if the response has none (e.g., a chunked body).
+     */
+    private static long contentLength(Response response) {
+        String length = response.getHeader("Content-Length");
+        try {
+            return length == null ? 0 : Long.parseLong(length.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String bodyOrNull(Response response) {
+        try {
+            return response.asString();
+        } catch (Exception e) {
+            // RestAssured passes on the IOException of a broken body without declaring it
+            return null;
+        }
+    }
+
+    private static String bodyText(Object body) {
+        if (body == null) {
+            return null;
+        }
+        return body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString();
+    }
+
+    private static String errorMessage(Response response) {
+        try {
+            JsonNode error = JsonMappers.mapper().readTree(response.asByteArray()).path(ERROR_JSON_PATH);
+            return error.isMissingNode() || error.isNull() ? null : error.asText();
+        } catch (IOException | RuntimeException e) {
+            // non-JSON error bodies (e.g., proxy HTML pages) are counted without a message
+            return null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package tests.utils.filters;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static tests.utils.metrics.SuiteMetrics.SINGLE_FLIGHT_GETS;
+
+
+/**
+ * RestAssured filter that coalesces identical in-flight GET requests into a single network call.
+ * Requests are considered identical when they share the method, full URI (path and query) and auth identity
+ * (Cookie and Authorization headers). The first caller performs the call, concurrent callers wait for it
+ * and receive a copy of the same buffered response, or the failure it ended with.
+ * Coalescing is opt-in per call: {@code givenRequest().filter(coalesced())}. A follower may get a response that was
+ * requested before its own earlier writes, so only read-only lookups that do not depend on the caller's writes
+ * should opt in. Calls are counted in {@code SuiteMetrics.SINGLE_FLIGHT_GETS}.
+ */
+public final class SingleFlightFilter implements OrderedFilter {
+
+    private static final SingleFlightFilter INSTANCE = new SingleFlightFilter();
+
+    private final ConcurrentHashMap<String, CompletableFuture<Response>> inFlight = new ConcurrentHashMap<>();
+
+    private SingleFlightFilter() {
+        // hidden constructor
+    }
+
+    /**
+     * Returns the shared single-flight filter to be attached to a request specification.
+     * @return The process-wide {@link SingleFlightFilter} instance.
+     */
+    public static SingleFlightFilter coalesced() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equalsIgnoreCase(requestSpec.getMethod())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = requestKey(requestSpec);
+        String endpoint = Endpoints.template(requestSpec);
+        CompletableFuture<Response> own = new CompletableFuture<>();
+        CompletableFuture<Response> existing = inFlight.putIfAbsent(key, own);
+
+        if (existing != null) {
+            SINGLE_FLIGHT_GETS.inc(endpoint, "coalesced");
+            return new ResponseBuilder().clone(awaitLeader(existing)).build();
+        }
+
+        SINGLE_FLIGHT_GETS.inc(endpoint, "network");
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            // buffer the body once, so followers can share it without touching the connection
+            response.asByteArray();
+            own.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // also transport failures, thrown as undeclared IOExceptions, and assertion errors
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Runs the filter as close to the network as possible, after timing and policy filters.
+     * @return The filter order.
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    private static String requestKey(FilterableRequestSpecification requestSpec) {
+        return String.format("%s %s|cookie=%s|auth=%s|cookies=%s",
+                requestSpec.getMethod(),
+                requestSpec.getURI(),
+                requestSpec.getHeaders().getValue("Cookie"),
+                requestSpec.getHeaders().getValue("Authorization"),
+                requestSpec.getCookies());
+    }
+
+    private static Response awaitLeader(CompletableFuture<Response> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Rethrows the leader's failure as-is, including the undeclared checked exceptions RestAssured throws.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException rethrow(Throwable failure) throws E {
+        throw (E) failure;
+    }
+}
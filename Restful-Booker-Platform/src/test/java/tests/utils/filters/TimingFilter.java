@@ -0,0 +1,127 @@
+package tests.utils.filters;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+
+/**
+ * RestAssured filter that measures the wall-clock duration of every call as seen by the caller.
+ * It is attached by {@code BaseTest.givenRequest()} and only records while a {@link Capture} is open on the
+ * calling thread (or the thread that started it, e.g. Awaitility's polling thread), so it costs a single
+ * thread-local lookup otherwise.
+ */
+public final class TimingFilter implements OrderedFilter {
+
+    private static final TimingFilter INSTANCE = new TimingFilter();
+    private static final InheritableThreadLocal<Capture> CAPTURE = new InheritableThreadLocal<>();
+
+    private TimingFilter() {
+        // hidden constructor
+    }
+
+    /**
+     * Returns the shared timing filter to be attached to a request specification.
+     * @return The process-wide {@link TimingFilter} instance.
+     */
+    public static TimingFilter timing() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts recording the calls made by the current thread and the threads it starts from now on.
+     * @return The open capture; close it to stop recording.
+     */
+    public static Capture startCapture() {
+        Capture capture = new Capture();
+        CAPTURE.set(capture);
+        return capture;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Capture capture = CAPTURE.get();
+        if (capture == null || capture.closed) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            capture.calls.add(new CallTiming(requestSpec.getMethod(), Endpoints.relativePath(requestSpec),
+                    response == null ? -1 : response.getStatusCode(), System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Runs the filter before all other filters, so the measured time is what the test observes
+     * (including coalescing waits and retries).
+     * @return The filter order.
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Timing of a single call.
+     * @param method The HTTP method.
+     * @param endpoint The request path relative to the base URI.
+     * @param statusCode The response status code, or -1 if the call failed without a response.
+     * @param durationNanos The wall-clock duration in nanoseconds.
+     */
+    public record CallTiming(String method, String endpoint, int statusCode, long durationNanos) {
+
+        /**
+         * @return The duration in (fractional) milliseconds.
+         */
+        public double durationMillis() {
+            return durationNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s -> %d in %.1f ms", method, endpoint, statusCode, durationMillis());
+        }
+    }
+
+    /**
+     * Calls recorded between {@link #startCapture()} and {@link #close()}.
+     */
+    public static final class Capture implements AutoCloseable {
+
+        private final ConcurrentLinkedQueue<CallTiming> calls = new ConcurrentLinkedQueue<>();
+        private volatile boolean closed;
+
+        private Capture() {
+        }
+
+        /**
+         * @return A snapshot of the calls recorded so far, in completion order.
+         */
+        public List<CallTiming> calls() {
+            return List.copyOf(calls);
+        }
+
+        /**
+         * Stops recording; threads that inherited this capture stop recording as well.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            if (CAPTURE.get() == this) {
+                CAPTURE.remove();
+            }
+        }
+    }
+}
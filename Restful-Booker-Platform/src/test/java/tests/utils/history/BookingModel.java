@@ -0,0 +1,76 @@
+package tests.utils.history;
+
+import java.util.Objects;
+
+
+/**
+ * Sequential model of one booking in the room/booking store, and the operations on it that the
+ * {@link LinearizabilityChecker} derives from a recorded history. A booking is absent, or present with a
+ * {@link BookingState}; when a history starts after the booking was created, its initial state is unknown and
+ * the first operation that observes or overwrites it decides it.
+ */
+final class BookingModel {
+
+    static final State UNKNOWN = new State(Presence.UNKNOWN, null);
+    static final State ABSENT = new State(Presence.ABSENT, null);
+
+    private BookingModel() {
+        // hidden constructor
+    }
+
+    enum Presence {
+        UNKNOWN, ABSENT, PRESENT
+    }
+
+    /**
+     * A state of the booking; {@code value} is set when it is present.
+     */
+    record State(Presence presence, BookingState value) {
+
+        static State present(BookingState value) {
+            return new State(Presence.PRESENT, value);
+        }
+    }
+
+    enum Step {
+        /** A POST that created this booking with {@code value}. */
+        CREATE,
+        /** A GET, or a list entry, that returned {@code value}. */
+        READ,
+        /** A GET or DELETE that found no such booking. */
+        READ_ABSENT,
+        /** A list of room {@code roomId} ({@code null}: every room) that did not include the booking. */
+        LIST_ABSENT,
+        /** A PUT of {@code value}. */
+        UPDATE,
+        /** A DELETE. */
+        DELETE
+    }
+
+    /**
+     * An operation on the booking. An optional operation may or may not have taken effect (no response, a 5xx,
+     * or an ambiguous create), so its window never closes and the search may leave it out.
+     * @param source The recorded operation it was derived from.
+     */
+    record Op(Step step, BookingState value, Integer roomId, long invokeNanos, long completeNanos, boolean optional,
+              BookingOperation source) {
+    }
+
+    /**
+     * Applies an operation to a state.
+     * @return The state after it, or {@code null} if the operation cannot happen in that state.
+     */
+    static State apply(State state, Op op) {
+        Presence presence = state.presence();
+        return switch (op.step()) {
+            case CREATE -> presence == Presence.PRESENT ? null : State.present(op.value());
+            case READ -> presence == Presence.UNKNOWN || Objects.equals(state.value(), op.value())
+                    ? State.present(op.value()) : null;
+            case READ_ABSENT -> presence == Presence.PRESENT ? null : ABSENT;
+            case LIST_ABSENT -> presence == Presence.PRESENT && (op.roomId() == null
+                    || state.value().roomId() == op.roomId()) ? null : state;
+            case UPDATE -> presence == Presence.ABSENT ? null : State.present(op.value());
+            case DELETE -> presence == Presence.ABSENT ? null : ABSENT;
+        };
+    }
+}
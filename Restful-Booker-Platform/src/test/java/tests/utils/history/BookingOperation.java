@@ -0,0 +1,49 @@
+package tests.utils.history;
+
+import java.util.Map;
+
+
+/**
+ * One call to a {@code /booking} endpoint, between its invocation and completion (nanoTime), as recorded by
+ * {@code HistoryRecorderFilter}. What the call observed is kept raw (status and parsed body); how an outcome
+ * constrains the booking store is decided by the {@link LinearizabilityChecker}.
+ * @param process The thread that made the call.
+ * @param kind The operation.
+ * @param bookingId The booking of a {@code /booking/{id}} call, {@code null} for POST and list calls.
+ * @param roomId The room filter of a list call, {@code null} for every other call and for unfiltered lists.
+ * @param input The body of a POST or PUT.
+ * @param status The response status, -1 if no response was received.
+ * @param output The booking returned by a successful GET.
+ * @param listed The bookings returned by a successful list call, by id.
+ */
+public record BookingOperation(long process, Kind kind, Integer bookingId, Integer roomId, BookingState input,
+                               int status, BookingState output, Map<Integer, BookingState> listed,
+                               long invokeNanos, long completeNanos) {
+
+    public enum Kind {
+        /** POST {@code /booking}. */
+        CREATE,
+        /** GET {@code /booking/{id}}. */
+        READ,
+        /** GET {@code /booking?roomid=}. */
+        LIST,
+        /** PUT {@code /booking/{id}}. */
+        UPDATE,
+        /** DELETE {@code /booking/{id}}. */
+        DELETE
+    }
+
+    /**
+     * @return Whether a response was received.
+     */
+    public boolean responded() {
+        return status >= 0;
+    }
+
+    /**
+     * @return Whether the response status is 2xx.
+     */
+    public boolean succeeded() {
+        return status >= 200 && status < 300;
+    }
+}
@@ -0,0 +1,33 @@
+package tests.utils.history;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * The stored fields of a booking, as sent in a POST or PUT body and returned by a GET; the booking id is not
+ * part of it. Two bookings with equal states are indistinguishable to a reader.
+ */
+public record BookingState(int roomId, String firstname, String lastname, boolean depositpaid, String checkin,
+                           String checkout) {
+
+    /**
+     * Reads the state from a booking request or response. The room id may be a number or a string, as
+     * {@code BookingRequest} sends it as a string.
+     * @param booking The booking JSON object.
+     * @return The state, or {@code null} if the node is not an object.
+     */
+    public static BookingState of(JsonNode booking) {
+        if (booking == null || !booking.isObject()) {
+            return null;
+        }
+        JsonNode dates = booking.path("bookingdates");
+        return new BookingState(booking.path("roomid").asInt(), text(booking, "firstname"),
+                text(booking, "lastname"), booking.path("depositpaid").asBoolean(), text(dates, "checkin"),
+                text(dates, "checkout"));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
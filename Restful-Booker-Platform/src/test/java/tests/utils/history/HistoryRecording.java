@@ -0,0 +1,158 @@
+package tests.utils.history;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import tests.utils.JsonMappers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * Run-wide recording of the calls made to {@code /booking} endpoints through {@code BaseTest.givenRequest()},
+ * for the {@link LinearizabilityChecker}. While no recording is running the recorder filter does nothing.
+ * A recording is started for the test run when {@code -Dhistory.file=target/history/bookings.jsonl} is set and
+ * written there, one operation per line, when the run ends; check it offline with
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.history.LinearizabilityChecker
+ * -Dexec.args="target/history/bookings.jsonl"}. Tests can also record a section of their own with
+ * {@link #start()} and {@link #stop()}, alongside the run-wide one.
+ */
+public final class HistoryRecording {
+
+    public static final String FILE_PROPERTY = "history.file";
+
+    private static final CopyOnWriteArrayList<HistoryRecording> ACTIVE = new CopyOnWriteArrayList<>();
+    private static HistoryRecording runWide;
+
+    private final ConcurrentLinkedQueue<BookingOperation> operations = new ConcurrentLinkedQueue<>();
+
+    private HistoryRecording() {
+        // instances are created by start()
+    }
+
+    /**
+     * @return Whether any recording is running; checked by the recorder filter before it parses anything.
+     */
+    public static boolean isRecording() {
+        return !ACTIVE.isEmpty();
+    }
+
+    /**
+     * Starts a new recording. Recordings are independent: each receives every operation completed while it runs.
+     * @return The new recording.
+     */
+    public static HistoryRecording start() {
+        HistoryRecording recording = new HistoryRecording();
+        ACTIVE.add(recording);
+        return recording;
+    }
+
+    /**
+     * Adds a completed operation to every running recording; called by the recorder filter from any thread.
+     * @param operation The operation.
+     */
+    public static void record(BookingOperation operation) {
+        for (HistoryRecording recording : ACTIVE) {
+            recording.operations.add(operation);
+        }
+    }
+
+    /**
+     * Stops this recording.
+     * @return The operations it recorded, ordered by invocation.
+     */
+    public List<BookingOperation> stop() {
+        ACTIVE.remove(this);
+        return operations();
+    }
+
+    /**
+     * Starts the run-wide recording if {@code -Dhistory.file} is set and it is not running yet.
+     * @return {@code true} if this call started the recording.
+     */
+    static synchronized boolean startIfRequested() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isBlank() || runWide != null) {
+            return false;
+        }
+        runWide = start();
+        System.out.printf("Booking history recording started, writing to %s%n", Path.of(file).toAbsolutePath());
+        return true;
+    }
+
+    /**
+     * Stops the run-wide recording and writes it to {@code -Dhistory.file}.
+     */
+    static synchronized void stopAndWrite() {
+        if (runWide == null) {
+            return;
+        }
+        Path destination = Path.of(System.getProperty(FILE_PROPERTY)).toAbsolutePath();
+        List<BookingOperation> recorded = runWide.stop();
+        runWide = null;
+        write(recorded, destination);
+        System.out.printf("Booking history of %d operations written to %s%n", recorded.size(), destination);
+    }
+
+    /**
+     * @return The operations recorded so far, ordered by invocation.
+     */
+    public List<BookingOperation> operations() {
+        List<BookingOperation> snapshot = new ArrayList<>(operations);
+        snapshot.sort((a, b) -> Long.compare(a.invokeNanos(), b.invokeNanos()));
+        return snapshot;
+    }
+
+    // --- Files ---
+
+    /**
+     * Writes a history as JSON lines, one operation per line.
+     * @param history The operations.
+     * @param file The destination, replaced if it exists.
+     */
+    public static void write(List<BookingOperation> history, Path file) {
+        ObjectWriter writer = JsonMappers.writer(BookingOperation.class);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                for (BookingOperation operation : history) {
+                    out.write(writer.writeValueAsString(operation));
+                    out.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to write booking history to %s", file), e);
+        }
+    }
+
+    /**
+     * Reads a history written by {@link #write}.
+     * @param file The JSON lines file.
+     * @return The operations, in file order.
+     */
+    public static List<BookingOperation> read(Path file) {
+        ObjectReader reader = JsonMappers.reader(BookingOperation.class);
+        List<BookingOperation> history = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (!line.isBlank()) {
+                    history.add(reader.readValue(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to read booking history from %s", file), e);
+        }
+        return history;
+    }
+}
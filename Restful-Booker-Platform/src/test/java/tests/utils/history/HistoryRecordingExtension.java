@@ -0,0 +1,23 @@
+package tests.utils.history;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+
+/**
+ * JUnit 5 extension, registered for every test class through extension auto-detection, that starts the run-wide
+ * {@link HistoryRecording} when {@code -Dhistory.file} is set and writes it when the run ends.
+ */
+public class HistoryRecordingExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(HistoryRecordingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (HistoryRecording.startIfRequested()) {
+            // the root store is closed once the whole run has finished
+            context.getRoot().getStore(NAMESPACE).put("recording",
+                    (ExtensionContext.Store.CloseableResource) HistoryRecording::stopAndWrite);
+        }
+    }
+}
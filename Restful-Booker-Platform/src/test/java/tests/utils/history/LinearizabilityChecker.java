@@ -0,0 +1,326 @@
+package tests.utils.history;
+
+import tests.utils.history.BookingModel.Op;
+import tests.utils.history.BookingModel.State;
+import tests.utils.history.BookingModel.Step;
+import tests.utils.history.BookingOperation.Kind;
+import tests.utils.history.LinearizabilityReport.PartitionResult;
+import tests.utils.history.LinearizabilitySearch.Outcome;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+
+/**
+ * Offline check that a recorded history of {@code /booking} calls (see {@link HistoryRecording}) is linearizable
+ * with respect to a sequential room/booking store: every call appears to take effect atomically at some instant
+ * between its invocation and completion. Linearizability is local for single-object operations, so the history is
+ * split per booking id and each booking is searched on its own, in parallel. A list call reads many bookings at
+ * once, which locality does not cover: it is checked per booking only, as a read of every booking it includes and
+ * an absence of the bookings of that room it leaves out. A list whose bookings were each current at some instant
+ * of the call, but not all at the same one, therefore passes. Runs of absences between a booking's own operations
+ * are thinned to their ends, which keeps lists over large rooms cheap.
+ * Outcomes are read as follows: a 2xx took effect; a 404 on a GET or DELETE observed no booking; no response or
+ * a 5xx may or may not have taken effect; other 4xx (validation, auth, conflicts) had no effect and are left out.
+ * POST does not return the new id, so a create belongs to the booking later observed with its exact fields;
+ * when that is ambiguous, it becomes an optional create of every candidate booking.
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.history.LinearizabilityChecker
+ * -Dexec.args="target/history/bookings.jsonl"}
+ * Options: {@code --timeout-ms n} per booking (default 10000). The exit code is 1 if any booking's history is
+ * not linearizable, 2 if a search timed out.
+ */
+public final class LinearizabilityChecker {
+
+    private final Duration partitionTimeout;
+
+    /**
+     * @param partitionTimeout How long to search one booking's history before reporting it as unknown.
+     */
+    public LinearizabilityChecker(Duration partitionTimeout) {
+        this.partitionTimeout = partitionTimeout;
+    }
+
+    public static void main(String[] args) {
+        List<Path> files = new ArrayList<>();
+        Duration timeout = Duration.ofSeconds(10);
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--timeout-ms" -> timeout = Duration.ofMillis(Long.parseLong(args[++i]));
+                default -> files.add(Path.of(args[i]));
+            }
+        }
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No history file given");
+        }
+
+        List<BookingOperation> history = new ArrayList<>();
+        files.forEach(file -> history.addAll(HistoryRecording.read(file)));
+        LinearizabilityReport report = new LinearizabilityChecker(timeout).check(history);
+        report.print(System.out);
+        System.exit(!report.violations().isEmpty() ? 1 : !report.unknown().isEmpty() ? 2 : 0);
+    }
+
+    /**
+     * Checks a history.
+     * @param history The recorded operations, in any order.
+     * @return The verdict for every booking the history touches.
+     */
+    public LinearizabilityReport check(List<BookingOperation> history) {
+        long start = System.nanoTime();
+        Map<Integer, Partition> partitions = partition(history);
+        List<PartitionResult> results = partitions.values().parallelStream()
+                .map(this::search)
+                .sorted(Comparator.comparingInt(PartitionResult::bookingId))
+                .toList();
+        return new LinearizabilityReport(history.size(), results, System.nanoTime() - start);
+    }
+
+    private PartitionResult search(Partition partition) {
+        List<Op> ops = partition.ops();
+        ops.sort(Comparator.comparingLong(Op::invokeNanos));
+        long start = System.nanoTime();
+        Outcome outcome = new LinearizabilitySearch(ops).run(partition.initial(), start + partitionTimeout.toNanos());
+        return new PartitionResult(partition.bookingId(), ops.size(), outcome.verdict(), outcome.deepest(),
+                outcome.blocking() == null ? null : outcome.blocking().source(), System.nanoTime() - start);
+    }
+
+    // --- Partitioning ---
+
+    /**
+     * Splits the history into one partition per booking id. List calls are projected onto each booking they
+     * include or leave out, so a list is checked against each booking's own history, not as one atomic read.
+     */
+    private static Map<Integer, Partition> partition(List<BookingOperation> history) {
+        Map<Integer, Partition> partitions = new TreeMap<>();
+        List<BookingOperation> creates = new ArrayList<>();
+        List<BookingOperation> lists = new ArrayList<>();
+
+        for (BookingOperation operation : history) {
+            boolean uncertain = !operation.responded() || operation.status() >= 500;
+            Integer id = operation.bookingId();
+            switch (operation.kind()) {
+                case READ -> {
+                    if (operation.succeeded() && operation.output() != null) {
+                        add(partitions, id, Step.READ, operation.output(), operation, false);
+                    } else if (operation.status() == 404) {
+                        add(partitions, id, Step.READ_ABSENT, null, operation, false);
+                    }
+                }
+                case UPDATE -> {
+                    if (operation.input() != null && (operation.succeeded() || uncertain)) {
+                        add(partitions, id, Step.UPDATE, operation.input(), operation, uncertain);
+                    }
+                }
+                case DELETE -> {
+                    if (operation.succeeded() || uncertain) {
+                        add(partitions, id, Step.DELETE, null, operation, uncertain);
+                    } else if (operation.status() == 404) {
+                        add(partitions, id, Step.READ_ABSENT, null, operation, false);
+                    }
+                }
+                case LIST -> {
+                    if (operation.succeeded() && operation.listed() != null) {
+                        operation.listed().forEach((listedId, value) ->
+                                add(partitions, listedId, Step.READ, value, operation, false));
+                        lists.add(operation);
+                    }
+                }
+                case CREATE -> {
+                    if (operation.input() != null && (operation.succeeded() || uncertain)) {
+                        creates.add(operation);
+                    }
+                }
+            }
+        }
+
+        attachCreates(partitions, creates);
+        projectAbsences(partitions, lists);
+        return partitions;
+    }
+
+    private static void add(Map<Integer, Partition> partitions, Integer bookingId, Step step, BookingState value,
+                            BookingOperation source, boolean optional) {
+        if (bookingId == null) {
+            return;
+        }
+        partitions.computeIfAbsent(bookingId, Partition::new).ops().add(new Op(step, value,
+                source.kind() == Kind.LIST ? source.roomId() : null, source.invokeNanos(), source.completeNanos(),
+                optional, source));
+    }
+
+    /**
+     * A create belongs to a booking observed with its fields that was not yet known to exist when the create was
+     * invoked. It is certain if it got a 2xx and it is the only create of those fields and that booking the only
+     * candidate; such a booking is absent before its create. Otherwise every candidate gets an optional copy.
+     */
+    private static void attachCreates(Map<Integer, Partition> partitions, List<BookingOperation> creates) {
+        Map<BookingState, Set<Integer>> observedIds = new HashMap<>();
+        Map<Integer, Long> firstPresence = new HashMap<>();
+        for (Partition partition : partitions.values()) {
+            for (Op op : partition.ops()) {
+                if (op.step() == Step.READ) {
+                    observedIds.computeIfAbsent(op.value(), value -> new HashSet<>()).add(partition.bookingId());
+                }
+                boolean provesPresence = !op.optional()
+                        && (op.step() == Step.READ || op.step() == Step.UPDATE || op.step() == Step.DELETE);
+                if (provesPresence) {
+                    firstPresence.merge(partition.bookingId(), op.completeNanos(), Math::min);
+                }
+            }
+        }
+        Map<BookingState, Long> createsByValue = new HashMap<>();
+        creates.forEach(create -> createsByValue.merge(create.input(), 1L, Long::sum));
+
+        for (BookingOperation create : creates) {
+            List<Integer> candidates = observedIds.getOrDefault(create.input(), Set.of()).stream()
+                    .filter(id -> firstPresence.getOrDefault(id, Long.MAX_VALUE) > create.invokeNanos())
+                    .toList();
+            boolean certain = create.succeeded() && candidates.size() == 1 && createsByValue.get(create.input()) == 1;
+            for (Integer id : candidates) {
+                Partition partition = partitions.get(id);
+                add(partitions, id, Step.CREATE, create.input(), create, !certain);
+                if (certain) {
+                    partition.created = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the absences of each booking from the lists of rooms it was ever in. Between two consecutive
+     * invocations or completions of the booking's own operations, only the first and the last list are kept;
+     * lists invoked before its first operation are skipped, as they cannot constrain its unknown or absent
+     * initial state.
+     */
+    private static void projectAbsences(Map<Integer, Partition> partitions, List<BookingOperation> lists) {
+        Map<Integer, List<BookingOperation>> byRoom = new HashMap<>();
+        List<BookingOperation> unfiltered = new ArrayList<>();
+        for (BookingOperation list : lists) {
+            if (list.roomId() == null) {
+                unfiltered.add(list);
+            } else {
+                byRoom.computeIfAbsent(list.roomId(), room -> new ArrayList<>()).add(list);
+            }
+        }
+        Map<Integer, RoomLists> roomLists = new HashMap<>();
+        byRoom.forEach((room, ofRoom) -> roomLists.put(room, RoomLists.of(ofRoom)));
+        RoomLists everyRoom = RoomLists.of(unfiltered);
+
+        for (Partition partition : partitions.values()) {
+            List<Op> own = List.copyOf(partition.ops());
+            long[] boundaries = own.stream()
+                    .flatMapToLong(op -> LongStream.of(op.invokeNanos(), op.completeNanos()))
+                    .sorted()
+                    .toArray();
+            Set<Integer> rooms = new HashSet<>();
+            own.stream().filter(op -> op.value() != null).forEach(op -> rooms.add(op.value().roomId()));
+            for (Integer room : rooms) {
+                RoomLists ofRoom = roomLists.get(room);
+                if (ofRoom != null) {
+                    addAbsences(partition, ofRoom, boundaries);
+                }
+            }
+            addAbsences(partition, everyRoom, boundaries);
+        }
+    }
+
+    /**
+     * Walks the lists (ordered by invocation) and the boundaries together, keeping the first and the last list
+     * that left the booking out in each gap.
+     */
+    private static void addAbsences(Partition partition, RoomLists lists, long[] boundaries) {
+        if (boundaries.length == 0) {
+            return;
+        }
+        int boundary = 0;
+        int gap = -1;
+        BookingOperation first = null;
+        BookingOperation last = null;
+        for (int i = lists.indexFrom(boundaries[0]); i < lists.operations().size(); i++) {
+            BookingOperation list = lists.operations().get(i);
+            if (listed(list, partition)) {
+                continue;
+            }
+            while (boundary < boundaries.length && boundaries[boundary] <= list.invokeNanos()) {
+                boundary++;
+            }
+            if (boundary != gap) {
+                addAbsences(partition, first, last);
+                gap = boundary;
+                first = list;
+                last = null;
+            } else {
+                last = list;
+            }
+        }
+        addAbsences(partition, first, last);
+    }
+
+    private static void addAbsences(Partition partition, BookingOperation first, BookingOperation last) {
+        for (BookingOperation list : new BookingOperation[] {first, last}) {
+            if (list != null) {
+                partition.ops().add(new Op(Step.LIST_ABSENT, null, list.roomId(), list.invokeNanos(),
+                        list.completeNanos(), false, list));
+            }
+        }
+    }
+
+    private static boolean listed(BookingOperation list, Partition partition) {
+        return list.listed().containsKey(partition.bookingId());
+    }
+
+    /**
+     * The successful lists of one room, or of every room, ordered by invocation.
+     */
+    private record RoomLists(List<BookingOperation> operations, long[] invokes) {
+
+        static RoomLists of(List<BookingOperation> lists) {
+            List<BookingOperation> sorted = lists.stream()
+                    .sorted(Comparator.comparingLong(BookingOperation::invokeNanos))
+                    .toList();
+            return new RoomLists(sorted, sorted.stream().mapToLong(BookingOperation::invokeNanos).toArray());
+        }
+
+        int indexFrom(long invokeNanos) {
+            int index = Arrays.binarySearch(invokes, invokeNanos);
+            if (index < 0) {
+                return -index - 1;
+            }
+            while (index > 0 && invokes[index - 1] == invokeNanos) {
+                index--;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * The operations on one booking; it starts absent if its create is in the history, unknown otherwise.
+     */
+    private static final class Partition {
+
+        private final int bookingId;
+        private final List<Op> ops = new ArrayList<>();
+        private boolean created;
+
+        Partition(int bookingId) {
+            this.bookingId = bookingId;
+        }
+
+        int bookingId() { return bookingId; }
+        List<Op> ops() { return ops; }
+
+        State initial() {
+            return created ? BookingModel.ABSENT : BookingModel.UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package tests.utils.history;
+
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * Results of a {@link LinearizabilityChecker} run, one per booking the history touches.
+ * @param operations Recorded operations checked.
+ * @param partitions The result for each booking, by id.
+ * @param elapsedNanos Time taken by the check.
+ */
+public record LinearizabilityReport(int operations, List<PartitionResult> partitions, long elapsedNanos) {
+
+    public enum Verdict {
+        /** A valid order of the booking's operations exists. */
+        LINEARIZABLE,
+        /** No valid order exists. */
+        VIOLATION,
+        /** The search timed out. */
+        UNKNOWN
+    }
+
+    /**
+     * @param bookingId The booking.
+     * @param operations Operations on it, list projections and attached creates included.
+     * @param verdict Whether a linearization was found, ruled out, or not found in time.
+     * @param deepest The most operations the search linearized at once.
+     * @param blocking For a violation, the recorded operation that completed before the deepest partial
+     *                 linearization could include it: the first operation no valid order explains.
+     * @param searchNanos Time spent searching.
+     */
+    public record PartitionResult(int bookingId, int operations, Verdict verdict, int deepest,
+                                  BookingOperation blocking, long searchNanos) {
+    }
+
+    /**
+     * @return The bookings whose history is not linearizable.
+     */
+    public List<PartitionResult> violations() {
+        return withVerdict(Verdict.VIOLATION);
+    }
+
+    /**
+     * @return The bookings whose search timed out.
+     */
+    public List<PartitionResult> unknown() {
+        return withVerdict(Verdict.UNKNOWN);
+    }
+
+    /**
+     * @return Whether every booking's history is linearizable.
+     */
+    public boolean linearizable() {
+        return partitions.stream().allMatch(partition -> partition.verdict() == Verdict.LINEARIZABLE);
+    }
+
+    /**
+     * Prints the totals, the slowest search and every booking that is not linearizable.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n=== Linearizability: %d operations on %d bookings, checked in %.2f s ===%n", operations,
+                partitions.size(), elapsedNanos / 1e9);
+        out.printf("Linearizable: %d, violations: %d, timed out: %d%n",
+                withVerdict(Verdict.LINEARIZABLE).size(), violations().size(), unknown().size());
+        partitions.stream().max(Comparator.comparingLong(PartitionResult::searchNanos)).ifPresent(slowest ->
+                out.printf("Slowest search: booking %d, %d operations, %.1f ms%n", slowest.bookingId(),
+                        slowest.operations(), slowest.searchNanos() / 1e6));
+        partitions.stream().filter(partition -> partition.verdict() != Verdict.LINEARIZABLE).forEach(partition ->
+                out.printf("  booking %d: %s after %d of %d operations, blocked by %s%n", partition.bookingId(),
+                        partition.verdict(), partition.deepest(), partition.operations(), partition.blocking()));
+    }
+
+    private List<PartitionResult> withVerdict(Verdict verdict) {
+        return partitions.stream().filter(partition -> partition.verdict() == verdict).toList();
+    }
+}
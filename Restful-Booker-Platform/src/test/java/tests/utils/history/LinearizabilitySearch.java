@@ -0,0 +1,202 @@
+package tests.utils.history;
+
+import tests.utils.history.BookingModel.Op;
+import tests.utils.history.BookingModel.State;
+import tests.utils.history.LinearizabilityReport.Verdict;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * Depth-first search for a linearization of the operations on one booking (Wing and Gong, with the memoization
+ * of Lowe's algorithm). Invocations and completions form a linked list in time order; the search repeatedly
+ * takes the first pending operation whose invocation precedes every pending completion, applies it to the
+ * model and lifts it out of the list, and backtracks when a completion is reached first. A configuration (set of
+ * linearized operations and model state) already explored is never explored again.
+ * Since operations are indexed by invocation, a linearized set is stored as the length of its fully linearized
+ * prefix plus the few later operations, which keeps the cache small for long, mostly sequential histories.
+ */
+final class LinearizabilitySearch {
+
+    private static final int HEAD = 0;
+    private static final int NONE = -1;
+    private static final int DEADLINE_CHECK_INTERVAL = 4096;
+
+    private final Op[] ops;
+    // entries 1..2n: entryOp[e] is the operation of entry e, a call if isCall[e]; entry 0 is the list head
+    private final int[] entryOp;
+    private final boolean[] isCall;
+    private final int[] returnEntry;
+    private final int[] next;
+    private final int[] prev;
+
+    /**
+     * @param ops The operations on one booking, ordered by invocation.
+     */
+    LinearizabilitySearch(List<Op> ops) {
+        this.ops = ops.toArray(Op[]::new);
+        int n = this.ops.length;
+        Integer[] order = new Integer[2 * n];
+        for (int i = 0; i < 2 * n; i++) {
+            order[i] = i;
+        }
+        // calls before completions at the same instant, which is the more permissive reading
+        Arrays.sort(order, Comparator.comparingLong(this::entryTime).thenComparingInt(e -> e % 2));
+
+        entryOp = new int[2 * n + 1];
+        isCall = new boolean[2 * n + 1];
+        returnEntry = new int[n];
+        next = new int[2 * n + 1];
+        prev = new int[2 * n + 1];
+        for (int i = 0; i < 2 * n; i++) {
+            int entry = i + 1;
+            entryOp[entry] = order[i] / 2;
+            isCall[entry] = order[i] % 2 == 0;
+            if (!isCall[entry]) {
+                returnEntry[order[i] / 2] = entry;
+            }
+            prev[entry] = entry - 1;
+            next[entry] = i + 1 < 2 * n ? entry + 1 : NONE;
+        }
+        next[HEAD] = n == 0 ? NONE : 1;
+    }
+
+    /**
+     * Even keys are invocations, odd keys completions; an optional operation never completes.
+     */
+    private long entryTime(int key) {
+        Op op = ops[key / 2];
+        return key % 2 == 0 ? op.invokeNanos() : op.optional() ? Long.MAX_VALUE : op.completeNanos();
+    }
+
+    /**
+     * Searches for a linearization starting from the given state.
+     * @param initial The state of the booking before the first operation.
+     * @param deadlineNanos The nanoTime after which the search gives up.
+     * @return The outcome.
+     */
+    Outcome run(State initial, long deadlineNanos) {
+        BitSet linearized = new BitSet(ops.length);
+        int linearizedCount = 0;
+        Set<CacheKey> cache = new HashSet<>();
+        ArrayDeque<Frame> stack = new ArrayDeque<>();
+        State state = initial;
+        int deepest = 0;
+        Op blocking = null;
+        long steps = 0;
+
+        int entry = next[HEAD];
+        while (entry != NONE) {
+            if (++steps % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadlineNanos) {
+                return new Outcome(Verdict.UNKNOWN, deepest, blocking);
+            }
+            int opIndex = entryOp[entry];
+            Op op = ops[opIndex];
+            if (isCall[entry]) {
+                State after = BookingModel.apply(state, op);
+                if (after != null) {
+                    linearized.set(opIndex);
+                    if (cache.add(CacheKey.of(linearized, after))) {
+                        stack.push(new Frame(entry, state));
+                        state = after;
+                        linearizedCount++;
+                        lift(entry);
+                        entry = next[HEAD];
+                        continue;
+                    }
+                    linearized.clear(opIndex);
+                }
+                entry = next[entry];
+            } else {
+                if (op.optional()) {
+                    // only completions of optional operations remain: every other operation is linearized
+                    return new Outcome(Verdict.LINEARIZABLE, ops.length, null);
+                }
+                if (linearizedCount >= deepest) {
+                    deepest = linearizedCount;
+                    blocking = op;
+                }
+                if (stack.isEmpty()) {
+                    return new Outcome(Verdict.VIOLATION, deepest, blocking);
+                }
+                Frame frame = stack.pop();
+                state = frame.state();
+                linearized.clear(entryOp[frame.entry()]);
+                linearizedCount--;
+                unlift(frame.entry());
+                entry = next[frame.entry()];
+            }
+        }
+        return new Outcome(Verdict.LINEARIZABLE, ops.length, null);
+    }
+
+    // --- Entry List ---
+
+    private void lift(int call) {
+        unlink(call);
+        unlink(returnEntry[entryOp[call]]);
+    }
+
+    private void unlift(int call) {
+        relink(returnEntry[entryOp[call]]);
+        relink(call);
+    }
+
+    private void unlink(int entry) {
+        next[prev[entry]] = next[entry];
+        if (next[entry] != NONE) {
+            prev[next[entry]] = prev[entry];
+        }
+    }
+
+    private void relink(int entry) {
+        next[prev[entry]] = entry;
+        if (next[entry] != NONE) {
+            prev[next[entry]] = entry;
+        }
+    }
+
+    // --- Results ---
+
+    /**
+     * @param deepest The most operations linearized at once.
+     * @param blocking The operation that completed before the deepest partial linearization could include it.
+     */
+    record Outcome(Verdict verdict, int deepest, Op blocking) {
+    }
+
+    private record Frame(int entry, State state) {
+    }
+
+    /**
+     * A linearized set and model state: the linearized prefix length, the linearized operations after it and
+     * the state.
+     */
+    private record CacheKey(int prefix, int[] rest, State state) {
+
+        static CacheKey of(BitSet linearized, State state) {
+            int prefix = linearized.nextClearBit(0);
+            int[] rest = linearized.get(prefix, Math.max(prefix, linearized.length())).stream()
+                    .map(index -> index + prefix)
+                    .toArray();
+            return new CacheKey(prefix, rest, state);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CacheKey other && prefix == other.prefix && Arrays.equals(rest, other.rest)
+                    && state.equals(other.state);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * prefix + Arrays.hashCode(rest)) + state.hashCode();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package tests.utils.jfr;
+
+
+/**
+ * Scope of an {@link AssertionBatchEvent}, usually through {@link #run(String, Runnable)}:
+ * <pre>{@code
+ * AssertionBatch.run("assertSingleBookingDetails", () -> checkSingleBookingDetails(booking, expectedRoomId));
+ * }</pre>
+ * A batch that is closed without {@link #passed()} (i.e., an assertion threw) is recorded as failed.
+ */
+public final class AssertionBatch implements AutoCloseable {
+
+    private final AssertionBatchEvent event;
+
+    private AssertionBatch(AssertionBatchEvent event) {
+        this.event = event;
+    }
+
+    /**
+     * Runs the assertions of a helper as one batch, recorded as failed if any of them throws.
+     * @param name The name of the assertion helper.
+     * @param assertions The assertions.
+     */
+    public static void run(String name, Runnable assertions) {
+        try (AssertionBatch batch = start(name)) {
+            assertions.run();
+            batch.passed();
+        }
+    }
+
+    /**
+     * Starts timing an assertion batch, to be used with try-with-resources.
+     * @param name The name of the assertion helper.
+     * @return The open batch.
+     */
+    public static AssertionBatch start(String name) {
+        AssertionBatchEvent event = new AssertionBatchEvent();
+        event.name = name;
+        event.begin();
+        return new AssertionBatch(event);
+    }
+
+    /**
+     * Marks all assertions of the batch as passed.
+     */
+    public void passed() {
+        event.passed = true;
+    }
+
+    @Override
+    public void close() {
+        event.end();
+        if (event.shouldCommit()) {
+            event.testName = FlightRecording.currentTest();
+            event.commit();
+        }
+    }
+}
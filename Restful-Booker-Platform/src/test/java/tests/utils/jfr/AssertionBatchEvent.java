@@ -0,0 +1,30 @@
+package tests.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * JFR event for a batch of assertions run by one of the composite assertion helpers
+ * (e.g., {@code assertBrandingMatchesExpected}). Created through {@link AssertionBatch}.
+ */
+@Name("restbooker.AssertionBatch")
+@Label("Assertion Batch")
+@Category({"Restful Booker", "Assertions"})
+@Description("Composite assertion helper call and its outcome")
+@StackTrace(false)
+public class AssertionBatchEvent extends Event {
+
+    @Label("Test")
+    String testName;
+
+    @Label("Name")
+    String name;
+
+    @Label("Passed")
+    boolean passed;
+}
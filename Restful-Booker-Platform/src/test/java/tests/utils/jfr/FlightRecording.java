@@ -0,0 +1,88 @@
+package tests.utils.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+
+/**
+ * Run-wide JFR recording switch and the name of the test currently executing.
+ * A recording is started for the test run when {@code -Djfr.file=target/jfr/tests.jfr} is set, using the
+ * JDK {@code profile} settings (GC, safepoints, lock contention) unless {@code -Djfr.settings=default} is given.
+ * Summarize the file with {@link JfrSummary}.
+ */
+public final class FlightRecording {
+
+    public static final String FILE_PROPERTY = "jfr.file";
+    public static final String SETTINGS_PROPERTY = "jfr.settings";
+
+    private static final InheritableThreadLocal<String> CURRENT_TEST = new InheritableThreadLocal<>();
+    private static Recording recording;
+
+    private FlightRecording() {
+        // hidden constructor
+    }
+
+    /**
+     * @return The test running on this thread (or the thread that started it), e.g. {@code GetBookingsTests#testX()},
+     * or {@code null} outside of a test method.
+     */
+    public static String currentTest() {
+        return CURRENT_TEST.get();
+    }
+
+    static void setCurrentTest(String testName) {
+        if (testName == null) {
+            CURRENT_TEST.remove();
+        } else {
+            CURRENT_TEST.set(testName);
+        }
+    }
+
+    /**
+     * Starts the run-wide recording if {@code -Djfr.file} is set and it is not running yet.
+     * @return {@code true} if this call started the recording.
+     */
+    static synchronized boolean startIfRequested() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isBlank() || recording != null) {
+            return false;
+        }
+
+        try {
+            Path destination = Path.of(file).toAbsolutePath();
+            Files.createDirectories(destination.getParent());
+
+            recording = new Recording(Configuration.getConfiguration(System.getProperty(SETTINGS_PROPERTY, "profile")));
+            recording.setName("restful-booker-tests");
+            recording.setToDisk(true);
+            recording.setDestination(destination);
+            recording.start();
+            System.out.printf("JFR recording started, writing to %s%n", destination);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to start JFR recording to %s", file), e);
+        } catch (ParseException e) {
+            throw new IllegalStateException(String.format("Invalid JFR settings '%s'",
+                    System.getProperty(SETTINGS_PROPERTY)), e);
+        }
+    }
+
+    /**
+     * Stops the run-wide recording, which writes it to its destination.
+     */
+    static synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+        recording.stop();
+        System.out.printf("JFR recording written to %s%n", recording.getDestination());
+        recording.close();
+        recording = null;
+    }
+}
@@ -0,0 +1,67 @@
+package tests.utils.jfr;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.reflect.Method;
+
+
+/**
+ * JUnit 5 extension, registered for every test class through extension auto-detection
+ * (see {@code junit-platform.properties}), that starts the run-wide recording when requested,
+ * tags events with the running test and emits a {@link TestExecutionEvent} per test method.
+ */
+public class FlightRecordingExtension implements BeforeAllCallback, BeforeTestExecutionCallback,
+        AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(FlightRecordingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (FlightRecording.startIfRequested()) {
+            // the root store is closed once the whole run has finished
+            context.getRoot().getStore(NAMESPACE).put("recording",
+                    (ExtensionContext.Store.CloseableResource) FlightRecording::stop);
+        }
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        FlightRecording.setCurrentTest(testName(context));
+
+        TestExecutionEvent event = new TestExecutionEvent();
+        event.begin();
+        context.getStore(NAMESPACE).put(context.getUniqueId(), event);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        TestExecutionEvent event = context.getStore(NAMESPACE).remove(context.getUniqueId(), TestExecutionEvent.class);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.testName = FlightRecording.currentTest();
+                event.passed = context.getExecutionException().isEmpty();
+                event.commit();
+            }
+        }
+
+        FlightRecording.setCurrentTest(null);
+    }
+
+    /**
+     * Builds e.g. {@code GetBookingsTests#testGetBooking} or, for a parameterized invocation,
+     * {@code CreateBookingTests#testCreateBooking[Booking Room ID: 1]}.
+     */
+    private static String testName(ExtensionContext context) {
+        String className = context.getTestClass().map(Class::getSimpleName).orElse("?");
+        String methodName = context.getTestMethod().map(Method::getName).orElse(context.getDisplayName());
+        boolean invocation = context.getParent().flatMap(ExtensionContext::getTestMethod).isPresent();
+
+        return invocation
+                ? String.format("%s#%s[%s]", className, methodName, context.getDisplayName())
+                : String.format("%s#%s", className, methodName);
+    }
+}
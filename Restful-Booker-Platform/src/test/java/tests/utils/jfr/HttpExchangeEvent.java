@@ -0,0 +1,66 @@
+package tests.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * JFR event for a single HTTP exchange made through {@code BaseTest.givenRequest()}.
+ * Emitted by {@link tests.utils.filters.FlightRecorderFilter}.
+ */
+@Name("restbooker.HttpExchange")
+@Label("HTTP Exchange")
+@Category({"Restful Booker", "HTTP"})
+@Description("HTTP call made by the test suite, as observed by the client")
+@StackTrace(false)
+public class HttpExchangeEvent extends Event {
+
+    @Label("Test")
+    String testName;
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Path template relative to the base URI, e.g. /booking/{bookingId}")
+    String endpoint;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    @Description("Response status code, -1 if the call failed without a response")
+    int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long responseBytes;
+
+    /**
+     * Fills in the exchange details before the event is committed.
+     * @param method The HTTP method.
+     * @param endpoint The path template relative to the base URI.
+     * @param path The resolved path.
+     * @param status The response status code, or -1.
+     * @param requestBytes The request body size, or -1 if unknown.
+     * @param responseBytes The response body size, or -1 if unknown.
+     */
+    public void set(String method, String endpoint, String path, int status, long requestBytes, long responseBytes) {
+        this.testName = FlightRecording.currentTest();
+        this.method = method;
+        this.endpoint = endpoint;
+        this.path = path;
+        this.status = status;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+    }
+}
@@ -0,0 +1,177 @@
+package tests.utils.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Turns a test-run recording (see {@link FlightRecording}) into a per-endpoint and per-test breakdown.
+ * The per-test view includes GC pause and safepoint time and the longest lock wait inside each test window,
+ * so client-side latency spikes can be matched against JVM activity.
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.jfr.JfrSummary
+ * -Dexec.args="target/jfr/tests.jfr"}
+ */
+public final class JfrSummary {
+
+    private static final String HTTP_EXCHANGE = "restbooker.HttpExchange";
+    private static final String POLLING_ATTEMPT = "restbooker.PollingAttempt";
+    private static final String LOGIN = "restbooker.Login";
+    private static final String ASSERTION_BATCH = "restbooker.AssertionBatch";
+    private static final String TEST_EXECUTION = "restbooker.TestExecution";
+    private static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+    private static final String SAFEPOINT = "jdk.SafepointBegin";
+    private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+
+    private JfrSummary() {
+        // hidden constructor
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "target/jfr/tests.jfr");
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        System.out.printf("Recording: %s (%d events)%n%n", file, events.size());
+        printEndpoints(events);
+        System.out.println();
+        printTests(events);
+    }
+
+    private static void printEndpoints(List<RecordedEvent> events) {
+        Map<String, List<RecordedEvent>> byEndpoint = new TreeMap<>();
+        for (RecordedEvent event : events) {
+            if (isType(event, HTTP_EXCHANGE)) {
+                String key = String.format("%s %s", event.getString("method"), event.getString("endpoint"));
+                byEndpoint.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+            }
+        }
+
+        System.out.printf("%-40s %6s %6s %9s %9s %9s %9s %11s%n",
+                "Endpoint", "Calls", "Errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "Resp KB");
+        byEndpoint.forEach((endpoint, calls) -> {
+            long[] durations = calls.stream().mapToLong(e -> e.getDuration().toNanos()).sorted().toArray();
+            long errors = calls.stream().filter(e -> e.getInt("status") < 0 || e.getInt("status") >= 500).count();
+            long responseBytes = calls.stream().mapToLong(e -> Math.max(0, e.getLong("responseBytes"))).sum();
+
+            System.out.printf("%-40s %6d %6d %9.1f %9.1f %9.1f %9.1f %11.1f%n", endpoint, calls.size(), errors,
+                    millis(percentile(durations, 0.50)), millis(percentile(durations, 0.95)),
+                    millis(percentile(durations, 0.99)), millis(durations[durations.length - 1]),
+                    responseBytes / 1024.0);
+        });
+    }
+
+    private static void printTests(List<RecordedEvent> events) {
+        Map<String, TestBreakdown> byTest = new TreeMap<>();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().startsWith("restbooker.") && event.getString("testName") != null) {
+                byTest.computeIfAbsent(event.getString("testName"), TestBreakdown::new).add(event);
+            }
+        }
+        for (RecordedEvent event : events) {
+            if (isType(event, GARBAGE_COLLECTION) || isType(event, SAFEPOINT) || isType(event, MONITOR_ENTER)) {
+                byTest.values().forEach(test -> test.addJvmEvent(event));
+            }
+        }
+
+        System.out.printf("%-70s %6s %9s %6s %9s %7s %7s %9s %9s %9s %9s%n", "Test", "Result", "Test ms", "HTTP",
+                "HTTP ms", "Polls", "Logins", "Asserts", "GC ms", "SafePt ms", "Lock ms");
+        byTest.values().forEach(test -> System.out.printf("%-70s %6s %9.1f %6d %9.1f %7d %7d %9s %9.1f %9.1f %9.1f%n",
+                abbreviate(test.name, 70), test.result(), millis(test.duration), test.httpCalls, millis(test.httpNanos),
+                test.pollingAttempts, test.logins,
+                String.format("%d/%d", test.assertionBatches - test.failedAssertionBatches, test.assertionBatches),
+                millis(test.gcPauseNanos), millis(test.safepointNanos), millis(test.maxLockWaitNanos)));
+    }
+
+    private static boolean isType(RecordedEvent event, String name) {
+        return event.getEventType().getName().equals(name);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String abbreviate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength - 3) + "...";
+    }
+
+    /**
+     * Accumulated events of a single test.
+     */
+    private static final class TestBreakdown {
+
+        private final String name;
+        private Instant start;
+        private Instant end;
+        private long duration;
+        private Boolean passed;
+        private int httpCalls;
+        private long httpNanos;
+        private int pollingAttempts;
+        private int logins;
+        private int assertionBatches;
+        private int failedAssertionBatches;
+        private long gcPauseNanos;
+        private long safepointNanos;
+        private long maxLockWaitNanos;
+
+        private TestBreakdown(String name) {
+            this.name = name;
+        }
+
+        private void add(RecordedEvent event) {
+            switch (event.getEventType().getName()) {
+                case HTTP_EXCHANGE -> {
+                    httpCalls++;
+                    httpNanos += event.getDuration().toNanos();
+                }
+                case POLLING_ATTEMPT -> pollingAttempts++;
+                case LOGIN -> logins++;
+                case ASSERTION_BATCH -> {
+                    assertionBatches++;
+                    failedAssertionBatches += event.getBoolean("passed") ? 0 : 1;
+                }
+                case TEST_EXECUTION -> {
+                    start = event.getStartTime();
+                    end = event.getEndTime();
+                    duration = event.getDuration().toNanos();
+                    passed = event.getBoolean("passed");
+                }
+                default -> {
+                    // not part of the breakdown
+                }
+            }
+        }
+
+        /**
+         * Attributes a JVM event to this test if it falls inside the test window.
+         */
+        private void addJvmEvent(RecordedEvent event) {
+            if (start == null || event.getEndTime().isBefore(start) || event.getStartTime().isAfter(end)) {
+                return;
+            }
+            if (isType(event, GARBAGE_COLLECTION)) {
+                gcPauseNanos += event.getDuration("sumOfPauses").toNanos();
+            } else if (isType(event, MONITOR_ENTER)) {
+                maxLockWaitNanos = Math.max(maxLockWaitNanos, event.getDuration().toNanos());
+            } else if (isType(event, SAFEPOINT)) {
+                safepointNanos += event.getDuration().toNanos();
+            }
+        }
+
+        private String result() {
+            return passed == null ? "?" : passed ? "PASS" : "FAIL";
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package tests.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * JFR event for a login performed by {@code BaseTest.getAuthToken()}, including its response assertions.
+ */
+@Name("restbooker.Login")
+@Label("Login")
+@Category({"Restful Booker", "Auth"})
+@Description("Token login made by the test suite")
+@StackTrace(false)
+public class LoginEvent extends Event {
+
+    @Label("Test")
+    String testName;
+
+    @Label("Status")
+    int status = -1;
+
+    @Label("Success")
+    boolean success;
+
+    /**
+     * Records the login response status.
+     * @param status The response status code.
+     */
+    public void setStatus(int status) {
+        this.testName = FlightRecording.currentTest();
+        this.status = status;
+    }
+
+    /**
+     * Marks the login as successful (a valid token was returned).
+     */
+    public void succeeded() {
+        this.success = true;
+    }
+}
@@ -0,0 +1,50 @@
+package tests.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * JFR event for a single attempt of {@code TestUtils.waitForCondition}.
+ */
+@Name("restbooker.PollingAttempt")
+@Label("Polling Attempt")
+@Category({"Restful Booker", "Polling"})
+@Description("Single waitForCondition attempt and its outcome")
+@StackTrace(false)
+public class PollingAttemptEvent extends Event {
+
+    public static final String MET = "MET";
+    public static final String NOT_MET = "NOT_MET";
+    public static final String ERROR = "ERROR";
+
+    @Label("Test")
+    String testName;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Outcome")
+    @Description("MET, NOT_MET or ERROR")
+    String outcome;
+
+    @Label("Error")
+    String error;
+
+    /**
+     * Fills in the attempt details before the event is committed.
+     * @param attempt The 1-based attempt number.
+     * @param outcome One of {@link #MET}, {@link #NOT_MET} or {@link #ERROR}.
+     * @param error The error message for {@link #ERROR} attempts, otherwise {@code null}.
+     */
+    public void set(int attempt, String outcome, String error) {
+        this.testName = FlightRecording.currentTest();
+        this.attempt = attempt;
+        this.outcome = outcome;
+        this.error = error;
+    }
+}
@@ -0,0 +1,27 @@
+package tests.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * JFR event spanning the execution of a single test method, emitted by {@link FlightRecordingExtension}.
+ * Gives the per-test time window for correlating with GC, safepoint and lock events.
+ */
+@Name("restbooker.TestExecution")
+@Label("Test Execution")
+@Category({"Restful Booker", "Tests"})
+@Description("Execution of a single test method")
+@StackTrace(false)
+public class TestExecutionEvent extends Event {
+
+    @Label("Test")
+    String testName;
+
+    @Label("Passed")
+    boolean passed;
+}
@@ -0,0 +1,140 @@
+package tests.utils.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Exports {@link MetricsRegistry#global()} in the OpenMetrics text format:
+ * <ul>
+ *     <li>{@code -Dmetrics.file=target/metrics/tests.prom} writes the file when the run ends</li>
+ *     <li>{@code -Dmetrics.intervalSeconds=N} additionally rewrites the file every N seconds</li>
+ *     <li>{@code -Dmetrics.port=9464} serves {@code /metrics} on localhost while the run is in progress</li>
+ * </ul>
+ * The test suite starts it through {@link MetricsExtension}; load runs call {@link #startFromSystemProperties()}.
+ */
+public final class MetricsExporter implements AutoCloseable {
+
+    public static final String FILE_PROPERTY = "metrics.file";
+    public static final String INTERVAL_PROPERTY = "metrics.intervalSeconds";
+    public static final String PORT_PROPERTY = "metrics.port";
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private final MetricsRegistry registry;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+    private final HttpServer server;
+
+    private MetricsExporter(MetricsRegistry registry, Path file, int intervalSeconds, int port) throws IOException {
+        this.registry = registry;
+        this.file = file;
+
+        if (file != null && intervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-file-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(this::writeFileQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            scheduler = null;
+        }
+
+        if (port >= 0) {
+            server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            System.out.printf("Serving metrics on http://localhost:%d/metrics%n", server.getAddress().getPort());
+        } else {
+            server = null;
+        }
+    }
+
+    /**
+     * Starts the exporters requested through system properties.
+     * @return The running exporter, or {@code null} if no export was requested.
+     */
+    public static MetricsExporter startFromSystemProperties() {
+        String file = System.getProperty(FILE_PROPERTY);
+        int port = Integer.parseInt(System.getProperty(PORT_PROPERTY, "-1"));
+        if ((file == null || file.isBlank()) && port < 0) {
+            return null;
+        }
+
+        try {
+            return new MetricsExporter(MetricsRegistry.global(),
+                    file == null || file.isBlank() ? null : Path.of(file).toAbsolutePath(),
+                    Integer.parseInt(System.getProperty(INTERVAL_PROPERTY, "0")), port);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to start metrics endpoint on port %d", port), e);
+        }
+    }
+
+    /**
+     * @return The port of the local endpoint, or -1 if none is served.
+     */
+    public int port() {
+        return server == null ? -1 : server.getAddress().getPort();
+    }
+
+    /**
+     * Writes the current metrics to the configured file, replacing it atomically so scrapers never read a
+     * partial file.
+     */
+    public void writeFile() {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, registry.scrape(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to write metrics to %s", file), e);
+        }
+    }
+
+    /**
+     * Stops periodic writes and the endpoint, then writes the final file.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+        writeFile();
+        if (file != null) {
+            System.out.printf("Metrics written to %s%n", file);
+        }
+    }
+
+    private void writeFileQuietly() {
+        try {
+            writeFile();
+        } catch (UncheckedIOException e) {
+            System.out.printf("Periodic metrics write failed: %s%n", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package tests.utils.metrics;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+
+/**
+ * JUnit 5 extension, registered for every test class through extension auto-detection, that starts the
+ * {@link MetricsExporter} once per run when requested and writes the final file when the run ends.
+ */
+public class MetricsExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(MetricsExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        // the root store is shared by the whole run and closed once it has finished
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("exporter", key -> {
+            MetricsExporter exporter = MetricsExporter.startFromSystemProperties();
+            return exporter == null ? "disabled" : (ExtensionContext.Store.CloseableResource) exporter::close;
+        });
+    }
+}
@@ -0,0 +1,294 @@
+package tests.utils.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+
+/**
+ * Minimal, lock-free metrics registry rendering the OpenMetrics text format (which Prometheus scrapes as well).
+ * Supports labelled counters, labelled histograms and gauges backed by a supplier.
+ * The process-wide instance used by the suite is {@link #global()}; the suite's metrics live in {@link SuiteMetrics}.
+ */
+public final class MetricsRegistry {
+
+    /**
+     * Default latency buckets in seconds, from 5 ms to 30 s.
+     */
+    public static final double[] LATENCY_BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * @return The process-wide registry.
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Registers (or returns the already registered) counter.
+     * @param name The metric name without the {@code _total} suffix.
+     * @param help The help text.
+     * @param labelNames The label names, in the order values are passed to {@link Counter#inc(String...)}.
+     * @return The counter.
+     */
+    public Counter counter(String name, String help, String... labelNames) {
+        return (Counter) metrics.computeIfAbsent(name, n -> new Counter(n, help, labelNames));
+    }
+
+    /**
+     * Registers (or returns the already registered) histogram.
+     * @param name The metric name, e.g. {@code restbooker_http_request_duration_seconds}.
+     * @param help The help text.
+     * @param buckets The ascending upper bounds of the buckets; {@code +Inf} is added implicitly.
+     * @param labelNames The label names, in the order values are passed to {@link Histogram#observe(double, String...)}.
+     * @return The histogram.
+     */
+    public Histogram histogram(String name, String help, double[] buckets, String... labelNames) {
+        return (Histogram) metrics.computeIfAbsent(name, n -> new Histogram(n, help, buckets, labelNames));
+    }
+
+    /**
+     * Registers (or replaces) an unlabelled gauge whose value is read at scrape time.
+     * @param name The metric name.
+     * @param help The help text.
+     * @param value The supplier of the current value.
+     */
+    public void gauge(String name, String help, DoubleSupplier value) {
+        metrics.put(name, new Gauge(name, help, value));
+    }
+
+    /**
+     * Renders all metrics in the OpenMetrics text exposition format, terminated by {@code # EOF}.
+     * @return The exposition text.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        metrics.values().stream()
+                .sorted((a, b) -> a.name.compareTo(b.name))
+                .forEach(metric -> metric.render(out));
+        return out.append("# EOF\n").toString();
+    }
+
+    /**
+     * Resets all counter and histogram series (e.g., between load-run phases).
+     */
+    public void clear() {
+        metrics.values().forEach(Metric::reset);
+    }
+
+    private abstract static sealed class Metric permits Counter, Histogram, Gauge {
+
+        final String name;
+        final String help;
+        final String type;
+        final String[] labelNames;
+
+        Metric(String name, String help, String type, String[] labelNames) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labelNames = labelNames;
+        }
+
+        void render(StringBuilder out) {
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+            out.append("# HELP ").append(name).append(' ').append(escape(help)).append('\n');
+            renderSamples(out);
+        }
+
+        abstract void renderSamples(StringBuilder out);
+
+        abstract void reset();
+
+        List<String> key(String[] labelValues) {
+            if (labelValues.length != labelNames.length) {
+                throw new IllegalArgumentException(String.format("Metric %s expects labels %s but got %s",
+                        name, Arrays.toString(labelNames), Arrays.toString(labelValues)));
+            }
+            return List.of(labelValues);
+        }
+
+        void appendLabels(StringBuilder out, List<String> labelValues, String extraName, String extraValue) {
+            if (labelValues.isEmpty() && extraName == null) {
+                return;
+            }
+            out.append('{');
+            for (int i = 0; i < labelValues.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labelNames[i]).append("=\"").append(escape(labelValues.get(i))).append('"');
+            }
+            if (extraName != null) {
+                if (!labelValues.isEmpty()) {
+                    out.append(',');
+                }
+                out.append(extraName).append("=\"").append(extraValue).append('"');
+            }
+            out.append('}');
+        }
+
+        private static String escape(String value) {
+            return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+
+    /**
+     * Monotonic counter with labels.
+     */
+    public static final class Counter extends Metric {
+
+        private final Map<List<String>, LongAdder> series = new ConcurrentHashMap<>();
+
+        private Counter(String name, String help, String[] labelNames) {
+            super(name, help, "counter", labelNames);
+        }
+
+        /**
+         * Increments the series identified by the label values by one.
+         * @param labelValues The label values, in registration order.
+         */
+        public void inc(String... labelValues) {
+            add(1, labelValues);
+        }
+
+        /**
+         * Increments the series identified by the label values.
+         * @param amount The non-negative amount to add.
+         * @param labelValues The label values, in registration order.
+         */
+        public void add(long amount, String... labelValues) {
+            series.computeIfAbsent(key(labelValues), k -> new LongAdder()).add(amount);
+        }
+
+        /**
+         * @param labelValues The label values, in registration order.
+         * @return The current value of the series, 0 if it was never incremented.
+         */
+        public long get(String... labelValues) {
+            LongAdder adder = series.get(key(labelValues));
+            return adder == null ? 0 : adder.sum();
+        }
+
+        /**
+         * @return The number of distinct label combinations seen so far.
+         */
+        public int seriesCount() {
+            return series.size();
+        }
+
+        @Override
+        void renderSamples(StringBuilder out) {
+            series.forEach((labels, value) -> {
+                out.append(name).append("_total");
+                appendLabels(out, labels, null, null);
+                out.append(' ').append(value.sum()).append('\n');
+            });
+        }
+
+        @Override
+        void reset() {
+            series.clear();
+        }
+    }
+
+    /**
+     * Cumulative histogram with fixed buckets and labels.
+     */
+    public static final class Histogram extends Metric {
+
+        private final double[] buckets;
+        private final String[] bucketLabels;
+        private final Map<List<String>, Series> series = new ConcurrentHashMap<>();
+
+        private Histogram(String name, String help, double[] buckets, String[] labelNames) {
+            super(name, help, "histogram", labelNames);
+            this.buckets = buckets.clone();
+            this.bucketLabels = new String[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                bucketLabels[i] = Double.toString(buckets[i]);
+            }
+        }
+
+        /**
+         * Records an observation in the series identified by the label values.
+         * @param value The observed value (seconds for durations).
+         * @param labelValues The label values, in registration order.
+         */
+        public void observe(double value, String... labelValues) {
+            Series s = series.computeIfAbsent(key(labelValues), k -> new Series(buckets.length));
+            // buckets are rendered cumulatively, so only the first matching bucket is incremented here
+            int bucket = Arrays.binarySearch(buckets, value);
+            s.counts[bucket >= 0 ? bucket : -bucket - 1].increment();
+            s.sum.add(value);
+        }
+
+        @Override
+        void renderSamples(StringBuilder out) {
+            series.forEach((labels, s) -> {
+                long cumulative = 0;
+                for (int i = 0; i <= buckets.length; i++) {
+                    cumulative += s.counts[i].sum();
+                    out.append(name).append("_bucket");
+                    appendLabels(out, labels, "le", i < buckets.length ? bucketLabels[i] : "+Inf");
+                    out.append(' ').append(cumulative).append('\n');
+                }
+                out.append(name).append("_count");
+                appendLabels(out, labels, null, null);
+                out.append(' ').append(cumulative).append('\n');
+                out.append(name).append("_sum");
+                appendLabels(out, labels, null, null);
+                out.append(' ').append(s.sum.sum()).append('\n');
+            });
+        }
+
+        @Override
+        void reset() {
+            series.clear();
+        }
+
+        private static final class Series {
+
+            private final LongAdder[] counts;
+            private final DoubleAdder sum = new DoubleAdder();
+
+            private Series(int buckets) {
+                counts = new LongAdder[buckets + 1];
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = new LongAdder();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gauge reading its value from a supplier at scrape time.
+     */
+    private static final class Gauge extends Metric {
+
+        private final DoubleSupplier value;
+
+        private Gauge(String name, String help, DoubleSupplier value) {
+            super(name, help, "gauge", new String[0]);
+            this.value = value;
+        }
+
+        @Override
+        void renderSamples(StringBuilder out) {
+            out.append(name).append(' ').append(value.getAsDouble()).append('\n');
+        }
+
+        @Override
+        void reset() {
+            // gauges read live values
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package tests.utils.metrics;
+
+import tests.utils.metrics.MetricsRegistry.Counter;
+import tests.utils.metrics.MetricsRegistry.Histogram;
+
+
+/**
+ * Metrics recorded by the suite and load runs, registered in {@link MetricsRegistry#global()}.
+ */
+public final class SuiteMetrics {
+
+    /**
+     * Upper bound on distinct error messages, so messages carrying IDs cannot explode the label cardinality.
+     */
+    public static final int MAX_ERROR_MESSAGES = 50;
+    public static final String OTHER_ERROR = "other";
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.global();
+
+    // --- HTTP ---
+    public static final Counter HTTP_REQUESTS = REGISTRY.counter("restbooker_http_requests",
+            "HTTP requests made through givenRequest()", "method", "endpoint", "status");
+    public static final Histogram HTTP_DURATION = REGISTRY.histogram("restbooker_http_request_duration_seconds",
+            "Client-observed HTTP request duration", MetricsRegistry.LATENCY_BUCKETS, "method", "endpoint");
+    public static final Counter HTTP_ERRORS = REGISTRY.counter("restbooker_http_errors",
+            "Error responses by status and 'error' message", "endpoint", "status", "error");
+
+    // --- Auth Token Cache ---
+    public static final Counter TOKEN_CACHE = REGISTRY.counter("restbooker_token_cache_requests",
+            "Auth token lookups by result (hit or miss, a miss performs a login)", "result");
+
+    // --- Request Coalescing ---
+    public static final Counter SINGLE_FLIGHT_GETS = REGISTRY.counter("restbooker_single_flight_gets",
+            "GETs opted into coalescing, by result (network: sent by the leader, coalesced: served from its call)",
+            "endpoint", "result");
+
+    // --- Polling ---
+    public static final Histogram POLLING_WAIT = REGISTRY.histogram("restbooker_polling_wait_seconds",
+            "Total waitForCondition time until the condition was met or timed out",
+            new double[]{0.1, 0.5, 1, 2.5, 5, 10, 20, 30, 60, 120}, "outcome");
+    public static final Counter POLLING_ATTEMPTS = REGISTRY.counter("restbooker_polling_attempts",
+            "waitForCondition attempts by outcome", "outcome");
+
+    // --- Client Policies ---
+    public static final Counter CLIENT_RETRIES = REGISTRY.counter("restbooker_client_retries",
+            "Retry decisions for transient failures (retried, gave_up, budget_exhausted or circuit_open)",
+            "endpoint", "outcome");
+    public static final Counter CLIENT_HEDGES = REGISTRY.counter("restbooker_client_hedges",
+            "Hedged GETs by outcome (sent, won or budget_exhausted)", "endpoint", "outcome");
+    public static final Counter CIRCUIT_TRANSITIONS = REGISTRY.counter("restbooker_client_circuit_transitions",
+            "Circuit breaker state changes by the state entered", "endpoint", "state");
+    public static final Counter CIRCUIT_REJECTIONS = REGISTRY.counter("restbooker_client_circuit_rejections",
+            "Calls failed fast by an open circuit", "endpoint");
+    public static final Histogram LIMITER_WAIT = REGISTRY.histogram("restbooker_client_limiter_wait_seconds",
+            "Time requests waited for a client-side limiter, by limit rule and limiter (rate or concurrency)",
+            new double[]{0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5, 10, 30}, "rule", "limiter");
+    public static final Counter CONCURRENCY_LIMIT_DECREASES = REGISTRY.counter(
+            "restbooker_client_concurrency_limit_decreases",
+            "Adaptive concurrency limit cuts after a failed or slow call, by limit rule", "rule");
+
+    private SuiteMetrics() {
+        // hidden constructor
+    }
+
+    /**
+     * Records an error response, folding new messages into {@link #OTHER_ERROR} once
+     * {@link #MAX_ERROR_MESSAGES} distinct label combinations exist.
+     * @param endpoint The endpoint template.
+     * @param status The response status code.
+     * @param error The 'error' message of the response body, may be {@code null}.
+     */
+    public static void recordError(String endpoint, int status, String error) {
+        String statusLabel = Integer.toString(status);
+        String message = error == null ? "" : error;
+
+        if (HTTP_ERRORS.seriesCount() >= MAX_ERROR_MESSAGES && HTTP_ERRORS.get(endpoint, statusLabel, message) == 0) {
+            message = OTHER_ERROR;
+        }
+        HTTP_ERRORS.inc(endpoint, statusLabel, message);
+    }
+}
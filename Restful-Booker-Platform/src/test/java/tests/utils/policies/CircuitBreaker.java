@@ -0,0 +1,130 @@
+package tests.utils.policies;
+
+import java.util.Locale;
+
+import static tests.utils.metrics.SuiteMetrics.CIRCUIT_TRANSITIONS;
+
+
+/**
+ * Circuit breaker of one endpoint. While CLOSED, calls pass and their outcomes fill a sliding window; once the
+ * failure rate reaches the threshold the circuit is OPEN and calls fail fast for the open duration. After that,
+ * a single trial call is let through (HALF_OPEN): its success closes the circuit, its failure opens it again.
+ * Only transient failures (see {@link RetryPolicy#TRANSIENT_STATUSES}) count as failures; a 4xx or a 500
+ * is the endpoint working as designed.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String endpoint;
+    private final CircuitBreakerPolicy policy;
+    private final boolean[] outcomes;
+    private int next;
+    private int calls;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * @param endpoint The endpoint template, used as the metrics label.
+     * @param policy The breaker settings.
+     */
+    public CircuitBreaker(String endpoint, CircuitBreakerPolicy policy) {
+        this.endpoint = endpoint;
+        this.policy = policy;
+        this.outcomes = new boolean[policy.windowSize()];
+    }
+
+    /**
+     * Asks for permission to make a call. A permitted call must report its outcome with {@link #onSuccess()}
+     * or {@link #onFailure()}, or hand the permission back with {@link #release()}.
+     * @return Whether the call may be made.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (remainingOpenNanos() > 0) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Records a permitted call that did not fail transiently.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            next = calls = failures = 0;
+            transition(State.CLOSED);
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Records a permitted call that failed transiently, opening the circuit if the failure rate is reached.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= policy.minCalls() && failures >= policy.failureRateThreshold() * calls) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Hands back the permission of a call whose outcome says nothing about the endpoint, e.g. one that failed on
+     * the client side; a HALF_OPEN circuit lets the next call through as its trial.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    // --- Getters ---
+    public String endpoint() { return endpoint; }
+    public synchronized State state() { return state; }
+
+    /**
+     * @return How long the circuit stays open before a trial call, in nanoseconds; 0 unless OPEN.
+     */
+    public synchronized long remainingOpenNanos() {
+        return state != State.OPEN ? 0
+                : Math.max(0, policy.openDuration().toNanos() - (System.nanoTime() - openedAt));
+    }
+
+    private void record(boolean failed) {
+        if (calls == outcomes.length) {
+            failures -= outcomes[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        outcomes[next] = failed;
+        failures += failed ? 1 : 0;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        transition(State.OPEN);
+    }
+
+    private void transition(State target) {
+        state = target;
+        CIRCUIT_TRANSITIONS.inc(endpoint, target.name().toLowerCase(Locale.ROOT));
+    }
+}
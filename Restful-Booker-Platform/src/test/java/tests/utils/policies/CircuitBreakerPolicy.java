@@ -0,0 +1,22 @@
+package tests.utils.policies;
+
+import java.time.Duration;
+
+
+/**
+ * Settings of the per-endpoint {@link CircuitBreaker}s.
+ * @param windowSize Number of most recent calls the failure rate is computed over.
+ * @param minCalls Calls the window needs before the circuit may open.
+ * @param failureRateThreshold Failure rate (0 to 1) at which the circuit opens.
+ * @param openDuration How long an open circuit fails calls fast before letting a trial call through.
+ */
+public record CircuitBreakerPolicy(int windowSize, int minCalls, double failureRateThreshold,
+                                   Duration openDuration) {
+
+    public CircuitBreakerPolicy {
+        if (windowSize < 1 || minCalls < 1 || minCalls > windowSize) {
+            throw new IllegalArgumentException(String.format("Invalid circuit breaker window: size %d, min calls %d",
+                    windowSize, minCalls));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package tests.utils.policies;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Signals a call that was not sent because the {@link CircuitBreaker} of its endpoint is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String endpoint;
+
+    /**
+     * Constructs a new CircuitOpenException for a call failed fast.
+     * @param method The HTTP method of the call.
+     * @param endpoint The endpoint template whose circuit is open.
+     * @param remainingOpenNanos How long the circuit stays open before a trial call.
+     */
+    public CircuitOpenException(String method, String endpoint, long remainingOpenNanos) {
+        super(String.format("%s %s was not sent: the circuit is open for another %d ms", method, endpoint,
+                TimeUnit.NANOSECONDS.toMillis(remainingOpenNanos)));
+        this.endpoint = endpoint;
+    }
+
+    // --- Getters ---
+    public String getEndpoint() { return endpoint; }
+}
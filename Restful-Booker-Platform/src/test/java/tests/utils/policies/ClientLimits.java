@@ -0,0 +1,195 @@
+package tests.utils.policies;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static tests.utils.metrics.SuiteMetrics.CONCURRENCY_LIMIT_DECREASES;
+import static tests.utils.metrics.SuiteMetrics.LIMITER_WAIT;
+
+
+/**
+ * The rate and concurrency limits {@code ClientLimitFilter} applies to every request sent through
+ * {@code BaseTest.givenRequest()}, so parallel and load runs cannot hammer a shared target. Each request is
+ * limited by the most specific {@link LimitRule} covering its endpoint; requests no rule covers are not limited.
+ * The global instance is configured with {@code -Dclient.limits}, rules separated by {@code ;}, e.g.
+ * {@code -Dclient.limits="* rate=50:50 concurrency=8:1:64; /auth/login rate=2"}.
+ * Time spent waiting for a permit is recorded in the {@code restbooker_client_limiter_wait_seconds} histogram
+ * and summed per rule in {@link #stats()}.
+ */
+public final class ClientLimits {
+
+    private static volatile ClientLimits global = fromSystemProperties();
+
+    private final List<Limiter> limiters;
+
+    /**
+     * @param rules The limit rules; at most one per endpoint.
+     */
+    public ClientLimits(List<LimitRule> rules) {
+        this.limiters = rules.stream()
+                .sorted(Comparator.comparingInt((LimitRule rule) -> rule.endpoint().length()).reversed())
+                .map(Limiter::new)
+                .toList();
+    }
+
+    /**
+     * @return Limits that let every request through at once.
+     */
+    public static ClientLimits none() {
+        return new ClientLimits(List.of());
+    }
+
+    /**
+     * @return Limits parsed from {@code -Dclient.limits}, none if unset.
+     */
+    public static ClientLimits fromSystemProperties() {
+        String spec = System.getProperty("client.limits", "");
+        return new ClientLimits(Arrays.stream(spec.split(";"))
+                .filter(rule -> !rule.isBlank())
+                .map(LimitRule::parse)
+                .toList());
+    }
+
+    /**
+     * @return The limits applied by {@code BaseTest.givenRequest()}.
+     */
+    public static ClientLimits global() {
+        return global;
+    }
+
+    /**
+     * Replaces the global limits, with fresh limiter state.
+     * @param limits The limits to apply from now on.
+     * @return The previous global limits, to be restored afterward.
+     */
+    public static ClientLimits setGlobal(ClientLimits limits) {
+        ClientLimits previous = global;
+        global = limits;
+        return previous;
+    }
+
+    /**
+     * Waits for the rate limiter, then for a concurrency slot, of the rule covering the endpoint.
+     * @param endpoint The endpoint template of the request.
+     * @return The permit, to be released once the response arrived.
+     */
+    public Permit acquire(String endpoint) {
+        for (Limiter limiter : limiters) {
+            if (limiter.rule.matches(endpoint)) {
+                return limiter.acquire();
+            }
+        }
+        return Permit.UNLIMITED;
+    }
+
+    /**
+     * @return Waiting and concurrency statistics per rule, most specific first.
+     */
+    public List<LimiterStats> stats() {
+        return limiters.stream().map(Limiter::stats).toList();
+    }
+
+    /**
+     * Prints one line per rule.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n=== Client-side limiters ===%n");
+        out.printf("%-28s %8s %14s %14s %14s %8s%n",
+                "Endpoint", "Calls", "Rate wait (ms)", "Conc wait (ms)", "Max wait (ms)", "Limit");
+        for (LimiterStats stats : stats()) {
+            out.printf("%-28s %8d %14.1f %14.1f %14.1f %8s%n", stats.endpoint().isEmpty() ? "*" : stats.endpoint(),
+                    stats.calls(), stats.rateWaitNanos() / 1e6, stats.concurrencyWaitNanos() / 1e6,
+                    stats.maxWaitNanos() / 1e6, stats.concurrencyLimit() < 0 ? "-" : stats.concurrencyLimit());
+        }
+    }
+
+    /**
+     * Totals of one rule's limiters.
+     * @param concurrencyLimit The current adaptive limit, or -1 without a concurrency limit.
+     */
+    public record LimiterStats(String endpoint, long calls, long rateWaitNanos, long concurrencyWaitNanos,
+                               long maxWaitNanos, int concurrencyLimit, int inFlight) {
+    }
+
+    /**
+     * A granted request; {@link #release} must be called exactly once.
+     */
+    public static final class Permit {
+
+        private static final Permit UNLIMITED = new Permit(null);
+
+        private final Limiter limiter;
+
+        private Permit(Limiter limiter) {
+            this.limiter = limiter;
+        }
+
+        /**
+         * @param latencyNanos How long the request took.
+         * @param failed Whether it failed transiently (a transport error, 429, 502, 503 or 504).
+         */
+        public void release(long latencyNanos, boolean failed) {
+            if (limiter != null) {
+                limiter.release(latencyNanos, failed);
+            }
+        }
+    }
+
+    private static final class Limiter {
+
+        private final LimitRule rule;
+        private final String label;
+        private final RateLimiter rate;
+        private final ConcurrencyLimiter concurrency;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder rateWaitNanos = new LongAdder();
+        private final LongAdder concurrencyWaitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+        private Limiter(LimitRule rule) {
+            this.rule = rule;
+            this.label = rule.endpoint().isEmpty() ? "*" : rule.endpoint();
+            this.rate = rule.permitsPerSecond() > 0 ? new RateLimiter(rule.permitsPerSecond(), rule.burst()) : null;
+            this.concurrency = rule.maxConcurrency() > 0
+                    ? new ConcurrencyLimiter(rule.initialConcurrency(), rule.minConcurrency(), rule.maxConcurrency())
+                    : null;
+        }
+
+        private Permit acquire() {
+            long rateWait = rate == null ? 0 : rate.acquire();
+            long concurrencyWait = concurrency == null ? 0 : concurrency.acquire();
+
+            calls.increment();
+            rateWaitNanos.add(rateWait);
+            concurrencyWaitNanos.add(concurrencyWait);
+            maxWaitNanos.accumulate(rateWait + concurrencyWait);
+            if (rate != null) {
+                LIMITER_WAIT.observe(rateWait / 1_000_000_000.0, label, "rate");
+            }
+            if (concurrency == null) {
+                return Permit.UNLIMITED;
+            }
+            LIMITER_WAIT.observe(concurrencyWait / 1_000_000_000.0, label, "concurrency");
+
+            return new Permit(this);
+        }
+
+        private void release(long latencyNanos, boolean failed) {
+            boolean slow = rule.latencyThreshold() != null && latencyNanos > rule.latencyThreshold().toNanos();
+            if (concurrency.release(failed || slow)) {
+                CONCURRENCY_LIMIT_DECREASES.inc(label);
+            }
+        }
+
+        private LimiterStats stats() {
+            return new LimiterStats(rule.endpoint(), calls.sum(), rateWaitNanos.sum(), concurrencyWaitNanos.sum(),
+                    maxWaitNanos.get(), concurrency == null ? -1 : concurrency.limit(),
+                    concurrency == null ? 0 : concurrency.inFlight());
+        }
+    }
+}
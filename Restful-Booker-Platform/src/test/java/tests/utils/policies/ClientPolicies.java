@@ -0,0 +1,168 @@
+package tests.utils.policies;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import tests.utils.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * The client-side policies {@code ClientPolicyFilter} applies to every call made through
+ * {@code BaseTest.givenRequest()}, together with the per-endpoint state they keep. A {@code null} policy is
+ * disabled. The global instance is configured from system properties:
+ * <ul>
+ *   <li>{@code -Dclient.retry.maxAttempts} (default 3, 1 disables retries), {@code -Dclient.retry.backoffMillis}
+ *   (default 100), {@code -Dclient.retry.maxBackoffMillis} (default 2000), {@code -Dclient.retry.budgetRatio}
+ *   (default 0.2) and {@code -Dclient.retry.budgetReserve} (default 10)</li>
+ *   <li>{@code -Dclient.hedging.enabled} (default false), {@code -Dclient.hedging.quantile} (default 0.95) and
+ *   {@code -Dclient.hedging.delayMillis} (default 250, used until an endpoint has 20 latencies recorded)</li>
+ *   <li>{@code -Dclient.circuitBreaker.enabled} (default true), {@code -Dclient.circuitBreaker.failureRate}
+ *   (default 0.5 over the last 20 calls, at least 10) and {@code -Dclient.circuitBreaker.openMillis}
+ *   (default 5000)</li>
+ * </ul>
+ * Tests that need other settings install their own instance with {@link #setGlobal(ClientPolicies)}.
+ */
+public final class ClientPolicies {
+
+    private static volatile ClientPolicies global = fromSystemProperties();
+
+    static {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.gauge("restbooker_client_retry_budget_tokens", "Tokens left in the retry budget", () -> {
+            RetryPolicy retry = global.retry();
+            return retry == null ? 0 : retry.budget().available();
+        });
+        registry.gauge("restbooker_client_circuits_open", "Endpoints whose circuit is currently open",
+                () -> global.openCircuits());
+    }
+
+    private final RetryPolicy retry;
+    private final HedgingPolicy hedging;
+    private final CircuitBreakerPolicy circuitBreaker;
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * @param retry The retry policy, or {@code null} to disable retries.
+     * @param hedging The hedging policy, or {@code null} to disable hedging.
+     * @param circuitBreaker The circuit breaker settings, or {@code null} to disable circuit breaking.
+     */
+    public ClientPolicies(RetryPolicy retry, HedgingPolicy hedging, CircuitBreakerPolicy circuitBreaker) {
+        this.retry = retry;
+        this.hedging = hedging;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * @return Policies that send every call exactly once.
+     */
+    public static ClientPolicies none() {
+        return new ClientPolicies(null, null, null);
+    }
+
+    /**
+     * @return Policies configured from the {@code client.*} system properties.
+     */
+    public static ClientPolicies fromSystemProperties() {
+        int maxAttempts = Integer.getInteger("client.retry.maxAttempts", 3);
+        RetryPolicy retry = maxAttempts <= 1 ? null : new RetryPolicy(maxAttempts,
+                Duration.ofMillis(Long.getLong("client.retry.backoffMillis", 100)),
+                Duration.ofMillis(Long.getLong("client.retry.maxBackoffMillis", 2000)),
+                RetryPolicy.TRANSIENT_STATUSES,
+                new RetryBudget(doubleProperty("client.retry.budgetRatio", 0.2),
+                        Integer.getInteger("client.retry.budgetReserve", 10)));
+
+        HedgingPolicy hedging = !Boolean.getBoolean("client.hedging.enabled") ? null : new HedgingPolicy(
+                doubleProperty("client.hedging.quantile", 0.95),
+                Duration.ofMillis(Long.getLong("client.hedging.delayMillis", 250)),
+                Duration.ofMillis(20), 20, 200, new RetryBudget(0.1, 5));
+
+        CircuitBreakerPolicy circuitBreaker =
+                !Boolean.parseBoolean(System.getProperty("client.circuitBreaker.enabled", "true")) ? null
+                        : new CircuitBreakerPolicy(20, 10, doubleProperty("client.circuitBreaker.failureRate", 0.5),
+                        Duration.ofMillis(Long.getLong("client.circuitBreaker.openMillis", 5000)));
+
+        return new ClientPolicies(retry, hedging, circuitBreaker);
+    }
+
+    /**
+     * @return The policies applied by {@code BaseTest.givenRequest()}.
+     */
+    public static ClientPolicies global() {
+        return global;
+    }
+
+    /**
+     * Replaces the global policies, with fresh per-endpoint state.
+     * @param policies The policies to apply from now on.
+     * @return The previous global policies, to be restored afterward.
+     */
+    public static ClientPolicies setGlobal(ClientPolicies policies) {
+        ClientPolicies previous = global;
+        global = policies;
+        return previous;
+    }
+
+    /**
+     * Client configuration with the HTTP client's own retries disabled. Apache HttpClient silently re-sends an
+     * idempotent request that got no response up to three times, which would multiply with the retry policy;
+     * all retries are left to the policy, where they are budgeted and counted.
+     * @return The HTTP client configuration for {@code RestAssured.config}.
+     */
+    @SuppressWarnings("deprecation")
+    public static HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig().httpClientFactory(() -> {
+            DefaultHttpClient client = new DefaultHttpClient();
+            client.setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+            return client;
+        });
+    }
+
+    // --- Getters ---
+    public RetryPolicy retry() { return retry; }
+    public HedgingPolicy hedging() { return hedging; }
+    public CircuitBreakerPolicy circuitBreakerPolicy() { return circuitBreaker; }
+
+    /**
+     * @param endpoint The endpoint template.
+     * @return The endpoint's circuit breaker, or {@code null} if circuit breaking is disabled.
+     */
+    public CircuitBreaker circuitBreaker(String endpoint) {
+        return circuitBreaker == null ? null
+                : breakers.computeIfAbsent(endpoint, e -> new CircuitBreaker(e, circuitBreaker));
+    }
+
+    /**
+     * @param endpoint The endpoint template.
+     * @return The endpoint's recent latencies, or {@code null} if hedging is disabled.
+     */
+    public LatencyWindow latencies(String endpoint) {
+        return hedging == null ? null : latencies.computeIfAbsent(endpoint, e -> new LatencyWindow(hedging.windowSize()));
+    }
+
+    /**
+     * @return The state of every circuit created so far, by endpoint.
+     */
+    public Map<String, CircuitBreaker.State> circuitStates() {
+        Map<String, CircuitBreaker.State> states = new TreeMap<>();
+        breakers.forEach((endpoint, breaker) -> states.put(endpoint, breaker.state()));
+        return states;
+    }
+
+    /**
+     * @return Number of endpoints whose circuit is open.
+     */
+    public long openCircuits() {
+        return breakers.values().stream().filter(breaker -> breaker.state() == CircuitBreaker.State.OPEN).count();
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,103 @@
+package tests.utils.policies;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Adaptive limit on in-flight calls (AIMD): every call that completes without a drop raises the limit by one
+ * while at least half of it is in use, and every drop (a transient failure, a 429 or a call slower than the
+ * latency threshold) cuts it by 10%. The limit thus follows what the backend sustains instead of a fixed guess.
+ * A lock and condition are used rather than monitors, so waiting virtual threads do not pin their carriers.
+ */
+public final class ConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private int inFlight;
+
+    /**
+     * @param initialLimit The starting limit.
+     * @param minLimit The limit never drops below this.
+     * @param maxLimit The limit never grows above this.
+     */
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format("Invalid concurrency limit: %d (%d to %d)",
+                    initialLimit, minLimit, maxLimit));
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Takes a slot, waiting while the limit is reached. Every slot must be given back with {@link #release}.
+     * @return The time waited, in nanoseconds.
+     */
+    public long acquire() {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                released.awaitUninterruptibly();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Gives a slot back and adjusts the limit.
+     * @param dropped Whether the call signalled overload.
+     * @return Whether the limit was decreased.
+     */
+    public boolean release(boolean dropped) {
+        lock.lock();
+        try {
+            boolean utilized = inFlight * 2 >= limit;
+            inFlight--;
+            double previous = limit;
+            if (dropped) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (utilized) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            released.signalAll();
+            return limit < previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The current limit, rounded down.
+     */
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Calls currently holding a slot.
+     */
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
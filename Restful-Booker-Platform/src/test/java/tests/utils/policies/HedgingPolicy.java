@@ -0,0 +1,38 @@
+package tests.utils.policies;
+
+import java.time.Duration;
+import java.util.Locale;
+
+
+/**
+ * Hedged GETs: when the first request has not answered within the endpoint's recent latency percentile,
+ * an identical second request is sent and whichever answers first is used. This cuts the tail latency a
+ * single slow connection or backend instance adds, for at most {@code 1 - quantile} extra requests; hedges
+ * withdraw from a {@link RetryBudget} as well, so a backend that is slow across the board is not hedged at all.
+ * @param quantile The latency percentile to hedge after, e.g. {@code 0.95}.
+ * @param fallbackDelay The delay used until the endpoint has {@code minSamples} latencies recorded.
+ * @param minDelay Lower bound on the delay, so fast endpoints are not hedged on jitter.
+ * @param windowSize Latencies kept per endpoint.
+ */
+public record HedgingPolicy(double quantile, Duration fallbackDelay, Duration minDelay, int minSamples,
+                            int windowSize, RetryBudget budget) {
+
+    /**
+     * @param method The HTTP method of the call.
+     * @return Whether calls with this method are hedged.
+     */
+    public boolean appliesTo(String method) {
+        return "GET".equals(method.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @param window The endpoint's recent latencies.
+     * @return How long to wait for the first request before hedging, in nanoseconds.
+     */
+    public long delayNanos(LatencyWindow window) {
+        if (window.size() < minSamples) {
+            return fallbackDelay.toNanos();
+        }
+        return Math.max(minDelay.toNanos(), window.percentile(quantile));
+    }
+}
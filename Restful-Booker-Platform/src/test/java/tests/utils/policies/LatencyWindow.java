@@ -0,0 +1,51 @@
+package tests.utils.policies;
+
+import java.util.Arrays;
+
+
+/**
+ * The most recent latencies of one endpoint, from which {@link HedgingPolicy} derives its hedging delay.
+ */
+public final class LatencyWindow {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    /**
+     * @param capacity Number of latencies kept; older ones are overwritten.
+     */
+    public LatencyWindow(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * @param nanos A completed call's latency.
+     */
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    /**
+     * @return Number of latencies currently in the window.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @param quantile E.g. {@code 0.95}.
+     * @return The nearest-rank percentile of the window, or -1 while it is empty.
+     */
+    public synchronized long percentile(double quantile) {
+        if (size == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(quantile * size);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,105 @@
+package tests.utils.policies;
+
+import java.time.Duration;
+
+
+/**
+ * The client-side limits {@link ClientLimits} applies to one endpoint. An endpoint also covers its sub-paths,
+ * as in {@code FaultRule} ({@code /booking} covers {@code /booking/{bookingId}}); the empty endpoint covers
+ * every request that no more specific rule covers. All endpoints a rule covers share its limiters.
+ * Example: {@code LimitRule.forEndpoint(AUTH_LOGIN_ENDPOINT).rate(2, 1).concurrency(1, 1, 4).build()}
+ * @param permitsPerSecond Sustained request rate, or 0 for no rate limit.
+ * @param burst Requests allowed at once after an idle period.
+ * @param maxConcurrency Upper bound of the adaptive concurrency limit, or 0 for no concurrency limit.
+ * @param latencyThreshold Calls slower than this count as overload for the concurrency limit, or {@code null}.
+ */
+public record LimitRule(String endpoint, double permitsPerSecond, int burst, int initialConcurrency,
+                        int minConcurrency, int maxConcurrency, Duration latencyThreshold) {
+
+    /**
+     * @param endpoint The endpoint template relative to the base URI, or "" for every request.
+     * @return A builder for a rule that limits nothing until configured.
+     */
+    public static Builder forEndpoint(String endpoint) {
+        return new Builder(endpoint);
+    }
+
+    /**
+     * Parses the form used by {@code -Dclient.limits}: the endpoint and {@code key=value} limits, e.g.
+     * {@code "/booking rate=20:40 concurrency=4:1:32 latency=2000"} for 20 requests per second with bursts of 40,
+     * and a concurrency limit starting at 4, between 1 and 32, with calls over 2000 ms counting as overload.
+     * The burst defaults to 1, the bounds to 1 and the initial limit; {@code *} stands for every endpoint.
+     * @param spec The rule specification.
+     * @return The rule.
+     */
+    public static LimitRule parse(String spec) {
+        String[] tokens = spec.trim().split("\\s+");
+        Builder builder = forEndpoint(tokens[0].equals("*") ? "" : tokens[0]);
+        for (int i = 1; i < tokens.length; i++) {
+            String[] option = tokens[i].split("=", 2);
+            String[] values = option.length > 1 ? option[1].split(":") : new String[0];
+            try {
+                switch (option[0]) {
+                    case "rate" -> builder.rate(Double.parseDouble(values[0]),
+                            values.length > 1 ? Integer.parseInt(values[1]) : 1);
+                    case "concurrency" -> {
+                        int initial = Integer.parseInt(values[0]);
+                        builder.concurrency(initial, values.length > 1 ? Integer.parseInt(values[1]) : 1,
+                                values.length > 2 ? Integer.parseInt(values[2]) : initial);
+                    }
+                    case "latency" -> builder.latencyThreshold(Duration.ofMillis(Long.parseLong(values[0])));
+                    default -> throw new IllegalArgumentException(String.format("Unknown limit '%s'", option[0]));
+                }
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Invalid limit '%s' in rule '%s'", tokens[i], spec),
+                        e);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param endpointTemplate The endpoint template of a request, e.g. {@code /booking/{bookingId}}.
+     * @return Whether the rule applies to the request.
+     */
+    public boolean matches(String endpointTemplate) {
+        return endpoint.isEmpty() || endpointTemplate.equals(endpoint) || endpointTemplate.startsWith(endpoint + "/");
+    }
+
+    /**
+     * Builder for {@link LimitRule}.
+     */
+    public static final class Builder {
+        private final String endpoint;
+        private double permitsPerSecond;
+        private int burst = 1;
+        private int initialConcurrency;
+        private int minConcurrency;
+        private int maxConcurrency;
+        private Duration latencyThreshold;
+
+        private Builder(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public Builder rate(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+            return this;
+        }
+
+        public Builder concurrency(int initial, int min, int max) {
+            this.initialConcurrency = initial;
+            this.minConcurrency = min;
+            this.maxConcurrency = max;
+            return this;
+        }
+
+        public Builder latencyThreshold(Duration threshold) { this.latencyThreshold = threshold; return this; }
+
+        public LimitRule build() {
+            return new LimitRule(endpoint, permitsPerSecond, burst, initialConcurrency, minConcurrency, maxConcurrency,
+                    latencyThreshold);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package tests.utils.policies;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Token bucket: permits accrue at a fixed rate up to {@code burst}, and a caller without a permit waits until
+ * its reservation comes due. Reservations queue in arrival order, so waiting callers are served fairly.
+ */
+public final class RateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param permitsPerSecond Sustained rate.
+     * @param burst Permits available at once after an idle period.
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException(String.format("Invalid rate limit: %s/s, burst %d",
+                    permitsPerSecond, burst));
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Takes a permit, waiting for it if the bucket is empty.
+     * @return The time waited, in nanoseconds.
+     */
+    public long acquire() {
+        long wait = reserve();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return wait;
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+}
@@ -0,0 +1,54 @@
+package tests.utils.policies;
+
+
+/**
+ * Token bucket that caps how much extra load retries and hedges may add. Every call deposits {@code ratio} tokens,
+ * every retry (or hedge) withdraws one, and the balance never exceeds {@code reserve}. A short burst of failures
+ * is retried in full out of the reserve, while during an outage retries are limited to {@code ratio} of the
+ * call rate instead of multiplying it.
+ */
+public final class RetryBudget {
+
+    private final double ratio;
+    private final double reserve;
+    private double tokens;
+
+    /**
+     * @param ratio Tokens deposited per call, e.g. {@code 0.2} for at most one retry per five calls.
+     * @param reserve Maximum (and initial) balance.
+     */
+    public RetryBudget(double ratio, int reserve) {
+        if (ratio < 0 || reserve < 0) {
+            throw new IllegalArgumentException(String.format("Invalid retry budget: ratio %s, reserve %d",
+                    ratio, reserve));
+        }
+        this.ratio = ratio;
+        this.reserve = reserve;
+        this.tokens = reserve;
+    }
+
+    /**
+     * Credits one call to the budget.
+     */
+    public synchronized void deposit() {
+        tokens = Math.min(reserve, tokens + ratio);
+    }
+
+    /**
+     * @return Whether a token was available (and has been withdrawn) for one retry or hedge.
+     */
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * @return The current balance.
+     */
+    public synchronized double available() {
+        return tokens;
+    }
+}
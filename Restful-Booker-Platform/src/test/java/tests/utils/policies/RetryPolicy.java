@@ -0,0 +1,73 @@
+package tests.utils.policies;
+
+import tests.utils.random.RunRandom;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+
+/**
+ * Retries of transient failures: transport errors (resets, refused connections, timeouts) and the retryable
+ * statuses, by default 502, 503 and 504. A 500 is not retried, since the API returns it for requests it rejects.
+ * Only idempotent methods are retried, as a POST that failed in flight may still have been applied.
+ * Backoff is exponential with full jitter, and every retry withdraws from the {@link RetryBudget}.
+ * @param maxAttempts Attempts per call, including the first one.
+ * @param baseBackoff Upper bound of the first backoff, doubled on every further retry.
+ * @param maxBackoff Upper bound of any backoff.
+ */
+public record RetryPolicy(int maxAttempts, Duration baseBackoff, Duration maxBackoff,
+                          Set<Integer> retryableStatuses, RetryBudget budget) {
+
+    public static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    public static final Set<Integer> TRANSIENT_STATUSES = Set.of(502, 503, 504);
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1, was " + maxAttempts);
+        }
+        retryableStatuses = Set.copyOf(retryableStatuses);
+    }
+
+    /**
+     * @param method The HTTP method of the call.
+     * @return Whether calls with this method may be retried.
+     */
+    public boolean appliesTo(String method) {
+        return IDEMPOTENT_METHODS.contains(method.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @param status A response status code.
+     * @return Whether a response with this status is retried.
+     */
+    public boolean isRetryable(int status) {
+        return retryableStatuses.contains(status);
+    }
+
+    /**
+     * Full jitter: a uniform draw between zero and {@code min(maxBackoff, baseBackoff * 2^(retry - 1))}, so
+     * clients that failed together do not retry together. Drawn from the calling thread's {@link RunRandom}
+     * generator.
+     * @param retry The retry number, starting at 1.
+     * @return The time to wait before the retry, in nanoseconds.
+     */
+    public long backoffNanos(int retry) {
+        long ceiling = Math.min(maxBackoff.toNanos(), baseBackoff.toNanos() << Math.min(retry - 1, 20));
+        return ceiling <= 0 ? 0 : RunRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * @param failure An exception thrown by a call.
+     * @return Whether it was caused by the transport (no or a broken response) rather than by the client code.
+     */
+    public static boolean isTransportFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
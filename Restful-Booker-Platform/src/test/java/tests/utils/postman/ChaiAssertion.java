@@ -0,0 +1,401 @@
+package tests.utils.postman;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Function;
+import org.mozilla.javascript.LambdaFunction;
+import org.mozilla.javascript.NativeArray;
+import org.mozilla.javascript.ScriptRuntime;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+import org.mozilla.javascript.SerializableCallable;
+import org.mozilla.javascript.Undefined;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static tests.utils.postman.ScriptEngine.*;
+
+
+/**
+ * Native evaluation of the Chai BDD chains behind {@code pm.expect(value)}: the language chains ({@code to},
+ * {@code be}, {@code have}, ...), the {@code not}/{@code deep}/{@code all}/{@code any}/{@code include} flags,
+ * the property assertions ({@code empty}, {@code true}, {@code ok}, ...) and the common methods ({@code a},
+ * {@code eql}, {@code equal}, {@code property}, {@code keys}, {@code match}, {@code below}, {@code within},
+ * {@code lengthOf}, {@code include}, {@code oneOf}). A failed assertion throws an {@link AssertionError} with
+ * Chai's message; an unknown chain member throws Chai's "Invalid Chai property" error.
+ */
+final class ChaiAssertion extends ScriptableObject {
+
+    private static final long serialVersionUID = 1L;
+    private static final Set<String> LANGUAGE_CHAINS = Set.of("to", "be", "been", "is", "that", "which", "and",
+            "has", "have", "with", "at", "of", "same", "but", "does", "still", "also");
+
+    private final transient Object subject;
+    private boolean negate;
+    private boolean deep;
+    private boolean any;
+    private boolean contains;
+    private boolean ofLength;
+
+    ChaiAssertion(Scriptable scope, Object subject) {
+        super(scope, ScriptableObject.getObjectPrototype(scope));
+        this.subject = subject;
+    }
+
+    @Override
+    public String getClassName() {
+        return "Assertion";
+    }
+
+    @Override
+    public Object get(String name, Scriptable start) {
+        if (LANGUAGE_CHAINS.contains(name)) {
+            return this;
+        }
+        switch (name) {
+            case "not" -> negate = !negate;
+            case "deep" -> deep = true;
+            case "any" -> any = true;
+            case "all", "own" -> any = false;
+            case "include", "includes", "contain", "contains" -> {
+                return new Chainable(name, this::include, () -> contains = true);
+            }
+            case "length", "lengthOf" -> {
+                return new Chainable(name, this::lengthOf, () -> ofLength = true);
+            }
+            case "empty" -> assertEmpty();
+            case "true" -> check(Boolean.TRUE.equals(subject), "expected %s to be true", "expected %s to be false");
+            case "false" -> check(Boolean.FALSE.equals(subject), "expected %s to be false", "expected %s to be true");
+            case "null" -> check(subject == null, "expected %s to be null", "expected %s not to be null");
+            case "undefined" -> check(Undefined.isUndefined(subject), "expected %s to be undefined",
+                    "expected %s not to be undefined");
+            case "NaN" -> check(subject instanceof Number number && Double.isNaN(number.doubleValue()),
+                    "expected %s to be NaN", "expected %s not to be NaN");
+            case "ok" -> check(ScriptRuntime.toBoolean(subject), "expected %s to be truthy",
+                    "expected %s to be falsy");
+            case "exist" -> check(!isNullish(subject), "expected %s to exist", "expected %s to not exist");
+            default -> {
+                return method(name, start);
+            }
+        }
+        return this;
+    }
+
+    private Object method(String name, Scriptable start) {
+        SerializableCallable method = switch (name) {
+            case "a", "an" -> (cx, scope, thisObj, args) -> type(toDisplayString(argument(args, 0)));
+            case "equal", "equals", "eq" -> (cx, scope, thisObj, args) -> equal(argument(args, 0), deep);
+            case "eql", "eqls" -> (cx, scope, thisObj, args) -> equal(argument(args, 0), true);
+            case "property" -> (cx, scope, thisObj, args) -> property(args);
+            case "keys", "key" -> (cx, scope, thisObj, args) -> keys(args);
+            case "match", "matches" -> (cx, scope, thisObj, args) -> match(cx, argument(args, 0));
+            case "below", "lt", "lessThan" ->
+                    (cx, scope, thisObj, args) -> compare(argument(args, 0), "below", -1, false);
+            case "above", "gt", "greaterThan" ->
+                    (cx, scope, thisObj, args) -> compare(argument(args, 0), "above", 1, false);
+            case "least", "gte" -> (cx, scope, thisObj, args) -> compare(argument(args, 0), "at least", 1, true);
+            case "most", "lte" -> (cx, scope, thisObj, args) -> compare(argument(args, 0), "at most", -1, true);
+            case "within" -> (cx, scope, thisObj, args) -> within(argument(args, 0), argument(args, 1));
+            case "oneOf" -> (cx, scope, thisObj, args) -> oneOf(argument(args, 0));
+            case "string" -> (cx, scope, thisObj, args) -> {
+                String expected = toDisplayString(argument(args, 0));
+                check(subject instanceof CharSequence actual && actual.toString().contains(expected),
+                        "expected %s to contain " + inspect(expected),
+                        "expected %s to not contain " + inspect(expected));
+                return this;
+            };
+            case "satisfy", "satisfies" -> (cx, scope, thisObj, args) -> {
+                if (!(argument(args, 0) instanceof Function matcher)) {
+                    throw ScriptRuntime.typeError("satisfy expects a function");
+                }
+                check(ScriptRuntime.toBoolean(matcher.call(cx, scope, thisObj, new Object[]{subject})),
+                        "expected %s to satisfy the matcher", "expected %s to not satisfy the matcher");
+                return this;
+            };
+            default -> null;
+        };
+        if (method != null) {
+            return new LambdaFunction(getParentScope(), name, 1, method);
+        }
+        // Object.prototype members (toString, valueOf, ...) are still reachable, anything else is a typo
+        if (ScriptableObject.getProperty(getPrototype(), name) != NOT_FOUND) {
+            return super.get(name, start);
+        }
+        throw ScriptRuntime.constructError("Error", String.format("Invalid Chai property: %s", name));
+    }
+
+    // --- Assertions ---
+
+    private ChaiAssertion type(String expected) {
+        String article = expected.matches("(?i)^[aeiou].*") ? "an" : "a";
+        String actual = chaiType(subject);
+        check(actual.equalsIgnoreCase(expected),
+                String.format("expected %%s to be %s %s", article, expected),
+                String.format("expected %%s not to be %s %s", article, expected));
+        return this;
+    }
+
+    private ChaiAssertion equal(Object expected, boolean structural) {
+        if (ofLength) {
+            return lengthOf(new Object[]{expected});
+        }
+        boolean passed = structural ? deepEquals(subject, expected) : strictEquals(subject, expected);
+        String verb = structural ? "deeply equal" : "equal";
+        check(passed, String.format("expected %%s to %s %s", verb, inspect(expected)),
+                String.format("expected %%s to not %s %s", verb, inspect(expected)));
+        return this;
+    }
+
+    private ChaiAssertion property(Object[] args) {
+        String name = toDisplayString(argument(args, 0));
+        Object value = subject instanceof Scriptable object || subject instanceof CharSequence
+                ? ScriptRuntime.getObjectProp(subject, name, Context.getCurrentContext(), getParentScope())
+                : Undefined.instance;
+        boolean has = subject instanceof Scriptable object ? ScriptableObject.hasProperty(object, name)
+                : subject instanceof CharSequence && "length".equals(name);
+
+        if (args.length > 1) {
+            Object expected = args[1];
+            boolean matches = has && (deep ? deepEquals(value, expected) : strictEquals(value, expected));
+            check(matches,
+                    String.format("expected %%s to have property '%s' of %s, but got %s", name, inspect(expected),
+                            inspect(value)),
+                    String.format("expected %%s to not have property '%s' of %s", name, inspect(expected)));
+        } else {
+            check(has, String.format("expected %%s to have property '%s'", name),
+                    String.format("expected %%s to not have property '%s'", name));
+        }
+
+        // like Chai, the chain continues on the property value
+        ChaiAssertion next = new ChaiAssertion(getParentScope(), value);
+        next.negate = negate;
+        return next;
+    }
+
+    private ChaiAssertion keys(Object[] args) {
+        List<String> expected = new ArrayList<>();
+        Object first = argument(args, 0);
+        if (args.length == 1 && first instanceof NativeArray array) {
+            for (Object key : array) {
+                expected.add(toDisplayString(key));
+            }
+        } else if (args.length == 1 && first instanceof ScriptableObject object) {
+            for (Object key : object.getIds()) {
+                expected.add(String.valueOf(key));
+            }
+        } else {
+            for (Object key : args) {
+                expected.add(toDisplayString(key));
+            }
+        }
+        if (expected.isEmpty()) {
+            throw ScriptRuntime.constructError("Error", "keys required");
+        }
+        if (!(subject instanceof ScriptableObject object) || subject instanceof NativeArray) {
+            throw new AssertionError(String.format("expected %s to be an object with keys", inspect(subject)));
+        }
+
+        Set<String> actual = new LinkedHashSet<>();
+        for (Object key : object.getIds()) {
+            actual.add(String.valueOf(key));
+        }
+        boolean passed;
+        String description;
+        if (any) {
+            passed = expected.stream().anyMatch(actual::contains);
+            description = "any of";
+        } else if (contains) {
+            passed = actual.containsAll(expected);
+            description = "all of";
+        } else {
+            passed = actual.size() == new LinkedHashSet<>(expected).size() && actual.containsAll(expected);
+            description = "exactly";
+        }
+        String keys = String.join(", ", expected.stream().map(ScriptEngine::inspect).toList());
+        check(passed, String.format("expected %%s to have %s keys %s", description, keys),
+                String.format("expected %%s to not have %s keys %s", description, keys));
+        return this;
+    }
+
+    private ChaiAssertion match(Context cx, Object pattern) {
+        Scriptable regex = pattern instanceof ScriptableObject compiled && "RegExp".equals(compiled.getClassName())
+                ? compiled : cx.newObject(getParentScope(), "RegExp", new Object[]{toDisplayString(pattern)});
+        boolean matches = ScriptRuntime.toBoolean(
+                ScriptableObject.callMethod(cx, regex, "test", new Object[]{toDisplayString(subject)}));
+        check(matches, "expected %s to match " + toDisplayString(regex),
+                "expected %s not to match " + toDisplayString(regex));
+        return this;
+    }
+
+    private ChaiAssertion compare(Object bound, String relation, int sign, boolean inclusive) {
+        double actual = numeric(relation);
+        double limit = ScriptRuntime.toNumber(bound);
+        int comparison = Double.compare(actual, limit);
+        boolean passed = inclusive ? comparison * sign >= 0 : comparison * sign > 0;
+        String what = ofLength ? "%s to have a length " : "%s to be ";
+        check(passed, "expected " + what + relation + " " + toDisplayString(bound),
+                "expected " + what.replace("to ", "to not ") + relation + " " + toDisplayString(bound));
+        return this;
+    }
+
+    private ChaiAssertion within(Object start, Object finish) {
+        double actual = numeric("within");
+        boolean passed = actual >= ScriptRuntime.toNumber(start) && actual <= ScriptRuntime.toNumber(finish);
+        String range = String.format("%s..%s", toDisplayString(start), toDisplayString(finish));
+        check(passed, "expected %s to be within " + range, "expected %s to not be within " + range);
+        return this;
+    }
+
+    private ChaiAssertion oneOf(Object list) {
+        if (!(list instanceof NativeArray options)) {
+            throw ScriptRuntime.typeError("oneOf expects an array");
+        }
+        boolean passed = false;
+        for (Object option : options) {
+            passed |= deep ? deepEquals(option, subject) : strictEquals(option, subject);
+        }
+        check(passed, "expected %s to be one of " + inspect(list), "expected %s to not be one of " + inspect(list));
+        return this;
+    }
+
+    private ChaiAssertion include(Context cx, Scriptable scope, Scriptable thisObj, Object[] args) {
+        Object expected = argument(args, 0);
+        boolean passed;
+        if (subject instanceof CharSequence string) {
+            passed = string.toString().contains(toDisplayString(expected));
+        } else if (subject instanceof NativeArray array) {
+            passed = false;
+            for (Object element : array) {
+                passed |= deep ? deepEquals(element, expected) : strictEquals(element, expected);
+            }
+        } else if (subject instanceof ScriptableObject object && expected instanceof ScriptableObject subset) {
+            passed = true;
+            for (Object key : subset.getIds()) {
+                String name = String.valueOf(key);
+                Object value = ScriptableObject.getProperty(subset, name);
+                passed &= ScriptableObject.hasProperty(object, name)
+                        && (deep ? deepEquals(ScriptableObject.getProperty(object, name), value)
+                        : strictEquals(ScriptableObject.getProperty(object, name), value));
+            }
+        } else if (subject instanceof ScriptableObject object) {
+            passed = ScriptableObject.hasProperty(object, toDisplayString(expected));
+        } else {
+            throw new AssertionError(String.format("object tested must be an array, a map, an object, a set, a string,"
+                    + " or a weakset, but %s given", chaiType(subject)));
+        }
+        check(passed, "expected %s to include " + inspect(expected), "expected %s to not include " + inspect(expected));
+        return this;
+    }
+
+    private ChaiAssertion lengthOf(Context cx, Scriptable scope, Scriptable thisObj, Object[] args) {
+        return lengthOf(args);
+    }
+
+    private ChaiAssertion lengthOf(Object[] args) {
+        Object expected = argument(args, 0);
+        double actual = length(subject);
+        check(actual == ScriptRuntime.toNumber(expected),
+                String.format("expected %%s to have a length of %s but got %s", toDisplayString(expected),
+                        toDisplayString(actual)),
+                String.format("expected %%s to not have a length of %s", toDisplayString(expected)));
+        return this;
+    }
+
+    private void assertEmpty() {
+        boolean empty;
+        if (subject instanceof CharSequence string) {
+            empty = string.isEmpty();
+        } else if (subject instanceof NativeArray array) {
+            empty = array.getLength() == 0;
+        } else if (subject instanceof ScriptableObject object && !(subject instanceof Function)) {
+            empty = object.getIds().length == 0;
+        } else {
+            throw new AssertionError(String.format(".empty was passed non-string primitive %s", inspect(subject)));
+        }
+        check(empty, "expected %s to be empty", "expected %s not to be empty");
+    }
+
+    // --- Helpers ---
+
+    /**
+     * Fails unless the (possibly negated) assertion holds.
+     * The first {@code %s} of the message stands for the subject; expected values are already rendered into it.
+     */
+    private void check(boolean passed, String message, String negatedMessage) {
+        if (passed == negate) {
+            String template = negate ? negatedMessage : message;
+            int placeholder = template.indexOf("%s");
+            throw new AssertionError(template.substring(0, placeholder) + inspect(subject)
+                    + template.substring(placeholder + 2));
+        }
+    }
+
+    private double numeric(String relation) {
+        if (ofLength) {
+            return length(subject);
+        }
+        if (!(subject instanceof Number number)) {
+            throw new AssertionError(String.format("expected %s to be a number or a date (in '%s')",
+                    inspect(subject), relation));
+        }
+        return number.doubleValue();
+    }
+
+    private static double length(Object value) {
+        if (value instanceof CharSequence string) {
+            return string.length();
+        }
+        if (value instanceof NativeArray array) {
+            return array.getLength();
+        }
+        if (value instanceof Scriptable object && ScriptableObject.getProperty(object, "length") instanceof Number n) {
+            return n.doubleValue();
+        }
+        throw new AssertionError(String.format("expected %s to have property 'length'", inspect(value)));
+    }
+
+    /**
+     * The type name Chai's {@code a}/{@code an} compares against: {@code typeof} for primitives and functions, the
+     * lower-cased class for objects ({@code array}, {@code regexp}, {@code date}, {@code object}, ...).
+     */
+    private static String chaiType(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof ScriptableObject object && !(value instanceof Function)) {
+            return object.getClassName().toLowerCase();
+        }
+        return ScriptRuntime.typeof(value);
+    }
+
+    static Object argument(Object[] args, int index) {
+        return index < args.length ? args[index] : Undefined.instance;
+    }
+
+    /**
+     * A Chai member that is both a method and a chain, e.g. {@code .include('x')} and {@code .include.keys(...)}.
+     */
+    private final class Chainable extends LambdaFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Runnable flag;
+
+        private Chainable(String name, SerializableCallable method, Runnable flag) {
+            super(ChaiAssertion.this.getParentScope(), name, 1, method);
+            this.flag = flag;
+        }
+
+        @Override
+        public Object get(String name, Scriptable start) {
+            if (flag == null) {
+                // still in the function's own constructor
+                return super.get(name, start);
+            }
+            flag.run();
+            return ChaiAssertion.this.get(name, ChaiAssertion.this);
+        }
+    }
+}
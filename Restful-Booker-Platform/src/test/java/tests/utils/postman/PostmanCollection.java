@@ -0,0 +1,312 @@
+package tests.utils.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.mozilla.javascript.RhinoException;
+import org.mozilla.javascript.Script;
+import tests.utils.JsonMappers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * A Postman collection (schema v2.1) loaded for {@link PostmanRunner}: collection variables, and the requests grouped
+ * into top-level folders, each request carrying its pre-request and test scripts in execution order
+ * (collection, enclosing folders, request). Scripts are compiled once at load time; a script that does not compile
+ * keeps its error and is reported as a failed test when it would run.
+ */
+public final class PostmanCollection {
+
+    static final String COLLECTION_ORIGIN = "collection";
+
+    private static final Pattern VARIABLE_REFERENCE = Pattern.compile("\\{\\{\\s*([^{}\\s]+)\\s*}}");
+    private static final Pattern SCRIPT_GET = Pattern.compile(
+            "\\.(?:collectionVariables|variables|environment|globals)\\.get\\(\\s*['\"]([^'\"]+)['\"]");
+    private static final Pattern SCRIPT_SET = Pattern.compile(
+            "\\.(?:collectionVariables|variables|environment|globals)\\.(?:set|unset)\\(\\s*['\"]([^'\"]+)['\"]");
+
+    private final String name;
+    private final Map<String, String> variables;
+    private final List<Folder> folders;
+
+    private PostmanCollection(String name, Map<String, String> variables, List<Folder> folders) {
+        this.name = name;
+        this.variables = variables;
+        this.folders = folders;
+    }
+
+    /**
+     * Loads a collection file.
+     * @param file The {@code .postman_collection.json} file.
+     * @return The parsed collection.
+     */
+    public static PostmanCollection load(Path file) {
+        try {
+            return parse(JsonMappers.mapper().readTree(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to read Postman collection: %s", file), e);
+        }
+    }
+
+    /**
+     * Parses a collection document.
+     * @param root The collection JSON.
+     * @return The parsed collection.
+     */
+    public static PostmanCollection parse(JsonNode root) {
+        String schema = root.path("info").path("schema").asText("");
+        if (!schema.contains("v2.")) {
+            throw new IllegalArgumentException(String.format("Unsupported collection schema '%s', expected v2.x",
+                    schema));
+        }
+
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (JsonNode variable : root.path("variable")) {
+            if (!variable.path("disabled").asBoolean(false)) {
+                variables.put(variable.path("key").asText(), variable.path("value").asText(""));
+            }
+        }
+
+        Scripts collectionScripts = Scripts.EMPTY.append(COLLECTION_ORIGIN, root.path("event"));
+        List<Folder> folders = new ArrayList<>();
+        List<Request> looseRequests = new ArrayList<>();
+        for (JsonNode item : root.path("item")) {
+            if (item.has("item")) {
+                flushLoose(root, looseRequests, folders);
+                List<Request> requests = new ArrayList<>();
+                String folderName = item.path("name").asText();
+                collect(item, folderName, collectionScripts, requests);
+                folders.add(new Folder(folderName, List.copyOf(requests)));
+            } else {
+                looseRequests.add(request(item, null, collectionScripts));
+            }
+        }
+        flushLoose(root, looseRequests, folders);
+
+        return new PostmanCollection(root.path("info").path("name").asText("collection"),
+                Collections.unmodifiableMap(variables), List.copyOf(folders));
+    }
+
+    public String getName() { return name; }
+    public Map<String, String> getVariables() { return variables; }
+    public List<Folder> getFolders() { return folders; }
+
+    // --- Model ---
+
+    /**
+     * A top-level folder; its requests (including those of nested folders) run in order.
+     * Requests outside any folder are grouped into pseudo-folders named after the collection.
+     */
+    public record Folder(String name, List<Request> requests) {
+
+        /**
+         * @return Variables this folder's request scripts set or unset (collection-level scripts excluded).
+         */
+        public Set<String> writes() {
+            Set<String> writes = new TreeSet<>();
+            for (Request request : requests) {
+                request.ownScripts().forEach(script -> collect(SCRIPT_SET, script.source(), writes));
+            }
+            return writes;
+        }
+
+        /**
+         * @return Variables this folder's requests reference as {@code {{name}}} or read from their scripts.
+         */
+        public Set<String> reads() {
+            Set<String> reads = new TreeSet<>();
+            for (Request request : requests) {
+                collect(VARIABLE_REFERENCE, request.url(), reads);
+                request.headers().forEach(header -> collect(VARIABLE_REFERENCE, header.value(), reads));
+                request.pathVariables().values().forEach(value -> collect(VARIABLE_REFERENCE, value, reads));
+                collect(VARIABLE_REFERENCE, request.body() == null ? "" : request.body(), reads);
+                request.ownScripts().forEach(script -> collect(SCRIPT_GET, script.source(), reads));
+            }
+            return reads;
+        }
+
+        private static void collect(Pattern pattern, String text, Set<String> names) {
+            Matcher matcher = pattern.matcher(text);
+            while (matcher.find()) {
+                names.add(matcher.group(1));
+            }
+        }
+    }
+
+    /**
+     * A request with unresolved {@code {{variable}}} references.
+     * @param folder The path of enclosing folders (e.g., "Booking"), or {@code null}.
+     * @param url The raw URL, path variables still in {@code :name} form.
+     * @param body The raw or form-encoded body, or {@code null}.
+     * @param contentType The content type implied by the body mode, or {@code null}.
+     * @param unsupported Why parts of the request cannot be reproduced (e.g., a form-data body), or {@code null}.
+     */
+    public record Request(String folder, String name, String method, String url, Map<String, String> pathVariables,
+                          List<Header> headers, String body, String contentType, List<ScriptSource> prerequest,
+                          List<ScriptSource> tests, String unsupported) {
+
+        /**
+         * @return The scripts defined below the collection level (folders and the request itself).
+         */
+        List<ScriptSource> ownScripts() {
+            List<ScriptSource> own = new ArrayList<>(prerequest);
+            own.addAll(tests);
+            own.removeIf(script -> COLLECTION_ORIGIN.equals(script.origin()));
+            return own;
+        }
+
+        public String displayName() {
+            return folder == null ? name : String.format("%s / %s", folder, name);
+        }
+    }
+
+    public record Header(String key, String value) {
+    }
+
+    /**
+     * One script with where it was defined; {@code script} is {@code null} when the compile failed.
+     */
+    public record ScriptSource(String origin, String source, Script script, String compileError) {
+
+        static ScriptSource of(String origin, String source) {
+            try {
+                return new ScriptSource(origin, source, ScriptEngine.compile(source, origin + " script"), null);
+            } catch (RhinoException e) {
+                return new ScriptSource(origin, source, null, String.format("%s (line %d)", e.details(),
+                        e.lineNumber()));
+            }
+        }
+    }
+
+    // --- Parsing ---
+
+    /**
+     * Pre-request and test scripts inherited down the item tree.
+     */
+    private record Scripts(List<ScriptSource> prerequest, List<ScriptSource> tests) {
+
+        private static final Scripts EMPTY = new Scripts(List.of(), List.of());
+
+        private Scripts append(String origin, JsonNode events) {
+            List<ScriptSource> prerequest = new ArrayList<>(this.prerequest);
+            List<ScriptSource> tests = new ArrayList<>(this.tests);
+            for (JsonNode event : events) {
+                if (event.path("disabled").asBoolean(false)) {
+                    continue;
+                }
+                String source = source(event.path("script").path("exec"));
+                if (source.isBlank()) {
+                    continue;
+                }
+                switch (event.path("listen").asText()) {
+                    case "prerequest" -> prerequest.add(ScriptSource.of(origin, source));
+                    case "test" -> tests.add(ScriptSource.of(origin, source));
+                    default -> {
+                        // other listeners are not part of a collection run
+                    }
+                }
+            }
+            return new Scripts(List.copyOf(prerequest), List.copyOf(tests));
+        }
+
+        private static String source(JsonNode exec) {
+            if (exec.isTextual()) {
+                return exec.asText();
+            }
+            List<String> lines = new ArrayList<>();
+            exec.forEach(line -> lines.add(line.asText()));
+            return String.join("\n", lines);
+        }
+    }
+
+    private static void collect(JsonNode folder, String path, Scripts inherited, List<Request> requests) {
+        Scripts scripts = inherited.append(String.format("folder '%s'", path), folder.path("event"));
+        for (JsonNode item : folder.path("item")) {
+            if (item.has("item")) {
+                collect(item, String.format("%s / %s", path, item.path("name").asText()), scripts, requests);
+            } else {
+                requests.add(request(item, path, scripts));
+            }
+        }
+    }
+
+    private static void flushLoose(JsonNode root, List<Request> looseRequests, List<Folder> folders) {
+        if (!looseRequests.isEmpty()) {
+            folders.add(new Folder(root.path("info").path("name").asText("collection"), List.copyOf(looseRequests)));
+            looseRequests.clear();
+        }
+    }
+
+    private static Request request(JsonNode item, String folder, Scripts inherited) {
+        Scripts scripts = inherited.append("request", item.path("event"));
+        JsonNode request = item.path("request");
+        if (request.isTextual()) {
+            // the short form of a request is just its URL
+            return new Request(folder, item.path("name").asText(), "GET", request.asText(), Map.of(), List.of(), null,
+                    null, scripts.prerequest(), scripts.tests(), null);
+        }
+
+        JsonNode url = request.path("url");
+        String rawUrl = url.isTextual() ? url.asText() : url.path("raw").asText();
+        Map<String, String> pathVariables = new LinkedHashMap<>();
+        for (JsonNode variable : url.path("variable")) {
+            pathVariables.put(variable.path("key").asText(), variable.path("value").asText(""));
+        }
+
+        List<Header> headers = new ArrayList<>();
+        for (JsonNode header : request.path("header")) {
+            if (!header.path("disabled").asBoolean(false)) {
+                headers.add(new Header(header.path("key").asText(), header.path("value").asText("")));
+            }
+        }
+
+        String body = null;
+        String contentType = null;
+        List<String> unsupported = new ArrayList<>();
+        JsonNode bodyNode = request.path("body");
+        if (!bodyNode.isMissingNode() && !bodyNode.isNull() && !bodyNode.path("disabled").asBoolean(false)) {
+            switch (bodyNode.path("mode").asText("")) {
+                case "raw" -> {
+                    body = bodyNode.path("raw").asText("");
+                    String language = bodyNode.path("options").path("raw").path("language").asText("text");
+                    contentType = "json".equals(language) ? "application/json" : "text/plain";
+                }
+                case "urlencoded" -> {
+                    List<String> pairs = new ArrayList<>();
+                    for (JsonNode field : bodyNode.path("urlencoded")) {
+                        if (!field.path("disabled").asBoolean(false)) {
+                            pairs.add(String.format("%s=%s", field.path("key").asText(),
+                                    field.path("value").asText("")));
+                        }
+                    }
+                    body = String.join("&", pairs);
+                    contentType = "application/x-www-form-urlencoded";
+                }
+                case "", "none" -> {
+                    // no body
+                }
+                default -> unsupported.add(String.format("'%s' body", bodyNode.path("mode").asText()));
+            }
+        }
+        String authType = request.path("auth").path("type").asText("noauth");
+        if (!"noauth".equals(authType) && !"inherit".equals(authType)) {
+            unsupported.add(String.format("'%s' auth", authType));
+        }
+
+        return new Request(folder, item.path("name").asText(), request.path("method").asText("GET"), rawUrl,
+                Collections.unmodifiableMap(pathVariables), List.copyOf(headers), body, contentType,
+                scripts.prerequest(), scripts.tests(),
+                unsupported.isEmpty() ? null : String.join(", ", unsupported) + " not applied");
+    }
+}
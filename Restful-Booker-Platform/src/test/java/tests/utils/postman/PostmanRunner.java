@@ -0,0 +1,260 @@
+package tests.utils.postman;
+
+import tests.utils.postman.PostmanCollection.Folder;
+import tests.utils.postman.PostmanCollection.Header;
+import tests.utils.postman.PostmanCollection.Request;
+import tests.utils.postman.PostmanCollection.ScriptSource;
+import tests.utils.postman.RunReport.Outcome;
+import tests.utils.postman.RunReport.RequestResult;
+import tests.utils.postman.RunReport.TestResult;
+import tests.utils.standin.StandInServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Runs a Postman collection headless on the JVM, without Newman or Node. Requests are sent with
+ * {@link HttpClient}, {@code {{variables}}} resolve against one run-wide store that scripts read and write
+ * (so {@code token} set by the Auth folder is seen by the others), scripts run on the embedded Rhino engine (see
+ * {@link ScriptEngine}) and the {@code pm.test}/{@code pm.expect} assertions are evaluated natively (see
+ * {@link PostmanSandbox} and {@link ChaiAssertion}).
+ * <p>
+ * Requests within a top-level folder run in order; folders run concurrently on virtual threads, except that a
+ * folder waits for every earlier folder whose scripts write a variable it uses, or use a variable it writes.
+ * The report carries the per-request timing.
+ * <p>
+ * Usage:
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.postman.PostmanRunner
+ * -Dexec.args="'../Postman-Collections/Restful Booker Platform.postman_collection.json' --stand-in"}
+ * <p>
+ * Options: {@code --var name=value} (repeatable) overrides a collection variable, {@code --base-url url} is a
+ * shorthand for {@code --var baseUrl=url}, {@code --stand-in} runs against a local {@link StandInServer} and
+ * {@code --folder name} (repeatable) runs only the named folders. The exit code is 1 if any test failed.
+ */
+public final class PostmanRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern PATH_VARIABLE = Pattern.compile("(?<=/):([A-Za-z_][A-Za-z0-9_]*)");
+
+    private final PostmanCollection collection;
+    private final Map<String, String> overrides;
+    private final HttpClient httpClient;
+
+    /**
+     * @param collection The collection to run.
+     * @param overrides Variables overriding the collection's own, e.g. {@code baseUrl}.
+     */
+    public PostmanRunner(PostmanCollection collection, Map<String, String> overrides) {
+        this.collection = collection;
+        this.overrides = Map.copyOf(overrides);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: PostmanRunner <collection.json> [--var name=value]... [--base-url url]"
+                    + " [--stand-in] [--folder name]...");
+            System.exit(2);
+        }
+        Map<String, String> overrides = new LinkedHashMap<>();
+        List<String> folders = new ArrayList<>();
+        boolean standIn = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--var" -> {
+                    String[] variable = args[++i].split("=", 2);
+                    overrides.put(variable[0], variable.length > 1 ? variable[1] : "");
+                }
+                case "--base-url" -> overrides.put("baseUrl", args[++i]);
+                case "--stand-in" -> standIn = true;
+                case "--folder" -> folders.add(args[++i]);
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+
+        PostmanCollection collection = PostmanCollection.load(Path.of(args[0]));
+        RunReport report;
+        if (standIn) {
+            try (StandInServer server = StandInServer.start()) {
+                Map<String, String> variables = new LinkedHashMap<>(server.collectionVariables());
+                variables.put("baseUrl", server.baseUri());
+                variables.putAll(overrides);
+                report = new PostmanRunner(collection, variables).run(folders);
+            }
+        } else {
+            report = new PostmanRunner(collection, overrides).run(folders);
+        }
+        report.print(System.out);
+        System.exit(report.failed() ? 1 : 0);
+    }
+
+    /**
+     * Runs every folder of the collection.
+     * @return The report.
+     */
+    public RunReport run() {
+        return run(List.of());
+    }
+
+    /**
+     * Runs the named folders, or all of them if none are named.
+     * @param folderNames The top-level folders to run.
+     * @return The report, requests in collection order.
+     */
+    public RunReport run(Collection<String> folderNames) {
+        List<Folder> folders = collection.getFolders().stream()
+                .filter(folder -> folderNames.isEmpty() || folderNames.contains(folder.name()))
+                .toList();
+        if (folders.isEmpty()) {
+            throw new IllegalArgumentException(String.format("No folders matching %s in '%s'", folderNames,
+                    collection.getName()));
+        }
+        RunVariables variables = new RunVariables(collection.getVariables(), overrides);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<List<RequestResult>>> runs = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < folders.size(); i++) {
+                Folder folder = folders.get(i);
+                List<CompletableFuture<?>> dependencies = new ArrayList<>();
+                for (int j = 0; j < i; j++) {
+                    if (dependsOn(folder, folders.get(j))) {
+                        dependencies.add(runs.get(j));
+                    }
+                }
+                runs.add(CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+                        .handleAsync((ignored, failure) -> runFolder(folder, variables), executor));
+            }
+            CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<RequestResult> results = new ArrayList<>();
+        runs.forEach(run -> results.addAll(run.join()));
+        return new RunReport(collection.getName(), results, elapsed);
+    }
+
+    /**
+     * Whether {@code later} must wait for {@code earlier}: they share a variable that at least one of them writes.
+     */
+    private static boolean dependsOn(Folder later, Folder earlier) {
+        Set<String> earlierWrites = earlier.writes();
+        Set<String> laterWrites = later.writes();
+        return !Collections.disjoint(later.reads(), earlierWrites)
+                || !Collections.disjoint(laterWrites, earlier.reads())
+                || !Collections.disjoint(laterWrites, earlierWrites);
+    }
+
+    private List<RequestResult> runFolder(Folder folder, RunVariables variables) {
+        List<RequestResult> results = new ArrayList<>();
+        for (Request request : folder.requests()) {
+            results.add(runRequest(request, variables));
+        }
+        return results;
+    }
+
+    // --- Requests ---
+
+    private RequestResult runRequest(Request request, RunVariables variables) {
+        // pre-request scripts may set variables the request uses, so they run against a provisional sandbox
+        PostmanSandbox prerequest = new PostmanSandbox(httpClient, variables, request.name(), request.method(),
+                URI.create("http://localhost/"), Map.of(), null);
+        for (ScriptSource script : request.prerequest()) {
+            prerequest.run(script, "prerequest");
+        }
+
+        URI url;
+        Map<String, String> headers = new LinkedHashMap<>();
+        String body = variables.resolve(request.body());
+        try {
+            url = URI.create(substitutePathVariables(variables.resolve(request.url()), request, variables));
+            if (request.contentType() != null) {
+                headers.put("Content-Type", request.contentType());
+            }
+            for (Header header : request.headers()) {
+                headers.keySet().removeIf(key -> key.equalsIgnoreCase(header.key()));
+                headers.put(header.key(), variables.resolve(header.value()));
+            }
+        } catch (IllegalArgumentException e) {
+            return result(request, request.url(), 0, 0, prerequest.results(),
+                    String.format("Invalid URL: %s", e.getMessage()));
+        }
+
+        PostmanSandbox sandbox = new PostmanSandbox(httpClient, variables, request.name(), request.method(), url,
+                headers, body);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(url)
+                .timeout(REQUEST_TIMEOUT)
+                .method(request.method(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        headers.forEach(builder::header);
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            return result(request, url.toString(), 0, System.nanoTime() - start, prerequest.results(),
+                    e.getMessage() == null ? e.getClass().getSimpleName()
+                            : String.format("%s: %s", e.getClass().getSimpleName(), e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return result(request, url.toString(), 0, System.nanoTime() - start, prerequest.results(),
+                    "Interrupted");
+        }
+        long duration = System.nanoTime() - start;
+
+        sandbox.respond(response.statusCode(), response.headers(), response.body(), duration);
+        for (ScriptSource script : request.tests()) {
+            sandbox.run(script, "test");
+        }
+        List<TestResult> tests = new ArrayList<>(prerequest.results());
+        tests.addAll(sandbox.results());
+        if (request.unsupported() != null) {
+            tests.add(new TestResult("request", Outcome.SKIPPED, request.unsupported()));
+        }
+        return result(request, url.toString(), response.statusCode(), duration, tests, null);
+    }
+
+    private static String substitutePathVariables(String url, Request request, RunVariables variables) {
+        if (request.pathVariables().isEmpty()) {
+            return url;
+        }
+        Matcher matcher = PATH_VARIABLE.matcher(url);
+        StringBuilder substituted = new StringBuilder();
+        while (matcher.find()) {
+            String value = request.pathVariables().get(matcher.group(1));
+            matcher.appendReplacement(substituted, Matcher.quoteReplacement(
+                    value == null ? matcher.group() : variables.resolve(value)));
+        }
+        matcher.appendTail(substituted);
+        return substituted.toString();
+    }
+
+    private static RequestResult result(Request request, String url, int status, long durationNanos,
+                                        List<TestResult> tests, String error) {
+        return new RequestResult(request.folder(), request.name(), request.method(), url, status, durationNanos,
+                List.copyOf(tests), error);
+    }
+}
@@ -0,0 +1,509 @@
+package tests.utils.postman;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Function;
+import org.mozilla.javascript.LambdaFunction;
+import org.mozilla.javascript.NativeArray;
+import org.mozilla.javascript.RhinoException;
+import org.mozilla.javascript.ScriptRuntime;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+import org.mozilla.javascript.SerializableCallable;
+import org.mozilla.javascript.Undefined;
+import tests.utils.postman.PostmanCollection.ScriptSource;
+import tests.utils.postman.RunReport.Outcome;
+import tests.utils.postman.RunReport.TestResult;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static tests.utils.postman.ChaiAssertion.argument;
+import static tests.utils.postman.ScriptEngine.*;
+
+
+/**
+ * The {@code pm} object of one request's scripts, for the {@link ScriptEngine}: {@code pm.test}, {@code pm.expect},
+ * the variable scopes, {@code pm.request}, {@code pm.info}, {@code pm.sendRequest} and, once {@link #respond} has
+ * been called, {@code pm.response} with its {@code pm.response.to} assertions. {@code console} output is discarded.
+ * The assertions themselves ({@code pm.expect} and {@code pm.response.to}) are evaluated natively in Java.
+ */
+final class PostmanSandbox {
+
+    private static final Duration SEND_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Set<String> LANGUAGE_CHAINS = Set.of("to", "be", "have", "and", "is", "that", "with",
+            "been", "has", "which", "of", "at");
+    private static final Map<Integer, String> REASONS = Map.ofEntries(
+            Map.entry(200, "OK"), Map.entry(201, "Created"), Map.entry(202, "Accepted"),
+            Map.entry(204, "No Content"), Map.entry(301, "Moved Permanently"), Map.entry(302, "Found"),
+            Map.entry(304, "Not Modified"), Map.entry(400, "Bad Request"), Map.entry(401, "Unauthorized"),
+            Map.entry(403, "Forbidden"), Map.entry(404, "Not Found"), Map.entry(405, "Method Not Allowed"),
+            Map.entry(409, "Conflict"), Map.entry(415, "Unsupported Media Type"),
+            Map.entry(422, "Unprocessable Entity"), Map.entry(429, "Too Many Requests"),
+            Map.entry(500, "Internal Server Error"), Map.entry(502, "Bad Gateway"),
+            Map.entry(503, "Service Unavailable"), Map.entry(504, "Gateway Timeout"));
+
+    private final HttpClient httpClient;
+    private final RunVariables variables;
+    private final String requestName;
+    private final String method;
+    private final URI url;
+    private final Map<String, String> requestHeaders;
+    private final String requestBody;
+    private final List<TestResult> results = new ArrayList<>();
+
+    private String eventName;
+    private int status;
+    private HttpHeaders responseHeaders;
+    private String responseBody;
+    private long durationNanos;
+
+    /**
+     * @param httpClient The client {@code pm.sendRequest} sends with.
+     * @param variables The run's variables.
+     * @param requestName The request name, exposed as {@code pm.info.requestName}.
+     * @param method The HTTP method.
+     * @param url The resolved URL.
+     * @param requestHeaders The resolved request headers.
+     * @param requestBody The resolved body, or {@code null}.
+     */
+    PostmanSandbox(HttpClient httpClient, RunVariables variables, String requestName, String method, URI url,
+                   Map<String, String> requestHeaders, String requestBody) {
+        this.httpClient = httpClient;
+        this.variables = variables;
+        this.requestName = requestName;
+        this.method = method;
+        this.url = url;
+        this.requestHeaders = requestHeaders;
+        this.requestBody = requestBody;
+    }
+
+    /**
+     * Makes the response available to the test scripts as {@code pm.response}.
+     */
+    void respond(int status, HttpHeaders headers, String body, long durationNanos) {
+        this.status = status;
+        this.responseHeaders = headers;
+        this.responseBody = body;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Runs one script, recording its {@code pm.test} results. A script that does not compile or throws is recorded
+     * as a failed test named after its origin.
+     * @param script The script.
+     * @param eventName "prerequest" or "test", exposed as {@code pm.info.eventName}.
+     */
+    void run(ScriptSource script, String eventName) {
+        this.eventName = eventName;
+        String name = String.format("%s %s script", script.origin(), eventName);
+        if (script.compileError() != null) {
+            results.add(new TestResult(name, Outcome.FAILED, script.compileError()));
+            return;
+        }
+        try (Context cx = enter()) {
+            Scriptable scope = newScope(cx);
+            ScriptableObject.putProperty(scope, "pm", pm(cx, scope));
+            ScriptableObject.putProperty(scope, "console", console(cx, scope));
+            script.script().exec(cx, scope, scope);
+        } catch (RhinoException e) {
+            results.add(new TestResult(name, Outcome.FAILED, describe(e)));
+        } catch (AssertionError e) {
+            results.add(new TestResult(name, Outcome.FAILED, e.getMessage()));
+        }
+    }
+
+    List<TestResult> results() {
+        return List.copyOf(results);
+    }
+
+    // --- pm ---
+
+    private Scriptable pm(Context cx, Scriptable scope) {
+        ScriptableObject pm = object(cx, scope);
+        pm.defineProperty(scope, "test", 2, this::test);
+        pm.defineProperty(scope, "expect", 1, (c, s, thisObj, args) -> new ChaiAssertion(s, argument(args, 0)));
+        pm.defineProperty(scope, "sendRequest", 2, this::sendRequest);
+        Scriptable variableScope = variableScope(cx, scope);
+        for (String name : List.of("collectionVariables", "variables", "environment", "globals")) {
+            pm.put(name, pm, variableScope);
+        }
+        pm.put("request", pm, request(cx, scope));
+        if (responseHeaders != null) {
+            pm.put("response", pm, response(cx, scope));
+        }
+
+        ScriptableObject info = object(cx, scope);
+        info.put("requestName", info, requestName);
+        info.put("eventName", info, eventName);
+        info.put("iteration", info, 0);
+        info.put("iterationCount", info, 1);
+        pm.put("info", pm, info);
+        return pm;
+    }
+
+    private Object test(Context cx, Scriptable scope, Scriptable thisObj, Object[] args) {
+        String name = toDisplayString(argument(args, 0));
+        if (!(argument(args, 1) instanceof Function callback)) {
+            results.add(new TestResult(name, Outcome.SKIPPED, "no test function"));
+            return Undefined.instance;
+        }
+        try {
+            callback.call(cx, scope, thisObj, new Object[0]);
+            results.add(new TestResult(name, Outcome.PASSED, null));
+        } catch (RhinoException e) {
+            results.add(new TestResult(name, Outcome.FAILED, describe(e)));
+        } catch (AssertionError e) {
+            results.add(new TestResult(name, Outcome.FAILED, e.getMessage()));
+        }
+        return Undefined.instance;
+    }
+
+    private Scriptable variableScope(Context cx, Scriptable scope) {
+        ScriptableObject variableScope = object(cx, scope);
+        variableScope.defineProperty(scope, "get", 1,
+                (c, s, thisObj, args) -> variables.get(toDisplayString(argument(args, 0))));
+        variableScope.defineProperty(scope, "has", 1,
+                (c, s, thisObj, args) -> variables.has(toDisplayString(argument(args, 0))));
+        variableScope.defineProperty(scope, "set", 2, (c, s, thisObj, args) -> {
+            variables.set(toDisplayString(argument(args, 0)), argument(args, 1));
+            return Undefined.instance;
+        });
+        variableScope.defineProperty(scope, "unset", 1, (c, s, thisObj, args) -> {
+            variables.unset(toDisplayString(argument(args, 0)));
+            return Undefined.instance;
+        });
+        variableScope.defineProperty(scope, "replaceIn", 1,
+                (c, s, thisObj, args) -> variables.resolve(toDisplayString(argument(args, 0))));
+        variableScope.defineProperty(scope, "toObject", 0, (c, s, thisObj, args) -> {
+            ScriptableObject snapshot = object(c, s);
+            variables.snapshot().forEach((key, value) -> snapshot.put(key, snapshot, value));
+            return snapshot;
+        });
+        return variableScope;
+    }
+
+    private static Scriptable console(Context cx, Scriptable scope) {
+        ScriptableObject console = object(cx, scope);
+        for (String level : List.of("log", "info", "warn", "error", "debug")) {
+            console.defineProperty(scope, level, 1, (c, s, thisObj, args) -> Undefined.instance);
+        }
+        return console;
+    }
+
+    // --- pm.request ---
+
+    private Scriptable request(Context cx, Scriptable scope) {
+        ScriptableObject request = object(cx, scope);
+        request.put("method", request, method);
+        request.put("headers", request, headers(cx, scope, requestHeaders));
+        if (requestBody != null) {
+            ScriptableObject body = object(cx, scope);
+            body.put("mode", body, "raw");
+            body.put("raw", body, requestBody);
+            request.put("body", request, body);
+        }
+
+        ScriptableObject requestUrl = object(cx, scope);
+        requestUrl.defineProperty(scope, "toString", 0, (c, s, thisObj, args) -> url.toString());
+        requestUrl.defineProperty(scope, "getPath", 0, (c, s, thisObj, args) -> url.getRawPath());
+        requestUrl.put("protocol", requestUrl, url.getScheme());
+        requestUrl.put("host", requestUrl, cx.newArray(scope, new Object[]{url.getHost()}));
+        requestUrl.put("port", requestUrl, url.getPort() < 0 ? Undefined.instance : String.valueOf(url.getPort()));
+        String[] path = url.getRawPath().replaceFirst("^/", "").split("/");
+        requestUrl.put("path", requestUrl, cx.newArray(scope, Arrays.copyOf(path, path.length, Object[].class)));
+        requestUrl.put("query", requestUrl, query(cx, scope));
+        request.put("url", request, requestUrl);
+        return request;
+    }
+
+    private Scriptable query(Context cx, Scriptable scope) {
+        List<Object> query = new ArrayList<>();
+        if (url.getRawQuery() != null) {
+            for (String pair : url.getRawQuery().split("&")) {
+                int separator = pair.indexOf('=');
+                ScriptableObject parameter = object(cx, scope);
+                parameter.put("key", parameter, decode(separator < 0 ? pair : pair.substring(0, separator)));
+                parameter.put("value", parameter, separator < 0 ? null : decode(pair.substring(separator + 1)));
+                query.add(parameter);
+            }
+        }
+        return cx.newArray(scope, query.toArray());
+    }
+
+    private static String decode(String component) {
+        return URLDecoder.decode(component, StandardCharsets.UTF_8);
+    }
+
+    // --- pm.response ---
+
+    private Scriptable response(Context cx, Scriptable scope) {
+        ScriptableObject response = object(cx, scope);
+        response.put("code", response, status);
+        response.put("status", response, REASONS.getOrDefault(status, ""));
+        response.put("responseTime", response, (double) TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        response.put("responseSize", response, responseBody.getBytes(StandardCharsets.UTF_8).length);
+        response.put("headers", response, headers(cx, scope, flatten(responseHeaders)));
+        response.defineProperty(scope, "json", 0, (c, s, thisObj, args) -> parseJson(c, s, responseBody));
+        response.defineProperty(scope, "text", 0, (c, s, thisObj, args) -> responseBody);
+        // a fresh chain per access, so a dangling 'not' cannot leak into the next assertion
+        response.defineProperty("to", () -> new ResponseAssertion(scope), null, ScriptableObject.READONLY);
+        return response;
+    }
+
+    /**
+     * {@code pm.sendRequest(request, callback)}: sends the request (a URL, or an object with {@code url},
+     * {@code method}, {@code header} and a raw {@code body}) on the calling thread and then calls
+     * {@code callback(error, response)}, so the script continues once the callback has run.
+     */
+    private Object sendRequest(Context cx, Scriptable scope, Scriptable thisObj, Object[] args) {
+        Object options = argument(args, 0);
+        HttpRequest.Builder builder;
+        String sendMethod = "GET";
+        String body = null;
+        Map<String, String> headers = new LinkedHashMap<>();
+        try {
+            if (options instanceof Scriptable request) {
+                builder = HttpRequest.newBuilder(URI.create(toDisplayString(property(request, "url"))));
+                if (!isNullish(property(request, "method"))) {
+                    sendMethod = toDisplayString(property(request, "method")).toUpperCase();
+                }
+                collectHeaders(property(request, "header"), headers);
+                if (property(request, "body") instanceof Scriptable requestBody
+                        && !isNullish(property(requestBody, "raw"))) {
+                    body = toDisplayString(property(requestBody, "raw"));
+                }
+            } else {
+                builder = HttpRequest.newBuilder(URI.create(toDisplayString(options)));
+            }
+        } catch (IllegalArgumentException e) {
+            throw ScriptRuntime.typeError(String.format("pm.sendRequest: invalid URL: %s", e.getMessage()));
+        }
+        builder.timeout(SEND_REQUEST_TIMEOUT)
+                .method(sendMethod, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        headers.forEach(builder::header);
+
+        Object error = null;
+        Object response = null;
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> sent = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            response = sentResponse(cx, scope, sent, System.nanoTime() - start);
+        } catch (IOException e) {
+            error = cx.newObject(scope, "Error", new Object[]{String.format("%s: %s", e.getClass().getSimpleName(),
+                    e.getMessage())});
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = cx.newObject(scope, "Error", new Object[]{"Interrupted"});
+        }
+        if (argument(args, 1) instanceof Function callback) {
+            callback.call(cx, scope, thisObj, new Object[]{error, response});
+        }
+        return Undefined.instance;
+    }
+
+    private static Scriptable sentResponse(Context cx, Scriptable scope, HttpResponse<String> sent,
+                                           long durationNanos) {
+        ScriptableObject response = object(cx, scope);
+        response.put("code", response, sent.statusCode());
+        response.put("status", response, REASONS.getOrDefault(sent.statusCode(), ""));
+        response.put("responseTime", response, (double) TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        response.put("headers", response, headers(cx, scope, flatten(sent.headers())));
+        response.defineProperty(scope, "json", 0, (c, s, thisObj, args) -> parseJson(c, s, sent.body()));
+        response.defineProperty(scope, "text", 0, (c, s, thisObj, args) -> sent.body());
+        return response;
+    }
+
+    /**
+     * Reads {@code sendRequest} headers given as {@code [{key, value}]}, as an object, or as a
+     * {@code "Name: value"} string per line.
+     */
+    private static void collectHeaders(Object header, Map<String, String> headers) {
+        if (header instanceof NativeArray list) {
+            for (Object entry : list) {
+                if (entry instanceof Scriptable pair && !Boolean.TRUE.equals(property(pair, "disabled"))) {
+                    headers.put(toDisplayString(property(pair, "key")), toDisplayString(property(pair, "value")));
+                }
+            }
+        } else if (header instanceof ScriptableObject object) {
+            for (Object key : object.getIds()) {
+                String name = String.valueOf(key);
+                headers.put(name, toDisplayString(ScriptableObject.getProperty(object, name)));
+            }
+        } else if (header instanceof CharSequence text) {
+            for (String line : text.toString().split("\n")) {
+                int separator = line.indexOf(':');
+                if (separator > 0) {
+                    headers.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+                }
+            }
+        }
+    }
+
+    // --- Helpers ---
+
+    private static ScriptableObject object(Context cx, Scriptable scope) {
+        return (ScriptableObject) cx.newObject(scope);
+    }
+
+    private static Object property(Scriptable object, String name) {
+        Object value = ScriptableObject.getProperty(object, name);
+        return value == Scriptable.NOT_FOUND ? Undefined.instance : value;
+    }
+
+    private static Map<String, String> flatten(HttpHeaders headers) {
+        Map<String, String> flat = new LinkedHashMap<>();
+        headers.map().forEach((key, values) -> flat.put(key, String.join(", ", values)));
+        return flat;
+    }
+
+    private static Scriptable headers(Context cx, Scriptable scope, Map<String, String> headers) {
+        ScriptableObject list = object(cx, scope);
+        list.defineProperty(scope, "get", 1, (c, s, thisObj, args) -> {
+            String value = header(headers, toDisplayString(argument(args, 0)));
+            return value == null ? Undefined.instance : value;
+        });
+        list.defineProperty(scope, "has", 2, (c, s, thisObj, args) -> {
+            String value = header(headers, toDisplayString(argument(args, 0)));
+            return value != null && (isNullish(argument(args, 1)) || value.equals(toDisplayString(argument(args, 1))));
+        });
+        list.defineProperty(scope, "toObject", 0, (c, s, thisObj, args) -> {
+            ScriptableObject object = object(c, s);
+            headers.forEach((key, value) -> object.put(key, object, value));
+            return object;
+        });
+        return list;
+    }
+
+    private static String header(Map<String, String> headers, String name) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The message of a script error, e.g. {@code TypeError: Cannot read property "id" from undefined (line 3)}.
+     */
+    private static String describe(RhinoException e) {
+        return e.lineNumber() > 0 ? String.format("%s (line %d)", e.details(), e.lineNumber()) : e.details();
+    }
+
+    /**
+     * The {@code pm.response.to} chain: {@code be.ok}, {@code have.status(...)}, {@code be.json},
+     * {@code be.withBody}, {@code have.header(...)} and friends, each optionally negated with {@code not}.
+     */
+    private final class ResponseAssertion extends ScriptableObject {
+
+        private static final long serialVersionUID = 1L;
+
+        private boolean negate;
+
+        private ResponseAssertion(Scriptable scope) {
+            super(scope, ScriptableObject.getObjectPrototype(scope));
+        }
+
+        @Override
+        public String getClassName() {
+            return "ResponseAssertion";
+        }
+
+        @Override
+        public Object get(String name, Scriptable start) {
+            if (LANGUAGE_CHAINS.contains(name)) {
+                return this;
+            }
+            SerializableCallable method = null;
+            switch (name) {
+                case "not" -> negate = !negate;
+                case "ok" -> check(status == 200, expectedCode("200"));
+                case "success" -> check(status >= 200 && status < 300, expectedCode("2XX"));
+                case "clientError" -> check(status >= 400 && status < 500, expectedCode("4XX"));
+                case "serverError" -> check(status >= 500 && status < 600, expectedCode("5XX"));
+                case "error" -> check(status >= 400 && status < 600, expectedCode("4XX or 5XX"));
+                case "withBody" -> check(!responseBody.isEmpty(), "expected response to have content in body");
+                case "json" -> check(isJson(), "expected response body to be a valid json");
+                case "status" -> method = (cx, scope, thisObj, args) -> status(argument(args, 0));
+                case "header" -> method = (cx, scope, thisObj, args) -> header(args);
+                case "body" -> method = (cx, scope, thisObj, args) -> body(cx, argument(args, 0));
+                default -> throw ScriptRuntime.constructError("Error",
+                        String.format("Invalid pm.response.to property: %s", name));
+            }
+            return method == null ? this : new LambdaFunction(getParentScope(), name, 1, method);
+        }
+
+        private Object status(Object expected) {
+            if (expected instanceof CharSequence reason) {
+                check(reason.toString().equals(REASONS.get(status)), String.format(
+                        "expected response to have status reason '%s' but got '%s'", reason,
+                        REASONS.getOrDefault(status, "")));
+            } else {
+                check(ScriptRuntime.toNumber(expected) == status, String.format(
+                        "expected response to have status code %s but got %d", toDisplayString(expected), status));
+            }
+            return this;
+        }
+
+        private Object header(Object[] args) {
+            String name = toDisplayString(argument(args, 0));
+            String value = PostmanSandbox.header(flatten(responseHeaders), name);
+            if (isNullish(argument(args, 1))) {
+                check(value != null, String.format("expected response to have header with key '%s'", name));
+            } else {
+                String expected = toDisplayString(argument(args, 1));
+                check(expected.equals(value), String.format(
+                        "expected '%s' response header to be '%s' but got '%s'", name, expected, value));
+            }
+            return this;
+        }
+
+        private Object body(Context cx, Object expected) {
+            if (Undefined.isUndefined(expected)) {
+                check(!responseBody.isEmpty(), "expected response to have content in body");
+            } else if (expected instanceof CharSequence text) {
+                check(text.toString().equals(responseBody), "expected response body to equal the given string");
+            } else {
+                check(isJson() && deepEquals(expected, parseJson(cx, getParentScope(), responseBody)),
+                        "expected response body json to equal the given object");
+            }
+            return this;
+        }
+
+        private String expectedCode(String expected) {
+            return String.format("expected response code to be %s but got %d", expected, status);
+        }
+
+        private boolean isJson() {
+            try {
+                parseJson(Context.getCurrentContext(), getParentScope(), responseBody);
+                return true;
+            } catch (RhinoException e) {
+                return false;
+            }
+        }
+
+        private void check(boolean passed, String message) {
+            if (passed == negate) {
+                throw new AssertionError(negate ? "not: " + message : message);
+            }
+            negate = false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package tests.utils.postman;
+
+import java.io.PrintStream;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The outcome of one {@link PostmanRunner} run: every request with its status, timing and test results,
+ * in collection order, plus the wall-clock time of the whole run.
+ */
+public final class RunReport {
+
+    public enum Outcome { PASSED, FAILED, SKIPPED }
+
+    /**
+     * One {@code pm.test} result, or a whole script that failed or could not be evaluated.
+     */
+    public record TestResult(String name, Outcome outcome, String message) {
+    }
+
+    /**
+     * One executed request.
+     * @param status The response status, or 0 if no response was received.
+     * @param durationNanos The time from sending the request to reading the whole response.
+     * @param error Why the request could not be sent or its response read, or {@code null}.
+     */
+    public record RequestResult(String folder, String name, String method, String url, int status,
+                                long durationNanos, List<TestResult> tests, String error) {
+
+        public boolean failed() {
+            return error != null || tests.stream().anyMatch(test -> test.outcome() == Outcome.FAILED);
+        }
+
+        public String displayName() {
+            return folder == null ? name : String.format("%s / %s", folder, name);
+        }
+    }
+
+    private final String collection;
+    private final List<RequestResult> requests;
+    private final long elapsedNanos;
+
+    RunReport(String collection, List<RequestResult> requests, long elapsedNanos) {
+        this.collection = collection;
+        this.requests = List.copyOf(requests);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @param outcome The outcome to count.
+     * @return How many test results across all requests have the outcome.
+     */
+    public long count(Outcome outcome) {
+        return requests.stream()
+                .flatMap(request -> request.tests().stream())
+                .filter(test -> test.outcome() == outcome)
+                .count();
+    }
+
+    /**
+     * @return Whether any request errored or any test failed.
+     */
+    public boolean failed() {
+        return requests.stream().anyMatch(RequestResult::failed);
+    }
+
+    /**
+     * Prints the per-request timing table, the failures and the skipped scripts, then the totals.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n=== Postman run: %s ===%n", collection);
+        out.printf("%-45s %-7s %6s %10s %7s%n", "Request", "Method", "Status", "Time (ms)", "Tests");
+        for (RequestResult request : requests) {
+            long passed = request.tests().stream().filter(test -> test.outcome() == Outcome.PASSED).count();
+            long run = request.tests().stream().filter(test -> test.outcome() != Outcome.SKIPPED).count();
+            out.printf("%-45s %-7s %6s %10.1f %7s%n", request.displayName(), request.method(),
+                    request.status() == 0 ? "-" : String.valueOf(request.status()),
+                    request.durationNanos() / 1e6, String.format("%d/%d", passed, run));
+        }
+
+        if (failed()) {
+            out.printf("%nFailures:%n");
+            for (RequestResult request : requests) {
+                if (request.error() != null) {
+                    out.printf("  %s: %s%n", request.displayName(), request.error());
+                }
+                request.tests().stream()
+                        .filter(test -> test.outcome() == Outcome.FAILED)
+                        .forEach(test -> out.printf("  %s / %s: %s%n", request.displayName(), test.name(),
+                                test.message()));
+            }
+        }
+
+        // a skipped collection-level test repeats on every request, so list each reason once
+        Set<String> skipped = new LinkedHashSet<>();
+        for (RequestResult request : requests) {
+            request.tests().stream()
+                    .filter(test -> test.outcome() == Outcome.SKIPPED)
+                    .forEach(test -> skipped.add(String.format("%s: %s", test.name(), test.message())));
+        }
+        if (!skipped.isEmpty()) {
+            out.printf("%nSkipped:%n");
+            skipped.forEach(reason -> out.printf("  %s%n", reason));
+        }
+
+        long requestNanos = requests.stream().mapToLong(RequestResult::durationNanos).sum();
+        out.printf("%n%d requests, %d passed, %d failed, %d skipped in %d ms (sum of request times %d ms)%n",
+                requests.size(), count(Outcome.PASSED), count(Outcome.FAILED), count(Outcome.SKIPPED),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), TimeUnit.NANOSECONDS.toMillis(requestNanos));
+    }
+
+    // --- Getters ---
+    public String getCollection() { return collection; }
+    public List<RequestResult> getRequests() { return requests; }
+    public long getElapsedNanos() { return elapsedNanos; }
+}
@@ -0,0 +1,103 @@
+package tests.utils.postman;
+
+import org.mozilla.javascript.Undefined;
+import tests.utils.random.RunRandom;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static tests.utils.postman.ScriptEngine.isNullish;
+import static tests.utils.postman.ScriptEngine.toDisplayString;
+
+
+/**
+ * Variables of one collection run, shared by all folders: the collection variables, overridden by the values passed
+ * to the runner and by whatever the scripts set. Postman's collection, environment, global and local scopes all
+ * read and write this one store, as a single-collection run has nothing to tell them apart.
+ * Thread-safe; folders running concurrently see each other's writes.
+ */
+final class RunVariables {
+
+    private static final Pattern REFERENCE = Pattern.compile("\\{\\{\\s*([^{}\\s]+)\\s*}}");
+
+    private final Map<String, Object> values = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    RunVariables(Map<String, String> collectionVariables, Map<String, String> overrides) {
+        values.putAll(collectionVariables);
+        values.putAll(overrides);
+    }
+
+    /**
+     * @return The value, or {@code undefined} if the variable is not set.
+     */
+    Object get(String name) {
+        synchronized (values) {
+            return values.containsKey(name) ? values.get(name) : Undefined.instance;
+        }
+    }
+
+    boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    /**
+     * Stores a script value. Strings, numbers, booleans, {@code null} and {@code undefined} are kept as they are;
+     * objects are stored as their string form, as they belong to the script run that created them.
+     */
+    void set(String name, Object value) {
+        Object stored;
+        if (value instanceof CharSequence text) {
+            stored = text.toString();
+        } else if (isNullish(value) || value instanceof Number || value instanceof Boolean) {
+            stored = value;
+        } else {
+            stored = toDisplayString(value);
+        }
+        values.put(name, stored);
+    }
+
+    void unset(String name) {
+        values.remove(name);
+    }
+
+    Map<String, Object> snapshot() {
+        synchronized (values) {
+            return new LinkedHashMap<>(values);
+        }
+    }
+
+    /**
+     * Replaces {@code {{name}}} references, including the dynamic {@code {{$guid}}}, {@code {{$timestamp}}},
+     * {@code {{$isoTimestamp}}} and {@code {{$randomInt}}}. Unknown references are left as they are, as in Postman.
+     * @param template The text to resolve.
+     * @return The resolved text.
+     */
+    String resolve(String template) {
+        if (template == null || !template.contains("{{")) {
+            return template;
+        }
+        Matcher matcher = REFERENCE.matcher(template);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            String value = switch (name) {
+                case "$guid", "$randomUUID" -> UUID.randomUUID().toString();
+                case "$timestamp" -> String.valueOf(System.currentTimeMillis() / 1000);
+                case "$isoTimestamp" -> Instant.now().toString();
+                case "$randomInt" -> String.valueOf(RunRandom.current().nextInt(0, 1001));
+                default -> {
+                    Object variable = get(name);
+                    yield Undefined.isUndefined(variable) ? matcher.group() : toDisplayString(variable);
+                }
+            };
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+}
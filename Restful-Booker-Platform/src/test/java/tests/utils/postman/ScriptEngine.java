@@ -0,0 +1,180 @@
+package tests.utils.postman;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.Function;
+import org.mozilla.javascript.NativeArray;
+import org.mozilla.javascript.NativeJSON;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptRuntime;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+import org.mozilla.javascript.Undefined;
+import org.mozilla.javascript.json.JsonParser;
+
+import java.util.regex.Pattern;
+
+
+/**
+ * The embedded JavaScript engine (Mozilla Rhino) that runs the Postman scripts. Scripts are compiled once, for the
+ * interpreter, and may then run on any number of threads at once; each run gets its own scope on top of one sealed
+ * set of standard objects, so scripts cannot see each other's declarations. The {@code pm} and {@code console}
+ * objects are supplied per run by {@link PostmanSandbox}.
+ */
+final class ScriptEngine {
+
+    /**
+     * Rhino does not parse {@code const} in {@code for...in}/{@code for...of} heads yet; {@code let} declares the same
+     * per-iteration binding, and reassigning it is an error only the original would have reported.
+     */
+    private static final Pattern CONST_LOOP_HEAD = Pattern.compile("\\bfor\\s*\\(\\s*const\\b");
+    private static final int MAX_INSPECT_LENGTH = 120;
+
+    private static final ContextFactory FACTORY = new ContextFactory() {
+        @Override
+        protected Context makeContext() {
+            Context cx = super.makeContext();
+            cx.setLanguageVersion(Context.VERSION_ECMASCRIPT);
+            // compiling scripts to bytecode costs more than running these short scripts interpreted
+            cx.setInterpretedMode(true);
+            return cx;
+        }
+    };
+    private static final ScriptableObject STANDARD_OBJECTS;
+
+    static {
+        try (Context cx = enter()) {
+            STANDARD_OBJECTS = cx.initSafeStandardObjects(null, true);
+        }
+    }
+
+    private ScriptEngine() {
+        // hidden constructor
+    }
+
+    /**
+     * Enters a Rhino context on the calling thread; close it on the same thread.
+     * @return The entered context.
+     */
+    static Context enter() {
+        return FACTORY.enterContext();
+    }
+
+    /**
+     * Compiles a script.
+     * @param source The JavaScript source.
+     * @param name The name reported in error messages, e.g. {@code "request test script"}.
+     * @return The compiled script, safe to run on several threads at once.
+     * @throws org.mozilla.javascript.EvaluatorException If the source does not parse.
+     */
+    static Script compile(String source, String name) {
+        try (Context cx = enter()) {
+            return cx.compileString(CONST_LOOP_HEAD.matcher(source).replaceAll("for (let"), name, 1, null);
+        }
+    }
+
+    /**
+     * Creates the top-level scope of one script run.
+     * @param cx The entered context.
+     * @return A fresh scope whose prototype holds the standard objects.
+     */
+    static Scriptable newScope(Context cx) {
+        Scriptable scope = cx.newObject(STANDARD_OBJECTS);
+        scope.setPrototype(STANDARD_OBJECTS);
+        scope.setParentScope(null);
+        return scope;
+    }
+
+    // --- Values ---
+
+    /**
+     * Parses JSON as JavaScript's {@code JSON.parse} does.
+     * @throws org.mozilla.javascript.EcmaError A {@code SyntaxError} if the text is not valid JSON.
+     */
+    static Object parseJson(Context cx, Scriptable scope, String text) {
+        try {
+            return new JsonParser(cx, scope).parseValue(text);
+        } catch (JsonParser.ParseException e) {
+            throw ScriptRuntime.constructError("SyntaxError", e.getMessage());
+        }
+    }
+
+    /**
+     * Renders a value as JavaScript's {@code String(value)} does.
+     */
+    static String toDisplayString(Object value) {
+        return Context.toString(value);
+    }
+
+    /**
+     * Renders a value for an assertion message, like Chai: strings quoted, objects and arrays as (shortened) JSON.
+     */
+    static String inspect(Object value) {
+        if (value instanceof CharSequence string) {
+            return String.format("'%s'", string);
+        }
+        if (value instanceof Scriptable object && !(value instanceof Function)) {
+            Context cx = Context.getCurrentContext();
+            Object json = NativeJSON.stringify(cx, ScriptableObject.getTopLevelScope(object), object,
+                    null, null);
+            if (json instanceof CharSequence text) {
+                String rendered = text.toString();
+                return rendered.length() > MAX_INSPECT_LENGTH
+                        ? rendered.substring(0, MAX_INSPECT_LENGTH - 3) + "..." : rendered;
+            }
+        }
+        return toDisplayString(value);
+    }
+
+    /**
+     * Compares two values as Chai's {@code eql} does: primitives with {@code ===}, arrays and plain objects by
+     * their own enumerable properties, recursively.
+     */
+    static boolean deepEquals(Object left, Object right) {
+        if (left instanceof NativeArray leftArray && right instanceof NativeArray rightArray) {
+            if (leftArray.getLength() != rightArray.getLength()) {
+                return false;
+            }
+            for (int i = 0; i < leftArray.getLength(); i++) {
+                if (!deepEquals(leftArray.get(i), rightArray.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (left instanceof NativeArray || right instanceof NativeArray) {
+            return false;
+        }
+        if (left instanceof ScriptableObject leftObject && right instanceof ScriptableObject rightObject
+                && !(left instanceof Function)) {
+            Object[] keys = leftObject.getIds();
+            if (keys.length != rightObject.getIds().length) {
+                return false;
+            }
+            for (Object key : keys) {
+                String name = String.valueOf(key);
+                if (!ScriptableObject.hasProperty(rightObject, name)
+                        || !deepEquals(ScriptableObject.getProperty(leftObject, name),
+                        ScriptableObject.getProperty(rightObject, name))) {
+                    return false;
+                }
+            }
+            return leftObject.getClassName().equals(rightObject.getClassName());
+        }
+        return strictEquals(left, right);
+    }
+
+    /**
+     * Compares two values with {@code ===}.
+     */
+    static boolean strictEquals(Object left, Object right) {
+        return ScriptRuntime.shallowEq(left, right);
+    }
+
+    /**
+     * Whether a value is {@code null} or {@code undefined}.
+     */
+    static boolean isNullish(Object value) {
+        return value == null || Undefined.isUndefined(value);
+    }
+}
@@ -0,0 +1,125 @@
+package tests.utils.random;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+
+/**
+ * The randomness of a run, all derived from one seed: {@code -Drun.seed} if set, otherwise a fresh one, printed
+ * when first used so that a failing run can be replayed with it.
+ * <p>
+ * Each thread draws from a {@link SplittableRandom} of its own, so parallel tests and load clients never contend
+ * on a shared generator. Threads are numbered in the order they first draw, which replays exactly for
+ * single-threaded code; for parallel code, {@link RunRandomExtension} reseeds the current thread's generator from
+ * the id of each test class and test before it runs, and tasks that need their own stream take it from
+ * {@link #forKey(String)} or {@link #splits(String, long)}, which do not depend on scheduling.
+ */
+public final class RunRandom {
+
+    public static final String SEED_PROPERTY = "run.seed";
+
+    private static final long SEED = initialSeed();
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final AtomicLong THREADS = new AtomicLong();
+    private static final ThreadLocal<SplittableRandom> CURRENT = ThreadLocal.withInitial(
+            () -> new SplittableRandom(mix(SEED + THREADS.incrementAndGet() * GOLDEN_GAMMA)));
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+        System.out.printf("Run seed: %d (replay with -D%s=%d)%n", SEED, SEED_PROPERTY, SEED);
+    }
+
+    private RunRandom() {
+        // hidden constructor
+    }
+
+    /**
+     * @return The seed of this run.
+     */
+    public static long seed() {
+        return SEED;
+    }
+
+    /**
+     * @return The current thread's generator; not to be shared with other threads.
+     */
+    public static SplittableRandom current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Replaces the current thread's generator with the one for the given key, so that what the thread draws next
+     * does not depend on what it drew before.
+     * @param key E.g. a test's unique id.
+     */
+    public static void reseed(String key) {
+        CURRENT.set(forKey(key));
+    }
+
+    /**
+     * @param key E.g. a worker's or a scenario's name.
+     * @return A new generator derived from the run seed and the key; the same pair always gives the same stream.
+     */
+    public static SplittableRandom forKey(String key) {
+        // FNV-1a over the characters, without encoding the key
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return new SplittableRandom(mix(SEED ^ mix(hash)));
+    }
+
+    /**
+     * @param key Names the set of generators, as for {@link #forKey(String)}.
+     * @param count Generators wanted, e.g. one per worker thread.
+     * @return {@code count} independent generators, the same for the same seed and key.
+     */
+    public static Stream<RandomGenerator.SplittableGenerator> splits(String key, long count) {
+        return forKey(key).splits(count);
+    }
+
+    /**
+     * Draws a positive number of the given number of digits, the first of them not 0, uniformly; equivalent to
+     * drawing the digits one by one, without building them up as text.
+     * @param random The generator, e.g. {@link #current()}.
+     * @param length The number of digits, 1 to 18.
+     * @return The number.
+     * @throws IllegalArgumentException if length is not within 1 to 18.
+     */
+    public static long digits(RandomGenerator random, int length) {
+        if (length <= 0 || length > 18) {
+            throw new IllegalArgumentException("Length must be between 1 and 18 for a long number.");
+        }
+        return random.nextLong(POWERS_OF_TEN[length - 1], POWERS_OF_TEN[length]);
+    }
+
+    /**
+     * The SplitMix64 finalizer; spreads consecutive inputs over all 64 bits.
+     * @param z The input.
+     * @return The mixed value.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long initialSeed() {
+        String seed = System.getProperty(SEED_PROPERTY);
+        if (seed == null || seed.isBlank()) {
+            return ThreadLocalRandom.current().nextLong();
+        }
+        try {
+            return Long.parseLong(seed.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid %s: %s", SEED_PROPERTY, seed), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package tests.utils.random;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+
+/**
+ * JUnit 5 extension, registered for every test class through extension auto-detection, that reseeds the current
+ * thread's {@link RunRandom} generator from the unique id of each test class and each test, so that their data
+ * providers and bodies draw the same values for the same run seed however the tests are scheduled. The run seed
+ * itself is printed by {@link RunRandom}, when it is first used from any thread.
+ */
+public class RunRandomExtension implements BeforeAllCallback, BeforeEachCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        RunRandom.reseed(context.getUniqueId());
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        RunRandom.reseed(context.getUniqueId());
+    }
+}
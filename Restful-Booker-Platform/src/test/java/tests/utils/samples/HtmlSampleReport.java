@@ -0,0 +1,315 @@
+package tests.utils.samples;
+
+import constants.ApiConstants;
+import tests.utils.concurrency.LatencyHistogram;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Renders a {@link SampleReport} as one self-contained HTML file: inline CSS and SVG charts, no scripts and nothing
+ * fetched, so it can be attached to a CI run or mailed. Sections: summary, latency over time (p50, p95, p99),
+ * throughput and errors over time, percentile distribution per endpoint, errors by endpoint, status and message
+ * (named after its {@link ApiConstants} constant where there is one), and the slowest requests with their bodies.
+ * <p>
+ * The samples are read in a single streaming pass, and the page is written straight to the file, so a multi-GB log
+ * renders in seconds, in memory independent of its size.
+ * <p>
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.samples.HtmlSampleReport
+ * -Dexec.args="target/samples"}
+ * <p>
+ * Options: {@code --out file} (default: {@code report.html} in the log's directory).
+ */
+public final class HtmlSampleReport {
+
+    private static final double[] QUANTILES = {0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 0.9999};
+    private static final String[] COLORS = {"#1f77b4", "#d62728", "#2ca02c", "#ff7f0e", "#9467bd", "#8c564b",
+            "#e377c2", "#17becf"};
+    private static final int CHART_WIDTH = 900;
+    private static final int CHART_HEIGHT = 260;
+    private static final int MARGIN = 50;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneOffset.UTC);
+    private static final Map<String, String> ERROR_CONSTANTS = errorConstants();
+
+    private HtmlSampleReport() {
+        // hidden constructor
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: HtmlSampleReport <samples dir> [--out file]");
+            System.exit(2);
+        }
+        Path directory = Path.of(args[0]);
+        Path out = directory.resolve("report.html");
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out" -> out = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+        long start = System.nanoTime();
+        SampleReport report = SampleReport.of(SampleLogReader.open(directory));
+        write(report, out);
+        System.out.printf("Report of %,d samples written to %s in %.1f s%n", report.samples(), out.toAbsolutePath(),
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * @param report The aggregated samples.
+     * @param file The destination, replaced if it exists.
+     */
+    public static void write(SampleReport report, Path file) {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("<!DOCTYPE html>\n<html lang=\"en\"><head><meta charset=\"utf-8\"><title>Load report</title>\n");
+            out.write("<style>body{font-family:sans-serif;margin:2em;color:#222}table{border-collapse:collapse;"
+                    + "margin:1em 0}th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,"
+                    + "td.text{text-align:left}pre{background:#f6f6f6;padding:8px;white-space:pre-wrap;"
+                    + "max-width:1200px}svg text{font-size:11px}</style></head><body>\n");
+            summary(out, report);
+            timelines(out, report);
+            percentiles(out, report);
+            errors(out, report);
+            slowest(out, report.reader().slowest());
+            out.write("</body></html>\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to write report to %s", file), e);
+        }
+    }
+
+    // --- Sections ---
+
+    private static void summary(Writer out, SampleReport report) throws IOException {
+        double seconds = report.durationMicros() / 1e6;
+        LatencyHistogram overall = report.overall();
+        out.write(String.format("<h1>Load report: %s</h1>%n",
+                escape(String.valueOf(report.reader().directory().toAbsolutePath()))));
+        out.write("<table>\n");
+        row(out, "Samples", String.format("%,d", report.samples()));
+        row(out, "Duration", String.format("%.1f s", seconds));
+        row(out, "Throughput", String.format("%.1f requests/s", seconds == 0 ? 0 : report.samples() / seconds));
+        row(out, "Errors", String.format("%,d (%.2f%%)", report.failed(),
+                report.samples() == 0 ? 0 : 100.0 * report.failed() / report.samples()));
+        row(out, "Latency p50 / p95 / p99 / max", String.format("%.1f / %.1f / %.1f / %.1f ms",
+                overall.percentile(0.50) / 1e6, overall.percentile(0.95) / 1e6, overall.percentile(0.99) / 1e6,
+                overall.percentile(1.0) / 1e6));
+        row(out, "Response bytes", String.format("%,d", report.bytes()));
+        out.write("</table>\n");
+    }
+
+    private static void timelines(Writer out, SampleReport report) throws IOException {
+        List<SampleReport.Interval> timeline = report.timeline();
+        double width = report.intervalMicros() / 1e6;
+        double[] x = new double[timeline.size()];
+        double[] p50 = new double[x.length];
+        double[] p95 = new double[x.length];
+        double[] p99 = new double[x.length];
+        double[] throughput = new double[x.length];
+        double[] errors = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            SampleReport.Interval interval = timeline.get(i);
+            x[i] = i * width;
+            p50[i] = interval.latency().percentile(0.50) / 1e6;
+            p95[i] = interval.latency().percentile(0.95) / 1e6;
+            p99[i] = interval.latency().percentile(0.99) / 1e6;
+            throughput[i] = interval.calls() / width;
+            errors[i] = interval.errors() / width;
+        }
+        List<Tick> ticks = new ArrayList<>();
+        for (int i = 0; i <= 4; i++) {
+            double at = x.length == 0 ? 0 : x[x.length - 1] * i / 4;
+            ticks.add(new Tick(at, String.format("%.0f s", at)));
+        }
+        out.write(String.format("<h2>Latency over time</h2>%n<p>Per %.0f s interval, in ms.</p>%n", width));
+        lineChart(out, x, ticks, "ms", List.of(new Series("p50", COLORS[0], p50), new Series("p95", COLORS[3], p95),
+                new Series("p99", COLORS[1], p99)));
+        out.write("<h2>Throughput</h2>\n<p>Requests and errors per second.</p>\n");
+        lineChart(out, x, ticks, "/s", List.of(new Series("requests", COLORS[0], throughput),
+                new Series("errors", COLORS[1], errors)));
+    }
+
+    private static void percentiles(Writer out, SampleReport report) throws IOException {
+        out.write("<h2>Percentile distribution</h2>\n<table><tr><th>Endpoint</th><th>Count</th>");
+        for (double quantile : QUANTILES) {
+            out.write(String.format("<th>%s (ms)</th>", percentileName(quantile)));
+        }
+        out.write("<th>Max (ms)</th></tr>\n");
+        double[] x = new double[QUANTILES.length];
+        List<Tick> ticks = new ArrayList<>();
+        for (int i = 0; i < QUANTILES.length; i++) {
+            // one step per nine, so the tail gets as much room as the median
+            x[i] = -Math.log10(1 - QUANTILES[i]);
+            ticks.add(new Tick(x[i], percentileName(QUANTILES[i])));
+        }
+        List<Series> series = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : report.endpoints().entrySet()) {
+            LatencyHistogram latency = entry.getValue();
+            out.write(String.format("<tr><td class=\"text\">%s</td><td>%,d</td>", escape(entry.getKey()),
+                    latency.count()));
+            double[] values = new double[QUANTILES.length];
+            for (int i = 0; i < QUANTILES.length; i++) {
+                values[i] = latency.percentile(QUANTILES[i]) / 1e6;
+                out.write(String.format("<td>%.1f</td>", values[i]));
+            }
+            out.write(String.format("<td>%.1f</td></tr>%n", latency.percentile(1.0) / 1e6));
+            if (series.size() < COLORS.length) {
+                series.add(new Series(entry.getKey(), COLORS[series.size()], values));
+            }
+        }
+        out.write("</table>\n");
+        lineChart(out, x, ticks, "ms", series);
+    }
+
+    private static void errors(Writer out, SampleReport report) throws IOException {
+        out.write("<h2>Errors</h2>\n");
+        List<SampleReport.ErrorCount> errors = report.errors();
+        if (errors.isEmpty()) {
+            out.write("<p>None.</p>\n");
+            return;
+        }
+        out.write("<table><tr><th>Endpoint</th><th>Status</th><th>Message</th><th>ApiConstants</th><th>Count</th>"
+                + "<th>Share</th></tr>\n");
+        for (SampleReport.ErrorCount error : errors) {
+            String constant = error.message() == null ? "" : ERROR_CONSTANTS.getOrDefault(error.message(), "");
+            out.write(String.format("<tr><td class=\"text\">%s</td><td>%d</td><td class=\"text\">%s</td>"
+                            + "<td class=\"text\">%s</td><td>%,d</td><td>%.1f%%</td></tr>%n", escape(error.endpoint()),
+                    error.status(), error.message() == null ? "<i>no message</i>" : escape(error.message()),
+                    constant, error.count(), 100.0 * error.count() / report.failed()));
+        }
+        out.write("</table>\n");
+    }
+
+    private static void slowest(Writer out, List<SlowRequest> slowest) throws IOException {
+        out.write("<h2>Slowest requests</h2>\n");
+        if (slowest.isEmpty()) {
+            out.write("<p>None kept.</p>\n");
+            return;
+        }
+        out.write("<table><tr><th>Time (UTC)</th><th>Endpoint</th><th>Status</th><th>Latency (ms)</th>"
+                + "<th>Bodies</th></tr>\n");
+        for (SlowRequest request : slowest) {
+            out.write(String.format("<tr><td class=\"text\">%s</td><td class=\"text\">%s</td><td>%d</td>"
+                            + "<td>%.1f</td><td class=\"text\"><details><summary>%s</summary>"
+                            + "<p>Request</p><pre>%s</pre><p>Response</p><pre>%s</pre></details></td></tr>%n",
+                    TIME.format(Instant.EPOCH.plusNanos(request.timestampMicros() * 1_000)),
+                    escape(request.endpoint()), request.status(), request.latencyNanos() / 1e6,
+                    request.message() == null ? "show" : escape(request.message()), body(request.requestBody()),
+                    body(request.responseBody())));
+        }
+        out.write("</table>\n");
+    }
+
+    // --- Charts ---
+
+    /**
+     * Draws the series as lines over a shared x axis, with the y axis from 0 to the largest value.
+     */
+    private static void lineChart(Writer out, double[] x, List<Tick> ticks, String unit, List<Series> series)
+            throws IOException {
+        double xMax = x.length == 0 ? 1 : Math.max(x[x.length - 1], 1e-9);
+        double yMax = 0;
+        for (Series line : series) {
+            for (double value : line.values()) {
+                yMax = Math.max(yMax, value);
+            }
+        }
+        yMax = yMax == 0 ? 1 : yMax * 1.05;
+        int plotWidth = CHART_WIDTH - 2 * MARGIN;
+        int plotHeight = CHART_HEIGHT - 2 * MARGIN;
+        out.write(String.format("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\">%n",
+                CHART_WIDTH, CHART_HEIGHT));
+        out.write(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"#ccc\"/>%n",
+                MARGIN, MARGIN, plotWidth, plotHeight));
+        for (int i = 0; i <= 4; i++) {
+            double y = MARGIN + plotHeight - plotHeight * i / 4.0;
+            out.write(String.format("<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%.1f %s</text>%n", MARGIN - 4,
+                    y + 4, yMax * i / 4, unit));
+        }
+        for (Tick tick : ticks) {
+            double px = MARGIN + plotWidth * tick.x() / xMax;
+            out.write(String.format("<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>%n", px,
+                    CHART_HEIGHT - MARGIN + 16, escape(tick.label())));
+        }
+        for (int s = 0; s < series.size(); s++) {
+            Series line = series.get(s);
+            StringBuilder points = new StringBuilder();
+            for (int i = 0; i < x.length; i++) {
+                points.append(String.format("%.1f,%.1f ", MARGIN + plotWidth * x[i] / xMax,
+                        MARGIN + plotHeight - plotHeight * line.values()[i] / yMax));
+            }
+            out.write(String.format("<polyline fill=\"none\" stroke=\"%s\" stroke-width=\"1.5\" points=\"%s\"/>%n",
+                    line.color(), points));
+            out.write(String.format("<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>%n", MARGIN + 150 * s, MARGIN - 10,
+                    line.color(), escape(line.name())));
+        }
+        out.write("</svg>\n");
+    }
+
+    // --- Helpers ---
+
+    private static void row(Writer out, String label, String value) throws IOException {
+        out.write(String.format("<tr><td class=\"text\">%s</td><td>%s</td></tr>%n", label, value));
+    }
+
+    private static String percentileName(double quantile) {
+        return "p" + String.format("%.2f", quantile * 100).replaceAll("\\.?0+$", "");
+    }
+
+    private static String body(String body) {
+        return body == null || body.isEmpty() ? "<i>empty</i>" : escape(body);
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '&' -> escaped.append("&amp;");
+                case '"' -> escaped.append("&quot;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * @return The names of the {@code *_ERROR_MESSAGE} constants of {@link ApiConstants}, by message.
+     */
+    private static Map<String, String> errorConstants() {
+        Map<String, String> constants = new HashMap<>();
+        for (Field field : ApiConstants.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getName().endsWith("_ERROR_MESSAGE")) {
+                try {
+                    constants.putIfAbsent((String) field.get(null), field.getName());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(String.format("Cannot read ApiConstants.%s", field.getName()), e);
+                }
+            }
+        }
+        return constants;
+    }
+
+    private record Tick(double x, String label) {
+    }
+
+    private record Series(String name, String color, double[] values) {
+    }
+}
@@ -0,0 +1,17 @@
+package tests.utils.samples;
+
+
+/**
+ * One request as stored in a {@link SampleLog}. For long runs read the samples through
+ * {@link SampleLogReader#read}, which passes the fields without creating a record per sample.
+ * @param timestampMicros When the response completed, in microseconds since the epoch.
+ * @param endpointId The endpoint's id; see {@link SampleLogReader#endpoint(int)}.
+ * @param status The HTTP status, -1 if there was no response.
+ * @param messageId The id of the error message of the body, -1 if there was none; see
+ *                  {@link SampleLogReader#message(int)}.
+ * @param latencyNanos The request's latency.
+ * @param bytes Size of the response body.
+ */
+public record Sample(long timestampMicros, int endpointId, int status, int messageId, long latencyNanos,
+                     long bytes) {
+}
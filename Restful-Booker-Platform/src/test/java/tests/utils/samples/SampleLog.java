@@ -0,0 +1,362 @@
+package tests.utils.samples;
+
+import tests.utils.JsonMappers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+
+/**
+ * Append-only log of every request of a run, kept off the heap: each sample is a fixed-width record written straight
+ * into memory-mapped segment files, so a run of 100M requests costs disk space, not garbage collection.
+ * <p>
+ * Appends take no lock. Threads are spread over stripes by thread id, and each stripe appends into a chunk of a few
+ * hundred records it has claimed from the current segment, taking a slot with a single atomic increment. Only when
+ * a segment is full does one thread map the next one. The segments form a ring: once there are
+ * {@code maxSegments}, the oldest is deleted, so the log keeps the latest samples within a fixed disk budget.
+ * Chunks left partly empty (at the end, or when two threads refill a stripe at once) read back as gaps, which the
+ * {@link SampleLogReader} skips; samples are therefore in time order per chunk, not across the log.
+ * <p>
+ * Endpoints and error messages are stored as ids, listed in {@value #ENDPOINTS_FILE} and {@value #MESSAGES_FILE}
+ * next to the segments. Bodies are not logged, except for the {@value #SLOWEST_KEPT} slowest requests, which are
+ * kept on the heap and written to {@value #SLOWEST_FILE} on {@link #close()}. Stop all appends before closing; see
+ * {@link SampleRecording} for recording the calls made through {@code BaseTest.givenRequest()}.
+ * <p>
+ * Record layout, little-endian, {@value #RECORD_BYTES} bytes: timestamp in microseconds since the epoch (0 marks a
+ * gap), latency in nanoseconds and response bytes as longs, endpoint id as an int, status and message id as shorts
+ * (at offsets 0, 8, 16, 24, 28 and 30). Every segment starts with a header of the same size: magic, format
+ * version, record size, segment sequence number and creation time.
+ */
+public final class SampleLog implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 << 20;
+    public static final int DEFAULT_MAX_SEGMENTS = 64;
+    public static final int SLOWEST_KEPT = 25;
+
+    static final int RECORD_BYTES = 32;
+    static final long MAGIC = 0x454C504D_41534252L; // "RBSAMPLE", little-endian
+    static final int VERSION = 2;
+    static final String ENDPOINTS_FILE = "endpoints.txt";
+    static final String MESSAGES_FILE = "messages.txt";
+    static final String SLOWEST_FILE = "slowest.json";
+    static final String SEGMENT_SUFFIX = ".samples";
+
+    private static final int CHUNK_RECORDS = 256;
+    private static final int CHUNK_BYTES = CHUNK_RECORDS * RECORD_BYTES;
+    private static final int MAX_MESSAGES = 1000;
+    private static final String OTHER_MESSAGE = "(other)";
+
+    private final Path directory;
+    private final int chunksPerSegment;
+    private final int maxSegments;
+    private final int stripeMask;
+    private final AtomicReferenceArray<Chunk> stripes;
+    private final ConcurrentHashMap<String, Integer> endpointIds = new ConcurrentHashMap<>();
+    private final List<String> endpoints = new ArrayList<>();
+    private final ConcurrentHashMap<String, Integer> messageIds = new ConcurrentHashMap<>();
+    private final List<String> messages = new ArrayList<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final PriorityQueue<SlowRequest> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(SlowRequest::latencyNanos));
+
+    private volatile Segment current;
+    private volatile long slowestThreshold;
+    private volatile boolean closed;
+
+    private SampleLog(Path directory, int segmentBytes, int maxSegments) {
+        if (segmentBytes < RECORD_BYTES + CHUNK_BYTES || maxSegments < 1) {
+            throw new IllegalArgumentException(String.format("Invalid sample log: %d-byte segments, at most %d",
+                    segmentBytes, maxSegments));
+        }
+        this.directory = directory;
+        this.chunksPerSegment = (segmentBytes - RECORD_BYTES) / CHUNK_BYTES;
+        this.maxSegments = maxSegments;
+        int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new AtomicReferenceArray<>(stripeCount);
+    }
+
+    /**
+     * Opens a log with {@value #DEFAULT_MAX_SEGMENTS} segments of 64 MiB, i.e. the latest 128M samples.
+     * @param directory Where to write the segments; created if missing, and must not hold another log.
+     * @return The log.
+     */
+    public static SampleLog open(Path directory) {
+        return open(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_MAX_SEGMENTS);
+    }
+
+    /**
+     * @param directory Where to write the segments; created if missing, and must not hold another log.
+     * @param segmentBytes Size of a segment file.
+     * @param maxSegments Segments kept; the oldest is deleted when another is needed.
+     * @return The log.
+     */
+    public static SampleLog open(Path directory, int segmentBytes, int maxSegments) {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> existing = Files.list(directory)) {
+                if (existing.anyMatch(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))) {
+                    throw new IllegalArgumentException(String.format("%s already holds a sample log", directory));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to create sample log in %s", directory), e);
+        }
+        SampleLog log = new SampleLog(directory, segmentBytes, maxSegments);
+        log.current = log.map(0);
+        log.writeNames(ENDPOINTS_FILE, log.endpoints);
+        log.writeNames(MESSAGES_FILE, log.messages);
+        return log;
+    }
+
+    /**
+     * @param endpoint E.g. {@code GET /booking/{bookingId}}.
+     * @return Its id in this log, assigned on first use.
+     */
+    public int endpointId(String endpoint) {
+        Integer id = endpointIds.get(endpoint);
+        return id != null ? id : assignId(endpointIds, endpoints, ENDPOINTS_FILE, endpoint);
+    }
+
+    /**
+     * @param message An error message, e.g. {@code ApiConstants.NOT_FOUND_ERROR_MESSAGE}, or {@code null}.
+     * @return Its id in this log, assigned on first use; -1 for {@code null}. Past {@value #MAX_MESSAGES} distinct
+     *         messages, new ones share the id of {@code "(other)"}.
+     */
+    public int messageId(String message) {
+        if (message == null) {
+            return -1;
+        }
+        Integer id = messageIds.get(message);
+        if (id != null) {
+            return id;
+        }
+        return assignId(messageIds, messages, MESSAGES_FILE,
+                messageIds.size() >= MAX_MESSAGES - 1 ? OTHER_MESSAGE : message);
+    }
+
+    /**
+     * Appends a sample; safe from any number of threads, and allocation-free once the endpoint has an id.
+     * @param timestampMicros When the response completed, in microseconds since the epoch; must be positive.
+     * @param endpointId The endpoint's id, from {@link #endpointId(String)}.
+     * @param status The HTTP status, -1 if there was no response.
+     * @param messageId The error message's id, from {@link #messageId(String)}.
+     * @param latencyNanos The latency.
+     * @param bytes Size of the response body.
+     * @throws IllegalStateException if the log is closed.
+     */
+    public void append(long timestampMicros, int endpointId, int status, int messageId, long latencyNanos,
+                       long bytes) {
+        if (closed) {
+            throw new IllegalStateException(String.format("Sample log %s is closed", directory));
+        }
+        int stripe = (int) Thread.currentThread().threadId() & stripeMask;
+        while (true) {
+            Chunk chunk = stripes.get(stripe);
+            if (chunk != null) {
+                int index = chunk.next.getAndIncrement();
+                if (index < CHUNK_RECORDS) {
+                    chunk.write(index, timestampMicros, endpointId, status, messageId, latencyNanos, bytes);
+                    return;
+                }
+            }
+            // if another thread refills the stripe first, the chunk claimed here stays a gap
+            stripes.compareAndSet(stripe, chunk, claimChunk());
+        }
+    }
+
+    /**
+     * Checked before the bodies of a request are read for {@link #offerSlowest}, which most requests never are.
+     * @param latencyNanos A request's latency.
+     * @return Whether the request would be among the slowest kept so far.
+     */
+    public boolean isSlowest(long latencyNanos) {
+        return latencyNanos > slowestThreshold;
+    }
+
+    /**
+     * Keeps the request if it is among the {@value #SLOWEST_KEPT} slowest so far.
+     * @param request The request, with its bodies.
+     */
+    public synchronized void offerSlowest(SlowRequest request) {
+        if (slowest.size() == SLOWEST_KEPT) {
+            if (request.latencyNanos() <= slowest.peek().latencyNanos()) {
+                return;
+            }
+            slowest.poll();
+        }
+        slowest.add(request);
+        if (slowest.size() == SLOWEST_KEPT) {
+            slowestThreshold = slowest.peek().latencyNanos();
+        }
+    }
+
+    /**
+     * @return Current time in microseconds since the epoch, as {@link #append} expects it.
+     */
+    public static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+
+    /**
+     * @return Where the segments are written.
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Flushes the segments still in the ring and writes the names and the slowest requests; appends after this fail.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            segments.forEach(segment -> segment.buffer.force());
+            writeNames(ENDPOINTS_FILE, endpoints);
+            writeNames(MESSAGES_FILE, messages);
+            List<SlowRequest> requests = new ArrayList<>(slowest);
+            requests.sort(Comparator.comparingLong(SlowRequest::latencyNanos).reversed());
+            Path file = directory.resolve(SLOWEST_FILE);
+            try {
+                Files.write(file, JsonMappers.writeBytes(requests));
+            } catch (IOException e) {
+                throw new UncheckedIOException(String.format("Failed to write %s", file), e);
+            }
+        }
+    }
+
+    // --- Segments ---
+
+    private Chunk claimChunk() {
+        while (true) {
+            Segment segment = current;
+            int chunk = segment.nextChunk.getAndIncrement();
+            if (chunk < chunksPerSegment) {
+                return new Chunk(segment.buffer, RECORD_BYTES + chunk * CHUNK_BYTES);
+            }
+            roll(segment);
+        }
+    }
+
+    private synchronized void roll(Segment full) {
+        if (current == full) {
+            current = map(full.sequence + 1);
+        }
+    }
+
+    /**
+     * Maps a new segment, first deleting the oldest if the ring is full. Writers still filling a chunk of the deleted
+     * segment keep a valid mapping, but what they write is gone with it.
+     */
+    private synchronized Segment map(long sequence) {
+        try {
+            if (segments.size() == maxSegments) {
+                Files.delete(segmentFile(segments.removeFirst().sequence));
+            }
+            Path file = segmentFile(sequence);
+            long size = RECORD_BYTES + (long) chunksPerSegment * CHUNK_BYTES;
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putLong(0, MAGIC).putInt(8, VERSION).putInt(12, RECORD_BYTES).putLong(16, sequence)
+                    .putLong(24, nowMicros());
+            Segment segment = new Segment(sequence, buffer);
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to map sample segment %d in %s", sequence,
+                    directory), e);
+        }
+    }
+
+    private Path segmentFile(long sequence) {
+        return directory.resolve(String.format("segment-%012d%s", sequence, SEGMENT_SUFFIX));
+    }
+
+    // --- Names ---
+
+    private synchronized int assignId(ConcurrentHashMap<String, Integer> ids, List<String> names, String fileName,
+                                      String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        names.add(name);
+        writeNames(fileName, names);
+        ids.put(name, names.size() - 1);
+        return names.size() - 1;
+    }
+
+    /**
+     * Rewrites a name list on every new name, so a log cut short by a crash can still be read.
+     */
+    private void writeNames(String fileName, List<String> names) {
+        Path file = directory.resolve(fileName);
+        Path temporary = directory.resolve(fileName + ".tmp");
+        try {
+            Files.write(temporary, names);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to write %s", file), e);
+        }
+    }
+
+    private static final class Segment {
+
+        private final long sequence;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger nextChunk = new AtomicInteger();
+
+        private Segment(long sequence, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * A run of records of one segment, filled by the threads of one stripe.
+     */
+    private static final class Chunk {
+
+        private final MappedByteBuffer buffer;
+        private final int offset;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Chunk(MappedByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        private void write(int index, long timestampMicros, int endpointId, int status, int messageId,
+                           long latencyNanos, long bytes) {
+            int at = offset + index * RECORD_BYTES;
+            // absolute puts only, on a record no other thread writes
+            buffer.putLong(at + 8, latencyNanos).putLong(at + 16, bytes).putInt(at + 24, endpointId)
+                    .putShort(at + 28, (short) status).putShort(at + 30, (short) messageId)
+                    .putLong(at, timestampMicros);
+        }
+    }
+}
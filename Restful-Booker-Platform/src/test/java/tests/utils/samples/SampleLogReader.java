@@ -0,0 +1,224 @@
+package tests.utils.samples;
+
+import tests.utils.JsonMappers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static tests.utils.samples.SampleLog.RECORD_BYTES;
+
+
+/**
+ * Streams the samples of a closed {@link SampleLog} back for offline analysis, segment by segment from the oldest
+ * kept, without holding more than one sample on the heap. The segments are mapped read-only, so reading a log of
+ * many gigabytes costs page cache, not heap.
+ */
+public final class SampleLogReader {
+
+    private final Path directory;
+    private final List<String> endpoints;
+    private final List<String> messages;
+    private final List<Path> segments;
+
+    private SampleLogReader(Path directory, List<String> endpoints, List<String> messages, List<Path> segments) {
+        this.directory = directory;
+        this.endpoints = endpoints;
+        this.messages = messages;
+        this.segments = segments;
+    }
+
+    /**
+     * @param directory The directory a {@link SampleLog} wrote.
+     * @return The reader.
+     */
+    public static SampleLogReader open(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files
+                    .filter(file -> file.getFileName().toString().endsWith(SampleLog.SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+            return new SampleLogReader(directory, Files.readAllLines(directory.resolve(SampleLog.ENDPOINTS_FILE)),
+                    Files.readAllLines(directory.resolve(SampleLog.MESSAGES_FILE)), segments);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to open sample log %s", directory), e);
+        }
+    }
+
+    /**
+     * @return The directory the log was written to.
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * @return The endpoints, by id.
+     */
+    public List<String> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * @param id An endpoint id of a sample.
+     * @return The endpoint, e.g. {@code GET /booking/{bookingId}}.
+     */
+    public String endpoint(int id) {
+        if (id < 0 || id >= endpoints.size()) {
+            throw new IllegalArgumentException(String.format("No endpoint %d in sample log %s", id, directory));
+        }
+        return endpoints.get(id);
+    }
+
+    /**
+     * @param id A message id of a sample.
+     * @return The error message, {@code null} for -1.
+     */
+    public String message(int id) {
+        if (id == -1) {
+            return null;
+        }
+        if (id < 0 || id >= messages.size()) {
+            throw new IllegalArgumentException(String.format("No message %d in sample log %s", id, directory));
+        }
+        return messages.get(id);
+    }
+
+    /**
+     * @return The error messages, by id.
+     */
+    public List<String> messages() {
+        return messages;
+    }
+
+    /**
+     * @return The slowest requests with their bodies, slowest first; empty if the log was not closed.
+     */
+    public List<SlowRequest> slowest() {
+        Path file = directory.resolve(SampleLog.SLOWEST_FILE);
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try {
+            return Arrays.asList(JsonMappers.reader(SlowRequest[].class).readValue(file.toFile()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to read %s", file), e);
+        }
+    }
+
+    /**
+     * @return Creation time of the oldest segment kept, in microseconds since the epoch; no sample is older. 0
+     *         without segments.
+     */
+    public long startMicros() {
+        return segments.isEmpty() ? 0 : map(segments.getFirst()).getLong(24);
+    }
+
+    /**
+     * @return The segment files kept, oldest first.
+     */
+    public List<Path> segments() {
+        return segments;
+    }
+
+    /**
+     * Passes every sample to the visitor, without allocating per sample.
+     * @param visitor Receives the samples' fields.
+     * @return The number of samples read.
+     */
+    public long read(Visitor visitor) {
+        long count = 0;
+        for (Path segment : segments) {
+            MappedByteBuffer buffer = map(segment);
+            for (int at = RECORD_BYTES; at + RECORD_BYTES <= buffer.capacity(); at += RECORD_BYTES) {
+                long timestamp = buffer.getLong(at);
+                if (timestamp != 0) {
+                    visitor.sample(timestamp, buffer.getInt(at + 24), buffer.getShort(at + 28),
+                            buffer.getShort(at + 30), buffer.getLong(at + 8), buffer.getLong(at + 16));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The samples as a lazy stream, for analyses where a record per sample does not matter.
+     */
+    public Stream<Sample> stream() {
+        return segments.stream().flatMap(segment -> StreamSupport.stream(new SegmentSpliterator(map(segment)),
+                false));
+    }
+
+    private MappedByteBuffer map(Path segment) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to map sample segment %s", segment), e);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < RECORD_BYTES || buffer.getLong(0) != SampleLog.MAGIC) {
+            throw new IllegalStateException(String.format("%s is not a sample segment", segment));
+        }
+        if (buffer.getInt(8) != SampleLog.VERSION || buffer.getInt(12) != RECORD_BYTES) {
+            throw new IllegalStateException(String.format("Sample segment %s has version %d with %d-byte records",
+                    segment, buffer.getInt(8), buffer.getInt(12)));
+        }
+        return buffer;
+    }
+
+    /**
+     * Receives the fields of one sample.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * @param timestampMicros When the response completed, in microseconds since the epoch.
+         * @param endpointId The endpoint's id.
+         * @param status The HTTP status, -1 if there was no response.
+         * @param messageId The error message's id, -1 if there was none.
+         * @param latencyNanos The latency.
+         * @param bytes Size of the response body.
+         */
+        void sample(long timestampMicros, int endpointId, int status, int messageId, long latencyNanos, long bytes);
+    }
+
+    private static final class SegmentSpliterator extends Spliterators.AbstractSpliterator<Sample> {
+
+        private final MappedByteBuffer buffer;
+        private int at = RECORD_BYTES;
+
+        private SegmentSpliterator(MappedByteBuffer buffer) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            this.buffer = buffer;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Sample> action) {
+            for (; at + RECORD_BYTES <= buffer.capacity(); at += RECORD_BYTES) {
+                long timestamp = buffer.getLong(at);
+                if (timestamp != 0) {
+                    action.accept(new Sample(timestamp, buffer.getInt(at + 24), buffer.getShort(at + 28),
+                            buffer.getShort(at + 30), buffer.getLong(at + 8), buffer.getLong(at + 16)));
+                    at += RECORD_BYTES;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
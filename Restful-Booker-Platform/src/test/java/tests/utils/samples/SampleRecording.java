@@ -0,0 +1,105 @@
+package tests.utils.samples;
+
+import java.nio.file.Path;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+
+/**
+ * Feeds every call made through {@code BaseTest.givenRequest()} into the running {@link SampleLog}s, through the
+ * {@code MetricsFilter}; while none is running that costs nothing. Load runs record into a log of their own (see
+ * {@code ScenarioEngine --samples}), and the suite records the whole run when {@code -Dsamples.dir=target/samples}
+ * is set, closing the log when the run ends; read it back with {@link SampleLogReader}.
+ */
+public final class SampleRecording {
+
+    public static final String DIRECTORY_PROPERTY = "samples.dir";
+
+    private static final int MAX_BODY_CHARS = 4096;
+
+    private static final CopyOnWriteArrayList<SampleLog> ACTIVE = new CopyOnWriteArrayList<>();
+    private static SampleLog runWide;
+
+    private SampleRecording() {
+        // hidden constructor
+    }
+
+    /**
+     * @return Whether any log is recording; checked by the filter before it measures the response.
+     */
+    public static boolean isRecording() {
+        return !ACTIVE.isEmpty();
+    }
+
+    /**
+     * Starts recording calls into the log, until {@link #stop}.
+     * @param log The log.
+     */
+    public static void start(SampleLog log) {
+        ACTIVE.add(log);
+    }
+
+    /**
+     * Stops recording into the log; it stays open.
+     * @param log The log.
+     */
+    public static void stop(SampleLog log) {
+        ACTIVE.remove(log);
+    }
+
+    /**
+     * Appends a completed call to every recording log; called by the filter from any thread. The bodies are only
+     * read if the call is among a log's slowest.
+     * @param endpoint The method and path template, e.g. {@code GET /booking/{bookingId}}.
+     * @param status The HTTP status, -1 if there was no response.
+     * @param message The {@code error} message of the body, or {@code null}.
+     * @param latencyNanos The call's latency.
+     * @param bytes Size of the response body, e.g. from its {@code Content-Length}; 0 if unknown.
+     * @param requestBody Supplies the request body, or {@code null}.
+     * @param responseBody Supplies the response body, or {@code null}.
+     */
+    public static void record(String endpoint, int status, String message, long latencyNanos, long bytes,
+                              Supplier<String> requestBody, Supplier<String> responseBody) {
+        long now = SampleLog.nowMicros();
+        for (SampleLog log : ACTIVE) {
+            log.append(now, log.endpointId(endpoint), status, log.messageId(message), latencyNanos, bytes);
+            if (log.isSlowest(latencyNanos)) {
+                log.offerSlowest(new SlowRequest(now, endpoint, status, message, latencyNanos,
+                        truncate(requestBody.get()), truncate(responseBody.get())));
+            }
+        }
+    }
+
+    private static String truncate(String body) {
+        return body == null || body.length() <= MAX_BODY_CHARS ? body
+                : String.format("%s... (%,d characters)", body.substring(0, MAX_BODY_CHARS), body.length());
+    }
+
+    /**
+     * Starts the run-wide log if {@code -Dsamples.dir} is set and it is not running yet.
+     * @return {@code true} if this call started the log.
+     */
+    static synchronized boolean startIfRequested() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null || directory.isBlank() || runWide != null) {
+            return false;
+        }
+        runWide = SampleLog.open(Path.of(directory));
+        start(runWide);
+        System.out.printf("Sample log started in %s%n", runWide.directory().toAbsolutePath());
+        return true;
+    }
+
+    /**
+     * Stops and closes the run-wide log.
+     */
+    static synchronized void stopAndClose() {
+        if (runWide == null) {
+            return;
+        }
+        stop(runWide);
+        runWide.close();
+        System.out.printf("Sample log closed in %s%n", runWide.directory().toAbsolutePath());
+        runWide = null;
+    }
+}
@@ -0,0 +1,23 @@
+package tests.utils.samples;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+
+/**
+ * JUnit 5 extension, registered for every test class through extension auto-detection, that starts the run-wide
+ * {@link SampleLog} when {@code -Dsamples.dir} is set and closes it when the run ends.
+ */
+public class SampleRecordingExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SampleRecordingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (SampleRecording.startIfRequested()) {
+            // the root store is closed once the whole run has finished
+            context.getRoot().getStore(NAMESPACE).put("recording",
+                    (ExtensionContext.Store.CloseableResource) SampleRecording::stopAndClose);
+        }
+    }
+}
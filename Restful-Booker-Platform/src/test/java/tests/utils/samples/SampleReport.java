@@ -0,0 +1,208 @@
+package tests.utils.samples;
+
+import tests.utils.concurrency.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Aggregates a {@link SampleLog} in one pass over {@link SampleLogReader#read}, in memory independent of the number
+ * of samples: latency histograms per endpoint, throughput, errors and latency over time, and errors by endpoint,
+ * status and message. The timeline starts with one-second intervals; whenever it would exceed
+ * {@value #MAX_INTERVALS} intervals, neighbouring intervals are merged and the width doubles, so a run of hours
+ * still aggregates into a few hundred histograms. Render it with {@link HtmlSampleReport}.
+ */
+public final class SampleReport implements SampleLogReader.Visitor {
+
+    private static final int MAX_INTERVALS = 600;
+    private static final long FIRST_INTERVAL_MICROS = 1_000_000;
+
+    private final SampleLogReader reader;
+    private final long startMicros;
+    private final LatencyHistogram overall = new LatencyHistogram();
+    private final LatencyHistogram[] endpoints;
+    private final List<Interval> timeline = new ArrayList<>();
+    private final Map<ErrorKey, Long> errors = new HashMap<>();
+
+    private long intervalMicros = FIRST_INTERVAL_MICROS;
+    private long firstMicros = Long.MAX_VALUE;
+    private long lastMicros = Long.MIN_VALUE;
+    private long failed;
+    private long bytes;
+
+    private SampleReport(SampleLogReader reader) {
+        this.reader = reader;
+        this.startMicros = reader.startMicros();
+        this.endpoints = new LatencyHistogram[reader.endpoints().size()];
+        for (int i = 0; i < endpoints.length; i++) {
+            endpoints[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * @param reader The log to aggregate.
+     * @return The aggregate of all its samples.
+     */
+    public static SampleReport of(SampleLogReader reader) {
+        SampleReport report = new SampleReport(reader);
+        reader.read(report);
+        return report;
+    }
+
+    @Override
+    public void sample(long timestampMicros, int endpointId, int status, int messageId, long latencyNanos,
+                       long bytes) {
+        long offset = Math.max(timestampMicros - startMicros, 0);
+        while (offset / intervalMicros >= MAX_INTERVALS) {
+            widen();
+        }
+        int index = (int) (offset / intervalMicros);
+        while (timeline.size() <= index) {
+            timeline.add(new Interval());
+        }
+        Interval interval = timeline.get(index);
+        interval.calls++;
+        interval.latency.record(latencyNanos);
+        endpoints[endpointId].record(latencyNanos);
+        overall.record(latencyNanos);
+        this.bytes += bytes;
+        firstMicros = Math.min(firstMicros, timestampMicros);
+        lastMicros = Math.max(lastMicros, timestampMicros);
+        if (status < 0 || status >= 400) {
+            interval.errors++;
+            failed++;
+            errors.merge(new ErrorKey(endpointId, status, messageId), 1L, Long::sum);
+        }
+    }
+
+    /**
+     * @return The log that was read, for its names and slowest requests.
+     */
+    public SampleLogReader reader() {
+        return reader;
+    }
+
+    /**
+     * @return Latency of all samples.
+     */
+    public LatencyHistogram overall() {
+        return overall;
+    }
+
+    /**
+     * @return Latency by endpoint, in the order endpoints first appeared, without endpoints that have no samples left
+     *         in the ring.
+     */
+    public Map<String, LatencyHistogram> endpoints() {
+        Map<String, LatencyHistogram> byName = new LinkedHashMap<>();
+        for (int i = 0; i < endpoints.length; i++) {
+            if (endpoints[i].count() > 0) {
+                byName.put(reader.endpoint(i), endpoints[i]);
+            }
+        }
+        return byName;
+    }
+
+    /**
+     * @return Samples read.
+     */
+    public long samples() {
+        return overall.count();
+    }
+
+    /**
+     * @return Samples with status 400 or above, or without a response.
+     */
+    public long failed() {
+        return failed;
+    }
+
+    /**
+     * @return Response bytes of all samples.
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return Time from the first sample to the last, in microseconds; 0 for fewer than two.
+     */
+    public long durationMicros() {
+        return samples() == 0 ? 0 : lastMicros - firstMicros;
+    }
+
+    /**
+     * @return Width of the timeline's intervals, in microseconds.
+     */
+    public long intervalMicros() {
+        return intervalMicros;
+    }
+
+    /**
+     * @return The timeline, from the start of the log.
+     */
+    public List<Interval> timeline() {
+        return timeline;
+    }
+
+    /**
+     * @return The errors, most frequent first.
+     */
+    public List<ErrorCount> errors() {
+        return errors.entrySet().stream()
+                .map(entry -> new ErrorCount(reader.endpoint(entry.getKey().endpointId()), entry.getKey().status(),
+                        reader.message(entry.getKey().messageId()), entry.getValue()))
+                .sorted(Comparator.comparingLong(ErrorCount::count).reversed()
+                        .thenComparing(ErrorCount::endpoint))
+                .toList();
+    }
+
+    /**
+     * Doubles the interval width, merging neighbouring intervals.
+     */
+    private void widen() {
+        for (int i = 0; i < timeline.size(); i += 2) {
+            Interval merged = timeline.get(i);
+            if (i + 1 < timeline.size()) {
+                Interval next = timeline.get(i + 1);
+                merged.calls += next.calls;
+                merged.errors += next.errors;
+                merged.latency.add(next.latency);
+            }
+            timeline.set(i / 2, merged);
+        }
+        timeline.subList((timeline.size() + 1) / 2, timeline.size()).clear();
+        intervalMicros *= 2;
+    }
+
+    /**
+     * One interval of the timeline.
+     */
+    public static final class Interval {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long calls;
+        private long errors;
+
+        public long calls() { return calls; }
+        public long errors() { return errors; }
+        public LatencyHistogram latency() { return latency; }
+    }
+
+    /**
+     * @param endpoint The method and path template.
+     * @param status The HTTP status, -1 if there was no response.
+     * @param message The {@code error} message of the body, or {@code null}.
+     * @param count Samples with this error.
+     */
+    public record ErrorCount(String endpoint, int status, String message, long count) {
+    }
+
+    private record ErrorKey(int endpointId, int status, int messageId) {
+    }
+}
@@ -0,0 +1,17 @@
+package tests.utils.samples;
+
+
+/**
+ * One of the slowest requests of a {@link SampleLog}, kept with its bodies so a report can show what was slow.
+ * Bodies longer than a few thousand characters are cut.
+ * @param timestampMicros When the response completed, in microseconds since the epoch.
+ * @param endpoint The method and path template.
+ * @param status The HTTP status, -1 if there was no response.
+ * @param message The {@code error} message of the body, or {@code null}.
+ * @param latencyNanos The latency.
+ * @param requestBody The request body, or {@code null}.
+ * @param responseBody The response body, or {@code null}.
+ */
+public record SlowRequest(long timestampMicros, String endpoint, int status, String message, long latencyNanos,
+                          String requestBody, String responseBody) {
+}
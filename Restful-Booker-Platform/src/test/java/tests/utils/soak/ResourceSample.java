@@ -0,0 +1,70 @@
+package tests.utils.soak;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+/**
+ * Client-side resources at one point of a soak run; a count the platform cannot provide is -1.
+ * @param heapAfterGcBytes Heap still used after a full collection.
+ * @param liveThreads Live platform threads; virtual threads are not counted.
+ * @param openFileDescriptors Open file descriptors, sockets included.
+ * @param openSockets Open sockets, read from {@code /proc/self/fd}.
+ */
+public record ResourceSample(long heapAfterGcBytes, int liveThreads, long openFileDescriptors, long openSockets) {
+
+    private static final Path OWN_FDS = Path.of("/proc/self/fd");
+
+    /**
+     * Requests a full collection and samples the resources. The heap figure is the occupancy the collector
+     * left behind, so garbage awaiting collection does not read as growth.
+     * @return The sample.
+     */
+    public static ResourceSample take() {
+        System.gc();
+        long heapAfterGc = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && afterGc != null) {
+                heapAfterGc += afterGc.getUsed();
+            }
+        }
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        long fileDescriptors = os instanceof UnixOperatingSystemMXBean unix ? unix.getOpenFileDescriptorCount() : -1;
+        return new ResourceSample(heapAfterGc, ManagementFactory.getThreadMXBean().getThreadCount(), fileDescriptors,
+                countSockets());
+    }
+
+    /**
+     * Counts the descriptors linking to {@code socket:[inode]}; a descriptor closed while listing is skipped.
+     */
+    private static long countSockets() {
+        if (!Files.isDirectory(OWN_FDS)) {
+            return -1;
+        }
+        long sockets = 0;
+        try (DirectoryStream<Path> descriptors = Files.newDirectoryStream(OWN_FDS)) {
+            for (Path descriptor : descriptors) {
+                try {
+                    if (Files.readSymbolicLink(descriptor).toString().startsWith("socket:")) {
+                        sockets++;
+                    }
+                } catch (IOException e) {
+                    // closed since it was listed
+                }
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        return sockets;
+    }
+}
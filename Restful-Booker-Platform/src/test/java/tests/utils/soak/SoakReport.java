@@ -0,0 +1,125 @@
+package tests.utils.soak;
+
+import tests.utils.concurrency.LatencyStats;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+
+/**
+ * Results of a {@link SoakRunner} run: the windows, and the trends of the client's resources and latency over
+ * the windows after the warm-up, which the JIT and connection pool still distort.
+ * @param baseline The resources sampled before the first flow started.
+ * @param windows Every window, in order.
+ * @param warmUpWindows Leading windows left out of the trends.
+ * @param elapsedNanos Wall-clock time of the run.
+ */
+public record SoakReport(ResourceSample baseline, List<SoakWindow> windows, int warmUpWindows, long elapsedNanos) {
+
+    private static final double MEBIBYTE = 1024 * 1024;
+    private static final double MIN_HEAP_GROWTH = 4 * MEBIBYTE;
+    private static final double MIN_COUNT_GROWTH = 2;
+    private static final double MIN_DRIFT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * @return The windows the trends cover.
+     */
+    public List<SoakWindow> steadyWindows() {
+        return windows.subList(Math.min(warmUpWindows, windows.size()), windows.size());
+    }
+
+    /**
+     * Heap after GC, live threads, open file descriptors and open sockets; a resource the platform does not
+     * report is left out.
+     * @return The resource trends, flagged where a resource grew monotonically.
+     */
+    public List<Trend> resourceTrends() {
+        List<Trend> trends = new ArrayList<>();
+        addGrowth(trends, "heap after GC (MB)", ResourceSample::heapAfterGcBytes, MIN_HEAP_GROWTH);
+        addGrowth(trends, "live threads", ResourceSample::liveThreads, MIN_COUNT_GROWTH);
+        addGrowth(trends, "open file descriptors", ResourceSample::openFileDescriptors, MIN_COUNT_GROWTH);
+        addGrowth(trends, "open sockets", ResourceSample::openSockets, MIN_COUNT_GROWTH);
+        return trends;
+    }
+
+    /**
+     * The p50, p95 and p99 of all calls, and the p95 of every step; a window without calls of a step is left out
+     * of that step's trend.
+     * @return The latency trends in nanoseconds, flagged where a percentile drifted upwards.
+     */
+    public List<Trend> latencyTrends() {
+        List<Trend> trends = new ArrayList<>();
+        trends.add(drift("p50 all", SoakWindow::overall, LatencyStats::p50Nanos));
+        trends.add(drift("p95 all", SoakWindow::overall, LatencyStats::p95Nanos));
+        trends.add(drift("p99 all", SoakWindow::overall, LatencyStats::p99Nanos));
+        TreeSet<String> steps = new TreeSet<>();
+        steadyWindows().forEach(window -> steps.addAll(window.latency().keySet()));
+        for (String step : steps) {
+            trends.add(drift("p95 " + step, window -> window.latency().get(step), LatencyStats::p95Nanos));
+        }
+        return trends;
+    }
+
+    /**
+     * @return Whether any resource grew or any latency percentile drifted.
+     */
+    public boolean flagged() {
+        return resourceTrends().stream().anyMatch(Trend::flagged)
+                || latencyTrends().stream().anyMatch(Trend::flagged);
+    }
+
+    /**
+     * @return The failed calls of all windows.
+     */
+    public int errorCount() {
+        return windows.stream().mapToInt(SoakWindow::errorCount).sum();
+    }
+
+    /**
+     * Prints every window, then the trends.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n=== Soak: %d windows over %.1f min, %d errors, %d skipped flows ===%n", windows.size(),
+                elapsedNanos / 6e10, errorCount(), windows.stream().mapToInt(SoakWindow::skipped).sum());
+        out.printf("Baseline: heap after GC %.1f MB, %d threads, %d FDs, %d sockets%n",
+                baseline.heapAfterGcBytes() / MEBIBYTE, baseline.liveThreads(), baseline.openFileDescriptors(),
+                baseline.openSockets());
+        SoakWindow.printHeader(out);
+        windows.forEach(window -> window.print(out));
+
+        out.printf("%nResource trends (first %d windows left out):%n", warmUpWindows);
+        Trend.printHeader(out);
+        resourceTrends().forEach(trend -> trend.print(out, trend.series().startsWith("heap") ? MEBIBYTE : 1));
+        out.printf("%nLatency trends (ms):%n");
+        Trend.printHeader(out);
+        latencyTrends().forEach(trend -> trend.print(out, 1e6));
+        out.printf("Verdict: %s%n", flagged() ? "GROWTH OR DRIFT FLAGGED" : "stable");
+    }
+
+    // --- Trends ---
+
+    private void addGrowth(List<Trend> trends, String series, ToDoubleFunction<ResourceSample> resource,
+                           double minimumGrowth) {
+        double[] values = steadyWindows().stream().mapToDouble(window -> resource.applyAsDouble(window.resources()))
+                .toArray();
+        if (values.length > 0 && values[0] >= 0) {
+            trends.add(Trend.growth(series, values, minimumGrowth));
+        }
+    }
+
+    private Trend drift(String series, Function<SoakWindow, LatencyStats> stats,
+                        ToDoubleFunction<LatencyStats> percentile) {
+        double[] values = steadyWindows().stream()
+                .map(stats)
+                .filter(latency -> latency != null && latency.count() > 0)
+                .mapToDouble(percentile)
+                .toArray();
+        return Trend.drift(series, values, MIN_DRIFT_NANOS);
+    }
+}
@@ -0,0 +1,353 @@
+package tests.utils.soak;
+
+import io.restassured.response.Response;
+import models.common.BookingDates;
+import models.common.Message;
+import models.request.BookingRequest;
+import models.response.BookingResponse;
+import tests.utils.JsonMappers;
+import tests.utils.concurrency.BookingCalls;
+import tests.utils.concurrency.LatencyStats;
+import tests.utils.policies.RateLimiter;
+import tests.utils.standin.StandInServer;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static constants.ApiConstants.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.BOOKING_BY_ID_PATH;
+import static tests.base.RequestTemplates.BOOKING_ID_PARAM;
+import static tests.base.RequestTemplates.MESSAGE_BY_ID_PATH;
+import static tests.base.RequestTemplates.MESSAGE_ID_PARAM;
+import static tests.base.RequestTemplates.authenticated;
+import static tests.utils.TestUtils.buildBookingRequest;
+
+
+/**
+ * Runs the booking, branding and message flows continuously at a fixed rate, for hours if need be, and tracks
+ * whether the client degrades: at the end of every window (a minute by default) it samples the heap after GC,
+ * live threads, open file descriptors and sockets, and the latency percentiles of the calls in the window. The
+ * {@link SoakReport} flags a resource that grows monotonically and a percentile that drifts upwards.
+ * <p>
+ * Flows start at the given rate in turn, each on its own virtual thread, so a slow target does not slow the
+ * arrivals down; a flow is skipped (and counted) when too many are still in flight. Every flow cleans up after
+ * itself: the booking flow creates a booking on far-ahead dates of room 1, finds it in the list, reads, updates
+ * and deletes it, and the message flow sends a message, finds it in the list, reads and deletes it and reads the
+ * unread count, so the target's data, and with it its latency, stays level. The token is renewed every few
+ * minutes, as a long run outlives it.
+ * <p>
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.soak.SoakRunner
+ * -Dexec.args="--minutes 240 --rate 2"}
+ * <p>
+ * Options: {@code --minutes n} (default 120), {@code --rate n} flows per second (default 2),
+ * {@code --window-seconds n} (default 60), {@code --warm-up n} windows left out of the trends (default 2),
+ * {@code --base-url url} (default: {@code -DbaseUri} or the live API), {@code --stand-in} targets a local
+ * {@link StandInServer}. The exit code is 1 if any growth or drift was flagged.
+ */
+public final class SoakRunner {
+
+    // --- Steps ---
+    public static final String CREATE_BOOKING = "POST " + BOOKING_ENDPOINT;
+    public static final String LIST_BOOKINGS = "GET " + BOOKING_ENDPOINT;
+    public static final String GET_BOOKING = "GET " + BOOKING_BY_ID_PATH;
+    public static final String UPDATE_BOOKING = "PUT " + BOOKING_BY_ID_PATH;
+    public static final String DELETE_BOOKING = "DELETE " + BOOKING_BY_ID_PATH;
+    public static final String GET_BRANDING = "GET " + BRANDING_ENDPOINT;
+    public static final String CREATE_MESSAGE = "POST " + MESSAGE_ENDPOINT;
+    public static final String LIST_MESSAGES = "GET " + MESSAGE_ENDPOINT;
+    public static final String GET_MESSAGE = "GET " + MESSAGE_BY_ID_PATH;
+    public static final String DELETE_MESSAGE = "DELETE " + MESSAGE_BY_ID_PATH;
+    public static final String COUNT_MESSAGES = "GET " + MESSAGE_ENDPOINT + "/count";
+    public static final String LOGIN = "POST " + AUTH_LOGIN_ENDPOINT;
+
+    private static final int ROOM_ID = 1;
+    private static final int NIGHTS = 1;
+    private static final int MAX_IN_FLIGHT = 64;
+    private static final long TOKEN_RENEWAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final String baseUri;
+    private final Duration duration;
+    private final double flowsPerSecond;
+    private final Duration window;
+    private final int warmUpWindows;
+
+    private final AtomicReference<WindowRecorder> recorder = new AtomicReference<>(new WindowRecorder());
+    private final List<SoakWindow> windows = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger sequence = new AtomicInteger();
+    private volatile String token;
+    private volatile long loggedInAt;
+
+    /**
+     * @param baseUri The API base URI, e.g. {@code ApiConstants.BASE_URI}.
+     * @param duration How long to run.
+     * @param flowsPerSecond Flows started per second, across the three flows.
+     * @param window How often to sample, e.g. a minute.
+     * @param warmUpWindows Leading windows left out of the trends.
+     */
+    public SoakRunner(String baseUri, Duration duration, double flowsPerSecond, Duration window, int warmUpWindows) {
+        if (duration.compareTo(window) < 0 || flowsPerSecond <= 0 || warmUpWindows < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Need a positive rate and a run of at least one window: %s, %s/s, %s", duration, flowsPerSecond,
+                    window));
+        }
+        this.baseUri = baseUri;
+        this.duration = duration;
+        this.flowsPerSecond = flowsPerSecond;
+        this.window = window;
+        this.warmUpWindows = warmUpWindows;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUri = System.getProperty("baseUri", BASE_URI);
+        long minutes = 120;
+        double rate = 2;
+        long windowSeconds = 60;
+        int warmUp = 2;
+        boolean standIn = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUri = args[++i];
+                case "--minutes" -> minutes = Long.parseLong(args[++i]);
+                case "--rate" -> rate = Double.parseDouble(args[++i]);
+                case "--window-seconds" -> windowSeconds = Long.parseLong(args[++i]);
+                case "--warm-up" -> warmUp = Integer.parseInt(args[++i]);
+                case "--stand-in" -> standIn = true;
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+
+        Duration duration = Duration.ofMinutes(minutes);
+        Duration window = Duration.ofSeconds(windowSeconds);
+        SoakReport report;
+        if (standIn) {
+            try (StandInServer server = StandInServer.start()) {
+                report = new SoakRunner(server.baseUri(), duration, rate, window, warmUp).run(System.out);
+            }
+        } else {
+            report = new SoakRunner(baseUri, duration, rate, window, warmUp).run(System.out);
+        }
+        report.print(System.out);
+        System.exit(report.flagged() ? 1 : 0);
+    }
+
+    /**
+     * Logs in, samples the baseline, runs the flows for the duration, waits for the flows in flight and closes
+     * the last, partial window.
+     * @param progress Stream each window is printed to as it closes.
+     * @return The report.
+     * @throws InterruptedException if interrupted while running.
+     */
+    public SoakReport run(PrintStream progress) throws InterruptedException {
+        renewToken();
+        ResourceSample baseline = ResourceSample.take();
+        SoakWindow.printHeader(progress);
+
+        RateLimiter arrivals = new RateLimiter(flowsPerSecond, 1);
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        List<Runnable> flows = List.of(this::bookingFlow, this::brandingFlow, this::messageFlow);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        sampler.scheduleAtFixedRate(() -> closeWindow(start, progress), window.toNanos(), window.toNanos(),
+                TimeUnit.NANOSECONDS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int next = 0; System.nanoTime() < end; next++) {
+                arrivals.acquire();
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Soak run interrupted");
+                }
+                if (!inFlight.tryAcquire()) {
+                    recorder.get().skipped.increment();
+                    continue;
+                }
+                Runnable flow = flows.get(next % flows.size());
+                executor.execute(() -> {
+                    try {
+                        flow.run();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            sampler.shutdown();
+            sampler.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        if (!recorder.get().isEmpty()) {
+            closeWindow(start, progress);
+        }
+        return new SoakReport(baseline, List.copyOf(windows), warmUpWindows, System.nanoTime() - start);
+    }
+
+    // --- Windows ---
+
+    /**
+     * Swaps in a fresh recorder, so calls completing from now on count towards the next window, then samples.
+     */
+    private void closeWindow(long start, PrintStream progress) {
+        WindowRecorder closed = recorder.getAndSet(new WindowRecorder());
+        List<Long> all = new ArrayList<>();
+        Map<String, LatencyStats> latency = new TreeMap<>();
+        closed.latencies.forEach((step, latencies) -> {
+            all.addAll(latencies);
+            latency.put(step, LatencyStats.of(latencies.stream().mapToLong(Long::longValue).toArray()));
+        });
+        Map<String, Integer> errors = new TreeMap<>();
+        closed.errors.forEach((step, count) -> errors.put(step, count.intValue()));
+
+        SoakWindow soakWindow = new SoakWindow(windows.size(), System.nanoTime() - start,
+                LatencyStats.of(all.stream().mapToLong(Long::longValue).toArray()), latency, errors,
+                closed.skipped.intValue(), ResourceSample.take());
+        windows.add(soakWindow);
+        soakWindow.print(progress);
+        if (System.nanoTime() - loggedInAt > TOKEN_RENEWAL_NANOS) {
+            renewToken();
+        }
+    }
+
+    private void renewToken() {
+        try {
+            token = BookingCalls.login(baseUri);
+            loggedInAt = System.nanoTime();
+        } catch (RuntimeException | AssertionError e) {
+            // the old token may still be accepted; retried at the end of the next window
+            recorder.get().error(LOGIN);
+        }
+    }
+
+    // --- Flows ---
+
+    private void bookingFlow() {
+        BookingDates dates = BookingCalls.farFutureStay(NIGHTS);
+        BookingRequest request = buildBookingRequest(CORRECT_BOOKING_CREATION_PATH, String.valueOf(ROOM_ID));
+        request.setBookingdates(dates);
+        String body = BookingCalls.json(request);
+        if (call(CREATE_BOOKING, () -> givenRequest().baseUri(baseUri).body(body).post(BOOKING_ENDPOINT)) == null) {
+            return;
+        }
+
+        Response list = call(LIST_BOOKINGS, () -> givenRequest(authenticated(BOOKING_ENDPOINT, token))
+                .baseUri(baseUri)
+                .queryParam("roomid", ROOM_ID)
+                .get());
+        List<BookingResponse> bookings = list == null ? null
+                : JsonMappers.readList(list, "bookings", BookingResponse.class);
+        BookingResponse created = bookings == null ? null : bookings.stream()
+                .filter(booking -> dates.equals(booking.getBookingdates()))
+                .findFirst()
+                .orElse(null);
+        if (created == null) {
+            recorder.get().error(LIST_BOOKINGS);
+            return;
+        }
+
+        int id = created.getBookingid();
+        call(GET_BOOKING, () -> givenRequest(authenticated(BOOKING_BY_ID_PATH, token)).baseUri(baseUri)
+                .pathParam(BOOKING_ID_PARAM, id)
+                .get());
+        request.setLastname(request.getLastname() + "Soaked");
+        String update = BookingCalls.json(request);
+        call(UPDATE_BOOKING, () -> givenRequest(authenticated(BOOKING_BY_ID_PATH, token)).baseUri(baseUri)
+                .pathParam(BOOKING_ID_PARAM, id)
+                .body(update)
+                .put());
+        call(DELETE_BOOKING, () -> givenRequest(authenticated(BOOKING_BY_ID_PATH, token)).baseUri(baseUri)
+                .pathParam(BOOKING_ID_PARAM, id)
+                .delete());
+    }
+
+    private void brandingFlow() {
+        call(GET_BRANDING, () -> givenRequest().baseUri(baseUri).get(BRANDING_ENDPOINT));
+    }
+
+    private void messageFlow() {
+        String name = String.format("Soak %d", sequence.incrementAndGet());
+        String body = BookingCalls.json(BookingCalls.contactMessage(name));
+        if (call(CREATE_MESSAGE, () -> givenRequest().baseUri(baseUri).body(body).post(MESSAGE_ENDPOINT)) == null) {
+            return;
+        }
+
+        Response list = call(LIST_MESSAGES, () -> givenRequest().baseUri(baseUri).get(MESSAGE_ENDPOINT));
+        List<Message> messages = list == null ? null : JsonMappers.readList(list, "messages", Message.class);
+        Integer id = messages == null ? null : messages.stream()
+                .filter(candidate -> name.equals(candidate.getName()))
+                .map(Message::getId)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+        if (id == null) {
+            recorder.get().error(LIST_MESSAGES);
+        } else {
+            call(GET_MESSAGE, () -> givenRequest(authenticated(MESSAGE_BY_ID_PATH, token)).baseUri(baseUri)
+                    .pathParam(MESSAGE_ID_PARAM, id)
+                    .get());
+            call(DELETE_MESSAGE, () -> givenRequest(authenticated(MESSAGE_BY_ID_PATH, token)).baseUri(baseUri)
+                    .pathParam(MESSAGE_ID_PARAM, id)
+                    .delete());
+        }
+        call(COUNT_MESSAGES, () -> givenRequest().baseUri(baseUri).get(MESSAGE_ENDPOINT + "/count"));
+    }
+
+    /**
+     * Times one call into the current window.
+     * @return The response, or {@code null} if the call failed or its status was not 2xx.
+     */
+    private Response call(String step, Supplier<Response> send) {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = send.get();
+        } catch (RuntimeException e) {
+            recorder.get().error(step);
+            return null;
+        }
+        WindowRecorder current = recorder.get();
+        current.record(step, System.nanoTime() - start);
+        if (response.getStatusCode() / 100 != 2) {
+            current.error(step);
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * Calls completed in the open window; the runner swaps it for a fresh one when the window closes.
+     */
+    private static final class WindowRecorder {
+
+        private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final LongAdder skipped = new LongAdder();
+
+        void record(String step, long nanos) {
+            latencies.computeIfAbsent(step, k -> new ConcurrentLinkedQueue<>()).add(nanos);
+        }
+
+        void error(String step) {
+            errors.computeIfAbsent(step, k -> new LongAdder()).increment();
+        }
+
+        boolean isEmpty() {
+            return latencies.isEmpty() && errors.isEmpty() && skipped.sum() == 0;
+        }
+    }
+}
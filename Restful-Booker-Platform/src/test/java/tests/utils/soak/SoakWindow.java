@@ -0,0 +1,49 @@
+package tests.utils.soak;
+
+import tests.utils.concurrency.LatencyStats;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+
+/**
+ * One sampling window of a soak run, e.g. a minute: the latency of the calls that completed in it and the
+ * resources sampled when it closed.
+ * @param index The window number, from 0.
+ * @param endNanos When the window closed, relative to the start of the run.
+ * @param overall Latency of every call in the window.
+ * @param latency Latency per step, e.g. {@code GET /booking/{bookingId}}.
+ * @param errors Calls per step that failed or returned an unexpected status.
+ * @param skipped Flows not started because too many were still in flight.
+ * @param resources The resources sampled when the window closed.
+ */
+public record SoakWindow(int index, long endNanos, LatencyStats overall, Map<String, LatencyStats> latency,
+                         Map<String, Integer> errors, int skipped, ResourceSample resources) {
+
+    /**
+     * @return The failed calls of all steps.
+     */
+    public int errorCount() {
+        return errors.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Prints the header matching {@link #print}.
+     * @param out The stream to print to.
+     */
+    public static void printHeader(PrintStream out) {
+        out.printf("%6s %8s %7s %10s %10s %10s %7s %8s %10s %8s %5s %8s%n", "Window", "Minutes", "Calls",
+                "p50 (ms)", "p95 (ms)", "p99 (ms)", "Errors", "Skipped", "Heap (MB)", "Threads", "FDs", "Sockets");
+    }
+
+    /**
+     * Prints the window as one line.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%6d %8.1f %7d %10.1f %10.1f %10.1f %7d %8d %10.1f %8d %5d %8d%n", index, endNanos / 6e10,
+                overall.count(), overall.p50Nanos() / 1e6, overall.p95Nanos() / 1e6, overall.p99Nanos() / 1e6,
+                errorCount(), skipped, resources.heapAfterGcBytes() / 1048576.0, resources.liveThreads(),
+                resources.openFileDescriptors(), resources.openSockets());
+    }
+}
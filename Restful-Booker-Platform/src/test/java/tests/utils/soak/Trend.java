@@ -0,0 +1,164 @@
+package tests.utils.soak;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+
+/**
+ * Trend of one series over the windows of a soak run. The Mann-Kendall test decides whether the series rises
+ * monotonically, which a leak does in steps and with GC noise rather than linearly, and the Sen slope (the median
+ * of the pairwise slopes) estimates how fast, unmoved by a few outlying windows. A rise is only flagged if it is
+ * significant and also large enough to matter, so a long run does not flag a stable series for a tiny slope.
+ * @param series The series, e.g. {@code heap} or {@code p95 GET /branding}.
+ * @param windows The windows the trend covers.
+ * @param start Median of the first third of the windows.
+ * @param end Median of the last third of the windows.
+ * @param slopePerWindow Sen slope, in the series' unit per window.
+ * @param z Mann-Kendall statistic, normalized; positive for a rising series.
+ * @param flagged Whether the series grew or drifted.
+ */
+public record Trend(String series, int windows, double start, double end, double slopePerWindow, double z,
+                    boolean flagged) {
+
+    /**
+     * One-sided 95% quantile of the standard normal distribution.
+     */
+    static final double SIGNIFICANT_Z = 1.645;
+    /**
+     * Growth over the run, relative to the start, from which a resource counts as leaking.
+     */
+    static final double GROWTH_RATIO = 0.10;
+    /**
+     * Ratio of the end to the start latency from which a percentile counts as drifting.
+     */
+    static final double DRIFT_RATIO = 1.5;
+    /**
+     * Fewer windows do not give the test enough pairs to be significant.
+     */
+    static final int MIN_WINDOWS = 4;
+
+    /**
+     * Checks a resource for monotonic growth.
+     * @param series The series name.
+     * @param values One value per window.
+     * @param minimumGrowth Growth over the run below which a rise is noise, e.g. 4 MiB of heap or 2 threads.
+     * @return The trend; flagged if the series rose significantly by more than {@link #GROWTH_RATIO} and the
+     * minimum.
+     */
+    public static Trend growth(String series, double[] values, double minimumGrowth) {
+        Trend trend = of(series, values);
+        double growth = trend.slopePerWindow * (values.length - 1);
+        boolean flagged = trend.significant()
+                && growth >= Math.max(minimumGrowth, GROWTH_RATIO * Math.abs(trend.start));
+        return trend.withFlagged(flagged);
+    }
+
+    /**
+     * Checks a latency percentile for drift.
+     * @param series The series name.
+     * @param values One value per window, in nanoseconds.
+     * @param minimumDriftNanos Drift below which a rise is noise, e.g. a millisecond against a local stand-in.
+     * @return The trend; flagged if the series rose significantly and its last third is {@link #DRIFT_RATIO}
+     * times its first, and by more than the minimum.
+     */
+    public static Trend drift(String series, double[] values, double minimumDriftNanos) {
+        Trend trend = of(series, values);
+        boolean flagged = trend.significant() && trend.end >= DRIFT_RATIO * trend.start
+                && trend.end - trend.start >= minimumDriftNanos;
+        return trend.withFlagged(flagged);
+    }
+
+    /**
+     * Prints the header matching {@link #print}.
+     * @param out The stream to print to.
+     */
+    public static void printHeader(PrintStream out) {
+        out.printf("%-36s %7s %12s %12s %14s %7s %s%n", "Series", "Windows", "Start", "End", "Slope/window", "z",
+                "");
+    }
+
+    /**
+     * Prints the trend as one line.
+     * @param out The stream to print to.
+     * @param scale Divisor turning the values into the printed unit, e.g. {@code 1e6} for milliseconds.
+     */
+    public void print(PrintStream out, double scale) {
+        out.printf("%-36s %7d %12.2f %12.2f %14.4f %7.2f %s%n", series, windows, start / scale, end / scale,
+                slopePerWindow / scale, z, flagged ? "FLAGGED" : "");
+    }
+
+    private boolean significant() {
+        return windows >= MIN_WINDOWS && z >= SIGNIFICANT_Z;
+    }
+
+    private Trend withFlagged(boolean flagged) {
+        return new Trend(series, windows, start, end, slopePerWindow, z, flagged);
+    }
+
+    private static Trend of(String series, double[] values) {
+        int n = values.length;
+        int third = Math.max(1, n / 3);
+        return new Trend(series, n, median(Arrays.copyOfRange(values, 0, third)),
+                median(Arrays.copyOfRange(values, n - third, n)), senSlope(values), mannKendallZ(values), false);
+    }
+
+    // --- Statistics ---
+
+    /**
+     * Normal approximation of the Mann-Kendall S statistic, with the variance corrected for ties (threads and
+     * sockets often repeat) and a continuity correction.
+     */
+    private static double mannKendallZ(double[] values) {
+        int n = values.length;
+        if (n < 2) {
+            return 0;
+        }
+        long s = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                s += Integer.signum(Double.compare(values[j], values[i]));
+            }
+        }
+        double variance = n * (n - 1.0) * (2 * n + 5);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < n; ) {
+            int tied = 1;
+            while (i + tied < n && sorted[i + tied] == sorted[i]) {
+                tied++;
+            }
+            variance -= tied * (tied - 1.0) * (2 * tied + 5);
+            i += tied;
+        }
+        variance /= 18;
+        if (variance <= 0 || s == 0) {
+            return 0;
+        }
+        return (s > 0 ? s - 1 : s + 1) / Math.sqrt(variance);
+    }
+
+    private static double senSlope(double[] values) {
+        int n = values.length;
+        if (n < 2) {
+            return 0;
+        }
+        double[] slopes = new double[n * (n - 1) / 2];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                slopes[k++] = (values[j] - values[i]) / (j - i);
+            }
+        }
+        return median(slopes);
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
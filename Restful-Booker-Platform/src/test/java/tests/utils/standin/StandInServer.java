@@ -0,0 +1,637 @@
+package tests.utils.standin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import tests.utils.JsonMappers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static constants.ApiConstants.*;
+
+
+/**
+ * In-memory stand-in for the Restful Booker Platform API, served on localhost by the JDK HTTP server.
+ * Covers the auth, booking, branding, message, room and report endpoints with the status codes and error
+ * bodies the live API returns (see {@code ApiConstants}), so collections and load tools can run without
+ * touching the shared instance. Requests are handled on virtual threads; all state lives in this instance.
+ * Usage: {@code try (StandInServer server = StandInServer.start()) { ... server.baseUri() ... }}
+ */
+public final class StandInServer implements AutoCloseable {
+
+    public static final String USERNAME = "admin";
+    public static final String PASSWORD = "password";
+
+    private static final String API_PREFIX = "/api";
+    private static final String EMPTY_ARRAY = "[]";
+    private static final Pattern ID_PATH = Pattern.compile("/(booking|message|room)/([^/]+)(/read)?");
+    private static final Pattern ROOM_REPORT_PATH = Pattern.compile("/report/room/([^/]+)");
+    private static final Pattern ROOM_ID_QUERY = Pattern.compile("(?:^|&)roomid=([^&]*)");
+
+    static {
+        // the JDK server writes headers and body separately; with Nagle on, the client's delayed ACK
+        // holds every response back by ~40 ms, which would swamp the latencies measured against the stand-in
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ObjectMapper mapper = JsonMappers.mapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<String, Boolean> tokens = new ConcurrentHashMap<>();
+    private final Map<Integer, ObjectNode> bookings = new ConcurrentSkipListMap<>();
+    private final Map<Integer, ObjectNode> messages = new ConcurrentSkipListMap<>();
+    private final Map<Integer, ObjectNode> rooms = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextBookingId = new AtomicInteger(1);
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
+    private final AtomicInteger nextRoomId = new AtomicInteger(1);
+    private volatile ObjectNode branding;
+
+    private StandInServer(int port) throws IOException {
+        seed();
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext(API_PREFIX, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Starts a stand-in on an ephemeral localhost port.
+     * @return The running server.
+     */
+    public static StandInServer start() {
+        return start(0);
+    }
+
+    /**
+     * Starts a stand-in on the given localhost port.
+     * @param port The port, or 0 for an ephemeral one.
+     * @return The running server.
+     */
+    public static StandInServer start(int port) {
+        try {
+            return new StandInServer(port);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to start the stand-in on port %d", port), e);
+        }
+    }
+
+    /**
+     * @return The base URI to use in place of {@code ApiConstants.BASE_URI}, e.g. "http://localhost:41234/api".
+     */
+    public String baseUri() {
+        return String.format("http://localhost:%d%s", server.getAddress().getPort(), API_PREFIX);
+    }
+
+    /**
+     * Returns the variables the Platform collection's pre-request script would otherwise fetch from the live API:
+     * existing booking, message and room IDs, free booking dates and a room name.
+     * @return Variable names mapped to values pointing at this stand-in's seed data.
+     */
+    public Map<String, String> collectionVariables() {
+        LocalDate checkin = LocalDate.now().plusYears(1);
+        return Map.of(
+                "bookingId", String.valueOf(firstKey(bookings)),
+                "messageId", String.valueOf(firstKey(messages)),
+                "roomId", String.valueOf(firstKey(rooms)),
+                "checkinDate", checkin.toString(),
+                "checkoutDate", checkin.plusDays(3).toString(),
+                "randomRoomName", "S01",
+                "initialSetupDone", "true");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    // --- Routing ---
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath().substring(API_PREFIX.length());
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            Reply reply;
+            try {
+                reply = route(exchange, method, path, body);
+            } catch (IOException | RuntimeException e) {
+                reply = error(500, UNEXPECTED_ERROR_MESSAGE);
+            }
+            send(exchange, reply);
+        }
+    }
+
+    private Reply route(HttpExchange exchange, String method, String path, byte[] body) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        boolean authenticated = isAuthenticated(exchange);
+
+        switch (method + " " + path) {
+            case "POST /auth/login": return login(body);
+            case "POST /auth/validate": return validate(body);
+            case "POST /auth/logout": return success();
+            case "GET /booking": return authenticated ? listBookings(query) : unauthorized();
+            case "POST /booking": return createBooking(body);
+            case "GET /branding": return json(200, branding);
+            case "PUT /branding": return authenticated ? updateBranding(body) : unauthorized();
+            case "GET /message": return listMessages();
+            case "GET /message/count": return messageCount(exchange);
+            case "POST /message": return createMessage(body);
+            case "GET /room": return json(200, mapper.createObjectNode().set("rooms", arrayOf(rooms.values())));
+            case "POST /room": return authenticated ? saveRoom(nextRoomId.getAndIncrement(), body) : unauthorized();
+            case "GET /report": return authenticated ? report() : unauthorized();
+            default: break;
+        }
+
+        Matcher reportMatcher = ROOM_REPORT_PATH.matcher(path);
+        if ("GET".equals(method) && reportMatcher.matches()) {
+            return roomReport(reportMatcher.group(1));
+        }
+
+        Matcher idMatcher = ID_PATH.matcher(path);
+        if (!idMatcher.matches()) {
+            return notFound(path);
+        }
+        String resource = idMatcher.group(1);
+        boolean markRead = idMatcher.group(3) != null;
+        if ("GET".equals(method) && "room".equals(resource)) {
+            return getRoom(idMatcher.group(2), path);
+        }
+        if (!authenticated) {
+            return unauthorized();
+        }
+
+        Integer id = parseId(idMatcher.group(2));
+        return switch (resource + " " + method + (markRead ? " read" : "")) {
+            case "booking GET" -> byId(bookings, id, path);
+            case "booking PUT" -> updateBooking(id, body);
+            case "booking DELETE" -> id != null && bookings.remove(id) != null
+                    ? success() : error(500, BOOKING_DELETION_GENERIC_FAILURE_ERROR_MESSAGE);
+            case "message GET" -> getMessage(idMatcher.group(2), id, path);
+            case "message PUT read" -> markRead(id);
+            case "message DELETE" -> id != null && messages.remove(id) != null ? success() : notFound(path);
+            case "room PUT" -> id != null && rooms.containsKey(id) ? saveRoom(id, body) : notFound(path);
+            case "room DELETE" -> id != null && rooms.remove(id) != null ? success() : notFound(path);
+            default -> notFound(path);
+        };
+    }
+
+    // --- Auth ---
+
+    private Reply login(byte[] body) throws IOException {
+        JsonNode credentials = mapper.readTree(body);
+        if (!USERNAME.equals(text(credentials, "username")) || !PASSWORD.equals(text(credentials, "password"))) {
+            return error(401, INVALID_CREDENTIALS_ERROR_MESSAGE);
+        }
+        String token = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        tokens.put(token, Boolean.TRUE);
+        return json(200, mapper.createObjectNode().put(TOKEN_JSON_PATH, token));
+    }
+
+    private Reply validate(byte[] body) throws IOException {
+        String token = text(mapper.readTree(body), TOKEN_JSON_PATH);
+        if (token == null || token.isBlank()) {
+            return error(401, NO_TOKEN_PROVIDED_ERROR_MESSAGE);
+        }
+        return tokens.containsKey(token)
+                ? json(200, mapper.createObjectNode().put(VALID_JSON_PATH, true))
+                : error(403, INVALID_TOKEN_ERROR_MESSAGE);
+    }
+
+    private boolean isAuthenticated(HttpExchange exchange) {
+        List<String> cookies = exchange.getRequestHeaders().getOrDefault("Cookie", List.of());
+        for (String header : cookies) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && TOKEN_JSON_PATH.equals(pair[0]) && tokens.containsKey(pair[1])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // --- Booking ---
+
+    private Reply listBookings(String query) {
+        Matcher matcher = ROOM_ID_QUERY.matcher(query == null ? "" : query);
+        if (!matcher.find() || matcher.group(1).isEmpty()) {
+            return error(400, ROOM_ID_REQUIRED_ERROR_MESSAGE);
+        }
+        int roomId = Integer.parseInt(matcher.group(1));
+        ArrayNode result = mapper.createArrayNode();
+        bookings.values().stream().filter(booking -> booking.path("roomid").asInt() == roomId).forEach(result::add);
+        return json(200, mapper.createObjectNode().set("bookings", result));
+    }
+
+    private Reply createBooking(byte[] body) throws IOException {
+        ObjectNode request = (ObjectNode) mapper.readTree(body);
+        List<String> errors = validateBooking(request);
+        if (!errors.isEmpty()) {
+            ObjectNode reply = mapper.createObjectNode();
+            reply.putArray(ERRORS_JSON_PATH).addAll(errors.stream().map(mapper.getNodeFactory()::textNode).toList());
+            return json(400, reply);
+        }
+
+        int roomId = request.path("roomid").asInt();
+        if (!rooms.containsKey(roomId)) {
+            return json(400, mapper.createObjectNode().set(ERRORS_JSON_PATH,
+                    mapper.createArrayNode().add(BOOKING_CREATION_GENERIC_FAILURE_ERROR_MESSAGE)));
+        }
+
+        LocalDate checkin = date(request, "checkin");
+        LocalDate checkout = date(request, "checkout");
+        if (!checkout.isAfter(checkin)) {
+            return raw(500, EMPTY_ARRAY);
+        }
+
+        // the overlap check and the insert must be atomic, otherwise concurrent bookings double-book a room
+        synchronized (bookings) {
+            boolean overlaps = bookings.values().stream()
+                    .filter(booking -> booking.path("roomid").asInt() == roomId)
+                    .anyMatch(booking -> checkin.isBefore(date(booking, "checkout"))
+                            && date(booking, "checkin").isBefore(checkout));
+            if (overlaps) {
+                return raw(409, EMPTY_ARRAY);
+            }
+            int bookingId = nextBookingId.getAndIncrement();
+            bookings.put(bookingId, booking(bookingId, roomId, request));
+        }
+        return raw(200, EMPTY_ARRAY);
+    }
+
+    private Reply updateBooking(Integer id, byte[] body) throws IOException {
+        ObjectNode request = (ObjectNode) mapper.readTree(body);
+        // last writer wins, as on the live API; a booking deleted concurrently must not be recreated
+        ObjectNode updated = id == null || !validateBooking(request).isEmpty() ? null
+                : bookings.computeIfPresent(id, (key, current) -> booking(key, request.path("roomid").asInt(),
+                        request));
+        if (updated == null) {
+            return json(400, mapper.createObjectNode().set(ERRORS_JSON_PATH,
+                    mapper.createArrayNode().add(BOOKING_UPDATE_GENERIC_FAILURE_ERROR_MESSAGE)));
+        }
+        return success();
+    }
+
+    private List<String> validateBooking(ObjectNode request) {
+        List<String> errors = new ArrayList<>();
+        JsonNode roomId = request.get("roomid");
+        if (roomId == null || roomId.isNull()) {
+            errors.add(FIELD_MUST_NOT_BE_NULL_ERROR_MESSAGE);
+        } else if (roomId.asInt() < 1) {
+            errors.add(ROOM_ID_MIN_VALUE_ERROR_MESSAGE);
+        }
+
+        String firstname = text(request, "firstname");
+        if (firstname == null) {
+            errors.add(FIELD_MUST_NOT_BE_NULL_ERROR_MESSAGE);
+        } else if (firstname.length() < 3 || firstname.length() > 18) {
+            errors.add(FIRST_NAME_SIZE_ERROR_MESSAGE);
+        }
+
+        String lastname = text(request, "lastname");
+        if (lastname == null || lastname.isBlank()) {
+            errors.add(LAST_NAME_BLANK_ERROR_MESSAGE);
+        }
+
+        for (String field : List.of("checkin", "checkout")) {
+            String date = text(request.path("bookingdates"), field);
+            if (date == null) {
+                errors.add(FIELD_MUST_NOT_BE_NULL_ERROR_MESSAGE);
+            } else {
+                try {
+                    LocalDate.parse(date);
+                } catch (DateTimeParseException e) {
+                    errors.add(BAD_REQUEST_ERROR_MESSAGE);
+                }
+            }
+        }
+        return errors;
+    }
+
+    private ObjectNode booking(int bookingId, int roomId, JsonNode request) {
+        ObjectNode booking = mapper.createObjectNode()
+                .put("bookingid", bookingId)
+                .put("roomid", roomId)
+                .put("firstname", text(request, "firstname"))
+                .put("lastname", text(request, "lastname"))
+                .put("depositpaid", request.path("depositpaid").asBoolean());
+        booking.putObject("bookingdates")
+                .put("checkin", text(request.path("bookingdates"), "checkin"))
+                .put("checkout", text(request.path("bookingdates"), "checkout"));
+        return booking;
+    }
+
+    // --- Branding ---
+
+    private Reply updateBranding(byte[] body) throws IOException {
+        ObjectNode request = (ObjectNode) mapper.readTree(body);
+        List<String> errors = new ArrayList<>();
+        String name = text(request, "name");
+        if (name == null || name.isBlank()) {
+            errors.add(NAME_BLANK_ERROR_MESSAGE);
+        }
+        if (text(request.path("contact"), "phone") == null) {
+            errors.add(PHONE_NOT_NULL_ERROR_MESSAGE);
+        }
+        String logoUrl = text(request, "logoUrl");
+        if (logoUrl != null && !logoUrl.matches("(https?://|/).+")) {
+            errors.add(INCORRECT_URL_FORMAT_ERROR_MESSAGE);
+        }
+        if (!errors.isEmpty()) {
+            ObjectNode reply = mapper.createObjectNode();
+            reply.putArray(FIELD_ERRORS_PATH).addAll(errors.stream().map(mapper.getNodeFactory()::textNode).toList());
+            return json(400, reply);
+        }
+        branding = request;
+        return success();
+    }
+
+    // --- Message ---
+
+    private Reply listMessages() {
+        ArrayNode summaries = mapper.createArrayNode();
+        for (ObjectNode message : messages.values()) {
+            summaries.addObject()
+                    .put("id", message.path("messageid").asInt())
+                    .put("name", message.path("name").asText())
+                    .put("subject", message.path("subject").asText())
+                    .put("read", message.path("read").asBoolean());
+        }
+        return json(200, mapper.createObjectNode().set("messages", summaries));
+    }
+
+    private Reply messageCount(HttpExchange exchange) {
+        long unread = messages.values().stream().filter(message -> !message.path("read").asBoolean()).count();
+        ObjectNode reply = mapper.createObjectNode().put("count", unread);
+        ObjectNode debug = reply.putObject("debug")
+                .put("rawResponse", String.format("{\"count\":%d}", unread))
+                .put("url", exchange.getRequestURI().toString());
+        ObjectNode headers = debug.putObject("headers");
+        exchange.getRequestHeaders().forEach((key, values) -> headers.put(key.toLowerCase(), String.join(",", values)));
+        return json(200, reply);
+    }
+
+    private Reply getMessage(String rawId, Integer id, String path) {
+        if (id == null) {
+            return rawId.chars().allMatch(Character::isDigit)
+                    ? pathError(400, BAD_REQUEST_ERROR_MESSAGE, path)
+                    : pathError(404, NOT_FOUND_ERROR_MESSAGE, path);
+        }
+        ObjectNode message = messages.get(id);
+        if (message == null) {
+            return pathError(404, NOT_FOUND_ERROR_MESSAGE, path);
+        }
+        ObjectNode details = message.deepCopy();
+        details.remove("read");
+        return json(200, details);
+    }
+
+    private Reply createMessage(byte[] body) throws IOException {
+        JsonNode request = mapper.readTree(body);
+        List<String> errors = new ArrayList<>();
+        for (String field : List.of("name", "email", "phone", "subject", "description")) {
+            String value = text(request, field);
+            if (value == null || value.isBlank()) {
+                errors.add(String.format("%s %s", capitalize(field), FIELD_MUST_NOT_BE_EMPTY_ERROR_MESSAGE));
+            }
+        }
+        if (!errors.isEmpty()) {
+            ObjectNode reply = mapper.createObjectNode();
+            reply.putArray(FIELD_ERRORS_PATH).addAll(errors.stream().map(mapper.getNodeFactory()::textNode).toList());
+            return json(400, reply);
+        }
+        int messageId = nextMessageId.getAndIncrement();
+        messages.put(messageId, message(messageId, request));
+        return success();
+    }
+
+    private Reply markRead(Integer id) {
+        ObjectNode message = id == null ? null : messages.get(id);
+        if (message == null) {
+            return error(404, NOT_FOUND_ERROR_MESSAGE);
+        }
+        messages.put(id, message.deepCopy().put("read", true));
+        return success();
+    }
+
+    private ObjectNode message(int messageId, JsonNode request) {
+        return mapper.createObjectNode()
+                .put("messageid", messageId)
+                .put("name", text(request, "name"))
+                .put("email", text(request, "email"))
+                .put("phone", text(request, "phone"))
+                .put("subject", text(request, "subject"))
+                .put("description", text(request, "description"))
+                .put("read", false);
+    }
+
+    // --- Room & report ---
+
+    private Reply getRoom(String rawId, String path) {
+        return byId(rooms, parseId(rawId), path);
+    }
+
+    private Reply saveRoom(int roomId, byte[] body) throws IOException {
+        JsonNode request = mapper.readTree(body);
+        if (text(request, "roomName") == null || text(request, "roomName").isBlank()) {
+            return json(400, mapper.createObjectNode().set(ERRORS_JSON_PATH,
+                    mapper.createArrayNode().add("Room name must be set")));
+        }
+        rooms.put(roomId, room(roomId, request));
+        return success();
+    }
+
+    private ObjectNode room(int roomId, JsonNode request) {
+        ObjectNode room = mapper.createObjectNode()
+                .put("roomid", roomId)
+                .put("roomName", text(request, "roomName"))
+                .put("type", text(request, "type"))
+                .put("accessible", request.path("accessible").asBoolean())
+                .put("image", text(request, "image"))
+                .put("description", text(request, "description"));
+        ArrayNode features = room.putArray("features");
+        request.path("features").forEach(feature -> features.add(feature.asText()));
+        room.put("roomPrice", request.path("roomPrice").asInt());
+        return room;
+    }
+
+    private Reply roomReport(String rawId) {
+        Integer roomId = parseId(rawId);
+        ArrayNode report = mapper.createArrayNode();
+        bookings.values().stream()
+                .filter(booking -> roomId != null && booking.path("roomid").asInt() == roomId)
+                .forEach(booking -> report.addObject()
+                        .put("start", booking.path("bookingdates").path("checkin").asText())
+                        .put("end", booking.path("bookingdates").path("checkout").asText())
+                        .put("title", "Unavailable"));
+        return json(200, report);
+    }
+
+    private Reply report() {
+        ArrayNode report = mapper.createArrayNode();
+        for (ObjectNode booking : bookings.values()) {
+            ObjectNode room = rooms.get(booking.path("roomid").asInt());
+            report.addObject()
+                    .put("start", booking.path("bookingdates").path("checkin").asText())
+                    .put("end", booking.path("bookingdates").path("checkout").asText())
+                    .put("title", String.format("%s %s - Room: %s", booking.path("firstname").asText(),
+                            booking.path("lastname").asText(), room == null ? "" : room.path("roomName").asText()));
+        }
+        return json(200, mapper.createObjectNode().set("report", report));
+    }
+
+    // --- Seed data ---
+
+    private void seed() {
+        ObjectNode single = mapper.createObjectNode()
+                .put("roomName", "101").put("type", "single").put("accessible", true)
+                .put("image", "/images/room1.jpg").put("description", "A cosy single room.").put("roomPrice", 100);
+        single.putArray("features").add("TV").add("WiFi");
+        ObjectNode suite = single.deepCopy().put("roomName", "102").put("type", "suite").put("roomPrice", 225);
+        for (ObjectNode room : List.of(single, suite)) {
+            int roomId = nextRoomId.getAndIncrement();
+            rooms.put(roomId, room(roomId, room));
+        }
+
+        LocalDate today = LocalDate.now();
+        for (int roomId = 1; roomId <= 2; roomId++) {
+            ObjectNode request = mapper.createObjectNode().put("firstname", "James").put("lastname", "Dean")
+                    .put("depositpaid", true);
+            request.putObject("bookingdates")
+                    .put("checkin", today.plusDays(roomId).toString())
+                    .put("checkout", today.plusDays(roomId + 2).toString());
+            int bookingId = nextBookingId.getAndIncrement();
+            bookings.put(bookingId, booking(bookingId, roomId, request));
+        }
+
+        ObjectNode enquiry = mapper.createObjectNode().put("name", "James Dean").put("email", "james@email.com")
+                .put("phone", "01402619211").put("subject", "Booking enquiry")
+                .put("description", "I would like to book a room at your place");
+        int messageId = nextMessageId.getAndIncrement();
+        messages.put(messageId, message(messageId, enquiry));
+
+        ObjectNode seeded = mapper.createObjectNode()
+                .put("name", "Shady Meadows B&B")
+                .put("logoUrl", "https://www.mwtestconsultancy.co.uk/img/rbp-logo.png")
+                .put("description", "Welcome to Shady Meadows, a delightful Bed & Breakfast.")
+                .put("directions", "Follow the lane to the end.");
+        seeded.putObject("map").put("latitude", 52.6351204).put("longitude", 1.2733774);
+        seeded.putObject("contact").put("name", "Shady Meadows B&B").put("phone", "012345678901")
+                .put("email", "fake@fakeemail.com");
+        seeded.putObject("address").put("line1", "Shadows valley").put("line2", "Newingtonfordburyshire")
+                .put("postTown", "Dilbery").put("county", "N/A").put("postCode", "N1 1AA");
+        branding = seeded;
+    }
+
+    // --- Replies ---
+
+    private record Reply(int status, byte[] body) {
+    }
+
+    private Reply byId(Map<Integer, ObjectNode> store, Integer id, String path) {
+        ObjectNode entity = id == null ? null : store.get(id);
+        return entity == null ? pathError(404, NOT_FOUND_ERROR_MESSAGE, path) : json(200, entity);
+    }
+
+    private Reply success() {
+        return json(200, mapper.createObjectNode().put(SUCCESS_JSON_PATH, true));
+    }
+
+    private Reply error(int status, String message) {
+        return json(status, mapper.createObjectNode().put(ERROR_JSON_PATH, message));
+    }
+
+    private Reply unauthorized() {
+        return error(401, AUTHENTICATION_REQUIRED_ERROR_MESSAGE);
+    }
+
+    private Reply notFound(String path) {
+        return pathError(404, NOT_FOUND_ERROR_MESSAGE, path);
+    }
+
+    private Reply pathError(int status, String message, String path) {
+        return json(status, mapper.createObjectNode()
+                .put("timestamp", Instant.now().toString())
+                .put("status", status)
+                .put(ERROR_JSON_PATH, message)
+                .put("path", API_PREFIX + path));
+    }
+
+    private Reply json(int status, JsonNode node) {
+        try {
+            return new Reply(status, mapper.writeValueAsBytes(node));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Reply raw(int status, String body) {
+        return new Reply(status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(reply.status(), reply.body().length == 0 ? -1 : reply.body().length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(reply.body());
+        }
+    }
+
+    // --- Helpers ---
+
+    private ArrayNode arrayOf(Iterable<ObjectNode> nodes) {
+        ArrayNode array = mapper.createArrayNode();
+        nodes.forEach(array::add);
+        return array;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node == null ? null : node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static LocalDate date(JsonNode booking, String field) {
+        return LocalDate.parse(booking.path("bookingdates").path(field).asText());
+    }
+
+    private static Integer parseId(String raw) {
+        try {
+            return Integer.valueOf(raw);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int firstKey(Map<Integer, ObjectNode> store) {
+        return store.keySet().iterator().next();
+    }
+
+    private static String capitalize(String field) {
+        return Character.toUpperCase(field.charAt(0)) + field.substring(1);
+    }
+}
@@ -0,0 +1,77 @@
+package tests.utils.workload;
+
+import tests.utils.concurrency.LatencyStats;
+
+import java.io.PrintStream;
+import java.util.List;
+
+
+/**
+ * Results of a {@link MessageReadWorkload} run: one phase per inbox size, so the detail latency can be followed as
+ * the list grows.
+ * @param clients Concurrent clients.
+ * @param detailsPerList Detail reads per list read.
+ * @param zipfExponent Skew of the detail reads over the listed messages.
+ * @param phases The phases, by ascending inbox size.
+ * @param warmUp The warm-up before the first phase.
+ */
+public record MessageReadReport(int clients, double detailsPerList, double zipfExponent, List<Phase> phases,
+                                WarmUpReport warmUp) {
+
+    /**
+     * @return Detail p50 of the largest inbox over that of the smallest, or 1 with fewer than two phases.
+     */
+    public double detailLatencyGrowth() {
+        if (phases.size() < 2 || phases.getFirst().detail().p50Nanos() == 0) {
+            return 1;
+        }
+        return (double) phases.getLast().detail().p50Nanos() / phases.getFirst().detail().p50Nanos();
+    }
+
+    /**
+     * @return The failed reads of all phases.
+     */
+    public int errorCount() {
+        return phases.stream().mapToInt(Phase::errors).sum();
+    }
+
+    /**
+     * Prints the throughput and latency of both endpoints per inbox size.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n=== Message reads: %d clients, %.1f detail reads per list read, Zipf s=%.2f ===%n", clients,
+                detailsPerList, zipfExponent);
+        warmUp.print(out);
+        for (Phase phase : phases) {
+            out.printf("%nInbox of %d messages: %.1f s, %d errors, %.0f%% of detail reads on the top message,"
+                            + " %d distinct messages read%n", phase.inboxSize(), phase.elapsedNanos() / 1e9,
+                    phase.errors(), phase.topMessageShare() * 100, phase.distinctMessagesRead());
+            out.printf("%-22s %10s ", "Endpoint", "Calls/s");
+            LatencyStats.printHeader(out, "");
+            out.printf("%-22s %10.1f ", "GET /message", phase.listPerSecond());
+            phase.list().print(out, "");
+            out.printf("%-22s %10.1f ", "GET /message/{id}", phase.detailPerSecond());
+            phase.detail().print(out, "");
+        }
+        out.printf("%nDetail p50 growth from %d to %d messages: x%.2f%n", phases.getFirst().inboxSize(),
+                phases.getLast().inboxSize(), detailLatencyGrowth());
+    }
+
+    /**
+     * The reads at one inbox size.
+     * @param inboxSize Messages in the list when the phase started.
+     * @param list Latency of the list reads.
+     * @param detail Latency of the detail reads.
+     * @param listPerSecond List reads per second.
+     * @param detailPerSecond Detail reads per second.
+     * @param topMessageShare Share of the detail reads that went to the most read message.
+     * @param distinctMessagesRead Messages read in detail at least once.
+     * @param errors Reads that failed or returned an unexpected status.
+     * @param elapsedNanos Wall-clock time of the phase.
+     */
+    public record Phase(int inboxSize, LatencyStats list, LatencyStats detail, double listPerSecond,
+                        double detailPerSecond, double topMessageShare, int distinctMessagesRead, int errors,
+                        long elapsedNanos) {
+    }
+}
@@ -0,0 +1,357 @@
+package tests.utils.workload;
+
+import client.ApiClient;
+import client.MessageApi;
+import io.restassured.response.Response;
+import models.common.Message;
+import tests.utils.JsonMappers;
+import tests.utils.concurrency.BookingCalls;
+import tests.utils.concurrency.LatencyStats;
+import tests.utils.random.RunRandom;
+import tests.utils.standin.StandInServer;
+import tests.utils.workload.MessageReadReport.Phase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+import static constants.ApiConstants.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.MESSAGE_BY_ID_PATH;
+import static tests.base.RequestTemplates.MESSAGE_ID_PARAM;
+import static tests.base.RequestTemplates.authenticated;
+
+
+/**
+ * Read-heavy admin inbox profile: closed-loop clients mix GET {@code /message} with authenticated
+ * GET {@code /message/{id}} at a configurable ratio. The ids come from the latest list response any client
+ * received, ranked in list order and drawn with Zipfian popularity (see {@link ZipfSampler}), so a few messages
+ * take most of the detail reads. The run goes through ascending inbox sizes, sending messages to reach each one
+ * first, and reports both endpoints' throughput and latency per size; the messages it sent are deleted at the end.
+ * The clients run the same mix at the first size until a {@link WarmUp} has settled before any size is measured.
+ * <p>
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.workload.MessageReadWorkload
+ * -Dexec.args="--sizes 10,100,500 --ratio 10 --stand-in"}
+ * <p>
+ * Options: {@code --sizes n,n,...} inbox sizes (default 10,100), {@code --ratio r} detail reads per list read
+ * (default 10), {@code --zipf s} skew (default 1.0), {@code --clients n} (default 8), {@code --operations n}
+ * reads per size (default 2000), {@code --warm-up-cap n} caps the warm-up at n seconds, 0 for none (default:
+ * {@link WarmUpPolicy#DEFAULT}), {@code --base-url url} (default: {@code -DbaseUri} or the live API),
+ * {@code --stand-in} targets a local {@link StandInServer}. The exit code is 1 if any read failed.
+ */
+public final class MessageReadWorkload {
+
+    private static final String SENDER_PREFIX = "Inbox load ";
+    private static final int SEND_BATCH = 32;
+
+    private final String baseUri;
+    private final List<Integer> inboxSizes;
+    private final double detailsPerList;
+    private final double zipfExponent;
+    private final int clients;
+    private final int operationsPerSize;
+    private final WarmUpPolicy warmUpPolicy;
+
+    private volatile Inbox inbox;
+
+    /**
+     * @param baseUri The API base URI, e.g. {@code ApiConstants.BASE_URI}.
+     * @param inboxSizes Inbox sizes to measure at, ascending.
+     * @param detailsPerList Detail reads per list read, e.g. 10.
+     * @param zipfExponent Skew of the detail reads, 0 for uniform.
+     * @param clients Concurrent clients.
+     * @param operationsPerSize Reads per inbox size, across the clients.
+     */
+    public MessageReadWorkload(String baseUri, List<Integer> inboxSizes, double detailsPerList, double zipfExponent,
+                               int clients, int operationsPerSize) {
+        this(baseUri, inboxSizes, detailsPerList, zipfExponent, clients, operationsPerSize, WarmUpPolicy.DEFAULT);
+    }
+
+    /**
+     * @param baseUri The API base URI, e.g. {@code ApiConstants.BASE_URI}.
+     * @param inboxSizes Inbox sizes to measure at, ascending.
+     * @param detailsPerList Detail reads per list read, e.g. 10.
+     * @param zipfExponent Skew of the detail reads, 0 for uniform.
+     * @param clients Concurrent clients.
+     * @param operationsPerSize Reads per inbox size, across the clients.
+     * @param warmUpPolicy When the reads count as warmed up.
+     */
+    public MessageReadWorkload(String baseUri, List<Integer> inboxSizes, double detailsPerList, double zipfExponent,
+                               int clients, int operationsPerSize, WarmUpPolicy warmUpPolicy) {
+        if (inboxSizes.isEmpty() || inboxSizes.getFirst() < 1 || detailsPerList < 0 || clients < 1
+                || operationsPerSize < clients) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid message workload: sizes %s, ratio %s, %d clients, %d operations", inboxSizes,
+                    detailsPerList, clients, operationsPerSize));
+        }
+        this.baseUri = baseUri;
+        this.inboxSizes = inboxSizes.stream().sorted().toList();
+        this.detailsPerList = detailsPerList;
+        this.zipfExponent = zipfExponent;
+        this.clients = clients;
+        this.operationsPerSize = operationsPerSize;
+        this.warmUpPolicy = warmUpPolicy;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUri = System.getProperty("baseUri", BASE_URI);
+        List<Integer> sizes = List.of(10, 100);
+        double ratio = 10;
+        double zipf = 1.0;
+        int clients = 8;
+        int operations = 2000;
+        WarmUpPolicy warmUp = WarmUpPolicy.DEFAULT;
+        boolean standIn = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUri = args[++i];
+                case "--sizes" -> sizes = Arrays.stream(args[++i].split(",")).map(Integer::valueOf).toList();
+                case "--ratio" -> ratio = Double.parseDouble(args[++i]);
+                case "--zipf" -> zipf = Double.parseDouble(args[++i]);
+                case "--clients" -> clients = Integer.parseInt(args[++i]);
+                case "--operations" -> operations = Integer.parseInt(args[++i]);
+                case "--warm-up-cap" -> warmUp = warmUp.withCapSeconds(Long.parseLong(args[++i]));
+                case "--stand-in" -> standIn = true;
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+
+        MessageReadReport report;
+        if (standIn) {
+            try (StandInServer server = StandInServer.start()) {
+                report = new MessageReadWorkload(server.baseUri(), sizes, ratio, zipf, clients, operations, warmUp)
+                        .run();
+            }
+        } else {
+            report = new MessageReadWorkload(baseUri, sizes, ratio, zipf, clients, operations, warmUp).run();
+        }
+        report.print(System.out);
+        System.exit(report.errorCount() == 0 ? 0 : 1);
+    }
+
+    /**
+     * Grows the inbox to each size in turn and runs the reads there, warming up at the first size, then deletes the
+     * messages it sent.
+     * @return The report.
+     * @throws InterruptedException if interrupted while waiting for the clients.
+     */
+    public MessageReadReport run() throws InterruptedException {
+        String token = BookingCalls.login(baseUri);
+        List<Phase> phases = new ArrayList<>();
+        WarmUp warmUp = new WarmUp(warmUpPolicy);
+        int sent = 0;
+        try (ApiClient api = ApiClient.create(baseUri)) {
+            MessageApi messages = new MessageApi(api.withToken(token));
+            try {
+                for (int size : inboxSizes) {
+                    sent = sendMessages(messages, size - listMessages().size(), sent);
+                    publish(listMessages());
+                    warmUp(token, warmUp);
+                    phases.add(runPhase(token));
+                }
+            } finally {
+                deleteSentMessages(messages);
+            }
+        }
+        return new MessageReadReport(clients, detailsPerList, zipfExponent, List.copyOf(phases), warmUp.report());
+    }
+
+    // --- Phases ---
+
+    /**
+     * Runs the clients' mix until the warm-up is done; nothing is recorded for the phases. Returns right away once
+     * it is done, so only the first size warms up.
+     */
+    private void warmUp(String token, WarmUp warmUp) {
+        if (warmUp.isDone()) {
+            return;
+        }
+        List<RandomGenerator.SplittableGenerator> randoms = RunRandom.splits("inbox warm-up", clients).toList();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (RandomGenerator random : randoms) {
+                executor.execute(() -> {
+                    while (!warmUp.isDone()) {
+                        // a throwaway per read, so the warm-up does not hold on to its latencies
+                        ClientReads reads = new ClientReads();
+                        long start = System.nanoTime();
+                        read(token, reads, random);
+                        warmUp.record(System.nanoTime() - start);
+                    }
+                });
+            }
+            warmUp.awaitSettled();
+        }
+    }
+
+    private Phase runPhase(String token) throws InterruptedException {
+        int inboxSize = inbox.ids().length;
+        List<Future<ClientReads>> futures = new ArrayList<>();
+        // one generator per client, keyed by the size, so a phase replays from the run seed
+        List<RandomGenerator.SplittableGenerator> randoms =
+                RunRandom.splits(String.format("inbox of %d", inboxSize), clients).toList();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                int operations = operationsPerSize / clients + (client < operationsPerSize % clients ? 1 : 0);
+                RandomGenerator random = randoms.get(client);
+                futures.add(executor.submit(() -> runClient(token, operations, random)));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> listLatencies = new ArrayList<>();
+        List<Long> detailLatencies = new ArrayList<>();
+        Map<Integer, Integer> detailHits = new HashMap<>();
+        int errors = 0;
+        for (Future<ClientReads> future : futures) {
+            ClientReads reads = await(future);
+            listLatencies.addAll(reads.listLatencies);
+            detailLatencies.addAll(reads.detailLatencies);
+            reads.detailHits.forEach((id, hits) -> detailHits.merge(id, hits, Integer::sum));
+            errors += reads.errors;
+        }
+        int topHits = detailHits.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        double seconds = elapsed / 1e9;
+        return new Phase(inboxSize, latency(listLatencies), latency(detailLatencies),
+                listLatencies.size() / seconds, detailLatencies.size() / seconds,
+                detailLatencies.isEmpty() ? 0 : (double) topHits / detailLatencies.size(), detailHits.size(), errors,
+                elapsed);
+    }
+
+    private ClientReads runClient(String token, int operations, RandomGenerator random) {
+        ClientReads reads = new ClientReads();
+        for (int i = 0; i < operations; i++) {
+            read(token, reads, random);
+        }
+        return reads;
+    }
+
+    private void read(String token, ClientReads reads, RandomGenerator random) {
+        if (random.nextDouble() < 1 / (1 + detailsPerList)) {
+            readList(reads);
+        } else {
+            readDetail(token, reads, random);
+        }
+    }
+
+    private void readList(ClientReads reads) {
+        long start = System.nanoTime();
+        try {
+            Response response = givenRequest().baseUri(baseUri).get(MESSAGE_ENDPOINT);
+            reads.listLatencies.add(System.nanoTime() - start);
+            if (response.getStatusCode() != 200) {
+                reads.errors++;
+                return;
+            }
+            publish(JsonMappers.readList(response, "messages", Message.class));
+        } catch (RuntimeException e) {
+            reads.errors++;
+        }
+    }
+
+    private void readDetail(String token, ClientReads reads, RandomGenerator random) {
+        Inbox current = inbox;
+        int id = current.ids()[current.popularity().sample(random)];
+        long start = System.nanoTime();
+        try {
+            int status = givenRequest(authenticated(MESSAGE_BY_ID_PATH, token)).baseUri(baseUri)
+                    .pathParam(MESSAGE_ID_PARAM, id)
+                    .get()
+                    .getStatusCode();
+            reads.detailLatencies.add(System.nanoTime() - start);
+            reads.detailHits.merge(id, 1, Integer::sum);
+            if (status != 200) {
+                reads.errors++;
+            }
+        } catch (RuntimeException e) {
+            reads.errors++;
+        }
+    }
+
+    /**
+     * Makes a list response the one detail reads draw from; the sampler is reused while the size stays the same.
+     */
+    private void publish(List<Message> listed) {
+        int[] ids = listed == null ? new int[0]
+                : listed.stream().map(Message::getId).filter(Objects::nonNull).mapToInt(Integer::intValue).toArray();
+        if (ids.length == 0) {
+            return;
+        }
+        Inbox current = inbox;
+        ZipfSampler popularity = current != null && current.popularity().size() == ids.length
+                ? current.popularity() : new ZipfSampler(ids.length, zipfExponent);
+        inbox = new Inbox(ids, popularity);
+    }
+
+    // --- Messages ---
+
+    private List<Message> listMessages() {
+        Response response = givenRequest().baseUri(baseUri).get(MESSAGE_ENDPOINT);
+        response.then().statusCode(200);
+        List<Message> listed = JsonMappers.readList(response, "messages", Message.class);
+        return listed == null ? List.of() : listed;
+    }
+
+    /**
+     * Grows the inbox through the asynchronous client, {@link #SEND_BATCH} messages in flight at a time; setup
+     * calls are not measured, so they need not go through {@code givenRequest()}.
+     * @return The number of messages sent so far.
+     */
+    private static int sendMessages(MessageApi messages, int missing, int sent) {
+        for (int batch = 0; batch < missing; batch += SEND_BATCH) {
+            List<CompletableFuture<Void>> sends = new ArrayList<>();
+            for (int i = batch; i < Math.min(missing, batch + SEND_BATCH); i++) {
+                sends.add(messages.send(BookingCalls.contactMessage(SENDER_PREFIX + ++sent)));
+            }
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        }
+        return sent;
+    }
+
+    private static void deleteSentMessages(MessageApi messages) {
+        List<Message> listed = messages.list().join().getMessages();
+        CompletableFuture.allOf((listed == null ? List.<Message>of() : listed).stream()
+                .filter(message -> message.getName() != null && message.getName().startsWith(SENDER_PREFIX))
+                // a message someone else deleted first is gone either way
+                .map(message -> messages.delete(message.getId()).exceptionally(failure -> false))
+                .toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static LatencyStats latency(List<Long> latencies) {
+        return LatencyStats.of(latencies.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    private static ClientReads await(Future<ClientReads> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Message read client failed", e.getCause());
+        }
+    }
+
+    /**
+     * The listed message ids, in list order, and the popularity of their ranks.
+     */
+    private record Inbox(int[] ids, ZipfSampler popularity) {
+    }
+
+    /**
+     * One client's reads, only touched by that client.
+     */
+    private static final class ClientReads {
+
+        private final List<Long> listLatencies = new ArrayList<>();
+        private final List<Long> detailLatencies = new ArrayList<>();
+        private final Map<Integer, Integer> detailHits = new HashMap<>();
+        private int errors;
+    }
+}
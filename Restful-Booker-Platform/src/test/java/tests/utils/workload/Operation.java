@@ -0,0 +1,37 @@
+package tests.utils.workload;
+
+
+/**
+ * The client operations a workload scenario is built from. Operations on a booking or message act on the one the
+ * session created or listed in an earlier step; the others stand alone.
+ */
+public enum Operation {
+
+    /** POST {@code /auth/login}; later steps of the session use the new token. */
+    LOGIN,
+    /** POST {@code /auth/validate} with the session's token. */
+    VALIDATE_TOKEN,
+    /** POST {@code /booking} on far-ahead dates of room 1. */
+    CREATE_BOOKING,
+    /** PUT {@code /booking/{id}} of the booking the session created. */
+    UPDATE_BOOKING,
+    /** DELETE {@code /booking/{id}} of the booking the session created. */
+    DELETE_BOOKING,
+    /** GET {@code /branding}. */
+    GET_BRANDING,
+    /** GET {@code /message}; the listed ids are kept for {@link #GET_MESSAGE}. */
+    LIST_MESSAGES,
+    /** Authenticated GET {@code /message/{id}} of a message from the session's last list. */
+    GET_MESSAGE;
+
+    /**
+     * @return The operation that must come earlier in the same scenario, or {@code null} if there is none.
+     */
+    public Operation prerequisite() {
+        return switch (this) {
+            case UPDATE_BOOKING, DELETE_BOOKING -> CREATE_BOOKING;
+            case GET_MESSAGE -> LIST_MESSAGES;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,464 @@
+package tests.utils.workload;
+
+import io.restassured.response.Response;
+import models.common.BookingDates;
+import models.common.Message;
+import models.request.BookingRequest;
+import models.response.BookingResponse;
+import tests.utils.JsonMappers;
+import tests.utils.baseline.EndpointRecording;
+import tests.utils.concurrency.BookingCalls;
+import tests.utils.concurrency.LatencyHistogram;
+import tests.utils.concurrency.LatencyStats;
+import tests.utils.random.RunRandom;
+import tests.utils.samples.SampleLog;
+import tests.utils.samples.SampleRecording;
+import tests.utils.standin.StandInServer;
+import tests.utils.workload.ScenarioMixReport.ScenarioResult;
+import tests.utils.workload.ScenarioMixReport.StepResult;
+import tests.utils.workload.WorkloadDefinition.Scenario;
+import tests.utils.workload.WorkloadDefinition.Step;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static constants.ApiConstants.*;
+import static tests.base.BaseTest.givenRequest;
+import static tests.base.RequestTemplates.BOOKING_BY_ID_PATH;
+import static tests.base.RequestTemplates.BOOKING_ID_PARAM;
+import static tests.base.RequestTemplates.MESSAGE_BY_ID_PATH;
+import static tests.base.RequestTemplates.MESSAGE_ID_PARAM;
+import static tests.base.RequestTemplates.authenticated;
+import static tests.utils.TestUtils.buildBookingRequest;
+
+
+/**
+ * Runs a {@link WorkloadDefinition} as open-model traffic: every scenario has its own arrival process, with
+ * exponentially distributed gaps at the scenario's rate, and each arriving session runs its steps in order on its
+ * own virtual thread, waiting out the think times. A session stops at its first failed step, as the later steps
+ * depend on it. Arrivals are dropped (and counted) while a scenario has too many sessions in flight, so an
+ * overloaded target cannot pile up threads without bound.
+ * <p>
+ * Sessions without a {@code LOGIN} step share a token the engine logs in with up front (renewed every few
+ * minutes). A booking created for a later update or delete is found by its dates in the room's list; that lookup
+ * is not part of the step's latency.
+ * <p>
+ * Measurement starts after a {@link WarmUp}: the mix runs until throughput and p50 across all steps settle, and
+ * the sessions started then finish alongside the measured ones without being counted.
+ * <p>
+ * Usage: {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=tests.utils.workload.ScenarioEngine
+ * -Dexec.args="workloads/typicalTraffic.json --stand-in"}
+ * <p>
+ * Options: {@code --duration-seconds n} overrides the definition's duration, {@code --warm-up-cap n} caps the
+ * warm-up at n seconds, 0 for none (default: {@link WarmUpPolicy#DEFAULT}), {@code --samples dir} writes every
+ * request, warm-up included, to a {@link SampleLog} in dir, {@code --base-url url} (default:
+ * {@code -DbaseUri} or the live API), {@code --stand-in} targets a local {@link StandInServer}. The exit code is 1
+ * if any session failed.
+ */
+public final class ScenarioEngine {
+
+    private static final int ROOM_ID = 1;
+    private static final int NIGHTS = 2;
+    private static final int MAX_SESSIONS_IN_FLIGHT = 256;
+    private static final long TOKEN_RENEWAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    private final String baseUri;
+    private final WorkloadDefinition definition;
+    private final WarmUpPolicy warmUpPolicy;
+
+    private volatile String sharedToken;
+    private volatile long loggedInAt;
+
+    /**
+     * @param baseUri The API base URI, e.g. {@code ApiConstants.BASE_URI}.
+     * @param definition The workload to run.
+     */
+    public ScenarioEngine(String baseUri, WorkloadDefinition definition) {
+        this(baseUri, definition, WarmUpPolicy.DEFAULT);
+    }
+
+    /**
+     * @param baseUri The API base URI, e.g. {@code ApiConstants.BASE_URI}.
+     * @param definition The workload to run.
+     * @param warmUpPolicy When the mix counts as warmed up.
+     */
+    public ScenarioEngine(String baseUri, WorkloadDefinition definition, WarmUpPolicy warmUpPolicy) {
+        this.baseUri = baseUri;
+        this.definition = definition;
+        this.warmUpPolicy = warmUpPolicy;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: ScenarioEngine <workload.json> [--duration-seconds n] [--warm-up-cap n]"
+                    + " [--samples dir] [--base-url url] [--stand-in]");
+            System.exit(2);
+        }
+        String baseUri = System.getProperty("baseUri", BASE_URI);
+        WorkloadDefinition definition = WorkloadDefinition.load(args[0]);
+        WarmUpPolicy warmUp = WarmUpPolicy.DEFAULT;
+        Path samples = null;
+        boolean standIn = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUri = args[++i];
+                case "--duration-seconds" -> definition = definition.withDurationSeconds(Long.parseLong(args[++i]));
+                case "--warm-up-cap" -> warmUp = warmUp.withCapSeconds(Long.parseLong(args[++i]));
+                case "--samples" -> samples = Path.of(args[++i]);
+                case "--stand-in" -> standIn = true;
+                default -> throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+            }
+        }
+
+        SampleLog log = samples == null ? null : SampleLog.open(samples);
+        if (log != null) {
+            SampleRecording.start(log);
+        }
+        ScenarioMixReport report;
+        try {
+            if (standIn) {
+                try (StandInServer server = StandInServer.start()) {
+                    report = new ScenarioEngine(server.baseUri(), definition, warmUp).run();
+                }
+            } else {
+                report = new ScenarioEngine(baseUri, definition, warmUp).run();
+            }
+        } finally {
+            if (log != null) {
+                SampleRecording.stop(log);
+                log.close();
+            }
+        }
+        report.print(System.out);
+        System.exit(report.failedSessions() == 0 ? 0 : 1);
+    }
+
+    /**
+     * Warms up, then starts every scenario's arrivals, stops them after the duration and waits for the sessions in
+     * flight.
+     * @return The report.
+     */
+    public ScenarioMixReport run() {
+        return run(System.nanoTime());
+    }
+
+    /**
+     * Like {@link #run()}, but measures from {@code measureAtNanos} at the earliest: the warm-up traffic goes on until
+     * then, or there is none until then without a warm-up. Load generators in several JVMs start measuring together
+     * this way.
+     * @param measureAtNanos Earliest start of the measurement, in {@link System#nanoTime()}.
+     * @return The report.
+     */
+    public ScenarioMixReport run(long measureAtNanos) {
+        renewSharedToken();
+        // numbered, so that runs in the same JVM do not draw e.g. the same booking dates
+        int runNumber = RUNS.incrementAndGet();
+        List<ScenarioRecorder> recorders = definition.scenarios().stream()
+                .map(scenario -> new ScenarioRecorder(scenario, null, runNumber))
+                .toList();
+        WarmUp warmUp = new WarmUp(warmUpPolicy);
+        EndpointRecording recording;
+        long start;
+        long end;
+        try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            warmUp(warmUp, sessions, measureAtNanos, runNumber);
+            recording = EndpointRecording.start();
+            start = System.nanoTime();
+            end = start + TimeUnit.SECONDS.toNanos(definition.durationSeconds());
+            // arrivals close first, waiting for the last arrival, so no session is started after the sessions close
+            try (ExecutorService arrivals = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (ScenarioRecorder recorder : recorders) {
+                    arrivals.execute(() -> arrive(recorder, sessions, start, end));
+                }
+            }
+        }
+        Map<String, LatencyHistogram> endpoints = recording.stop();
+        // the last arrival may come well before the end; the arrivals still covered the whole duration
+        long elapsed = Math.max(System.nanoTime() - start, end - start);
+
+        Map<Operation, List<Long>> byOperation = new EnumMap<>(Operation.class);
+        List<ScenarioResult> scenarios = new ArrayList<>();
+        for (ScenarioRecorder recorder : recorders) {
+            List<StepResult> steps = new ArrayList<>();
+            for (int i = 0; i < recorder.steps.size(); i++) {
+                StepRecorder step = recorder.steps.get(i);
+                byOperation.computeIfAbsent(step.operation, k -> new ArrayList<>()).addAll(step.latencies);
+                steps.add(new StepResult(i, step.operation, latency(step.latencies), step.errors.intValue()));
+            }
+            scenarios.add(new ScenarioResult(recorder.scenario.name(), definition.ratePerSecond(recorder.scenario),
+                    recorder.started.intValue(), recorder.completed.intValue(), recorder.failed.intValue(),
+                    recorder.skipped.intValue(), latency(recorder.sessionTimes), List.copyOf(steps)));
+        }
+        Map<Operation, LatencyStats> operations = new EnumMap<>(Operation.class);
+        byOperation.forEach((operation, latencies) -> operations.put(operation, latency(latencies)));
+        return new ScenarioMixReport(definition.name(), List.copyOf(scenarios), operations, elapsed,
+                warmUp.report(), endpoints);
+    }
+
+    // --- Arrivals ---
+
+    /**
+     * Runs the mix until the warm-up is done and the measurement is due. Its arrivals are stopped then, while its
+     * sessions carry on in the background, so the measurement starts at the steady number of sessions in flight.
+     */
+    private void warmUp(WarmUp warmUp, ExecutorService sessions, long measureAtNanos, int runNumber) {
+        if (warmUp.isDone()) {
+            sleepUntil(measureAtNanos);
+            return;
+        }
+        long start = System.nanoTime();
+        try (ExecutorService arrivals = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Scenario scenario : definition.scenarios()) {
+                ScenarioRecorder recorder = new ScenarioRecorder(scenario, warmUp, runNumber);
+                arrivals.execute(() -> arrive(recorder, sessions, start, Long.MAX_VALUE));
+            }
+            warmUp.awaitSettled();
+            sleepUntil(measureAtNanos);
+            // the arrivals only sleep between sessions, so interrupting them stops them
+            arrivals.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts the scenario's sessions until the end or an interrupt, each after an exponentially distributed gap.
+     * The gaps and each session's draws come from generators keyed by the recorder and the session's number, so
+     * they replay from the run seed however the threads are scheduled.
+     */
+    private void arrive(ScenarioRecorder recorder, ExecutorService executor, long start, long end) {
+        SplittableRandom random = RunRandom.forKey(String.format("%s arrivals", recorder.randomKey));
+        int sessions = 0;
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / definition.ratePerSecond(recorder.scenario);
+        Semaphore inFlight = new Semaphore(MAX_SESSIONS_IN_FLIGHT);
+        long next = start;
+        while (true) {
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (next >= end || !sleepUntil(next)) {
+                return;
+            }
+            if (!inFlight.tryAcquire()) {
+                recorder.skipped.increment();
+                continue;
+            }
+            recorder.started.increment();
+            String sessionKey = String.format("%s session %d", recorder.randomKey, ++sessions);
+            executor.execute(() -> {
+                try {
+                    runSession(recorder, sessionKey);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * @param sessionKey Seeds the session thread's {@link RunRandom} generator, which also draws its booking dates.
+     */
+    private void runSession(ScenarioRecorder recorder, String sessionKey) {
+        RunRandom.reseed(sessionKey);
+        SplittableRandom random = RunRandom.current();
+        Session session = new Session();
+        long sessionStart = System.nanoTime();
+        List<Step> steps = recorder.scenario.steps();
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            if (step.thinkTime() != null && !sleepUntil(System.nanoTime() + step.thinkTime().nanos(random))) {
+                recorder.failed.increment();
+                return;
+            }
+            StepRecorder stepRecorder = recorder.steps.get(i);
+            long start = System.nanoTime();
+            boolean succeeded;
+            try {
+                succeeded = execute(step.operation(), session);
+            } catch (RuntimeException | AssertionError e) {
+                succeeded = false;
+            }
+            long latency = System.nanoTime() - start;
+            stepRecorder.latencies.add(latency);
+            if (recorder.warmUp != null) {
+                recorder.warmUp.record(latency);
+            }
+            if (succeeded && step.operation() == Operation.CREATE_BOOKING && recorder.scenario.needsBookingId()) {
+                session.bookingId = findBooking(session);
+                succeeded = session.bookingId != null;
+            }
+            if (!succeeded) {
+                stepRecorder.errors.increment();
+                recorder.failed.increment();
+                return;
+            }
+        }
+        recorder.sessionTimes.add(System.nanoTime() - sessionStart);
+        recorder.completed.increment();
+    }
+
+    // --- Operations ---
+
+    private boolean execute(Operation operation, Session session) {
+        return switch (operation) {
+            case LOGIN -> {
+                session.token = BookingCalls.login(baseUri);
+                yield true;
+            }
+            case VALIDATE_TOKEN -> ok(givenRequest().baseUri(baseUri)
+                    .body(String.format("{ \"%s\": \"%s\" }", TOKEN_JSON_PATH, token(session)))
+                    .post(AUTH_VALIDATE_ENDPOINT));
+            case CREATE_BOOKING -> createBooking(session);
+            case UPDATE_BOOKING -> {
+                session.booking.setLastname(session.booking.getLastname() + "Mixed");
+                yield ok(givenRequest(authenticated(BOOKING_BY_ID_PATH, token(session))).baseUri(baseUri)
+                        .pathParam(BOOKING_ID_PARAM, session.bookingId)
+                        .body(BookingCalls.json(session.booking))
+                        .put());
+            }
+            case DELETE_BOOKING -> ok(givenRequest(authenticated(BOOKING_BY_ID_PATH, token(session))).baseUri(baseUri)
+                    .pathParam(BOOKING_ID_PARAM, session.bookingId)
+                    .delete());
+            case GET_BRANDING -> ok(givenRequest().baseUri(baseUri).get(BRANDING_ENDPOINT));
+            case LIST_MESSAGES -> listMessages(session);
+            case GET_MESSAGE -> session.messageIds.length > 0
+                    && ok(givenRequest(authenticated(MESSAGE_BY_ID_PATH, token(session))).baseUri(baseUri)
+                    .pathParam(MESSAGE_ID_PARAM,
+                            session.messageIds[RunRandom.current().nextInt(session.messageIds.length)])
+                    .get());
+        };
+    }
+
+    private boolean createBooking(Session session) {
+        BookingRequest request = buildBookingRequest(CORRECT_BOOKING_CREATION_PATH, String.valueOf(ROOM_ID));
+        request.setBookingdates(BookingCalls.farFutureStay(NIGHTS));
+        session.booking = request;
+        return ok(givenRequest().baseUri(baseUri).body(BookingCalls.json(request)).post(BOOKING_ENDPOINT));
+    }
+
+    /**
+     * Finds the session's booking by its dates, as POST does not return its id.
+     */
+    private Integer findBooking(Session session) {
+        BookingDates dates = session.booking.getBookingdates();
+        Response response = givenRequest(authenticated(BOOKING_ENDPOINT, token(session))).baseUri(baseUri)
+                .queryParam("roomid", ROOM_ID)
+                .get();
+        List<BookingResponse> bookings = JsonMappers.readList(response, "bookings", BookingResponse.class);
+        return bookings == null ? null : bookings.stream()
+                .filter(booking -> dates.equals(booking.getBookingdates()))
+                .map(BookingResponse::getBookingid)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private boolean listMessages(Session session) {
+        Response response = givenRequest().baseUri(baseUri).get(MESSAGE_ENDPOINT);
+        if (!ok(response)) {
+            return false;
+        }
+        List<Message> messages = JsonMappers.readList(response, "messages", Message.class);
+        session.messageIds = messages == null ? new int[0]
+                : messages.stream().map(Message::getId).filter(Objects::nonNull).mapToInt(Integer::intValue).toArray();
+        return true;
+    }
+
+    private String token(Session session) {
+        if (session.token != null) {
+            return session.token;
+        }
+        if (System.nanoTime() - loggedInAt > TOKEN_RENEWAL_NANOS) {
+            renewSharedToken();
+        }
+        return sharedToken;
+    }
+
+    private synchronized void renewSharedToken() {
+        if (sharedToken == null || System.nanoTime() - loggedInAt > TOKEN_RENEWAL_NANOS) {
+            sharedToken = BookingCalls.login(baseUri);
+            loggedInAt = System.nanoTime();
+        }
+    }
+
+    private static boolean ok(Response response) {
+        return response.getStatusCode() / 100 == 2;
+    }
+
+    /**
+     * @return {@code false} if interrupted.
+     */
+    private static boolean sleepUntil(long deadline) {
+        long wait = deadline - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LatencyStats latency(Collection<Long> latencies) {
+        return LatencyStats.of(latencies.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * What a session's steps pass on to the later ones.
+     */
+    private static final class Session {
+
+        private String token;
+        private BookingRequest booking;
+        private Integer bookingId;
+        private int[] messageIds = new int[0];
+    }
+
+    private static final class ScenarioRecorder {
+
+        private final Scenario scenario;
+        private final WarmUp warmUp;
+        private final String randomKey;
+        private final List<StepRecorder> steps;
+        private final LongAdder started = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final Queue<Long> sessionTimes = new ConcurrentLinkedQueue<>();
+
+        /**
+         * @param warmUp The warm-up to feed the step latencies to, or {@code null} when measuring.
+         * @param runNumber The engine run in this JVM, part of the keys the scenario's generators derive from.
+         */
+        ScenarioRecorder(Scenario scenario, WarmUp warmUp, int runNumber) {
+            this.scenario = scenario;
+            this.warmUp = warmUp;
+            this.randomKey = String.format("run %d, %s %s", runNumber, warmUp == null ? "measured" : "warm-up",
+                    scenario.name());
+            this.steps = scenario.steps().stream().map(step -> new StepRecorder(step.operation())).toList();
+        }
+    }
+
+    private static final class StepRecorder {
+
+        private final Operation operation;
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder errors = new LongAdder();
+
+        StepRecorder(Operation operation) {
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package tests.utils.workload;
+
+import tests.utils.concurrency.LatencyHistogram;
+import tests.utils.concurrency.LatencyStats;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Results of a {@link ScenarioEngine} run: per scenario and per step, and per operation across the scenarios.
+ * @param workload The workload's name.
+ * @param scenarios The scenarios, in definition order.
+ * @param operations Latency per operation, across the scenarios.
+ * @param elapsedNanos Wall-clock time until the last session finished, at least the workload's duration.
+ * @param warmUp The warm-up before the measurement.
+ * @param endpoints Latency by HTTP endpoint (method and path template) during the measurement, including the calls
+ *                  of sessions still running from the warm-up and the booking lookups.
+ */
+public record ScenarioMixReport(String workload, List<ScenarioResult> scenarios,
+                                Map<Operation, LatencyStats> operations, long elapsedNanos, WarmUpReport warmUp,
+                                Map<String, LatencyHistogram> endpoints) {
+
+    private static final int LABEL_WIDTH = 20;
+
+    /**
+     * @param name A scenario's name.
+     * @return Its result.
+     */
+    public ScenarioResult scenario(String name) {
+        return scenarios.stream()
+                .filter(scenario -> scenario.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("No scenario '%s'", name)));
+    }
+
+    /**
+     * @return The failed sessions of all scenarios.
+     */
+    public int failedSessions() {
+        return scenarios.stream().mapToInt(ScenarioResult::failed).sum();
+    }
+
+    /**
+     * Prints every scenario with its steps, then the operations.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%n=== Workload '%s': %d scenarios over %.1f s ===%n", workload, scenarios.size(), seconds);
+        warmUp.print(out);
+        for (ScenarioResult scenario : scenarios) {
+            out.printf("%nScenario '%s': target %.2f/s, %d started (%.2f/s), %d completed, %d failed, %d skipped%n",
+                    scenario.name(), scenario.targetRate(), scenario.started(), scenario.started() / seconds,
+                    scenario.completed(), scenario.failed(), scenario.skipped());
+            LatencyStats.printHeader(out, "Step", LABEL_WIDTH);
+            scenario.sessionTime().print(out, "session", LABEL_WIDTH);
+            for (StepResult step : scenario.steps()) {
+                step.latency().print(out, String.format("%d %s", step.index() + 1, step.operation()), LABEL_WIDTH);
+                if (step.errors() > 0) {
+                    out.printf("%" + LABEL_WIDTH + "s %d errors%n", "", step.errors());
+                }
+            }
+        }
+        out.printf("%nOperations across scenarios:%n");
+        LatencyStats.printHeader(out, "Operation", LABEL_WIDTH);
+        operations.forEach((operation, latency) -> latency.print(out, operation.name(), LABEL_WIDTH));
+    }
+
+    /**
+     * @param name The scenario's name.
+     * @param targetRate Sessions per second the scenario was meant to arrive at.
+     * @param started Sessions started.
+     * @param completed Sessions whose steps all succeeded.
+     * @param failed Sessions that stopped at a failed step.
+     * @param skipped Arrivals dropped because too many sessions were in flight.
+     * @param sessionTime Duration of the completed sessions, think times included.
+     * @param steps The steps, in order.
+     */
+    public record ScenarioResult(String name, double targetRate, int started, int completed, int failed,
+                                 int skipped, LatencyStats sessionTime, List<StepResult> steps) {
+    }
+
+    /**
+     * @param index The step's position in its scenario, from 0.
+     * @param operation The step's operation.
+     * @param latency Latency of the step's calls, think time excluded.
+     * @param errors Calls that failed or returned an unexpected status.
+     */
+    public record StepResult(int index, Operation operation, LatencyStats latency, int errors) {
+    }
+}
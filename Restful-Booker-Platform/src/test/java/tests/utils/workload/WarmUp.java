@@ -0,0 +1,282 @@
+package tests.utils.workload;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Decides when a run has warmed up: class loading, JIT compilation of the Jackson and RestAssured paths and
+ * connection setup all slow the first seconds down, so measurement should only start once throughput and p50
+ * latency have stopped moving. The caller drives traffic while {@link #isDone()} is {@code false} and
+ * {@link #record}s every call; the calls are cut into intervals, and the warm-up is done once the last intervals
+ * meet the {@link WarmUpPolicy}, or at its cap.
+ * <p>
+ * A short interval holds few calls, so its throughput and p50 are noisy even in a steady state. The variation
+ * allowed is therefore at least two standard errors of the window's counting noise: {@code 1/sqrt(calls)} for
+ * the throughput, and the standard error of the median (from each interval's interquartile range) for the p50.
+ * <p>
+ * Typical use, with clients on other threads:
+ * <pre>{@code
+ * WarmUp warmUp = new WarmUp(WarmUpPolicy.DEFAULT);
+ * // on each client thread
+ * while (!warmUp.isDone()) {
+ *     long start = System.nanoTime();
+ *     call();
+ *     warmUp.record(System.nanoTime() - start);
+ * }
+ * // on the driving thread
+ * warmUp.awaitSettled();
+ * ... measure ...
+ * warmUp.report().print(System.out);
+ * }</pre>
+ */
+public final class WarmUp {
+
+    private static final double NOISE_STANDARD_ERRORS = 2;
+    // standard error of the median of n normal samples is sqrt(pi/2) * sigma / sqrt(n); sigma is IQR / 1.349
+    private static final double MEDIAN_ERROR_PER_IQR = Math.sqrt(Math.PI / 2) / 1.349;
+    private static final int DRIVE_BATCH = 64;
+
+    private final WarmUpPolicy policy;
+    private final long start;
+    private final long compilationAtStart;
+    private final long classesAtStart;
+    private final Deque<Interval> window = new ArrayDeque<>();
+
+    private long intervalStart;
+    private long intervalEnd;
+    private long[] latencies = new long[256];
+    private int samples;
+    private long intervalCalls;
+    private int intervals;
+    private long calls;
+
+    private volatile boolean done;
+    private boolean settled;
+    private long end;
+    private long compilationAtEnd;
+    private long classesAtEnd;
+    private double throughputVariation;
+    private double p50Variation;
+    private int sink;
+
+    /**
+     * Starts the warm-up clock; with {@link WarmUpPolicy#NONE} the warm-up is done right away.
+     * @param policy When the run counts as settled.
+     */
+    public WarmUp(WarmUpPolicy policy) {
+        this.policy = policy;
+        this.compilationAtStart = compilationMillis();
+        this.classesAtStart = loadedClasses();
+        this.start = System.nanoTime();
+        this.intervalStart = start;
+        this.intervalEnd = start + policy.intervalNanos();
+        if (!policy.enabled()) {
+            finish(false, start);
+        }
+    }
+
+    /**
+     * @return Whether the warm-up has ended, settled or capped.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Records one call.
+     * @param latencyNanos Its latency.
+     */
+    public void record(long latencyNanos) {
+        record(latencyNanos, 1);
+    }
+
+    /**
+     * Records a batch of calls that took the same time each.
+     * @param latencyNanos Latency of each call.
+     * @param count Calls in the batch.
+     */
+    public synchronized void record(long latencyNanos, int count) {
+        closeDueIntervals(System.nanoTime());
+        if (done) {
+            return;
+        }
+        if (samples == latencies.length) {
+            latencies = Arrays.copyOf(latencies, samples * 2);
+        }
+        latencies[samples++] = latencyNanos;
+        intervalCalls += count;
+    }
+
+    /**
+     * Blocks until the warm-up is done, closing intervals on time even when no calls come in. If interrupted, ends
+     * the warm-up as not settled and keeps the interrupt.
+     */
+    public void awaitSettled() {
+        while (true) {
+            long wake;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                wake = Math.min(intervalEnd, start + policy.capNanos());
+            }
+            long wait = wake - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    synchronized (this) {
+                        finish(false, System.nanoTime());
+                    }
+                    return;
+                }
+            }
+            synchronized (this) {
+                closeDueIntervals(System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Calls {@code call} on this thread until the warm-up is done, timing it in batches; for single-threaded
+     * benchmarks.
+     * @param call The code to warm up; its results are consumed so the JIT cannot drop it.
+     * @throws Exception what {@code call} throws.
+     */
+    public void drive(Callable<?> call) throws Exception {
+        while (!done) {
+            long batchStart = System.nanoTime();
+            for (int i = 0; i < DRIVE_BATCH; i++) {
+                sink += call.call().hashCode() & 1;
+            }
+            record((System.nanoTime() - batchStart) / DRIVE_BATCH, DRIVE_BATCH);
+        }
+    }
+
+    /**
+     * Takes the report; the JIT time during measurement counts up to now, so take it after measuring.
+     * @return The report.
+     * @throws IllegalStateException if the warm-up is not done.
+     */
+    public synchronized WarmUpReport report() {
+        if (!done) {
+            throw new IllegalStateException("The warm-up is still running");
+        }
+        long compilationNow = compilationMillis();
+        double throughput = window.stream().mapToDouble(Interval::throughput).average().orElse(0);
+        long p50 = (long) window.stream().mapToLong(Interval::p50Nanos).average().orElse(0);
+        return new WarmUpReport(settled, end - start, intervals, calls, throughputVariation, p50Variation,
+                throughput, p50, since(compilationAtStart, compilationAtEnd), since(compilationAtEnd, compilationNow),
+                classesAtEnd - classesAtStart);
+    }
+
+    /**
+     * @return Total JIT compilation time of this JVM, or -1 if it does not report it.
+     */
+    public static long compilationMillis() {
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        return compiler != null && compiler.isCompilationTimeMonitoringSupported()
+                ? compiler.getTotalCompilationTime() : -1;
+    }
+
+    // --- Intervals ---
+
+    private void closeDueIntervals(long now) {
+        while (!done && now >= intervalEnd) {
+            // an interval short of calls is extended rather than closed
+            if (intervalCalls >= policy.intervalCalls()) {
+                closeInterval();
+                intervalStart = intervalEnd;
+            }
+            intervalEnd += policy.intervalNanos();
+        }
+        if (!done && now - start >= policy.capNanos()) {
+            finish(false, now);
+        }
+    }
+
+    private void closeInterval() {
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        long p50 = percentile(sorted, 0.50);
+        double p50Error = p50 == 0 ? 0
+                : MEDIAN_ERROR_PER_IQR * (percentile(sorted, 0.75) - percentile(sorted, 0.25))
+                / Math.sqrt(sorted.length) / p50;
+        window.addLast(new Interval(intervalCalls * 1e9 / (intervalEnd - intervalStart), intervalCalls, p50,
+                p50Error));
+        if (window.size() > policy.windowIntervals()) {
+            window.removeFirst();
+        }
+        intervals++;
+        calls += intervalCalls;
+        samples = 0;
+        intervalCalls = 0;
+
+        if (window.size() == policy.windowIntervals()) {
+            throughputVariation = variation(window.stream().mapToDouble(Interval::throughput).toArray());
+            p50Variation = variation(window.stream().mapToDouble(Interval::p50Nanos).toArray());
+            double meanCalls = window.stream().mapToLong(Interval::calls).average().orElse(0);
+            double throughputNoise = meanCalls == 0 ? 0 : NOISE_STANDARD_ERRORS / Math.sqrt(meanCalls);
+            double p50Noise = NOISE_STANDARD_ERRORS
+                    * window.stream().mapToDouble(Interval::p50Error).average().orElse(0);
+            if (throughputVariation <= Math.max(policy.maxVariation(), throughputNoise)
+                    && p50Variation <= Math.max(policy.maxVariation(), p50Noise)) {
+                finish(true, intervalEnd);
+            }
+        }
+    }
+
+    private void finish(boolean settled, long at) {
+        this.settled = settled;
+        this.end = at;
+        this.compilationAtEnd = compilationMillis();
+        this.classesAtEnd = loadedClasses();
+        this.done = true;
+    }
+
+    /**
+     * @return Standard deviation over mean, infinite for a zero mean.
+     */
+    private static double variation(double[] values) {
+        double mean = Arrays.stream(values).average().orElse(0);
+        if (mean == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double squares = Arrays.stream(values).map(value -> (value - mean) * (value - mean)).sum();
+        return Math.sqrt(squares / (values.length - 1)) / mean;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static long since(long from, long to) {
+        return from < 0 || to < 0 ? -1 : to - from;
+    }
+
+    private static long loadedClasses() {
+        ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+        return classes.getTotalLoadedClassCount();
+    }
+
+    /**
+     * @param throughput Calls per second.
+     * @param calls Calls in the interval.
+     * @param p50Nanos Median latency, 0 without calls.
+     * @param p50Error Standard error of the median, relative to it.
+     */
+    private record Interval(double throughput, long calls, long p50Nanos, double p50Error) {
+    }
+}
@@ -0,0 +1,61 @@
+package tests.utils.workload;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * When a {@link WarmUp} considers a run settled. The traffic is cut into intervals, each lasting until it holds
+ * {@code intervalCalls} calls, in steps of {@code intervalMillis}; the run has settled once the
+ * throughput and the p50 latency of the last {@code windowIntervals} intervals each have a coefficient of variation
+ * of at most {@code maxVariation}, or of at most the counting noise their sample sizes imply if that is larger.
+ * After {@code capSeconds} the warm-up ends regardless, as not settled.
+ * @param intervalMillis Shortest interval, and the step an interval is extended by while it lacks calls.
+ * @param intervalCalls Fewest calls an interval needs, so that its p50 means something at low rates.
+ * @param windowIntervals Intervals the variation is computed over.
+ * @param maxVariation Largest coefficient of variation that counts as settled, e.g. 0.1.
+ * @param capSeconds Longest warm-up; 0 for none.
+ */
+public record WarmUpPolicy(long intervalMillis, int intervalCalls, int windowIntervals, double maxVariation,
+                           long capSeconds) {
+
+    /**
+     * One-second intervals of at least 20 calls, five of them within 10%, at most a minute.
+     */
+    public static final WarmUpPolicy DEFAULT = new WarmUpPolicy(1000, 20, 5, 0.10, 60);
+
+    /**
+     * No warm-up: measurement starts right away.
+     */
+    public static final WarmUpPolicy NONE = new WarmUpPolicy(1000, 20, 5, 0.10, 0);
+
+    public WarmUpPolicy {
+        if (intervalMillis <= 0 || intervalCalls < 1 || windowIntervals < 2 || maxVariation <= 0 || capSeconds < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid warm-up: %d ms intervals of %d calls, window of %d, variation %s, cap %d s",
+                    intervalMillis, intervalCalls, windowIntervals, maxVariation, capSeconds));
+        }
+    }
+
+    /**
+     * @param seconds The new cap, 0 for no warm-up.
+     * @return This policy with the given cap.
+     */
+    public WarmUpPolicy withCapSeconds(long seconds) {
+        return new WarmUpPolicy(intervalMillis, intervalCalls, windowIntervals, maxVariation, seconds);
+    }
+
+    /**
+     * @return Whether there is a warm-up at all.
+     */
+    public boolean enabled() {
+        return capSeconds > 0;
+    }
+
+    long intervalNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    long capNanos() {
+        return TimeUnit.SECONDS.toNanos(capSeconds);
+    }
+}
@@ -0,0 +1,42 @@
+package tests.utils.workload;
+
+import java.io.PrintStream;
+
+
+/**
+ * How a {@link WarmUp} went, so that runs can be compared: how long it took, where it settled, and how much the JIT
+ * compiled during it and during the measurement after it.
+ * @param settled Whether throughput and p50 settled before the cap; {@code false} also when there was no warm-up.
+ * @param elapsedNanos Length of the warm-up.
+ * @param intervals Intervals closed during the warm-up.
+ * @param calls Calls recorded during the warm-up.
+ * @param throughputVariation Coefficient of variation of the throughput over the last window.
+ * @param p50Variation Coefficient of variation of the p50 over the last window.
+ * @param throughputPerSecond Mean throughput over the last window.
+ * @param p50Nanos Mean p50 over the last window.
+ * @param compilationMillis JIT compilation time during the warm-up, or -1 if the JVM does not report it.
+ * @param measurementCompilationMillis JIT compilation time from the end of the warm-up until the report was taken,
+ *                                     or -1 if the JVM does not report it.
+ * @param classesLoaded Classes loaded during the warm-up.
+ */
+public record WarmUpReport(boolean settled, long elapsedNanos, int intervals, long calls, double throughputVariation,
+                           double p50Variation, double throughputPerSecond, long p50Nanos, long compilationMillis,
+                           long measurementCompilationMillis, long classesLoaded) {
+
+    /**
+     * Prints the report as one or two lines.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        if (intervals == 0) {
+            out.printf("Warm-up: none; JIT compiled for %d ms during measurement%n", measurementCompilationMillis);
+            return;
+        }
+        out.printf("Warm-up: %s after %.1f s (%d intervals, %,d calls): %.1f calls/s (CV %.1f%%),"
+                        + " p50 %.2f ms (CV %.1f%%)%n", settled ? "settled" : "capped, not settled",
+                elapsedNanos / 1e9, intervals, calls, throughputPerSecond, throughputVariation * 100, p50Nanos / 1e6,
+                p50Variation * 100);
+        out.printf("Warm-up: JIT compiled for %d ms and %,d classes loaded; %d ms of JIT during measurement%n",
+                compilationMillis, classesLoaded, measurementCompilationMillis);
+    }
+}
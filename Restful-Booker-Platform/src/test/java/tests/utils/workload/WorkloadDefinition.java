@@ -0,0 +1,210 @@
+package tests.utils.workload;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import tests.utils.JsonMappers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+
+/**
+ * A mix of weighted scenarios, read from JSON, for {@link ScenarioEngine} to run as open-model traffic. Sessions
+ * of every scenario arrive as a Poisson process; a scenario with its own {@code arrivalRate} arrives at that rate,
+ * and the others share the top-level {@code arrivalRate} in proportion to their {@code weight}:
+ * <pre>{@code
+ * {
+ *   "name": "Typical traffic",
+ *   "arrivalRate": 4.0,
+ *   "durationSeconds": 60,
+ *   "scenarios": [
+ *     { "name": "Browse", "weight": 3,
+ *       "steps": [ { "operation": "GET_BRANDING" },
+ *                  { "operation": "GET_BRANDING", "thinkTime": { "minMs": 500, "maxMs": 2000 } } ] },
+ *     { "name": "Admin inbox", "arrivalRate": 0.5,
+ *       "steps": [ { "operation": "LOGIN" }, { "operation": "LIST_MESSAGES" }, { "operation": "GET_MESSAGE" } ] }
+ *   ]
+ * }
+ * }</pre>
+ * A step's think time is waited before the step. Unknown fields are rejected, so a misspelt one does not silently
+ * fall back to a default.
+ * @param name The mix's name, for the report.
+ * @param arrivalRate Sessions per second shared by the weighted scenarios.
+ * @param durationSeconds How long sessions keep arriving.
+ * @param scenarios The scenarios.
+ */
+public record WorkloadDefinition(String name, double arrivalRate, long durationSeconds, List<Scenario> scenarios) {
+
+    /**
+     * The mix shipped with the suite, modelled on guest and admin traffic.
+     */
+    public static final String TYPICAL_TRAFFIC_PATH = "workloads/typicalTraffic.json";
+
+    private static final ObjectReader READER = JsonMappers.reader(WorkloadDefinition.class)
+            .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /**
+     * Loads a definition from a file, or from the classpath if no such file exists.
+     * @param location A file path or classpath resource, e.g. {@link #TYPICAL_TRAFFIC_PATH}.
+     * @return The validated definition.
+     */
+    public static WorkloadDefinition load(String location) {
+        Path file = Path.of(location);
+        try (InputStream in = Files.isRegularFile(file) ? Files.newInputStream(file)
+                : WorkloadDefinition.class.getClassLoader().getResourceAsStream(location)) {
+            if (in == null) {
+                throw new IllegalArgumentException(String.format("Workload not found: %s", location));
+            }
+            return READER.<WorkloadDefinition>readValue(in).validate();
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to read workload %s", location), e);
+        }
+    }
+
+    /**
+     * @param json The definition.
+     * @return The validated definition.
+     */
+    public static WorkloadDefinition parse(String json) {
+        try {
+            return READER.<WorkloadDefinition>readValue(json).validate();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse workload", e);
+        }
+    }
+
+    /**
+     * @param seconds The new duration.
+     * @return This mix, running for the given time.
+     */
+    public WorkloadDefinition withDurationSeconds(long seconds) {
+        return new WorkloadDefinition(name, arrivalRate, seconds, scenarios).validate();
+    }
+
+    /**
+     * @param share Fraction of the traffic, e.g. 0.25 for one of four equal load generators.
+     * @return This mix with every arrival rate multiplied by the share.
+     */
+    public WorkloadDefinition scaled(double share) {
+        if (share <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid share %s of workload '%s'", share, name));
+        }
+        List<Scenario> shared = scenarios.stream()
+                .map(s -> new Scenario(s.name(), s.weight(), s.arrivalRate() == null ? null : s.arrivalRate() * share,
+                        s.steps()))
+                .toList();
+        return new WorkloadDefinition(name, arrivalRate * share, durationSeconds, shared).validate();
+    }
+
+    /**
+     * @param scenario One of the scenarios.
+     * @return Its sessions per second.
+     */
+    public double ratePerSecond(Scenario scenario) {
+        if (scenario.arrivalRate() != null) {
+            return scenario.arrivalRate();
+        }
+        double weights = scenarios.stream().filter(s -> s.arrivalRate() == null).mapToDouble(Scenario::weight).sum();
+        return arrivalRate * scenario.weight() / weights;
+    }
+
+    private WorkloadDefinition validate() {
+        if (scenarios == null || scenarios.isEmpty() || durationSeconds <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Workload '%s' needs scenarios and a positive durationSeconds", name));
+        }
+        Set<String> names = new HashSet<>();
+        for (Scenario scenario : scenarios) {
+            scenario.validate();
+            if (!names.add(scenario.name())) {
+                throw new IllegalArgumentException(String.format("Duplicate scenario '%s'", scenario.name()));
+            }
+            if (scenario.arrivalRate() == null && arrivalRate <= 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Scenario '%s' has no arrivalRate and the workload has no arrivalRate to share",
+                        scenario.name()));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * One kind of session.
+     * @param name The scenario's name, for the report.
+     * @param weight Share of the top-level arrival rate; ignored if {@code arrivalRate} is set.
+     * @param arrivalRate Sessions per second, or {@code null} to take a weighted share.
+     * @param steps The steps, in order.
+     */
+    public record Scenario(String name, double weight, Double arrivalRate, List<Step> steps) {
+
+        /**
+         * @return Whether a later step needs the id of the booking the session creates.
+         */
+        public boolean needsBookingId() {
+            return steps.stream().anyMatch(step -> step.operation().prerequisite() == Operation.CREATE_BOOKING);
+        }
+
+        private void validate() {
+            if (name == null || name.isBlank() || steps == null || steps.isEmpty()) {
+                throw new IllegalArgumentException(String.format("Scenario '%s' needs a name and steps", name));
+            }
+            if (arrivalRate == null ? weight <= 0 : arrivalRate <= 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Scenario '%s' needs a positive weight or arrivalRate", name));
+            }
+            Set<Operation> done = new HashSet<>();
+            for (Step step : steps) {
+                if (step.operation() == null) {
+                    throw new IllegalArgumentException(String.format("Scenario '%s' has a step without an operation",
+                            name));
+                }
+                Operation prerequisite = step.operation().prerequisite();
+                if (prerequisite != null && !done.contains(prerequisite)) {
+                    throw new IllegalArgumentException(String.format("Scenario '%s': %s needs an earlier %s", name,
+                            step.operation(), prerequisite));
+                }
+                if (step.thinkTime() != null) {
+                    step.thinkTime().validate(name);
+                }
+                done.add(step.operation());
+            }
+        }
+    }
+
+    /**
+     * @param operation What to call.
+     * @param thinkTime Pause before the call, or {@code null} for none.
+     */
+    public record Step(Operation operation, ThinkTime thinkTime) {
+    }
+
+    /**
+     * A pause drawn uniformly from {@code [minMs, maxMs]}; without {@code maxMs}, a fixed pause of {@code minMs}.
+     */
+    public record ThinkTime(long minMs, long maxMs) {
+
+        /**
+         * @param random The source of randomness.
+         * @return A pause, in nanoseconds.
+         */
+        public long nanos(RandomGenerator random) {
+            long millis = maxMs > minMs ? random.nextLong(minMs, maxMs + 1) : minMs;
+            return TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        private void validate(String scenario) {
+            if (minMs < 0 || maxMs < 0 || (maxMs != 0 && maxMs < minMs)) {
+                throw new IllegalArgumentException(String.format("Scenario '%s' has an invalid think time %d-%d ms",
+                        scenario, minMs, maxMs));
+            }
+        }
+    }
+}
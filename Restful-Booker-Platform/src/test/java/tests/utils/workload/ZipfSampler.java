@@ -0,0 +1,59 @@
+package tests.utils.workload;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+
+/**
+ * Samples ranks {@code 0..n-1} with Zipfian popularity: rank {@code k} is drawn with probability proportional to
+ * {@code 1 / (k + 1)^exponent}, so a few items take most of the reads, as a few threads of an inbox do. The
+ * cumulative distribution is computed once; a sample is a binary search over it.
+ */
+public final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    /**
+     * @param n Number of ranks.
+     * @param exponent Skew; 0 is uniform, 1 is the classic Zipf law.
+     */
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1 || exponent < 0) {
+            throw new IllegalArgumentException(String.format("Invalid Zipf distribution: n=%d, s=%s", n, exponent));
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    /**
+     * @return The number of ranks.
+     */
+    public int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * @param rank A rank, from 0.
+     * @return The probability of drawing it.
+     */
+    public double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+
+    /**
+     * @param random The source of randomness, e.g. {@code RunRandom.current()}.
+     * @return A rank, from 0 (the most popular).
+     */
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        // an exact hit is the upper bound of that rank; a miss is encoded as -(insertion point) - 1
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}